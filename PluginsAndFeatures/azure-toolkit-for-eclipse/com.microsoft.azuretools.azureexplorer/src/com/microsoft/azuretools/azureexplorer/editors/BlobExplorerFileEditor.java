@@ -31,10 +31,8 @@ import static com.microsoft.azuretools.telemetry.TelemetryConstants.STORAGE;
 
 import com.microsoft.tooling.msservices.serviceexplorer.WrappedTelemetryNodeActionListener;
 import java.io.BufferedInputStream;
-import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.SocketTimeoutException;
@@ -55,7 +53,7 @@ import org.eclipse.jface.viewers.DoubleClickEvent;
 import org.eclipse.jface.viewers.IDoubleClickListener;
 import org.eclipse.jface.viewers.ILabelProviderListener;
 import org.eclipse.jface.viewers.ISelectionChangedListener;
-import org.eclipse.jface.viewers.IStructuredContentProvider;
+import org.eclipse.jface.viewers.ILazyContentProvider;
 import org.eclipse.jface.viewers.IStructuredSelection;
 import org.eclipse.jface.viewers.ITableLabelProvider;
 import org.eclipse.jface.viewers.SelectionChangedEvent;
@@ -87,13 +85,13 @@ import org.eclipse.ui.part.EditorPart;
 
 import com.microsoft.tooling.msservices.components.DefaultLoader;
 import com.microsoft.tooling.msservices.helpers.CallableSingleArg;
-import com.microsoft.azuretools.azurecommons.helpers.NotNull;
 import com.microsoft.azuretools.azureexplorer.Activator;
 import com.microsoft.azuretools.azureexplorer.forms.UploadBlobFileForm;
 import com.microsoft.azuretools.azureexplorer.helpers.UIHelperImpl;
 import com.microsoft.azuretools.core.utils.PluginUtil;
 import com.microsoft.azuretools.telemetry.TelemetryProperties;
 import com.microsoft.azuretools.azurecommons.helpers.AzureCmdException;
+import com.microsoft.tooling.msservices.helpers.azure.sdk.BlobItemPager;
 import com.microsoft.tooling.msservices.helpers.azure.sdk.StorageClientSDKManager;
 import com.microsoft.tooling.msservices.model.storage.BlobContainer;
 import com.microsoft.tooling.msservices.model.storage.BlobDirectory;
@@ -103,6 +101,7 @@ import com.microsoft.tooling.msservices.serviceexplorer.NodeActionEvent;
 import com.microsoft.tooling.msservices.serviceexplorer.NodeActionListener;
 
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.exception.ExceptionUtils;
 
 public class BlobExplorerFileEditor extends EditorPart implements TelemetryProperties {
     private static final String COPY_URL = "Copy URL";
@@ -113,6 +112,11 @@ public class BlobExplorerFileEditor extends EditorPart implements TelemetryPrope
     private static final String UPLOAD_BLOB = "Upload Blob";
     private static final String DELETE_SELECTED_BLOB = "Delete Selected Blob";
 
+    /**
+     * Load the next segment when a row within these rows to the end is shown
+     */
+    private static final int LOAD_MORE_THRESHOLD_ROWS = 50;
+
     private Text queryTextField;
     private Button queryButton;
     private Button refreshButton;
@@ -131,6 +135,8 @@ public class BlobExplorerFileEditor extends EditorPart implements TelemetryPrope
 
     private LinkedList<BlobDirectory> directoryQueue = new LinkedList<BlobDirectory>();
     private java.util.List<BlobItem> blobItems = new ArrayList<BlobItem>();
+    private volatile BlobItemPager blobItemPager;
+    private boolean isLoadingMore = false;
     private FileEditorVirtualNode<EditorPart> fileEditorVirtualNode;
 
     @Override
@@ -351,7 +357,7 @@ public class BlobExplorerFileEditor extends EditorPart implements TelemetryPrope
 
 
     private Table createTable(Composite parent) {
-        blobListTable = new Table(parent, SWT.BORDER | SWT.FULL_SELECTION);
+        blobListTable = new Table(parent, SWT.BORDER | SWT.FULL_SELECTION | SWT.VIRTUAL);
 
         blobListTable.setHeaderVisible(true);
         blobListTable.setLinesVisible(true);
@@ -413,6 +419,10 @@ public class BlobExplorerFileEditor extends EditorPart implements TelemetryPrope
     public void fillGrid() {
         setUIState(true);
 
+        closeBlobItemPager();
+
+        final String namePrefix = queryTextField.getText();
+
         DefaultLoader.getIdeHelper().runInBackground(null, "Loading blobs...", false, true, "Loading blobs...", new Runnable() {
             @Override
             public void run() {
@@ -421,23 +431,25 @@ public class BlobExplorerFileEditor extends EditorPart implements TelemetryPrope
                         directoryQueue.addLast(StorageClientSDKManager.getManager().getRootDirectory(connectionString, blobContainer));
                     }
 
-                    blobItems = StorageClientSDKManager.getManager().getBlobItems(connectionString, directoryQueue.peekLast());
+                    // The prefix is filtered by the service, only the first segment is listed here, the following
+                    // ones are loaded when the rows near the end are shown
+                    final BlobItemPager pager = new BlobItemPager(connectionString, directoryQueue.peekLast(), namePrefix);
+                    blobItemPager = pager;
+
+                    final java.util.List<BlobItem> segmentItems = pager.loadNextSegment();
 
                     DefaultLoader.getIdeHelper().invokeLater(new Runnable() {
                         @Override
                         public void run() {
-                            if (!queryTextField.getText().isEmpty()) {
-                                for (int i = blobItems.size() - 1; i >= 0; i--) {
-                                    BlobItem blobItem = blobItems.get(i);
-
-                                    if (blobItem instanceof BlobFile && !blobItem.getName().startsWith(queryTextField.getText())) {
-                                        blobItems.remove(i);
-                                    }
-                                }
+                            if (pager != blobItemPager || blobListTable.isDisposed()) {
+                                return;
                             }
 
-                            pathLabel.setText(directoryQueue.peekLast().getPath());
+                            blobItems = new ArrayList<BlobItem>(segmentItems);
+
+                            pathLabel.setText(pager.getBlobDirectory().getPath());
                             tableViewer.setInput(blobItems);
+                            tableViewer.setItemCount(blobItems.size());
                             tableViewer.refresh();
                             setUIState(false);
 //
@@ -451,6 +463,57 @@ public class BlobExplorerFileEditor extends EditorPart implements TelemetryPrope
         });
     }
 
+    private void loadMoreItems() {
+        final BlobItemPager pager = blobItemPager;
+
+        if (pager == null || isLoadingMore || !pager.hasMore()) {
+            return;
+        }
+
+        isLoadingMore = true;
+
+        DefaultLoader.getIdeHelper().executeOnPooledThread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    final java.util.List<BlobItem> segmentItems = pager.loadNextSegment();
+
+                    DefaultLoader.getIdeHelper().invokeLater(new Runnable() {
+                        @Override
+                        public void run() {
+                            isLoadingMore = false;
+
+                            if (pager != blobItemPager || blobListTable.isDisposed() || segmentItems.isEmpty()) {
+                                return;
+                            }
+
+                            blobItems.addAll(segmentItems);
+                            tableViewer.setItemCount(blobItems.size());
+                        }
+                    });
+                } catch (AzureCmdException ex) {
+                    DefaultLoader.getIdeHelper().invokeLater(new Runnable() {
+                        @Override
+                        public void run() {
+                            isLoadingMore = false;
+                        }
+                    });
+
+                    DefaultLoader.getUIHelper().showException("Error querying blob list.", ex, "Error querying blobs", false, true);
+                }
+            }
+        });
+    }
+
+    private void closeBlobItemPager() {
+        final BlobItemPager pager = blobItemPager;
+        blobItemPager = null;
+
+        if (pager != null) {
+            pager.close();
+        }
+    }
+
     private void setUIState(boolean loading) {
         if (loading) {
             blobListTable.setEnabled(false);
@@ -513,7 +576,10 @@ public class BlobExplorerFileEditor extends EditorPart implements TelemetryPrope
                         try {
                             StorageClientSDKManager.getManager().deleteBlobFile(connectionString, blobItem);
 
-                            if (blobItems.size() <= 1) {
+                            BlobItemPager pager = blobItemPager;
+                            final boolean isLastItem = blobItems.size() <= 1 && (pager == null || !pager.hasMore());
+
+                            if (isLastItem) {
                                 directoryQueue.clear();
                                 directoryQueue.addLast(StorageClientSDKManager.getManager().getRootDirectory(connectionString, blobContainer));
                             }
@@ -521,7 +587,7 @@ public class BlobExplorerFileEditor extends EditorPart implements TelemetryPrope
                             DefaultLoader.getIdeHelper().invokeLater(new Runnable() {
                                 @Override
                                 public void run() {
-                                    if (blobItems.size() <= 1) {
+                                    if (isLastItem) {
                                         queryTextField.setText("");
                                     }
                                     fillGrid();
@@ -578,58 +644,52 @@ public class BlobExplorerFileEditor extends EditorPart implements TelemetryPrope
                             }
                         }
 
-                        final BufferedOutputStream bufferedOutputStream = new BufferedOutputStream(new FileOutputStream(targetFile), 65536) {
-                            private long runningCount = 0;
-
+                        final CallableSingleArg<Void, Long> callable = new CallableSingleArg<Void, Long>() {
                             @Override
-                            public synchronized void write(@NotNull byte[] bytes, int i, int i1) throws IOException {
-                                super.write(bytes, i, i1);
-
-                                runningCount += i1;
-
-                                double progress = (double) runningCount / fileSelection.getSize();
+                            public Void call(Long downloadedBytes) throws Exception {
+                                double progress = fileSelection.getSize() == 0 ? 1 : (double) downloadedBytes / fileSelection.getSize();
                                 monitor.worked((int) (100 * progress));
                                 monitor.subTask(String.format("%s%% downloaded", (int) (progress * 100)));
+
+                                return null;
                             }
                         };
 
-                        try {
 //                            Future<?> future = DefaultLoader.getIdeHelper().executeOnPooledThread(new Runnable() {
 //                                @Override
 //                                public void run() {
-                            try {
-                                StorageClientSDKManager.getManager().downloadBlobFileContent(connectionString, fileSelection, bufferedOutputStream);
-
-                                if (open && targetFile.exists()) {
-                                    try {
-                                        final Process p;
-                                        Runtime runtime = Runtime.getRuntime();
-                                        p = runtime.exec(
-                                                new String[]{"open", "-R", targetFile.getName()},
-                                                null,
-                                                targetFile.getParentFile());
-
-                                        InputStream errorStream = p.getErrorStream();
-                                        String errResponse = new String(IOUtils.readFully(errorStream, -1));
-
-                                        if (p.waitFor() != 0) {
-                                            throw new Exception(errResponse);
-                                        }
-                                    } catch (Exception e) {
-                                        monitor.setTaskName("Error opening file");
-                                        monitor.subTask(e.getMessage());
+                        try {
+                            // Ranges are downloaded in parallel, and resumed if a previous download was interrupted
+                            StorageClientSDKManager.getManager().downloadBlobFileContent(connectionString, fileSelection, targetFile, callable);
+
+                            if (open && targetFile.exists()) {
+                                try {
+                                    final Process p;
+                                    Runtime runtime = Runtime.getRuntime();
+                                    p = runtime.exec(
+                                            new String[]{"open", "-R", targetFile.getName()},
+                                            null,
+                                            targetFile.getParentFile());
+
+                                    InputStream errorStream = p.getErrorStream();
+                                    String errResponse = new String(IOUtils.readFully(errorStream, -1));
+
+                                    if (p.waitFor() != 0) {
+                                        throw new Exception(errResponse);
                                     }
-//                                            Desktop.getDesktop().open(targetFile);
+                                } catch (Exception e) {
+                                    monitor.setTaskName("Error opening file");
+                                    monitor.subTask(e.getMessage());
                                 }
-                            } catch (AzureCmdException e) {
-                                Throwable connectionFault = e.getCause().getCause();
-
-                                monitor.setTaskName("Error downloading Blob");
-                                monitor.subTask((connectionFault instanceof SocketTimeoutException) ? "Connection timed out" : connectionFault.getMessage());
-                                return Status.CANCEL_STATUS;
+//                                            Desktop.getDesktop().open(targetFile);
                             }
-                        } finally {
-                            bufferedOutputStream.close();
+                        } catch (AzureCmdException e) {
+                            // The fault may be wrapped by the failed range
+                            Throwable connectionFault = ExceptionUtils.getRootCause(e) != null ? ExceptionUtils.getRootCause(e) : e;
+
+                            monitor.setTaskName("Error downloading Blob");
+                            monitor.subTask((connectionFault instanceof SocketTimeoutException) ? "Connection timed out" : connectionFault.getMessage());
+                            return Status.CANCEL_STATUS;
                         }
                     } catch (IOException e) {
                         DefaultLoader.getUIHelper().showException("Error downloading Blob", e, "Error downloading Blob", false, true);
@@ -715,10 +775,12 @@ public class BlobExplorerFileEditor extends EditorPart implements TelemetryPrope
 //                                future.cancel(true);
                             bufferedInputStream.close();
 
-                            for (BlobItem blobItem : StorageClientSDKManager.getManager().getBlobItems(connectionString, blobDirectory)) {
-                                if (blobItem instanceof BlobFile && blobItem.getPath().equals(path)) {
-                                    StorageClientSDKManager.getManager().deleteBlobFile(connectionString, (BlobFile) blobItem);
-                                }
+                            BlobDirectory rootDirectory = StorageClientSDKManager.getManager().getRootDirectory(connectionString, blobContainer);
+                            BlobItem blobItem = StorageClientSDKManager.getManager().findBlobItem(connectionString, rootDirectory, path,
+                                    item -> item instanceof BlobFile && item.getPath().equals(path));
+
+                            if (blobItem != null) {
+                                StorageClientSDKManager.getManager().deleteBlobFile(connectionString, (BlobFile) blobItem);
                             }
                         }
 //                        }
@@ -728,10 +790,11 @@ public class BlobExplorerFileEditor extends EditorPart implements TelemetryPrope
                             directoryQueue.addLast(StorageClientSDKManager.getManager().getRootDirectory(connectionString, blobContainer));
 
                             for (String pathDir : path.split("/")) {
-                                for (BlobItem blobItem : StorageClientSDKManager.getManager().getBlobItems(connectionString, directoryQueue.getLast())) {
-                                    if (blobItem instanceof BlobDirectory && blobItem.getName().equals(pathDir)) {
-                                        directoryQueue.addLast((BlobDirectory) blobItem);
-                                    }
+                                BlobItem blobItem = StorageClientSDKManager.getManager().findBlobItem(connectionString, directoryQueue.getLast(), pathDir,
+                                        item -> item instanceof BlobDirectory && item.getName().equals(pathDir));
+
+                                if (blobItem != null) {
+                                    directoryQueue.addLast((BlobDirectory) blobItem);
                                 }
                             }
                         } catch (AzureCmdException e) {
@@ -777,7 +840,13 @@ public class BlobExplorerFileEditor extends EditorPart implements TelemetryPrope
     public void setFocus() {
     }
 
-    private class BlobListContentProvider implements IStructuredContentProvider {
+    @Override
+    public void dispose() {
+        closeBlobItemPager();
+        super.dispose();
+    }
+
+    private class BlobListContentProvider implements ILazyContentProvider {
         @Override
         public void dispose() {
         }
@@ -787,8 +856,14 @@ public class BlobExplorerFileEditor extends EditorPart implements TelemetryPrope
         }
 
         @Override
-        public Object[] getElements(Object o) {
-            return blobItems.toArray();
+        public void updateElement(int index) {
+            if (index < blobItems.size()) {
+                tableViewer.replace(blobItems.get(index), index);
+            }
+
+            if (index >= blobItems.size() - LOAD_MORE_THRESHOLD_ROWS) {
+                loadMoreItems();
+            }
         }
     }
 
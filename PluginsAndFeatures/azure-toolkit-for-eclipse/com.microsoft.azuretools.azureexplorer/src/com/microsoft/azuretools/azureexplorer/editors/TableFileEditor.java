@@ -22,19 +22,18 @@
 
 package com.microsoft.azuretools.azureexplorer.editors;
 
+import java.io.File;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jface.viewers.ILabelProviderListener;
-import org.eclipse.jface.viewers.IStructuredContentProvider;
+import org.eclipse.jface.viewers.ILazyContentProvider;
 import org.eclipse.jface.viewers.ITableLabelProvider;
 import org.eclipse.jface.viewers.TableViewer;
 import org.eclipse.jface.viewers.Viewer;
@@ -61,7 +60,9 @@ import com.microsoft.azuretools.azureexplorer.Activator;
 import com.microsoft.azuretools.azureexplorer.forms.TableEntityForm;
 import com.microsoft.azuretools.core.utils.PluginUtil;
 import com.microsoft.azuretools.azurecommons.helpers.AzureCmdException;
+import com.microsoft.tooling.msservices.helpers.CallableSingleArg;
 import com.microsoft.tooling.msservices.helpers.azure.sdk.StorageClientSDKManager;
+import com.microsoft.tooling.msservices.helpers.azure.sdk.TableEntityPager;
 import com.microsoft.tooling.msservices.model.storage.ClientStorageAccount;
 import com.microsoft.tooling.msservices.model.storage.Table;
 import com.microsoft.tooling.msservices.model.storage.TableEntity;
@@ -76,20 +77,27 @@ public class TableFileEditor extends EditorPart {
     private static final String EXECUTE = "Execute";
     private static final String DELETE = "Delete";
     private static final String REFRESH = "Refresh";
+    private static final String EXPORT = "Export to CSV";
+
+    private static final int LOAD_MORE_THRESHOLD_ROWS = 50;
 
     private ClientStorageAccount storageAccount;
+    private String connectionString;
     private Table table;
     private Button refreshButton;
 //    private Button newEntityButton;
     private Button deleteButton;
+    private Button exportButton;
     private Text queryTextField;
     private Button queryButton;
 //    private Button queryDesignerButton;
     private org.eclipse.swt.widgets.Table entitiesTable;
     private TableViewer tableViewer;
-    private List<TableEntity> tableEntities;
-    private Map<String, List<String>> columnData;
-    private List<String> data;
+    private List<TableEntity> tableEntities = new ArrayList<TableEntity>();
+    private List<String> data = new ArrayList<String>();
+
+    private volatile TableEntityPager tableEntityPager;
+    private boolean isLoadingMore = false;
 
     private FileEditorVirtualNode<EditorPart> fileEditorVirtualNode;
 
@@ -106,6 +114,7 @@ public class TableFileEditor extends EditorPart {
         setSite(site);
         setInput(input);
 //        storageAccount = ((StorageEditorInput) input).getStorageAccount();
+        connectionString = ((StorageEditorInput) input).getConnectionString();
         table = (Table) ((StorageEditorInput) input).getItem();
         setPartName(table.getName() + " [Table]");
         fileEditorVirtualNode = createVirtualNode(table.getName());
@@ -138,6 +147,13 @@ public class TableFileEditor extends EditorPart {
             }
         });
 
+        node.addAction(EXPORT, new NodeActionListener() {
+            @Override
+            protected void actionPerformed(NodeActionEvent e) throws AzureCmdException {
+                exportEntities();
+            }
+        });
+
         return node;
     }
 
@@ -186,6 +202,10 @@ public class TableFileEditor extends EditorPart {
         deleteButton.setToolTipText(DELETE);
         deleteButton.setEnabled(false);
 
+        exportButton = new Button(buttonsContainer, SWT.PUSH);
+        exportButton.setImage(Activator.getImageDescriptor("icons/storagesaveas.png").createImage());
+        exportButton.setToolTipText(EXPORT);
+
 //        queryDesignerButton = new Button(buttonsContainer, SWT.PUSH);
 //        queryDesignerButton.setImage(Activator.getImageDescriptor("icons/query_builder.png").createImage());
         SelectionListener queryActionListener = new SelectionAdapter() {
@@ -205,6 +225,13 @@ public class TableFileEditor extends EditorPart {
             }
         });
 
+        exportButton.addSelectionListener(new SelectionAdapter() {
+            @Override
+            public void widgetSelected(SelectionEvent e) {
+                fileEditorVirtualNode.doAction(EXPORT);
+            }
+        });
+
 //        newEntityButton.addSelectionListener(new SelectionAdapter() {
 //            @Override
 //            public void widgetSelected(SelectionEvent e) {
@@ -254,73 +281,172 @@ public class TableFileEditor extends EditorPart {
     }
 
     public void fillGrid() {
+        closeTableEntityPager();
+
         final String queryText = queryTextField.getText();
 
         DefaultLoader.getIdeHelper().runInBackground(null, "Loading entities", false, true, "Loading entities", new Runnable() {
             public void run() {
-                /*try {
-                    tableEntities = StorageClientSDKManager.getManager().getTableEntities(storageAccount, table, queryText);
+                try {
+                    // Only the first segment is queried here, the following ones are loaded when the rows near
+                    // the end are shown
+                    final TableEntityPager pager = new TableEntityPager(connectionString, table.getName(), queryText, null);
+                    tableEntityPager = pager;
+
+                    final List<TableEntity> segmentEntities = pager.loadNextSegment();
+
+                    DefaultLoader.getIdeHelper().invokeLater(new Runnable() {
+                        @Override
+                        public void run() {
+                            if (pager != tableEntityPager || entitiesTable.isDisposed()) {
+                                return;
+                            }
 
-                    refreshGrid();
+                            tableEntities = new ArrayList<TableEntity>(segmentEntities);
+                            data = new ArrayList<String>();
+
+                            refreshGrid();
+                        }
+                    });
                 } catch (AzureCmdException e) {
                     DefaultLoader.getUIHelper().showException("Error querying entities", e, "Service Explorer", false, true);
-                }*/
+                }
             }
         });
     }
 
-    private void refreshGrid() {
-        DefaultLoader.getIdeHelper().invokeLater(new Runnable() {
+    private void loadMoreEntities() {
+        final TableEntityPager pager = tableEntityPager;
+
+        if (pager == null || isLoadingMore || !pager.hasMore()) {
+            return;
+        }
+
+        isLoadingMore = true;
+
+        DefaultLoader.getIdeHelper().executeOnPooledThread(new Runnable() {
             @Override
             public void run() {
-                columnData = new LinkedHashMap<String, List<String>>();
-                data = new ArrayList<String>();
-                data.add(PARTITION_KEY);
-                data.add(ROW_KEY);
-                data.add(TIMESTAMP);
-                columnData.put(PARTITION_KEY, new ArrayList<String>());
-                columnData.put(ROW_KEY, new ArrayList<String>());
-                columnData.put(TIMESTAMP, new ArrayList<String>());
-
-                for (TableEntity tableEntity : tableEntities) {
-                    columnData.get(PARTITION_KEY).add(tableEntity.getPartitionKey());
-                    columnData.get(ROW_KEY).add(tableEntity.getRowKey());
-                    columnData.get(TIMESTAMP).add(new SimpleDateFormat().format(tableEntity.getTimestamp().getTime()));
-
-                    for (String entityColumn : tableEntity.getProperties().keySet()) {
-                        if (!data.contains(entityColumn)) {
-                            data.add(entityColumn);
+                try {
+                    final List<TableEntity> segmentEntities = pager.loadNextSegment();
+
+                    DefaultLoader.getIdeHelper().invokeLater(new Runnable() {
+                        @Override
+                        public void run() {
+                            isLoadingMore = false;
+
+                            if (pager != tableEntityPager || entitiesTable.isDisposed() || segmentEntities.isEmpty()) {
+                                return;
+                            }
+
+                            tableEntities.addAll(segmentEntities);
+
+                            refreshGrid();
                         }
-                        if (!columnData.keySet().contains(entityColumn)) {
-                            columnData.put(entityColumn, new ArrayList<String>());
+                    });
+                } catch (AzureCmdException e) {
+                    DefaultLoader.getIdeHelper().invokeLater(new Runnable() {
+                        @Override
+                        public void run() {
+                            isLoadingMore = false;
                         }
-                    }
+                    });
 
+                    DefaultLoader.getUIHelper().showException("Error querying entities", e, "Service Explorer", false, true);
                 }
+            }
+        });
+    }
 
-                for (TableEntity tableEntity : tableEntities) {
-                    for (String column : columnData.keySet()) {
-                        if (!column.equals(PARTITION_KEY) && !column.equals(ROW_KEY) && !column.equals(TIMESTAMP)) {
-                            columnData.get(column).add(tableEntity.getProperties().containsKey(column)
-                                    ? getFormattedProperty(tableEntity.getProperties().get(column))
-                                    : "");
-                        }
-                    }
-                }
-                entitiesTable.setRedraw(false);
-                while (entitiesTable.getColumnCount() > 0 ) {
-                    entitiesTable.getColumns()[0].dispose();
-                }
-                for (String columnName : data) {
-                    TableColumn tableColumn = new TableColumn(entitiesTable, SWT.FILL);
-                    tableColumn.setText(columnName);
-                    tableColumn.setWidth(100);
+    private void closeTableEntityPager() {
+        final TableEntityPager pager = tableEntityPager;
+        tableEntityPager = null;
+
+        if (pager != null) {
+            pager.close();
+        }
+    }
+
+    private void refreshGrid() {
+        List<String> columns = new ArrayList<String>();
+        columns.add(PARTITION_KEY);
+        columns.add(ROW_KEY);
+        columns.add(TIMESTAMP);
+
+        for (TableEntity tableEntity : tableEntities) {
+            for (String entityColumn : tableEntity.getProperties().keySet()) {
+                if (!columns.contains(entityColumn)) {
+                    columns.add(entityColumn);
                 }
-                entitiesTable.setRedraw(true);
+            }
+        }
 
-                tableViewer.setInput(tableEntities);
+        // The columns are rebuilt only if a new property is found in the loaded segments
+        if (!columns.equals(data)) {
+            data = columns;
+
+            entitiesTable.setRedraw(false);
+            while (entitiesTable.getColumnCount() > 0 ) {
+                entitiesTable.getColumns()[0].dispose();
             }
-        });
+            for (String columnName : data) {
+                TableColumn tableColumn = new TableColumn(entitiesTable, SWT.FILL);
+                tableColumn.setText(columnName);
+                tableColumn.setWidth(100);
+            }
+            entitiesTable.setRedraw(true);
+
+            tableViewer.setInput(tableEntities);
+        }
+
+        tableViewer.setItemCount(tableEntities.size());
+        tableViewer.refresh();
+    }
+
+    private void exportEntities() {
+        final File file = DefaultLoader.getUIHelper().showFileChooser(EXPORT);
+
+        if (file == null) {
+            return;
+        }
+
+        final String queryText = queryTextField.getText();
+
+        Job job = new Job("Exporting entities") {
+            @Override
+            protected IStatus run(final IProgressMonitor monitor) {
+                monitor.beginTask("Exporting entities", IProgressMonitor.UNKNOWN);
+                try {
+                    // The entities are streamed to the file segment by segment instead of the loaded ones
+                    StorageClientSDKManager.getManager().exportTableEntities(connectionString, table.getName(),
+                            queryText, null, file, new CallableSingleArg<Void, Long>() {
+                                @Override
+                                public Void call(Long exported) throws Exception {
+                                    if (monitor.isCanceled()) {
+                                        throw new InterruptedException("Exporting entities is cancelled");
+                                    }
+
+                                    monitor.subTask(String.format("%d entities exported", exported));
+
+                                    return null;
+                                }
+                            });
+
+                    return Status.OK_STATUS;
+                } catch (AzureCmdException e) {
+                    if (monitor.isCanceled()) {
+                        return Status.CANCEL_STATUS;
+                    }
+
+                    DefaultLoader.getUIHelper().showException("Error exporting entities", e, "Service Explorer", false, true);
+                    return Status.CANCEL_STATUS;
+                } finally {
+                    monitor.done();
+                }
+            }
+        };
+        job.setUser(true);
+        job.schedule();
     }
 
     private void deleteSelection() {
@@ -419,7 +545,7 @@ public class TableFileEditor extends EditorPart {
     }
 
     private void createTable(Composite parent) {
-        entitiesTable = new org.eclipse.swt.widgets.Table(parent, SWT.MULTI | SWT.BORDER | SWT.FULL_SELECTION);
+        entitiesTable = new org.eclipse.swt.widgets.Table(parent, SWT.MULTI | SWT.BORDER | SWT.FULL_SELECTION | SWT.VIRTUAL);
 
         entitiesTable.setHeaderVisible(true);
         entitiesTable.setLinesVisible(true);
@@ -443,7 +569,13 @@ public class TableFileEditor extends EditorPart {
 
     }
 
-    private class TableContentProvider implements IStructuredContentProvider {
+    @Override
+    public void dispose() {
+        closeTableEntityPager();
+        super.dispose();
+    }
+
+    private class TableContentProvider implements ILazyContentProvider {
         public void dispose() {
 
         }
@@ -452,8 +584,14 @@ public class TableFileEditor extends EditorPart {
 
         }
 
-        public Object[] getElements(Object o) {
-            return tableEntities.toArray();
+        public void updateElement(int index) {
+            if (index < tableEntities.size()) {
+                tableViewer.replace(tableEntities.get(index), index);
+            }
+
+            if (index >= tableEntities.size() - LOAD_MORE_THRESHOLD_ROWS) {
+                loadMoreEntities();
+            }
         }
     }
 
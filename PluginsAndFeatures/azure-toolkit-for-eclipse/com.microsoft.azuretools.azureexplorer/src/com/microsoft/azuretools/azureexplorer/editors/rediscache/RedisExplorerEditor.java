@@ -401,6 +401,19 @@ public class RedisExplorerEditor extends EditorPart implements RedisExplorerMvpV
         setWidgetEnableStatus(true);
     }
 
+    @Override
+    public void appendContent(RedisValueData val) {
+        if (tblInnerValue.isDisposed() || tblInnerValue.getColumnCount() == 0) {
+            return;
+        }
+        tblInnerValue.setRedraw(false);
+        for (String[] data : val.getRowData()) {
+            TableItem item = new TableItem(tblInnerValue, SWT.NONE);
+            item.setText(data);
+        }
+        tblInnerValue.setRedraw(true);
+    }
+
     @Override
     public void onErrorWithException(String message, Exception ex) {
         RedisExplorerMvpView.super.onErrorWithException(message, ex);
@@ -38,6 +38,11 @@ import java.util.Optional;
 public class SparkBatchJobDeployFactory implements ILogger {
     private static final SparkBatchJobDeployFactory ourInstance = new SparkBatchJobDeployFactory();
 
+    /**
+     * Set the system property to true to upload the artifact into a new dated folder for every submission
+     */
+    private static final String CONTENT_ADDRESSED_DEPLOY_DISABLED_PROPERTY = "spark.submission.contentAddressedDeploy.disabled";
+
     public static SparkBatchJobDeployFactory getInstance() {
         return ourInstance;
     }
@@ -259,7 +264,15 @@ public class SparkBatchJobDeployFactory implements ILogger {
                 throw new ExecutionException("Unsupported job upload storage type");
         }
 
+        if (jobDeploy instanceof ContentAddressableDeployable && isContentAddressedDeployEnabled()) {
+            jobDeploy = new ContentAddressedDeploy((ContentAddressableDeployable) jobDeploy);
+        }
+
         //TODO:use httpobservable to replace sparkbathsubmission and deprecate the old constructor.
         return jobDeploy;
     }
+
+    private boolean isContentAddressedDeployEnabled() {
+        return !Boolean.getBoolean(CONTENT_ADDRESSED_DEPLOY_DISABLED_PROPERTY);
+    }
 }
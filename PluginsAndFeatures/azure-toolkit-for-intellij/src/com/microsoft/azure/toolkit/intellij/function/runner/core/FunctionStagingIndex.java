@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.intellij.function.runner.core;
+
+import com.google.gson.JsonParseException;
+import com.microsoft.azuretools.utils.JsonUtils;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.FileUtils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The index of an incremental function staging folder, which records what was staged in the last run.
+ * It's saved beside the staging folder, so it won't be deployed with the staged files.
+ */
+public class FunctionStagingIndex {
+    private static final String INDEX_FILE_SUFFIX = ".index.json";
+
+    private String moduleOutputFingerprint;
+    private Map<String, LibraryStamp> libraries = new HashMap<>();
+
+    public static boolean isIndexed(File stagingFolder) {
+        return getIndexFile(stagingFolder).isFile();
+    }
+
+    public static FunctionStagingIndex load(File stagingFolder) {
+        final File indexFile = getIndexFile(stagingFolder);
+        try {
+            final FunctionStagingIndex index = indexFile.isFile() ?
+                    JsonUtils.fromJsonString(FileUtils.readFileToString(indexFile, StandardCharsets.UTF_8),
+                                             FunctionStagingIndex.class) : null;
+            if (index != null && index.libraries != null) {
+                return index;
+            }
+        } catch (IOException | JsonParseException e) {
+            // rebuild the staging folder if the index is broken
+        }
+        return new FunctionStagingIndex();
+    }
+
+    public void save(File stagingFolder) throws IOException {
+        FileUtils.write(getIndexFile(stagingFolder), JsonUtils.toJsonString(this), StandardCharsets.UTF_8);
+    }
+
+    private static File getIndexFile(File stagingFolder) {
+        final File folder = stagingFolder.getAbsoluteFile();
+        return new File(folder.getParentFile(), folder.getName() + INDEX_FILE_SUFFIX);
+    }
+
+    public String getModuleOutputFingerprint() {
+        return moduleOutputFingerprint;
+    }
+
+    public void setModuleOutputFingerprint(String moduleOutputFingerprint) {
+        this.moduleOutputFingerprint = moduleOutputFingerprint;
+    }
+
+    public Map<String, LibraryStamp> getLibraries() {
+        return libraries;
+    }
+
+    public static class LibraryStamp {
+        private String source;
+        private long size;
+        private long lastModified;
+        private String sha256;
+
+        public static LibraryStamp of(File source) throws IOException {
+            final LibraryStamp stamp = new LibraryStamp();
+            stamp.source = source.getAbsolutePath();
+            stamp.size = source.length();
+            stamp.lastModified = source.lastModified();
+            try (InputStream inputStream = new FileInputStream(source)) {
+                stamp.sha256 = DigestUtils.sha256Hex(inputStream);
+            }
+            return stamp;
+        }
+
+        /**
+         * Check whether the library file is the same as the stamped one by its path, size and modified time,
+         * without reading the content
+         */
+        public boolean isSameFile(File file) {
+            return source != null && source.equals(file.getAbsolutePath())
+                    && size == file.length() && lastModified == file.lastModified();
+        }
+
+        public boolean isSameContent(LibraryStamp other) {
+            return sha256 != null && size == other.size && sha256.equals(other.sha256);
+        }
+    }
+}
@@ -50,7 +50,9 @@ import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import static com.microsoft.intellij.ui.messages.AzureBundle.message;
@@ -70,6 +72,9 @@ public class FunctionUtils {
             "com.microsoft.azure.functions.annotation.CustomBinding";
     private static Map<BindingEnum, List<String>> REQUIRED_ATTRIBUTE_MAP = new HashMap<>();
     private static final List<String> CUSTOM_BINDING_RESERVED_PROPERTIES = Arrays.asList("type", "name", "direction");
+    private static final String INCREMENTAL_STAGING_DISABLED = "azure.function.staging.incremental.disabled";
+    private static final String INCREMENTAL_STAGING_FOLDER = ".staging";
+    private static final Set<String> IN_USE_STAGING_FOLDERS = ConcurrentHashMap.newKeySet();
 
     static {
         //initialize required attributes, which will be saved to function.json even if it equals to its default value
@@ -102,6 +107,38 @@ public class FunctionUtils {
                functionApp.linuxFxVersion().split("|")[1];
     }
 
+    /**
+     * Get the staging folder of the module, which is kept between runs and staged incrementally.
+     * A temp staging folder is used instead if incremental staging is disabled by the system property
+     * or the folder is in use by another run.
+     *
+     * @param module the function module
+     * @param purpose the purpose of staging folder, e.g. run or deploy, since their staged files differ
+     */
+    public static File getStagingFolder(Module module, String purpose) {
+        if (Boolean.getBoolean(INCREMENTAL_STAGING_DISABLED) || module == null) {
+            return getTempStagingFolder();
+        }
+        final File folder = Paths.get(getTargetFolder(module)).resolveSibling(INCREMENTAL_STAGING_FOLDER)
+                                 .resolve(purpose)
+                                 .resolve(module.getName())
+                                 .toFile();
+        if (!IN_USE_STAGING_FOLDERS.add(folder.getAbsolutePath())) {
+            return getTempStagingFolder();
+        }
+        try {
+            FileUtils.forceMkdir(folder);
+            if (!FunctionStagingIndex.isIndexed(folder)) {
+                FileUtils.cleanDirectory(folder);
+                new FunctionStagingIndex().save(folder);
+            }
+            return folder;
+        } catch (IOException e) {
+            IN_USE_STAGING_FOLDERS.remove(folder.getAbsolutePath());
+            return getTempStagingFolder();
+        }
+    }
+
     public static File getTempStagingFolder() {
         try {
             final Path path = Files.createTempDirectory(AZURE_FUNCTIONS);
@@ -120,6 +157,10 @@ public class FunctionUtils {
     )
     public static void cleanUpStagingFolder(File stagingFolder) {
         try {
+            if (stagingFolder != null && IN_USE_STAGING_FOLDERS.remove(stagingFolder.getAbsolutePath())) {
+                // Keep the incremental staging folder for next run
+                return;
+            }
             if (stagingFolder != null) {
                 FileUtils.deleteDirectory(stagingFolder);
             }
@@ -229,13 +270,19 @@ public class FunctionUtils {
     public static Map<String, FunctionConfiguration> prepareStagingFolder(Path stagingFolder, Path hostJson, Module module, PsiMethod[] methods)
             throws AzureExecutionException, IOException {
         final Map<String, FunctionConfiguration> configMap = generateConfigurations(methods);
-        if (stagingFolder.toFile().isDirectory()) {
+        // Incremental staging folder is kept between runs, only the changed files are staged again
+        final boolean isIncremental = FunctionStagingIndex.isIndexed(stagingFolder.toFile());
+        final FunctionStagingIndex index = isIncremental ? FunctionStagingIndex.load(stagingFolder.toFile()) : new FunctionStagingIndex();
+        if (!isIncremental && stagingFolder.toFile().isDirectory()) {
             FileUtils.cleanDirectory(stagingFolder.toFile());
         }
 
-        final Path jarFile = JarUtils.buildJarFileToStagingPath(stagingFolder.toString(), module);
+        final Path jarFile = prepareModuleJar(stagingFolder, module, index, isIncremental);
         final String scriptFilePath = "../" + jarFile.getFileName().toString();
         configMap.values().forEach(config -> config.setScriptFile(scriptFilePath));
+        if (isIncremental) {
+            removeStaleFunctionFolders(stagingFolder.toFile(), configMap.keySet());
+        }
         for (final Map.Entry<String, FunctionConfiguration> config : configMap.entrySet()) {
             if (StringUtils.isNotBlank(config.getKey())) {
                 final File functionJsonFile = Paths.get(stagingFolder.toString(), config.getKey(), FUNCTION_JSON)
@@ -264,12 +311,93 @@ public class FunctionUtils {
             return true;
         });
         final File libFolder = new File(stagingFolder.toFile(), "lib");
-        for (final File file : jarFiles) {
-            FileUtils.copyFileToDirectory(file, libFolder);
+        if (isIncremental) {
+            stageLibrariesIncrementally(jarFiles, libFolder, index);
+            index.save(stagingFolder.toFile());
+        } else {
+            for (final File file : jarFiles) {
+                FileUtils.copyFileToDirectory(file, libFolder);
+            }
         }
         return configMap;
     }
 
+    private static Path prepareModuleJar(Path stagingFolder, Module module, FunctionStagingIndex index, boolean isIncremental)
+            throws AzureExecutionException, IOException {
+        if (!isIncremental) {
+            return JarUtils.buildJarFileToStagingPath(stagingFolder.toString(), module);
+        }
+
+        // Rebuild the module jar only when the compiled output changes
+        final Path jarFile = JarUtils.getJarFileStagingPath(stagingFolder.toString(), module);
+        final String fingerprint = JarUtils.getModuleOutputFingerprint(module);
+        if (fingerprint != null && fingerprint.equals(index.getModuleOutputFingerprint()) && jarFile.toFile().isFile()) {
+            return jarFile;
+        }
+        final Path builtJarFile = JarUtils.buildJarFileToStagingPath(stagingFolder.toString(), module);
+        index.setModuleOutputFingerprint(fingerprint);
+        return builtJarFile;
+    }
+
+    private static void removeStaleFunctionFolders(File stagingFolder, Set<String> functionNames) throws IOException {
+        final File[] folders = stagingFolder.listFiles(file -> file.isDirectory() && new File(file, FUNCTION_JSON).isFile());
+        if (folders == null) {
+            return;
+        }
+        for (final File folder : folders) {
+            if (!functionNames.contains(folder.getName())) {
+                FileUtils.deleteDirectory(folder);
+            }
+        }
+    }
+
+    /**
+     * Link the dependency jars into the lib folder, the jars are only staged again when their size,
+     * modified time and content hash change
+     */
+    private static void stageLibrariesIncrementally(List<File> jarFiles, File libFolder, FunctionStagingIndex index)
+            throws IOException {
+        FileUtils.forceMkdir(libFolder);
+        final Map<String, FunctionStagingIndex.LibraryStamp> staged = new HashMap<>(index.getLibraries());
+        final Map<String, FunctionStagingIndex.LibraryStamp> libraries = new HashMap<>();
+        for (final File jarFile : jarFiles) {
+            final File target = new File(libFolder, jarFile.getName());
+            final FunctionStagingIndex.LibraryStamp stagedStamp = staged.get(jarFile.getName());
+            if (stagedStamp != null && target.isFile() && stagedStamp.isSameFile(jarFile)) {
+                libraries.put(jarFile.getName(), stagedStamp);
+                continue;
+            }
+
+            final FunctionStagingIndex.LibraryStamp stamp = FunctionStagingIndex.LibraryStamp.of(jarFile);
+            if (stagedStamp == null || !target.isFile() || !stagedStamp.isSameContent(stamp)) {
+                linkOrCopyFile(jarFile, target);
+            }
+            libraries.put(jarFile.getName(), stamp);
+        }
+
+        // Remove the jars not depended any more
+        final File[] stagedFiles = libFolder.listFiles(File::isFile);
+        if (stagedFiles != null) {
+            for (final File stagedFile : stagedFiles) {
+                if (!libraries.containsKey(stagedFile.getName())) {
+                    Files.deleteIfExists(stagedFile.toPath());
+                }
+            }
+        }
+        index.getLibraries().clear();
+        index.getLibraries().putAll(libraries);
+    }
+
+    private static void linkOrCopyFile(File source, File target) throws IOException {
+        Files.deleteIfExists(target.toPath());
+        try {
+            Files.createLink(target.toPath(), source.toPath());
+        } catch (IOException | UnsupportedOperationException | SecurityException e) {
+            // Hard link is not supported across file stores or by some file systems
+            Files.copy(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.COPY_ATTRIBUTES);
+        }
+    }
+
     public static String getTargetFolder(Module module) {
         if (module == null) {
             return StringUtils.EMPTY;
@@ -318,7 +446,12 @@ public class FunctionUtils {
             json.put("bindings", lists.toArray());
         }
         file.getParentFile().mkdirs();
-        JsonUtils.writeJsonToFile(file, json);
+        // Skip writing the unchanged function.json, to keep its modified time for the function host
+        final String content = JsonUtils.toJsonString(json);
+        if (file.isFile() && StringUtils.equals(content, FileUtils.readFileToString(file, Charset.defaultCharset()))) {
+            return;
+        }
+        FileUtils.write(file, content, Charset.defaultCharset());
     }
 
     private static String stripExtraCharacters(String fileName) {
@@ -8,6 +8,7 @@ package com.microsoft.azure.toolkit.intellij.function.runner.core;
 import com.intellij.openapi.compiler.CompilerPaths;
 import com.intellij.openapi.module.Module;
 import com.microsoft.azure.common.exceptions.AzureExecutionException;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.lang3.StringUtils;
 
 import java.io.BufferedInputStream;
@@ -23,6 +24,8 @@ import java.nio.file.StandardOpenOption;
 import java.util.jar.Attributes;
 import java.util.jar.Manifest;
 import java.util.zip.ZipEntry;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.util.zip.ZipOutputStream;
 
 public class JarUtils {
@@ -34,9 +37,8 @@ public class JarUtils {
         if (!stagingFolderFile.exists()) {
             stagingFolderFile.mkdirs();
         }
-        final String moduleName = module.getName();
         final String path = CompilerPaths.getModuleOutputPath(module, false);
-        final Path outputFile = Paths.get(stagingFolder, moduleName + ".jar");
+        final Path outputFile = getJarFileStagingPath(stagingFolder, module);
         try (final ZipOutputStream outputZip = getZipOutputStream(outputFile, true)) {
             zipDirectory(new File(path), "", outputZip);
             addManifest(outputZip);
@@ -44,6 +46,32 @@ public class JarUtils {
         return outputFile;
     }
 
+    public static Path getJarFileStagingPath(String stagingFolder, Module module) {
+        return Paths.get(stagingFolder, module.getName() + ".jar");
+    }
+
+    /**
+     * Get the fingerprint of the module compiled output, by the relative path, size and modified time of files
+     */
+    public static String getModuleOutputFingerprint(Module module) throws IOException {
+        final String path = CompilerPaths.getModuleOutputPath(module, false);
+        if (StringUtils.isBlank(path) || !new File(path).isDirectory()) {
+            return null;
+        }
+        final Path outputFolder = Paths.get(path);
+        final StringBuilder builder = new StringBuilder();
+        try (Stream<Path> files = Files.walk(outputFolder)) {
+            for (final Path file : files.filter(Files::isRegularFile).sorted().collect(Collectors.toList())) {
+                final File outputFile = file.toFile();
+                builder.append(outputFolder.relativize(file).toString().replace(File.separatorChar, '/'))
+                       .append('|').append(outputFile.length())
+                       .append('|').append(outputFile.lastModified())
+                       .append('\n');
+            }
+        }
+        return DigestUtils.sha256Hex(builder.toString());
+    }
+
     private static void zipDirectory(File folder, String parentFolder, ZipOutputStream zos)
             throws IOException {
         if (!folder.isDirectory()) {
@@ -70,7 +70,7 @@ public class FunctionDeploymentState extends AzureRunProfileState<WebAppBase> {
         functionDeployConfiguration.setOs(appServicePlan.operatingSystem().name());
         functionDeployConfiguration.setPricingTier(appServicePlan.pricingTier().toSkuDescription().size());
         // Deploy function to Azure
-        stagingFolder = FunctionUtils.getTempStagingFolder();
+        stagingFolder = FunctionUtils.getStagingFolder(functionDeployConfiguration.getModule(), "deploy");
         deployModel.setDeploymentStagingDirectoryPath(stagingFolder.getPath());
         prepareStagingFolder(stagingFolder, processHandler, operation);
         final DeployFunctionHandler deployFunctionHandler = new DeployFunctionHandler(deployModel, message -> {
@@ -114,7 +114,7 @@ public class FunctionRunState extends AzureRunProfileState<FunctionApp> {
     protected FunctionApp executeSteps(@NotNull RunProcessHandler processHandler, @NotNull Operation operation) throws Exception {
         // Prepare staging Folder
         validateFunctionRuntime(processHandler);
-        stagingFolder = FunctionUtils.getTempStagingFolder();
+        stagingFolder = FunctionUtils.getStagingFolder(functionRunConfiguration.getModule(), "run");
         addProcessTerminatedListener(processHandler);
         prepareStagingFolder(stagingFolder, processHandler, operation);
         // Run Function Host
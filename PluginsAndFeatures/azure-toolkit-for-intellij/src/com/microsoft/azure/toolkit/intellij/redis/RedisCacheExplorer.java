@@ -238,6 +238,17 @@ public class RedisCacheExplorer extends BaseEditor implements RedisExplorerMvpVi
         setWidgetEnableStatus(true);
     }
 
+    @Override
+    public void appendContent(RedisValueData val) {
+        if (!(tblInnerValue.getModel() instanceof ReadOnlyTableModel)) {
+            return;
+        }
+        ReadOnlyTableModel tableModel = (ReadOnlyTableModel) tblInnerValue.getModel();
+        for (String[] row : val.getRowData()) {
+            tableModel.addRow(row);
+        }
+    }
+
     @Override
     public void updateKeyList() {
         DefaultListModel listModel = (DefaultListModel) lstKey.getModel();
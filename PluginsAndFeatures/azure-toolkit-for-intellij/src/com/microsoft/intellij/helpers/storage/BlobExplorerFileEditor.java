@@ -31,10 +31,10 @@ import com.microsoft.azuretools.azurecommons.helpers.AzureCmdException;
 import com.microsoft.azuretools.sdkmanage.AzureManager;
 import com.microsoft.azuretools.telemetry.TelemetryProperties;
 import com.microsoft.intellij.forms.UploadBlobFileForm;
-import com.microsoft.intellij.helpers.UIHelperImpl;
 import com.microsoft.intellij.util.PluginUtil;
 import com.microsoft.tooling.msservices.components.DefaultLoader;
 import com.microsoft.tooling.msservices.helpers.CallableSingleArg;
+import com.microsoft.tooling.msservices.helpers.azure.sdk.BlobItemPager;
 import com.microsoft.tooling.msservices.helpers.azure.sdk.StorageClientSDKManager;
 import com.microsoft.tooling.msservices.model.storage.BlobContainer;
 import com.microsoft.tooling.msservices.model.storage.BlobDirectory;
@@ -43,13 +43,13 @@ import com.microsoft.tooling.msservices.model.storage.BlobItem;
 import com.microsoft.tooling.msservices.serviceexplorer.NodeActionEvent;
 import com.microsoft.tooling.msservices.serviceexplorer.NodeActionListener;
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import javax.swing.*;
 import javax.swing.event.ListSelectionEvent;
 import javax.swing.event.ListSelectionListener;
-import javax.swing.table.DefaultTableModel;
 import javax.swing.table.JTableHeader;
 import javax.swing.table.TableModel;
 import javax.swing.table.TableRowSorter;
@@ -60,7 +60,6 @@ import java.awt.event.*;
 import java.beans.PropertyChangeListener;
 import java.io.*;
 import java.net.SocketTimeoutException;
-import java.text.SimpleDateFormat;
 import java.util.List;
 import java.util.*;
 import java.util.concurrent.Callable;
@@ -76,6 +75,18 @@ public class BlobExplorerFileEditor implements FileEditor, TelemetryProperties {
     static final String UPLOAD = "Upload";
     static final String QUERY = "Query";
 
+    /**
+     * Load the next segment when the scroll bar is within these rows to the bottom
+     */
+    private static final int LOAD_MORE_THRESHOLD_ROWS = 50;
+
+    /**
+     * Directories first, then by names
+     */
+    private static final List<RowSorter.SortKey> DEFAULT_SORT_KEYS = Arrays.asList(
+            new RowSorter.SortKey(0, SortOrder.DESCENDING),
+            new RowSorter.SortKey(1, SortOrder.ASCENDING));
+
     private JPanel mainPanel;
     private JTextField queryTextField;
     private JTable blobListTable;
@@ -94,7 +105,10 @@ public class BlobExplorerFileEditor implements FileEditor, TelemetryProperties {
     private Project project;
 
     private LinkedList<BlobDirectory> directoryQueue = new LinkedList<BlobDirectory>();
-    private List<BlobItem> blobItems;
+    private final BlobListTableModel blobListModel = new BlobListTableModel();
+    private final TableRowSorter<TableModel> blobListSorter = new TableRowSorter<TableModel>(blobListModel);
+    private volatile BlobItemPager blobItemPager;
+    private boolean isLoadingMore = false;
 
     private ISubscriptionSelectionListener subscriptionListener;
     private FileEditorVirtualNode fileEditorVirtualNode;
@@ -103,25 +117,7 @@ public class BlobExplorerFileEditor implements FileEditor, TelemetryProperties {
         this.project = project;
         blobListTable.getSelectionModel().setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
 
-        DefaultTableModel model = new DefaultTableModel() {
-            @Override
-            public boolean isCellEditable(int i, int i1) {
-                return false;
-            }
-
-            public Class getColumnClass(int column) {
-                return (column == 0) ? Icon.class : String.class;
-            }
-        };
-
-        model.addColumn("");
-        model.addColumn("Name");
-        model.addColumn("Size");
-        model.addColumn("Last Modified (UTC)");
-        model.addColumn("Content Type");
-        model.addColumn("URL");
-
-        blobListTable.setModel(model);
+        blobListTable.setModel(blobListModel);
         blobListTable.getColumnModel().getColumn(0).setMinWidth(20);
         blobListTable.getColumnModel().getColumn(0).setMaxWidth(20);
         blobListTable.getColumnModel().getColumn(1).setPreferredWidth(100);
@@ -149,9 +145,23 @@ public class BlobExplorerFileEditor implements FileEditor, TelemetryProperties {
             }
         });
 
-        TableRowSorter<TableModel> sorter = new TableRowSorter<TableModel>(model);
+        JScrollPane blobListScrollPane = (JScrollPane) SwingUtilities.getAncestorOfClass(JScrollPane.class, blobListTable);
+
+        if (blobListScrollPane != null) {
+            blobListScrollPane.getVerticalScrollBar().addAdjustmentListener(new AdjustmentListener() {
+                @Override
+                public void adjustmentValueChanged(AdjustmentEvent adjustmentEvent) {
+                    BoundedRangeModel rangeModel = ((JScrollBar) adjustmentEvent.getAdjustable()).getModel();
+                    int threshold = LOAD_MORE_THRESHOLD_ROWS * blobListTable.getRowHeight();
+
+                    if (rangeModel.getValue() + rangeModel.getExtent() >= rangeModel.getMaximum() - threshold) {
+                        loadMoreItems();
+                    }
+                }
+            });
+        }
 
-        sorter.setComparator(2, new Comparator<String>() {
+        blobListSorter.setComparator(2, new Comparator<String>() {
             @Override
             public int compare(String f, String s) {
                 String first = f;
@@ -193,13 +203,9 @@ public class BlobExplorerFileEditor implements FileEditor, TelemetryProperties {
             }
         });
 
-        blobListTable.setRowSorter(sorter);
-        List<RowSorter.SortKey> sortKeys = new ArrayList<RowSorter.SortKey>();
-
-        sortKeys.add(new RowSorter.SortKey(0, SortOrder.DESCENDING));
-        sortKeys.add(new RowSorter.SortKey(1, SortOrder.ASCENDING));
-        sorter.setSortKeys(sortKeys);
-        sorter.sort();
+        blobListTable.setRowSorter(blobListSorter);
+        blobListSorter.setSortKeys(DEFAULT_SORT_KEYS);
+        blobListSorter.sort();
 
         backButton.addActionListener(new ActionListener() {
             @Override
@@ -304,6 +310,9 @@ public class BlobExplorerFileEditor implements FileEditor, TelemetryProperties {
     public void fillGrid() {
         setUIState(true);
 
+        closeBlobItemPager();
+
+        final String namePrefix = queryTextField.getText();
         final IAzureOperationTitle title = AzureOperationBundle.title("blob.list", blobContainer.getName());
         AzureTaskManager.getInstance().runInBackground(new AzureTask(project, title, false, () -> {
             final ProgressIndicator progressIndicator = ProgressManager.getInstance().getProgressIndicator();
@@ -314,50 +323,21 @@ public class BlobExplorerFileEditor implements FileEditor, TelemetryProperties {
                     directoryQueue.addLast(StorageClientSDKManager.getManager().getRootDirectory(connectionString, blobContainer));
                 }
 
-                blobItems = StorageClientSDKManager.getManager().getBlobItems(connectionString, directoryQueue.peekLast());
+                // The prefix is filtered by the service, only the first segment is listed here, the following
+                // ones are loaded on scrolling
+                final BlobItemPager pager = new BlobItemPager(connectionString, directoryQueue.peekLast(), namePrefix);
+                blobItemPager = pager;
 
-                if (!queryTextField.getText().isEmpty()) {
-                    for (int i = blobItems.size() - 1; i >= 0; i--) {
-                        BlobItem blobItem = blobItems.get(i);
-
-                        if (blobItem instanceof BlobFile && !blobItem.getName().startsWith(queryTextField.getText())) {
-                            blobItems.remove(i);
-                        }
-                    }
-                }
+                final List<BlobItem> blobItems = pager.loadNextSegment();
 
                 AzureTaskManager.getInstance().runLater(() -> {
-
-                    pathLabel.setText(directoryQueue.peekLast().getPath());
-                    DefaultTableModel model = (DefaultTableModel) blobListTable.getModel();
-
-                    while (model.getRowCount() > 0) {
-                        model.removeRow(0);
+                    if (pager != blobItemPager) {
+                        return;
                     }
 
-                    for (BlobItem blobItem : blobItems) {
-                        if (blobItem instanceof BlobDirectory) {
-                            model.addRow(new Object[]{
-                                UIHelperImpl.loadIcon("storagefolder.png"),
-                                blobItem.getName(),
-                                "",
-                                "",
-                                "",
-                                blobItem.getUri()
-                            });
-                        } else {
-                            BlobFile blobFile = (BlobFile) blobItem;
-
-                            model.addRow(new String[]{
-                                "",
-                                blobFile.getName(),
-                                UIHelperImpl.readableFileSize(blobFile.getSize()),
-                                new SimpleDateFormat().format(blobFile.getLastModified().getTime()),
-                                blobFile.getContentType(),
-                                blobFile.getUri()
-                            });
-                        }
-                    }
+                    pathLabel.setText(pager.getBlobDirectory().getPath());
+                    blobListModel.setBlobItems(blobItems);
+                    updateSorting(pager);
 
                     setUIState(false);
 
@@ -370,6 +350,66 @@ public class BlobExplorerFileEditor implements FileEditor, TelemetryProperties {
         }));
     }
 
+    private void loadMoreItems() {
+        final BlobItemPager pager = blobItemPager;
+
+        if (pager == null || isLoadingMore || !pager.hasMore() || !blobListTable.isEnabled()) {
+            return;
+        }
+
+        isLoadingMore = true;
+
+        ApplicationManager.getApplication().executeOnPooledThread(() -> {
+            try {
+                final List<BlobItem> blobItems = pager.loadNextSegment();
+
+                AzureTaskManager.getInstance().runLater(() -> {
+                    isLoadingMore = false;
+
+                    if (pager == blobItemPager) {
+                        blobListModel.addBlobItems(blobItems);
+                        updateSorting(pager);
+                    }
+                });
+            } catch (AzureCmdException ex) {
+                AzureTaskManager.getInstance().runLater(() -> isLoadingMore = false);
+
+                String msg = "An error occurred while attempting to query blob list." + "\n" + String.format(message("webappExpMsg"), ex.getMessage());
+                PluginUtil.displayErrorDialogAndLog(message("errTtl"), msg, ex);
+            }
+        });
+    }
+
+    /**
+     * Only sort when all items are loaded, since sorting the loaded segments would put the items not loaded yet
+     * out of order, e.g. the largest blob in the next segment. The items are listed by names before that.
+     */
+    private void updateSorting(@NotNull BlobItemPager pager) {
+        final boolean isAllLoaded = !pager.hasMore();
+
+        for (int column = 0; column < blobListModel.getColumnCount(); column++) {
+            blobListSorter.setSortable(column, isAllLoaded);
+        }
+
+        if (!isAllLoaded) {
+            blobListSorter.setSortKeys(null);
+        } else if (blobListSorter.getSortKeys().isEmpty()) {
+            blobListSorter.setSortKeys(DEFAULT_SORT_KEYS);
+        }
+
+        blobListTable.getTableHeader().setToolTipText(
+                isAllLoaded ? null : "Sorting is available after scrolling to load all items");
+    }
+
+    private void closeBlobItemPager() {
+        final BlobItemPager pager = blobItemPager;
+        blobItemPager = null;
+
+        if (pager != null) {
+            pager.close();
+        }
+    }
+
     private void setUIState(boolean loading) {
         if (loading) {
             blobListTable.setEnabled(false);
@@ -394,31 +434,25 @@ public class BlobExplorerFileEditor implements FileEditor, TelemetryProperties {
     }
 
     private BlobDirectory getFolderSelection() {
-        if (blobListTable.getSelectedRow() >= 0) {
-            String name = blobListTable.getValueAt(blobListTable.getSelectedRow(), 1).toString();
-
-            for (BlobItem item : blobItems) {
-                if (item instanceof BlobDirectory && item.getName().equals(name)) {
-                    return (BlobDirectory) item;
-                }
-            }
-        }
+        BlobItem item = getItemSelection();
 
-        return null;
+        return item instanceof BlobDirectory ? (BlobDirectory) item : null;
     }
 
     private BlobFile getFileSelection() {
-        if (blobListTable.getSelectedRow() >= 0) {
-            String name = blobListTable.getValueAt(blobListTable.getSelectedRow(), 1).toString();
+        BlobItem item = getItemSelection();
 
-            for (BlobItem item : blobItems) {
-                if (item instanceof BlobFile && item.getName().equals(name)) {
-                    return (BlobFile) item;
-                }
-            }
+        return item instanceof BlobFile ? (BlobFile) item : null;
+    }
+
+    private BlobItem getItemSelection() {
+        int selectedRow = blobListTable.getSelectedRow();
+
+        if (selectedRow < 0) {
+            return null;
         }
 
-        return null;
+        return blobListModel.getBlobItem(blobListTable.convertRowIndexToModel(selectedRow));
     }
 
     private boolean isDirectorySelected() {
@@ -516,7 +550,9 @@ public class BlobExplorerFileEditor implements FileEditor, TelemetryProperties {
                     try {
                         StorageClientSDKManager.getManager().deleteBlobFile(connectionString, blobItem);
 
-                        if (blobItems.size() <= 1) {
+                        BlobItemPager pager = blobItemPager;
+
+                        if (blobListModel.getRowCount() <= 1 && (pager == null || !pager.hasMore())) {
                             directoryQueue.clear();
                             directoryQueue.addLast(StorageClientSDKManager.getManager().getRootDirectory(connectionString, blobContainer));
 
@@ -582,69 +618,63 @@ public class BlobExplorerFileEditor implements FileEditor, TelemetryProperties {
                         }
                     }
 
-                    final BufferedOutputStream bufferedOutputStream = new BufferedOutputStream(new FileOutputStream(targetFile), 65536) {
-                        private long runningCount = 0;
-
+                    final CallableSingleArg<Void, Long> callable = new CallableSingleArg<Void, Long>() {
                         @Override
-                        public synchronized void write(@NotNull byte[] bytes, int i, int i1) throws IOException {
-                            super.write(bytes, i, i1);
-
-                            runningCount += i1;
-
-                            double progress = (double) runningCount / fileSelection.getSize();
+                        public Void call(Long downloadedBytes) throws Exception {
+                            double progress = fileSelection.getSize() == 0 ? 1 : (double) downloadedBytes / fileSelection.getSize();
                             progressIndicator.setFraction(progress);
                             progressIndicator.setText2(String.format("%s%% downloaded", (int) (progress * 100)));
+
+                            return null;
                         }
                     };
 
-                    try {
-                        Future<?> future = ApplicationManager.getApplication().executeOnPooledThread(new Runnable() {
-                            @Override
-                            public void run() {
-                                try {
-                                    StorageClientSDKManager.getManager().downloadBlobFileContent(connectionString, fileSelection, bufferedOutputStream);
+                    Future<?> future = ApplicationManager.getApplication().executeOnPooledThread(new Runnable() {
+                        @Override
+                        public void run() {
+                            try {
+                                // Ranges are downloaded in parallel, and resumed if a previous download was interrupted
+                                StorageClientSDKManager.getManager().downloadBlobFileContent(connectionString, fileSelection, targetFile, callable);
 
-                                    if (open && targetFile.exists()) {
-                                        Desktop.getDesktop().open(targetFile);
-                                    }
-                                } catch (AzureCmdException e) {
-                                    Throwable connectionFault = e.getCause().getCause();
-
-                                    progressIndicator.setText("Error downloading Blob");
-                                    progressIndicator.setText2((connectionFault instanceof SocketTimeoutException) ?
-                                                               "Connection timed out" : connectionFault.getMessage());
-                                } catch (IOException ex) {
-                                    try {
-                                        final Process p;
-                                        Runtime runtime = Runtime.getRuntime();
-                                        p = runtime.exec(
-                                            new String[]{"open", "-R", targetFile.getName()},
-                                            null,
-                                            targetFile.getParentFile());
-
-                                        InputStream errorStream = p.getErrorStream();
-                                        String errResponse = new String(IOUtils.readFully(errorStream, -1));
-
-                                        if (p.waitFor() != 0) {
-                                            throw new Exception(errResponse);
-                                        }
-                                    } catch (Exception e) {
-                                        progressIndicator.setText("Error openning file");
-                                        progressIndicator.setText2(ex.getMessage());
+                                if (open && targetFile.exists()) {
+                                    Desktop.getDesktop().open(targetFile);
+                                }
+                            } catch (AzureCmdException e) {
+                                // The fault may be wrapped by the failed range
+                                Throwable connectionFault = ExceptionUtils.getRootCause(e) != null ? ExceptionUtils.getRootCause(e) : e;
+
+                                progressIndicator.setText("Error downloading Blob");
+                                progressIndicator.setText2((connectionFault instanceof SocketTimeoutException) ?
+                                                           "Connection timed out" : connectionFault.getMessage());
+                            } catch (IOException ex) {
+                                try {
+                                    final Process p;
+                                    Runtime runtime = Runtime.getRuntime();
+                                    p = runtime.exec(
+                                        new String[]{"open", "-R", targetFile.getName()},
+                                        null,
+                                        targetFile.getParentFile());
+
+                                    InputStream errorStream = p.getErrorStream();
+                                    String errResponse = new String(IOUtils.readFully(errorStream, -1));
+
+                                    if (p.waitFor() != 0) {
+                                        throw new Exception(errResponse);
                                     }
+                                } catch (Exception e) {
+                                    progressIndicator.setText("Error openning file");
+                                    progressIndicator.setText2(ex.getMessage());
                                 }
                             }
-                        });
+                        }
+                    });
 
-                        while (!future.isDone()) {
-                            progressIndicator.checkCanceled();
+                    while (!future.isDone()) {
+                        progressIndicator.checkCanceled();
 
-                            if (progressIndicator.isCanceled()) {
-                                future.cancel(true);
-                            }
+                        if (progressIndicator.isCanceled()) {
+                            future.cancel(true);
                         }
-                    } finally {
-                        bufferedOutputStream.close();
                     }
                 } catch (IOException e) {
                     PluginUtil.displayErrorDialogAndLog(message("errTtl"), "An error occurred while attempting to download Blob.", e);
@@ -735,10 +765,12 @@ public class BlobExplorerFileEditor implements FileEditor, TelemetryProperties {
                             future.cancel(true);
                             bufferedInputStream.close();
 
-                            for (BlobItem blobItem : StorageClientSDKManager.getManager().getBlobItems(connectionString, blobDirectory)) {
-                                if (blobItem instanceof BlobFile && blobItem.getPath().equals(path)) {
-                                    StorageClientSDKManager.getManager().deleteBlobFile(connectionString, (BlobFile) blobItem);
-                                }
+                            BlobDirectory rootDirectory = StorageClientSDKManager.getManager().getRootDirectory(connectionString, blobContainer);
+                            BlobItem blobItem = StorageClientSDKManager.getManager().findBlobItem(connectionString, rootDirectory, path,
+                                item -> item instanceof BlobFile && item.getPath().equals(path));
+
+                            if (blobItem != null) {
+                                StorageClientSDKManager.getManager().deleteBlobFile(connectionString, (BlobFile) blobItem);
                             }
                         }
                     }
@@ -748,10 +780,11 @@ public class BlobExplorerFileEditor implements FileEditor, TelemetryProperties {
                         directoryQueue.addLast(StorageClientSDKManager.getManager().getRootDirectory(connectionString, blobContainer));
 
                         for (String pathDir : path.split("/")) {
-                            for (BlobItem blobItem : StorageClientSDKManager.getManager().getBlobItems(connectionString, directoryQueue.getLast())) {
-                                if (blobItem instanceof BlobDirectory && blobItem.getName().equals(pathDir)) {
-                                    directoryQueue.addLast((BlobDirectory) blobItem);
-                                }
+                            BlobItem blobItem = StorageClientSDKManager.getManager().findBlobItem(connectionString, directoryQueue.getLast(), pathDir,
+                                item -> item instanceof BlobDirectory && item.getName().equals(pathDir));
+
+                            if (blobItem != null) {
+                                directoryQueue.addLast((BlobDirectory) blobItem);
                             }
                         }
                     } catch (AzureCmdException e) {
@@ -857,6 +890,8 @@ public class BlobExplorerFileEditor implements FileEditor, TelemetryProperties {
 
     @Override
     public void dispose() {
+        closeBlobItemPager();
+
         try {
             AzureManager azureManager = AuthMethodManager.getInstance().getAzureManager();
             // not signed in
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.intellij.helpers.storage;
+
+import com.microsoft.intellij.helpers.UIHelperImpl;
+import com.microsoft.tooling.msservices.model.storage.BlobDirectory;
+import com.microsoft.tooling.msservices.model.storage.BlobFile;
+import com.microsoft.tooling.msservices.model.storage.BlobItem;
+import org.jetbrains.annotations.NotNull;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The table model backed by the loaded segments of a Blob directory listing, the cells are rendered on demand
+ * for the visible rows only.
+ */
+class BlobListTableModel extends AbstractTableModel {
+    private static final String[] COLUMN_NAMES = {"", "Name", "Size", "Last Modified (UTC)", "Content Type", "URL"};
+
+    private final Icon folderIcon = UIHelperImpl.loadIcon("storagefolder.png");
+    private final List<BlobItem> blobItems = new ArrayList<>();
+
+    @Override
+    public int getRowCount() {
+        return blobItems.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMN_NAMES.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMN_NAMES[column];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return (column == 0) ? Icon.class : String.class;
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return false;
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        BlobItem blobItem = blobItems.get(row);
+
+        if (blobItem instanceof BlobDirectory) {
+            switch (column) {
+                case 0:
+                    return folderIcon;
+                case 1:
+                    return blobItem.getName();
+                case 5:
+                    return blobItem.getUri();
+                default:
+                    return "";
+            }
+        }
+
+        BlobFile blobFile = (BlobFile) blobItem;
+
+        switch (column) {
+            case 1:
+                return blobFile.getName();
+            case 2:
+                return UIHelperImpl.readableFileSize(blobFile.getSize());
+            case 3:
+                return new SimpleDateFormat().format(blobFile.getLastModified().getTime());
+            case 4:
+                return blobFile.getContentType();
+            case 5:
+                return blobFile.getUri();
+            default:
+                return "";
+        }
+    }
+
+    @NotNull
+    public BlobItem getBlobItem(int row) {
+        return blobItems.get(row);
+    }
+
+    public void setBlobItems(@NotNull List<BlobItem> items) {
+        blobItems.clear();
+        blobItems.addAll(items);
+
+        fireTableDataChanged();
+    }
+
+    public void addBlobItems(@NotNull List<BlobItem> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+
+        int firstRow = blobItems.size();
+        blobItems.addAll(items);
+
+        fireTableRowsInserted(firstRow, blobItems.size() - 1);
+    }
+}
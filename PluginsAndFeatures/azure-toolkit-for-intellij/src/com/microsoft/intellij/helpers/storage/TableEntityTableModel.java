@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.intellij.helpers.storage;
+
+import com.microsoft.tooling.msservices.model.storage.TableEntity;
+import org.jetbrains.annotations.NotNull;
+
+import javax.swing.table.AbstractTableModel;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The table model backed by the loaded segments of a Table Entity query. The property columns are added as they're
+ * found in the segments, and the cells are formatted on demand for the visible rows only.
+ */
+class TableEntityTableModel extends AbstractTableModel {
+    private static final int KEY_COLUMN_COUNT = 3;
+
+    private final List<TableEntity> tableEntities = new ArrayList<>();
+    private final List<String> propertyNames = new ArrayList<>();
+
+    @Override
+    public int getRowCount() {
+        return tableEntities.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return KEY_COLUMN_COUNT + propertyNames.size();
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        switch (column) {
+            case 0:
+                return TableFileEditor.PARTITION_KEY;
+            case 1:
+                return TableFileEditor.ROW_KEY;
+            case 2:
+                return TableFileEditor.TIMESTAMP;
+            default:
+                return propertyNames.get(column - KEY_COLUMN_COUNT);
+        }
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return false;
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        TableEntity tableEntity = tableEntities.get(row);
+
+        switch (column) {
+            case 0:
+                return tableEntity.getPartitionKey();
+            case 1:
+                return tableEntity.getRowKey();
+            case 2:
+                return new SimpleDateFormat().format(tableEntity.getTimestamp().getTime());
+            default:
+                TableEntity.Property property = tableEntity.getProperties().get(getColumnName(column));
+
+                return property != null ? TableFileEditor.getFormattedProperty(property) : "";
+        }
+    }
+
+    @NotNull
+    public TableEntity getTableEntity(int row) {
+        return tableEntities.get(row);
+    }
+
+    @NotNull
+    public List<TableEntity> getTableEntities() {
+        return Collections.unmodifiableList(tableEntities);
+    }
+
+    public void setTableEntity(int row, @NotNull TableEntity tableEntity) {
+        tableEntities.set(row, tableEntity);
+
+        if (!addPropertyNames(Collections.singletonList(tableEntity))) {
+            fireTableRowsUpdated(row, row);
+        }
+    }
+
+    public void setTableEntities(@NotNull List<TableEntity> entities) {
+        tableEntities.clear();
+        tableEntities.addAll(entities);
+        propertyNames.clear();
+
+        if (!addPropertyNames(entities)) {
+            fireTableStructureChanged();
+        }
+    }
+
+    public void addTableEntities(@NotNull List<TableEntity> entities) {
+        if (entities.isEmpty()) {
+            return;
+        }
+
+        int firstRow = tableEntities.size();
+        tableEntities.addAll(entities);
+
+        if (!addPropertyNames(entities)) {
+            fireTableRowsInserted(firstRow, tableEntities.size() - 1);
+        }
+    }
+
+    /**
+     * @return true if a new property column is added, and the table structure change is fired
+     */
+    private boolean addPropertyNames(@NotNull List<TableEntity> entities) {
+        int columnCount = propertyNames.size();
+
+        for (TableEntity tableEntity : entities) {
+            for (String propertyName : tableEntity.getProperties().keySet()) {
+                if (!propertyNames.contains(propertyName)) {
+                    propertyNames.add(propertyName);
+                }
+            }
+        }
+
+        if (propertyNames.size() == columnCount) {
+            return false;
+        }
+
+        fireTableStructureChanged();
+
+        return true;
+    }
+}
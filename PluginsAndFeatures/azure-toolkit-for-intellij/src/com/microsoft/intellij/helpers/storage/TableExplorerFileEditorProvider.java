@@ -16,6 +16,8 @@ import com.intellij.openapi.util.Key;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.microsoft.azure.management.storage.StorageAccount;
 import com.microsoft.intellij.helpers.UIHelperImpl;
+import com.microsoft.tooling.msservices.helpers.azure.sdk.StorageClientSDKManager;
+import com.microsoft.tooling.msservices.model.storage.ClientStorageAccount;
 import com.microsoft.tooling.msservices.model.storage.Table;
 import org.jdom.Element;
 import org.jetbrains.annotations.NotNull;
@@ -26,9 +28,10 @@ public class TableExplorerFileEditorProvider implements FileEditorProvider, Dumb
     @Override
     public boolean accept(@NotNull Project project, @NotNull VirtualFile virtualFile) {
         StorageAccount storageAccount = virtualFile.getUserData(UIHelperImpl.STORAGE_KEY);
+        ClientStorageAccount clientStorageAccount = virtualFile.getUserData(UIHelperImpl.CLIENT_STORAGE_KEY);
         Table table = virtualFile.getUserData(TABLE_KEY);
 
-        return (storageAccount != null && table != null);
+        return ((storageAccount != null || clientStorageAccount != null) && table != null);
     }
 
     @NotNull
@@ -41,6 +44,11 @@ public class TableExplorerFileEditorProvider implements FileEditorProvider, Dumb
 
         tableFileEditor.setTable(table);
 //        tableFileEditor.setStorageAccount(storageAccount);
+        if (storageAccount != null) {
+            tableFileEditor.setConnectionString(StorageClientSDKManager.getConnectionString(storageAccount));
+        } else {
+            tableFileEditor.setConnectionString(virtualFile.getUserData(UIHelperImpl.CLIENT_STORAGE_KEY).getConnectionString());
+        }
 
         tableFileEditor.fillGrid();
 
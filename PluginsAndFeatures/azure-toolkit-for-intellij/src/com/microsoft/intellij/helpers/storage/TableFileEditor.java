@@ -7,16 +7,30 @@ package com.microsoft.intellij.helpers.storage;
 
 import com.intellij.codeHighlighting.BackgroundEditorHighlighter;
 import com.intellij.ide.structureView.StructureViewBuilder;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.fileChooser.FileChooserFactory;
+import com.intellij.openapi.fileChooser.FileSaverDescriptor;
+import com.intellij.openapi.fileChooser.FileSaverDialog;
 import com.intellij.openapi.fileEditor.FileEditor;
 import com.intellij.openapi.fileEditor.FileEditorLocation;
 import com.intellij.openapi.fileEditor.FileEditorState;
 import com.intellij.openapi.fileEditor.FileEditorStateLevel;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.util.Key;
+import com.intellij.openapi.vfs.LocalFileSystem;
+import com.intellij.openapi.vfs.VirtualFileWrapper;
+import com.microsoft.azure.toolkit.lib.common.task.AzureTask;
 import com.microsoft.azure.toolkit.lib.common.task.AzureTaskManager;
 import com.microsoft.azuretools.azurecommons.helpers.AzureCmdException;
 import com.microsoft.intellij.forms.TableEntityForm;
 import com.microsoft.intellij.forms.TablesQueryDesigner;
+import com.microsoft.intellij.util.PluginUtil;
+import com.microsoft.tooling.msservices.helpers.CallableSingleArg;
+import com.microsoft.tooling.msservices.helpers.azure.sdk.StorageClientSDKManager;
+import com.microsoft.tooling.msservices.helpers.azure.sdk.TableEntityPager;
 import com.microsoft.tooling.msservices.model.storage.ClientStorageAccount;
 import com.microsoft.tooling.msservices.model.storage.Table;
 import com.microsoft.tooling.msservices.model.storage.TableEntity;
@@ -28,27 +42,33 @@ import org.jetbrains.annotations.Nullable;
 import javax.swing.*;
 import javax.swing.event.ListSelectionEvent;
 import javax.swing.event.ListSelectionListener;
-import javax.swing.table.DefaultTableModel;
+import javax.swing.event.TableModelEvent;
 import java.awt.event.*;
 import java.beans.PropertyChangeListener;
+import java.io.File;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
-import java.util.LinkedHashMap;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
+
+import static com.microsoft.intellij.ui.messages.AzureBundle.message;
 
 public class TableFileEditor implements FileEditor {
     public static final String PARTITION_KEY = "Partition key";
     public static final String ROW_KEY = "Row key";
-    private static final String TIMESTAMP = "Timestamp";
+    public static final String TIMESTAMP = "Timestamp";
 
     private static final String EDIT = "Edit";
     private static final String DELETE = "Delete";
     private static final String QUERY = "Query";
     private static final String QUERY_DESIGNER = "QueryDesigner";
     private static final String NEW_ENTITY = "NewEntity";
+    private static final String EXPORT = "Export to CSV";
+
+    private static final int LOAD_MORE_THRESHOLD_ROWS = 50;
 
     private ClientStorageAccount storageAccount;
+    private String connectionString;
     private Project project;
     private Table table;
     private JPanel mainPanel;
@@ -59,7 +79,9 @@ public class TableFileEditor implements FileEditor {
     private JButton queryButton;
     private JButton queryDesignerButton;
     private JTable entitiesTable;
-    private List<TableEntity> tableEntities;
+    private final TableEntityTableModel tableEntityModel = new TableEntityTableModel();
+    private volatile TableEntityPager tableEntityPager;
+    private boolean isLoadingMore = false;
 
     private FileEditorVirtualNode fileEditorVirtualNode;
 
@@ -97,7 +119,15 @@ public class TableFileEditor implements FileEditor {
             }
         });
 
+        entitiesTable.setModel(tableEntityModel);
         entitiesTable.setAutoResizeMode(JTable.AUTO_RESIZE_OFF);
+        tableEntityModel.addTableModelListener(tableModelEvent -> {
+            if (tableModelEvent.getFirstRow() == TableModelEvent.HEADER_ROW) {
+                for (int i = 0; i != entitiesTable.getColumnCount(); i++) {
+                    entitiesTable.getColumnModel().getColumn(i).setPreferredWidth(100);
+                }
+            }
+        });
         entitiesTable.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
         entitiesTable.getSelectionModel().addListSelectionListener(new ListSelectionListener() {
             @Override
@@ -129,6 +159,22 @@ public class TableFileEditor implements FileEditor {
             }
         });
 
+        JScrollPane entitiesScrollPane = (JScrollPane) SwingUtilities.getAncestorOfClass(JScrollPane.class, entitiesTable);
+
+        if (entitiesScrollPane != null) {
+            entitiesScrollPane.getVerticalScrollBar().addAdjustmentListener(new AdjustmentListener() {
+                @Override
+                public void adjustmentValueChanged(AdjustmentEvent adjustmentEvent) {
+                    BoundedRangeModel rangeModel = ((JScrollBar) adjustmentEvent.getAdjustable()).getModel();
+                    int threshold = LOAD_MORE_THRESHOLD_ROWS * entitiesTable.getRowHeight();
+
+                    if (rangeModel.getValue() + rangeModel.getExtent() >= rangeModel.getMaximum() - threshold) {
+                        loadMoreEntities();
+                    }
+                }
+            });
+        }
+
         entitiesTable.addKeyListener(new KeyListener() {
             @Override
             public void keyTyped(KeyEvent keyEvent) {
@@ -187,22 +233,26 @@ public class TableFileEditor implements FileEditor {
                 form.setTableName(table.getName());
                 form.setStorageAccount(storageAccount);
                 form.setTableEntity(null);
-                form.setTableEntityList(tableEntities);
+                form.setTableEntityList(new ArrayList<TableEntity>(tableEntityModel.getTableEntities()));
 
                 form.setTitle("Add Entity");
 
                 form.setOnFinish(new Runnable() {
                     @Override
                     public void run() {
-                        tableEntities.add(form.getTableEntity());
-
-                        refreshGrid();
+                        tableEntityModel.addTableEntities(Arrays.asList(form.getTableEntity()));
                     }
                 });
 
                 form.show();
             }
         });
+        fileEditorVirtualNode.addAction(EXPORT, new NodeActionListener() {
+            @Override
+            protected void actionPerformed(NodeActionEvent e) {
+                exportEntities();
+            }
+        });
         return fileEditorVirtualNode;
     }
 
@@ -210,6 +260,7 @@ public class TableFileEditor implements FileEditor {
         JPopupMenu menu = new JPopupMenu();
         menu.add(fileEditorVirtualNode.createJMenuItem(EDIT));
         menu.add(fileEditorVirtualNode.createJMenuItem(DELETE));
+        menu.add(fileEditorVirtualNode.createJMenuItem(EXPORT));
         return menu;
     }
 
@@ -229,8 +280,11 @@ public class TableFileEditor implements FileEditor {
             form.setOnFinish(new Runnable() {
                 @Override
                 public void run() {
-                    tableEntities.set(entitiesTable.getSelectedRow(), form.getTableEntity());
-                    refreshGrid();
+                    int row = entitiesTable.getSelectedRow();
+
+                    if (row >= 0) {
+                        tableEntityModel.setTableEntity(entitiesTable.convertRowIndexToModel(row), form.getTableEntity());
+                    }
                 }
             });
 
@@ -239,92 +293,115 @@ public class TableFileEditor implements FileEditor {
     }
 
     public void fillGrid() {
-    }
+        closeTableEntityPager();
 
-    private void refreshGrid() {
-        AzureTaskManager.getInstance().runLater(() -> {
-            Map<String, List<String>> columnData = new LinkedHashMap<String, List<String>>();
-            columnData.put(PARTITION_KEY, new ArrayList<String>());
-            columnData.put(ROW_KEY, new ArrayList<String>());
-            columnData.put(TIMESTAMP, new ArrayList<String>());
+        final String queryText = queryTextField.getText();
 
-            for (TableEntity tableEntity : tableEntities) {
-                columnData.get(PARTITION_KEY).add(tableEntity.getPartitionKey());
-                columnData.get(ROW_KEY).add(tableEntity.getRowKey());
-                columnData.get(TIMESTAMP).add(new SimpleDateFormat().format(tableEntity.getTimestamp().getTime()));
+        AzureTaskManager.getInstance().runInBackground(new AzureTask(project, "Loading entities", false, () -> {
+            try {
+                // Only the first segment is queried here, the following ones are loaded on scrolling
+                final TableEntityPager pager = new TableEntityPager(connectionString, table.getName(), queryText, null);
+                tableEntityPager = pager;
 
-                for (String entityColumn : tableEntity.getProperties().keySet()) {
-                    if (!columnData.keySet().contains(entityColumn)) {
-                        columnData.put(entityColumn, new ArrayList<String>());
-                    }
-                }
-
-            }
+                final List<TableEntity> tableEntities = pager.loadNextSegment();
 
-            for (TableEntity tableEntity : tableEntities) {
-                for (String column : columnData.keySet()) {
-                    if (!column.equals(PARTITION_KEY) && !column.equals(ROW_KEY) && !column.equals(TIMESTAMP)) {
-                        columnData.get(column).add(tableEntity.getProperties().containsKey(column)
-                                ? getFormattedProperty(tableEntity.getProperties().get(column))
-                                : "");
+                AzureTaskManager.getInstance().runLater(() -> {
+                    if (pager == tableEntityPager) {
+                        tableEntityModel.setTableEntities(tableEntities);
                     }
-                }
+                });
+            } catch (AzureCmdException ex) {
+                String msg = "An error occurred while attempting to query entities." + "\n" + String.format(message("webappExpMsg"), ex.getMessage());
+                PluginUtil.displayErrorDialogAndLog(message("errTtl"), msg, ex);
             }
+        }));
+    }
 
-            DefaultTableModel model = new DefaultTableModel() {
-                @Override
-                public boolean isCellEditable(int i, int i1) {
-                    return false;
-                }
-            };
+    private void loadMoreEntities() {
+        final TableEntityPager pager = tableEntityPager;
 
-            for (String column : columnData.keySet()) {
-                model.addColumn(column, columnData.get(column).toArray());
-            }
+        if (pager == null || isLoadingMore || !pager.hasMore()) {
+            return;
+        }
+
+        isLoadingMore = true;
+
+        ApplicationManager.getApplication().executeOnPooledThread(() -> {
+            try {
+                final List<TableEntity> tableEntities = pager.loadNextSegment();
+
+                AzureTaskManager.getInstance().runLater(() -> {
+                    isLoadingMore = false;
 
-            entitiesTable.setModel(model);
+                    if (pager == tableEntityPager) {
+                        tableEntityModel.addTableEntities(tableEntities);
+                    }
+                });
+            } catch (AzureCmdException ex) {
+                AzureTaskManager.getInstance().runLater(() -> isLoadingMore = false);
 
-            for (int i = 0; i != entitiesTable.getColumnCount(); i++) {
-                entitiesTable.getColumnModel().getColumn(i).setPreferredWidth(100);
+                String msg = "An error occurred while attempting to query entities." + "\n" + String.format(message("webappExpMsg"), ex.getMessage());
+                PluginUtil.displayErrorDialogAndLog(message("errTtl"), msg, ex);
             }
         });
     }
 
-    private void deleteSelection() {
-    }
+    private void closeTableEntityPager() {
+        final TableEntityPager pager = tableEntityPager;
+        tableEntityPager = null;
 
-    private TableEntity[] getSelectedEntities() {
-        if (tableEntities == null) {
-            return null;
+        if (pager != null) {
+            pager.close();
         }
+    }
+
+    private void exportEntities() {
+        FileSaverDescriptor fileDescriptor = new FileSaverDescriptor(EXPORT, "Select location to export entities.", "csv");
+        final FileSaverDialog dialog = FileChooserFactory.getInstance().createSaveFileDialog(fileDescriptor, this.project);
+        final VirtualFileWrapper save = dialog.save(LocalFileSystem.getInstance().findFileByPath(System.getProperty("user.home")), table.getName() + ".csv");
 
-        int partitionIdIndex = -1;
-        int rowIdIndex = -1;
+        if (save == null) {
+            return;
+        }
 
-        for (int i = 0; i < entitiesTable.getColumnCount(); i++) {
-            String columnName = entitiesTable.getColumnName(i);
+        final File targetFile = save.getFile();
+        final String queryText = queryTextField.getText();
+
+        AzureTaskManager.getInstance().runInBackground(new AzureTask(project, "Exporting entities", true, () -> {
+            final ProgressIndicator progressIndicator = ProgressManager.getInstance().getProgressIndicator();
+            progressIndicator.setIndeterminate(true);
+
+            try {
+                // The entities are streamed to the file segment by segment instead of the loaded ones
+                StorageClientSDKManager.getManager().exportTableEntities(connectionString, table.getName(), queryText,
+                        null, targetFile, new CallableSingleArg<Void, Long>() {
+                            @Override
+                            public Void call(Long exported) throws Exception {
+                                progressIndicator.checkCanceled();
+                                progressIndicator.setText2(String.format("%d entities exported", exported));
+
+                                return null;
+                            }
+                        });
+            } catch (AzureCmdException ex) {
+                if (ex.getCause() instanceof ProcessCanceledException) {
+                    return;
+                }
 
-            if (columnName.equals(PARTITION_KEY)) {
-                partitionIdIndex = i;
+                String msg = "An error occurred while attempting to export entities." + "\n" + String.format(message("webappExpMsg"), ex.getMessage());
+                PluginUtil.displayErrorDialogAndLog(message("errTtl"), msg, ex);
             }
+        }));
+    }
 
-            if (columnName.equals(ROW_KEY)) {
-                rowIdIndex = i;
-            }
-        }
+    private void deleteSelection() {
+    }
 
+    private TableEntity[] getSelectedEntities() {
         ArrayList<TableEntity> selectedEntities = new ArrayList<TableEntity>();
 
         for (int i : entitiesTable.getSelectedRows()) {
-            for (TableEntity tableEntity : tableEntities) {
-                String partitionValue = entitiesTable.getValueAt(i, partitionIdIndex).toString();
-                String rowIdValue = entitiesTable.getValueAt(i, rowIdIndex).toString();
-
-                if (tableEntity.getPartitionKey().equals(partitionValue)
-                        && tableEntity.getRowKey().equals(rowIdValue)) {
-                    selectedEntities.add(tableEntity);
-                }
-            }
+            selectedEntities.add(tableEntityModel.getTableEntity(entitiesTable.convertRowIndexToModel(i)));
         }
 
         return selectedEntities.toArray(new TableEntity[selectedEntities.size()]);
@@ -359,6 +436,10 @@ public class TableFileEditor implements FileEditor {
         this.storageAccount = storageAccount;
     }
 
+    public void setConnectionString(String connectionString) {
+        this.connectionString = connectionString;
+    }
+
     public void setTable(Table table) {
         this.table = table;
         this.fileEditorVirtualNode.setName(table.getName());
@@ -438,6 +519,8 @@ public class TableFileEditor implements FileEditor {
 
     @Override
     public void dispose() {
+        closeTableEntityPager();
+
         try {
             unregisterSubscriptionsChanged();
         } catch (AzureCmdException ignored) {
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.oidc.concurrent.cache.impl;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.microsoft.azure.oidc.concurrent.cache.ConcurrentCache;
+
+/**
+ * Compares the cache implementations under the filter's access pattern, mostly hits with some misses. Run main()
+ * to sweep from 1 to 64 threads:
+ * gradle jmh -PjmhMain=com.microsoft.azure.oidc.concurrent.cache.impl.ConcurrentCacheBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConcurrentCacheBenchmark {
+    private static final long TTL_MINUTES = 60L;
+    private static final long MAX_SIZE = 1000L;
+    private static final int[] THREAD_COUNTS = { 1, 4, 16, 64 };
+
+    @Param({ "striped", "ttl" })
+    private String type;
+
+    private ConcurrentCache<String, String> cache;
+
+    private String[] keys;
+
+    @Setup
+    public void setUp() {
+        cache = new SimpleConcurrentCacheFactory<String, String>().createConcurrentCache(type, TTL_MINUTES, MAX_SIZE);
+        // Twice the max size of keys, so that lookups miss and evict as well
+        keys = new String[(int) MAX_SIZE * 2];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = "user-" + i;
+            cache.putIfAbsent(keys[i], keys[i]);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        cache.shutdownNow();
+    }
+
+    @Benchmark
+    public String getOrPut() {
+        final String key = keys[ThreadLocalRandom.current().nextInt(keys.length)];
+        final String value = cache.get(key);
+        if (value != null) {
+            return value;
+        }
+        cache.putIfAbsent(key, key);
+        return key;
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        for (final int threadCount : THREAD_COUNTS) {
+            new Runner(new OptionsBuilder().include(ConcurrentCacheBenchmark.class.getName()).threads(threadCount)
+                    .build()).run();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.oidc.filter.configuration.authentication.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.microsoft.azure.oidc.filter.configuration.authentication.RouteDecision;
+
+/**
+ * Compares the route trie with the linear scan of the authorisation patterns it replaced
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RouteMatcherBenchmark {
+    @Param({ "10", "100", "1000" })
+    private int patternCount;
+
+    private List<Pattern> exclusionRegexPatternList;
+    private List<Pattern> authorisationRegexPatternList;
+    private SimpleRouteMatcher routeMatcher;
+    private String[] uris;
+
+    @Setup
+    public void setUp() {
+        exclusionRegexPatternList = new ArrayList<Pattern>();
+        final List<String> authorisationUriPatternList = new ArrayList<String>();
+        authorisationRegexPatternList = new ArrayList<Pattern>();
+        final Map<String, List<String>> authorisationRoleMap = new HashMap<String, List<String>>();
+        for (int index = 0; index < patternCount; index++) {
+            // The same escaping as SimpleAuthenticationConfiguration, exact and wildcard routes in turn
+            final String localPattern = index % 2 == 0 ? String.format("/app%d/*", index)
+                    : String.format("/app%d/index.html", index);
+            final Pattern pattern = Pattern.compile(
+                    localPattern.replaceAll("([^a-zA-Z0-9\\*])", "\\\\$1").replaceAll("\\*", "(\\.\\*)"));
+            authorisationUriPatternList.add(localPattern);
+            authorisationRegexPatternList.add(pattern);
+            authorisationRoleMap.put(localPattern, Arrays.asList("role" + index));
+            exclusionRegexPatternList.add(Pattern.compile(String.format("\\/static%d\\/(\\.\\*)", index)));
+        }
+        routeMatcher = new SimpleRouteMatcher(exclusionRegexPatternList, authorisationUriPatternList,
+                authorisationRegexPatternList, authorisationRoleMap);
+        uris = new String[patternCount * 2];
+        for (int index = 0; index < patternCount; index++) {
+            uris[index * 2] = String.format("/app%d/index.html", index);
+            uris[index * 2 + 1] = String.format("/unprotected%d/page.html", index);
+        }
+    }
+
+    @Benchmark
+    public RouteDecision trie() {
+        return routeMatcher.match(nextUri());
+    }
+
+    @Benchmark
+    public int linearScan() {
+        final String uri = nextUri();
+        int matches = 0;
+        for (final Pattern pattern : exclusionRegexPatternList) {
+            if (pattern.matcher(uri).matches()) {
+                matches++;
+                break;
+            }
+        }
+        for (final Pattern pattern : authorisationRegexPatternList) {
+            if (pattern.matcher(uri).matches()) {
+                matches++;
+                break;
+            }
+        }
+        return matches;
+    }
+
+    private String nextUri() {
+        return uris[ThreadLocalRandom.current().nextInt(uris.length)];
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.oidc.token.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.codec.binary.Base64;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.microsoft.azure.oidc.token.Token;
+import com.microsoft.azure.oidc.token.TokenParser;
+
+/**
+ * Compares the tree and streaming token parsers on a typical B2C ID token
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenParserBenchmark {
+    private static final String HEADER = "{\"typ\":\"JWT\",\"alg\":\"RS256\",\"kid\":\"X5eXk4xyojNFum1kl2Ytv8dlNP4-c57dO6QGTVBwaNk\"}";
+    private static final String BODY = "{\"exp\":1493143282,\"nbf\":1493139682,\"ver\":\"1.0\","
+            + "\"iss\":\"https://login.microsoftonline.com/775527ff-9a37-4307-8b3d-cc311f58d925/v2.0/\","
+            + "\"sub\":\"Not supported currently. Use oid claim.\",\"aud\":\"b3a49ed5-0f7a-4a3b-9f0a-5d3e1c6e7f2a\","
+            + "\"nonce\":\"defaultNonce\",\"iat\":1493139682,\"auth_time\":1493139682,"
+            + "\"oid\":\"5b2c1e53-2a2d-4f6b-8a2e-3c1d2e3f4a5b\",\"given_name\":\"Jane\",\"family_name\":\"Doe\","
+            + "\"name\":\"Jane Doe\",\"emails\":[\"jane.doe@contoso.com\"],\"tfp\":\"B2C_1_SignUpIn\"}";
+
+    private final TokenParser simpleTokenParser = SimpeTokenParser.getInstance();
+
+    private final TokenParser streamingTokenParser = StreamingTokenParser.getInstance();
+
+    private String value;
+
+    @Setup
+    public void setUp() {
+        final byte[] signature = new byte[256];
+        for (int index = 0; index < signature.length; index++) {
+            signature[index] = (byte) index;
+        }
+        value = Base64.encodeBase64URLSafeString(HEADER.getBytes(StandardCharsets.UTF_8)) + "."
+                + Base64.encodeBase64URLSafeString(BODY.getBytes(StandardCharsets.UTF_8)) + "."
+                + Base64.encodeBase64URLSafeString(signature);
+    }
+
+    @Benchmark
+    public Token simple() {
+        return simpleTokenParser.getToken(value);
+    }
+
+    @Benchmark
+    public Token streaming() {
+        return streamingTokenParser.getToken(value);
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.oidc.token.impl;
+
+import java.io.ByteArrayInputStream;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletContext;
+import javax.servlet.ServletException;
+
+import org.apache.commons.codec.binary.Base64;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.microsoft.azure.oidc.common.algorithm.impl.SimpleAlgorithmFactory;
+import com.microsoft.azure.oidc.common.issuer.impl.SimpleIssuerFactory;
+import com.microsoft.azure.oidc.common.name.Name;
+import com.microsoft.azure.oidc.common.name.impl.SimpleNameFactory;
+import com.microsoft.azure.oidc.common.timestamp.TimeStamp;
+import com.microsoft.azure.oidc.common.timestamp.impl.SimpleTimeStampFactory;
+import com.microsoft.azure.oidc.concurrent.cache.ConcurrentCache;
+import com.microsoft.azure.oidc.concurrent.cache.ConcurrentCacheService;
+import com.microsoft.azure.oidc.concurrent.cache.impl.SimpleConcurrentCacheService;
+import com.microsoft.azure.oidc.configuration.Configuration;
+import com.microsoft.azure.oidc.configuration.endpoint.impl.SimpleEndPointFactory;
+import com.microsoft.azure.oidc.configuration.impl.SimpleConfigurationFactory;
+import com.microsoft.azure.oidc.configuration.key.Key;
+import com.microsoft.azure.oidc.configuration.key.exponent.impl.SimpleExponentFactory;
+import com.microsoft.azure.oidc.configuration.key.impl.SimpleKeyFactory;
+import com.microsoft.azure.oidc.configuration.key.modulus.impl.SimpleModulusFactory;
+import com.microsoft.azure.oidc.filter.configuration.algorithm.impl.SimpleAlgorithmConfigurationService;
+import com.microsoft.azure.oidc.token.Token;
+import com.microsoft.azure.oidc.token.TokenValidator;
+
+/**
+ * Measures SimpleTokenValidator.validateSignature with the signature cache and the public key cache warm or cold.
+ * The configuration is seeded into the configuration cache, so that no OIDC endpoint is called. A cold key cache
+ * swaps between two equal configurations on every call, which rebuilds the public key as a reload does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenValidatorBenchmark {
+    private static final String KEY_NAME = "X5eXk4xyojNFum1kl2Ytv8dlNP4-c57dO6QGTVBwaNk";
+    private static final String ALGORITHM_CONFIGURATION = "{\"algorithms\":["
+            + "{\"name\":\"RS256\",\"javaName\":\"SHA256withRSA\"}],"
+            + "\"algorithmClasses\":[{\"name\":\"RS256\",\"className\":\"RSA\"}]}";
+    private static final String ALGORITHM_PARAMETER = "algorithm-configuration";
+    // The entry key of SimpleConfigurationCache
+    private static final String CONFIGURATION_KEY = "SINGLE";
+
+    @Param({ "warm", "cold" })
+    private String signatureCache;
+
+    @Param({ "warm", "cold" })
+    private String keyCache;
+
+    private final TokenValidator tokenValidator = SimpleTokenValidator.getInstance();
+
+    private final ConcurrentCacheService concurrentCacheService = SimpleConcurrentCacheService.getInstance();
+
+    private ConcurrentCache<String, Configuration> configurationCache;
+
+    private Configuration[] configurations;
+
+    private Token token;
+
+    private int calls;
+
+    @Setup
+    public void setUp() throws GeneralSecurityException, ServletException {
+        final KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        final KeyPair keyPair = generator.generateKeyPair();
+        configurations = new Configuration[] { createConfiguration((RSAPublicKey) keyPair.getPublic()),
+                createConfiguration((RSAPublicKey) keyPair.getPublic()) };
+        token = createToken(keyPair);
+
+        SimpleAlgorithmConfigurationService.getInstance().initialise(createFilterConfig(), ALGORITHM_PARAMETER);
+        concurrentCacheService.shutdownNow();
+        configurationCache = concurrentCacheService.createCache(Configuration.class, "configurationCache", 60L, 1L);
+        configurationCache.put(CONFIGURATION_KEY, configurations[0]);
+        if ("warm".equals(signatureCache)) {
+            concurrentCacheService.createCache(TimeStamp.class, "signatureCache", 30L, 1000L);
+        }
+        if (!tokenValidator.validateSignature(token)) {
+            throw new IllegalStateException("The benchmark token is not valid");
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        concurrentCacheService.shutdownNow();
+    }
+
+    @Benchmark
+    public Boolean validateSignature() {
+        if ("cold".equals(keyCache)) {
+            configurationCache.put(CONFIGURATION_KEY, configurations[calls++ & 1]);
+        }
+        return tokenValidator.validateSignature(token);
+    }
+
+    private Configuration createConfiguration(final RSAPublicKey publicKey) {
+        final Key key = SimpleKeyFactory.getInstance().createKey(
+                SimpleTimeStampFactory.getInstance().createTimeStamp(0L),
+                SimpleModulusFactory.getInstance().createKeyValue(
+                        Base64.encodeBase64URLSafeString(publicKey.getModulus().toByteArray())),
+                SimpleExponentFactory.getInstance().createKeyExponent(
+                        Base64.encodeBase64URLSafeString(publicKey.getPublicExponent().toByteArray())));
+        final Map<Name, Key> keys = new HashMap<Name, Key>();
+        keys.put(SimpleNameFactory.getInstance().createKeyName(KEY_NAME), key);
+        return SimpleConfigurationFactory.getInstance().createConfiguration(
+                Collections.singletonList(SimpleAlgorithmFactory.getInstanc().createAlgorithm("RS256")), keys,
+                SimpleIssuerFactory.getInstance().createIssuer("https://login.microsoftonline.com/benchmark/v2.0/"),
+                SimpleEndPointFactory.getInstance().createEndPoint("https://login.microsoftonline.com/authorize"),
+                SimpleEndPointFactory.getInstance().createEndPoint("https://login.microsoftonline.com/logout"));
+    }
+
+    private Token createToken(final KeyPair keyPair) throws GeneralSecurityException {
+        final long now = System.currentTimeMillis() / 1000;
+        final String header = Base64.encodeBase64URLSafeString(
+                String.format("{\"typ\":\"JWT\",\"alg\":\"RS256\",\"kid\":\"%s\"}", KEY_NAME)
+                        .getBytes(StandardCharsets.UTF_8));
+        final String body = Base64.encodeBase64URLSafeString(String.format(
+                "{\"exp\":%d,\"nbf\":%d,\"iat\":%d,\"iss\":\"https://login.microsoftonline.com/benchmark/v2.0/\","
+                        + "\"aud\":\"benchmark\",\"oid\":\"benchmark\",\"emails\":[\"jane.doe@contoso.com\"]}",
+                now + 86400, now, now).getBytes(StandardCharsets.UTF_8));
+        final Signature sig = Signature.getInstance("SHA256withRSA");
+        sig.initSign(keyPair.getPrivate());
+        sig.update((header + "." + body).getBytes());
+        return StreamingTokenParser.getInstance()
+                .getToken(header + "." + body + "." + Base64.encodeBase64URLSafeString(sig.sign()));
+    }
+
+    private FilterConfig createFilterConfig() {
+        final ServletContext servletContext = (ServletContext) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { ServletContext.class }, new InvocationHandler() {
+                    @Override
+                    public Object invoke(final Object proxy, final Method method, final Object[] args) {
+                        if ("getResourceAsStream".equals(method.getName())) {
+                            return new ByteArrayInputStream(ALGORITHM_CONFIGURATION.getBytes(StandardCharsets.UTF_8));
+                        }
+                        return null;
+                    }
+                });
+        return (FilterConfig) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { FilterConfig.class }, new InvocationHandler() {
+                    @Override
+                    public Object invoke(final Object proxy, final Method method, final Object[] args) {
+                        if ("getServletContext".equals(method.getName())) {
+                            return servletContext;
+                        }
+                        if ("getInitParameter".equals(method.getName())) {
+                            return ALGORITHM_PARAMETER.equals(args[0]) ? "/WEB-INF/algorithms.json" : null;
+                        }
+                        return null;
+                    }
+                });
+    }
+}
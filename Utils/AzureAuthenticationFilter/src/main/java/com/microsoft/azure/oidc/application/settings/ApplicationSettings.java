@@ -23,6 +23,10 @@ public interface ApplicationSettings {
 
     Policy getOIDCPolicy();
 
+    String getGraphURL();
+
+    String getLoginURL();
+
     boolean equals(Object object);
 
     int hashCode();
@@ -22,6 +22,8 @@ final class SimpleApplicationSettings implements ApplicationSettings {
     private static final String PRINCIPAL_SECRET = "AAD_PRINCIPAL_SECRET";
     private static final String REDIRECT_URL = "AAD_REDIRECT_URL";
     private static final String OIDC_POLICY = "AAD_OIDC_POLICY";
+    private static final String GRAPH_URL = "AAD_GRAPH_URL";
+    private static final String LOGIN_URL = "AAD_LOGIN_URL";
 
     private final Tenant tenant = new SimpleTenant(System.getenv(SimpleApplicationSettings.TENANT));
     private volatile ID applicationId;
@@ -35,6 +37,10 @@ final class SimpleApplicationSettings implements ApplicationSettings {
     private final RedirectURL redirectURL = new SimpleRedirectURL(
             System.getenv(SimpleApplicationSettings.REDIRECT_URL));
     private final Policy oIDCPolicy = new SimplePolicy(System.getenv(SimpleApplicationSettings.OIDC_POLICY));
+    private final String graphURL = System.getenv(SimpleApplicationSettings.GRAPH_URL) == null
+            ? "https://graph.windows.net" : System.getenv(SimpleApplicationSettings.GRAPH_URL);
+    private final String loginURL = System.getenv(SimpleApplicationSettings.LOGIN_URL) == null
+            ? "https://login.microsoftonline.com" : System.getenv(SimpleApplicationSettings.LOGIN_URL);
 
     private final Object Lock = new Object();
 
@@ -89,6 +95,16 @@ final class SimpleApplicationSettings implements ApplicationSettings {
         return oIDCPolicy;
     }
 
+    @Override
+    public String getGraphURL() {
+        return graphURL;
+    }
+
+    @Override
+    public String getLoginURL() {
+        return loginURL;
+    }
+
     @Override
     public int hashCode() {
         final int prime = 31;
@@ -0,0 +1,19 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.oidc.concurrent.async;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+
+public interface AsyncService {
+
+    <T> Future<T> submit(String key, Callable<T> callable);
+
+    <T> Future<T> submitRemote(String key, Callable<T> callable);
+
+    int getInFlightCount();
+
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.oidc.concurrent.async.impl;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.microsoft.azure.oidc.concurrent.async.AsyncService;
+import com.microsoft.azure.oidc.exception.PreconditionException;
+
+public final class SimpleAsyncService implements AsyncService {
+    private static final AsyncService INSTANCE = new SimpleAsyncService();
+    private static final String THREAD_NAME_PREFIX = "oidc-async-";
+    private static final int POOL_SIZE = 16;
+    private static final int QUEUE_SIZE = 1024;
+
+    private final ConcurrentMap<String, FutureTask<?>> inFlightMap = new ConcurrentHashMap<String, FutureTask<?>>();
+
+    /**
+     * The in flight remote calls only, without the local tasks that wait for them
+     */
+    private final AtomicInteger remoteCallCount = new AtomicInteger();
+
+    /**
+     * Marks the threads running a submitted task, whose nested submissions run inline instead of waiting for
+     * the queue of the pool they are holding
+     */
+    private final ThreadLocal<Boolean> runningTask = new ThreadLocal<Boolean>();
+
+    private final ThreadPoolExecutor executor = createExecutor();
+
+    @Override
+    public <T> Future<T> submit(final String key, final Callable<T> callable) {
+        return submit(key, callable, false);
+    }
+
+    @Override
+    public <T> Future<T> submitRemote(final String key, final Callable<T> callable) {
+        return submit(key, callable, true);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Future<T> submit(final String key, final Callable<T> callable, final boolean isRemote) {
+        if (key == null || callable == null) {
+            throw new PreconditionException("Required parameter is null");
+        }
+        final FutureTask<T> task = new FutureTask<T>(callable) {
+            @Override
+            protected void done() {
+                if (inFlightMap.remove(key, this) && isRemote) {
+                    remoteCallCount.decrementAndGet();
+                }
+            }
+        };
+        final boolean isNested = Boolean.TRUE.equals(runningTask.get());
+        final FutureTask<?> inFlight = inFlightMap.putIfAbsent(key, task);
+        if (inFlight != null) {
+            if (isNested) {
+                // Run the coalesced task here if it's still queued, it's a no-op if the task has started
+                inFlight.run();
+            }
+            return (Future<T>) inFlight;
+        }
+        if (isRemote) {
+            remoteCallCount.incrementAndGet();
+        }
+        if (isNested) {
+            task.run();
+            return task;
+        }
+        try {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    runningTask.set(Boolean.TRUE);
+                    try {
+                        task.run();
+                    } finally {
+                        runningTask.remove();
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            task.run();
+        }
+        return task;
+    }
+
+    @Override
+    public int getInFlightCount() {
+        return remoteCallCount.get();
+    }
+
+    private static ThreadPoolExecutor createExecutor() {
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(POOL_SIZE, POOL_SIZE, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(QUEUE_SIZE), new ThreadFactory() {
+                    private final AtomicInteger count = new AtomicInteger();
+
+                    @Override
+                    public Thread newThread(final Runnable runnable) {
+                        final Thread thread = new Thread(runnable, THREAD_NAME_PREFIX + count.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    public static AsyncService getInstance() {
+        return INSTANCE;
+    }
+}
@@ -11,6 +11,10 @@ public interface ConcurrentCache<K, V> {
 
     V putIfAbsent(K key, V value);
 
+    V put(K key, V value);
+
+    long getEvictionCount();
+
     void shutdownNow();
 
 }
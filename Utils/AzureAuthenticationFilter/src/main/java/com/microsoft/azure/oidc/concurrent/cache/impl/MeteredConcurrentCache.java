@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.oidc.concurrent.cache.impl;
+
+import com.microsoft.azure.oidc.concurrent.cache.ConcurrentCache;
+import com.microsoft.azure.oidc.metrics.MetricsService;
+import com.microsoft.azure.oidc.metrics.impl.SimpleMetricsService;
+
+final class MeteredConcurrentCache<K, V> implements ConcurrentCache<K, V> {
+    private final MetricsService metricsService = SimpleMetricsService.getInstance();
+
+    private final ConcurrentCache<K, V> concurrentCache;
+    private final String hitName;
+    private final String missName;
+
+    public MeteredConcurrentCache(final String name, final ConcurrentCache<K, V> concurrentCache) {
+        this.concurrentCache = concurrentCache;
+        this.hitName = name + ".hit";
+        this.missName = name + ".miss";
+    }
+
+    @Override
+    public V get(Object key) {
+        final V value = concurrentCache.get(key);
+        metricsService.get().increment(value == null ? missName : hitName);
+        return value;
+    }
+
+    @Override
+    public V putIfAbsent(K key, V value) {
+        return concurrentCache.putIfAbsent(key, value);
+    }
+
+    @Override
+    public V put(K key, V value) {
+        return concurrentCache.put(key, value);
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return concurrentCache.getEvictionCount();
+    }
+
+    @Override
+    public void shutdownNow() {
+        concurrentCache.shutdownNow();
+    }
+}
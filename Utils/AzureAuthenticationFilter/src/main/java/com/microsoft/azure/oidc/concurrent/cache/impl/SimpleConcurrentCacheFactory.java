@@ -7,14 +7,33 @@ package com.microsoft.azure.oidc.concurrent.cache.impl;
 
 import com.microsoft.azure.oidc.concurrent.cache.ConcurrentCache;
 import com.microsoft.azure.oidc.concurrent.cache.ConcurrentCacheFactory;
+import com.microsoft.azure.oidc.exception.GeneralException;
+import com.microsoft.azure.oidc.exception.PreconditionException;
 
 public class SimpleConcurrentCacheFactory<K, V> implements ConcurrentCacheFactory<K, V> {
+    public static final String STRIPED = "striped";
+    public static final String TTL = "ttl";
+
     @SuppressWarnings("rawtypes")
     private static final ConcurrentCacheFactory INSTANCE = new SimpleConcurrentCacheFactory();
 
     @Override
     public ConcurrentCache<K, V> createConcurrentCache(Long ttl, Long maxSize) {
-        return new TTLConcurrentCache<K, V>(ttl, maxSize);
+        return createConcurrentCache(STRIPED, ttl, maxSize);
+    }
+
+    @Override
+    public ConcurrentCache<K, V> createConcurrentCache(String type, Long ttl, Long maxSize) {
+        if (type == null || ttl == null || maxSize == null) {
+            throw new PreconditionException("Required parameter is null");
+        }
+        if (TTL.equals(type)) {
+            return new TTLConcurrentCache<K, V>(ttl, maxSize);
+        }
+        if (STRIPED.equals(type)) {
+            return new StripedConcurrentCache<K, V>(ttl, maxSize);
+        }
+        throw new GeneralException(String.format("Unknown cache type: %s", type));
     }
 
     @SuppressWarnings("unchecked")
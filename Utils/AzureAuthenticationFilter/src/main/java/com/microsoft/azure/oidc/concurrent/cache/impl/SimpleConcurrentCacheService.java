@@ -11,6 +11,9 @@ import java.util.Map;
 import com.microsoft.azure.oidc.concurrent.cache.ConcurrentCache;
 import com.microsoft.azure.oidc.concurrent.cache.ConcurrentCacheFactory;
 import com.microsoft.azure.oidc.concurrent.cache.ConcurrentCacheService;
+import com.microsoft.azure.oidc.metrics.Gauge;
+import com.microsoft.azure.oidc.metrics.MetricsService;
+import com.microsoft.azure.oidc.metrics.impl.SimpleMetricsService;
 
 public class SimpleConcurrentCacheService implements ConcurrentCacheService {
     private final static ConcurrentCacheService INSTANCE = new SimpleConcurrentCacheService();
@@ -20,12 +23,22 @@ public class SimpleConcurrentCacheService implements ConcurrentCacheService {
 
     private final Map<String, ConcurrentCache<String, Object>> cacheMap = new HashMap<String, ConcurrentCache<String, Object>>();
 
+    private final MetricsService metricsService = SimpleMetricsService.getInstance();
+
     @SuppressWarnings("unchecked")
     @Override
     public <V> ConcurrentCache<String, V> createCache(Class<V> clazzV, String name, Long ttl, Long maxSize) {
         final ConcurrentCache<String, Object> concurrentCache = concurrentCacheFactory.createConcurrentCache(ttl, maxSize);
-        cacheMap.put(name, concurrentCache);
-        return (ConcurrentCache<String, V>) concurrentCache;
+        return (ConcurrentCache<String, V>) register(name, concurrentCache);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <V> ConcurrentCache<String, V> createCache(Class<V> clazzV, String name, String type, Long ttl,
+            Long maxSize) {
+        final ConcurrentCache<String, Object> concurrentCache = concurrentCacheFactory.createConcurrentCache(type, ttl,
+                maxSize);
+        return (ConcurrentCache<String, V>) register(name, concurrentCache);
     }
 
     @SuppressWarnings("unchecked")
@@ -42,6 +55,20 @@ public class SimpleConcurrentCacheService implements ConcurrentCacheService {
         cacheMap.clear();
     }
 
+    private ConcurrentCache<String, Object> register(final String name,
+            final ConcurrentCache<String, Object> concurrentCache) {
+        final ConcurrentCache<String, Object> meteredCache = new MeteredConcurrentCache<String, Object>(name,
+                concurrentCache);
+        metricsService.get().registerGauge(name + ".eviction", new Gauge() {
+            @Override
+            public long getValue() {
+                return meteredCache.getEvictionCount();
+            }
+        });
+        cacheMap.put(name, meteredCache);
+        return meteredCache;
+    }
+
     public static ConcurrentCacheService getInstance() {
         return INSTANCE;
     }
@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.oidc.concurrent.cache.impl;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.microsoft.azure.oidc.concurrent.cache.ConcurrentCache;
+
+public final class StripedConcurrentCache<K, V> implements ConcurrentCache<K, V> {
+    private static final int MAX_SEGMENTS = 16;
+
+    private final Segment<K, V>[] segments;
+    private final int segmentMask;
+    private final ScheduledExecutorService scheduledExecutorService = Executors
+            .newSingleThreadScheduledExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(final Runnable runnable) {
+                    final Thread thread = new Thread(runnable, "StripedConcurrentCache-sweeper");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+    private final long ttl;
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    public StripedConcurrentCache(final Long ttl, final Long maxSize) {
+        this.ttl = ttl * 60000;
+        final int segmentCount = getSegmentCount(maxSize);
+        final long segmentSize = (maxSize + segmentCount - 1) / segmentCount;
+        this.segments = newSegmentArray(segmentCount);
+        this.segmentMask = segmentCount - 1;
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment<K, V>(segmentSize, evictionCount);
+        }
+        scheduledExecutorService.scheduleAtFixedRate(new Runnable() {
+            @Override
+            public void run() {
+                final long expiredBefore = System.currentTimeMillis() - getTtl();
+                for (final Segment<K, V> segment : segments) {
+                    segment.removeExpired(expiredBefore);
+                }
+            }
+        }, 1, 1, TimeUnit.MINUTES);
+    }
+
+    @Override
+    public V get(Object key) {
+        return getSegment(key).get(key, System.currentTimeMillis() - getTtl());
+    }
+
+    @Override
+    public V putIfAbsent(K key, V value) {
+        return getSegment(key).putIfAbsent(key, value, System.currentTimeMillis(), getTtl());
+    }
+
+    @Override
+    public V put(K key, V value) {
+        return getSegment(key).put(key, value, System.currentTimeMillis(), getTtl());
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    @Override
+    public void shutdownNow() {
+        scheduledExecutorService.shutdownNow();
+    }
+
+    private Segment<K, V> getSegment(final Object key) {
+        final int hash = key == null ? 0 : key.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & segmentMask];
+    }
+
+    private long getTtl() {
+        return ttl;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> Segment<K, V>[] newSegmentArray(final int size) {
+        return (Segment<K, V>[]) new Segment<?, ?>[size];
+    }
+
+    private static int getSegmentCount(final Long maxSize) {
+        int segmentCount = 1;
+        while (segmentCount < MAX_SEGMENTS && segmentCount * 2 <= maxSize) {
+            segmentCount *= 2;
+        }
+        return segmentCount;
+    }
+
+    private static final class CacheEntry<V> {
+        private final V value;
+        private final long timestamp;
+
+        private CacheEntry(final V value, final long timestamp) {
+            this.value = value;
+            this.timestamp = timestamp;
+        }
+    }
+
+    private static final class Segment<K, V> {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<Object, CacheEntry<V>> entryMap;
+        private final AtomicLong evictionCount;
+
+        @SuppressWarnings("serial")
+        private Segment(final long maxSize, final AtomicLong evictionCount) {
+            this.evictionCount = evictionCount;
+            this.entryMap = new LinkedHashMap<Object, CacheEntry<V>>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<Object, CacheEntry<V>> eldest) {
+                    if (size() > maxSize) {
+                        Segment.this.evictionCount.incrementAndGet();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        private V get(final Object key, final long expiredBefore) {
+            lock.lock();
+            try {
+                final CacheEntry<V> entry = entryMap.get(key);
+                if (entry == null) {
+                    return null;
+                }
+                if (entry.timestamp < expiredBefore) {
+                    entryMap.remove(key);
+                    evictionCount.incrementAndGet();
+                    return null;
+                }
+                return entry.value;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private V putIfAbsent(final K key, final V value, final long now, final long ttl) {
+            lock.lock();
+            try {
+                final CacheEntry<V> entry = entryMap.get(key);
+                if (entry != null && entry.timestamp >= now - ttl) {
+                    return entry.value;
+                }
+                entryMap.put(key, new CacheEntry<V>(value, now));
+                return null;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private V put(final K key, final V value, final long now, final long ttl) {
+            lock.lock();
+            try {
+                final CacheEntry<V> entry = entryMap.put(key, new CacheEntry<V>(value, now));
+                return entry == null || entry.timestamp < now - ttl ? null : entry.value;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void removeExpired(final long expiredBefore) {
+            lock.lock();
+            try {
+                final Iterator<CacheEntry<V>> iterator = entryMap.values().iterator();
+                while (iterator.hasNext()) {
+                    if (iterator.next().timestamp < expiredBefore) {
+                        iterator.remove();
+                        evictionCount.incrementAndGet();
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -13,6 +13,7 @@ import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.microsoft.azure.oidc.concurrent.cache.ConcurrentCache;
 
@@ -21,6 +22,7 @@ public final class TTLConcurrentCache<K, V> implements ConcurrentCache<K, V> {
     private final ConcurrentMap<K, Long> timestampMap = new ConcurrentHashMap<K, Long>();
     private final ScheduledExecutorService scheduledExecutorService = Executors.newSingleThreadScheduledExecutor();
     private final List<K> oldestKey = new LinkedList<K>();
+    private final AtomicLong evictionCount = new AtomicLong();
     private final Long ttl;
     private final Long maxSize;
 
@@ -38,6 +40,7 @@ public final class TTLConcurrentCache<K, V> implements ConcurrentCache<K, V> {
                             timestampMap.remove(key);
                             storeMap.remove(key);
                             iterator.remove();
+                            evictionCount.incrementAndGet();
                         }
                         break;
                     }
@@ -55,12 +58,8 @@ public final class TTLConcurrentCache<K, V> implements ConcurrentCache<K, V> {
     @Override
     public V putIfAbsent(K key, V value) {
         synchronized (timestampMap) {
-            while (timestampMap.size() > maxSize) {
-                final K oldest = oldestKey.get(0);
-                timestampMap.remove(oldest);
-                storeMap.remove(oldest);
-                oldestKey.remove(0);
-            }
+            removeIfExpired(key);
+            evictOverflow();
             if (!oldestKey.contains(key)) {
                 oldestKey.add(key);
             }
@@ -69,17 +68,48 @@ public final class TTLConcurrentCache<K, V> implements ConcurrentCache<K, V> {
         }
     }
 
+    @Override
+    public V put(K key, V value) {
+        synchronized (timestampMap) {
+            removeIfExpired(key);
+            evictOverflow();
+            if (!oldestKey.contains(key)) {
+                oldestKey.add(key);
+            }
+            timestampMap.put(key, System.currentTimeMillis());
+            return storeMap.put(key, value);
+        }
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
     @Override
     public void shutdownNow() {
         scheduledExecutorService.shutdownNow();
     }
 
+    private void evictOverflow() {
+        synchronized (timestampMap) {
+            while (timestampMap.size() > maxSize) {
+                final K oldest = oldestKey.get(0);
+                timestampMap.remove(oldest);
+                storeMap.remove(oldest);
+                oldestKey.remove(0);
+                evictionCount.incrementAndGet();
+            }
+        }
+    }
+
     private void removeIfExpired(Object key) {
         synchronized (timestampMap) {
             if (timestampMap.containsKey(key) && timestampMap.get(key) < (System.currentTimeMillis() - getTtl())) {
                 timestampMap.remove(key);
                 storeMap.remove(key);
                 oldestKey.remove(key);
+                evictionCount.incrementAndGet();
             }
         }
     }
@@ -9,4 +9,10 @@ public interface ConfigurationCache {
 
     Configuration load();
 
+    Configuration refresh();
+
+    void initialise();
+
+    void shutdownNow();
+
 }
@@ -5,6 +5,22 @@
 
 package com.microsoft.azure.oidc.configuration.impl;
 
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.microsoft.azure.oidc.concurrent.cache.ConcurrentCache;
 import com.microsoft.azure.oidc.concurrent.cache.ConcurrentCacheService;
 import com.microsoft.azure.oidc.concurrent.cache.impl.SimpleConcurrentCacheService;
 import com.microsoft.azure.oidc.configuration.Configuration;
@@ -15,6 +31,12 @@ import com.microsoft.azure.oidc.future.impl.SimpleFutureHelper;
 
 public class SimpleConfigurationCache implements ConfigurationCache {
     private static final ConfigurationCache INSTANCE = new SimpleConfigurationCache();
+    private static final Logger LOGGER = LoggerFactory.getLogger(SimpleConfigurationCache.class);
+    private static final String KEY = "SINGLE";
+    private static final long REFRESH_INTERVAL_MINUTES = 45L;
+    private static final long MIN_RELOAD_INTERVAL = 5 * 60 * 1000L;
+    private static final long RETRY_DELAY_SECONDS = 30L;
+    private static final long MAX_RETRY_DELAY_SECONDS = 15 * 60L;
 
     private final ConfigurationLoader configurationLoader = SimpleConfigurationLoader.getInstance();
 
@@ -22,21 +44,162 @@ public class SimpleConfigurationCache implements ConfigurationCache {
 
     private final ConcurrentCacheService concurrentCacheService = SimpleConcurrentCacheService.getInstance();
 
+    private final AtomicLong lastReload = new AtomicLong();
+
+    private final AtomicReference<Future<Configuration>> pendingReload = new AtomicReference<Future<Configuration>>();
+
+    private final AtomicBoolean isRetryScheduled = new AtomicBoolean();
+
+    private final AtomicInteger failedReloadCount = new AtomicInteger();
+
+    private volatile Configuration lastConfiguration;
+
+    private volatile ScheduledExecutorService scheduledExecutorService;
+
+    private volatile boolean isShutdown;
+
     @Override
     public Configuration load() {
-        final String key = "SINGLE";
-        final Configuration entry = concurrentCacheService.getCache(Configuration.class, "configurationCache").get(key);
-        if (entry != null) {
-            return entry;
+        final Configuration configuration = getLastGoodCopy();
+        if (configuration != null) {
+            return configuration;
+        }
+        // nothing to serve before the first load, wait for the refresher to load it
+        final Future<Configuration> future = submitReload();
+        return future == null ? null : futureHelper.getResult(future);
+    }
+
+    @Override
+    public Configuration refresh() {
+        final long now = System.currentTimeMillis();
+        final long last = lastReload.get();
+        // the caller is missing a key, wait for the reload rather than serve the copy without it
+        final Future<Configuration> future;
+        if (now - last >= MIN_RELOAD_INTERVAL && lastReload.compareAndSet(last, now)) {
+            future = submitReload();
+        } else {
+            final Future<Configuration> pending = pendingReload.get();
+            future = pending == null || pending.isDone() ? null : pending;
+        }
+        final Configuration configuration = future == null ? null : futureHelper.getResult(future);
+        return configuration != null ? configuration : load();
+    }
+
+    @Override
+    public synchronized void initialise() {
+        shutdownNow();
+        isShutdown = false;
+        scheduledExecutorService = createRefresher();
+        scheduledExecutorService.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                reload();
+            }
+        }, 0, REFRESH_INTERVAL_MINUTES, TimeUnit.MINUTES);
+    }
+
+    @Override
+    public synchronized void shutdownNow() {
+        isShutdown = true;
+        if (scheduledExecutorService != null) {
+            scheduledExecutorService.shutdownNow();
+            scheduledExecutorService = null;
         }
+    }
+
+    private Future<Configuration> submitReload() {
+        while (true) {
+            final Future<Configuration> pending = pendingReload.get();
+            if (pending != null && !pending.isDone()) {
+                return pending;
+            }
+            final Future<Configuration> future;
+            try {
+                future = getRefresher().submit(new Callable<Configuration>() {
+                    @Override
+                    public Configuration call() {
+                        return reload();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                LOGGER.error("Error submitting configuration reload", e);
+                return null;
+            }
+            if (pendingReload.compareAndSet(pending, future)) {
+                return future;
+            }
+            future.cancel(false);
+        }
+    }
+
+    private synchronized ScheduledExecutorService getRefresher() {
+        if (isShutdown) {
+            throw new RejectedExecutionException("Configuration cache is shut down");
+        }
+        if (scheduledExecutorService == null) {
+            scheduledExecutorService = createRefresher();
+        }
+        return scheduledExecutorService;
+    }
+
+    private static ScheduledExecutorService createRefresher() {
+        return Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(final Runnable runnable) {
+                final Thread thread = new Thread(runnable, "SimpleConfigurationCache-refresher");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    private Configuration getLastGoodCopy() {
+        final ConcurrentCache<String, Configuration> cache = getCache();
+        final Configuration entry = cache == null ? null : cache.get(KEY);
+        return entry != null ? entry : lastConfiguration;
+    }
+
+    private Configuration reload() {
+        lastReload.set(System.currentTimeMillis());
         final Configuration result = futureHelper.getResult(configurationLoader.loadAsync());
         if (result == null) {
-            return result;
+            LOGGER.error("Error reloading configuration, keeping last good copy");
+            scheduleRetry();
+            return lastConfiguration;
+        }
+        failedReloadCount.set(0);
+        lastConfiguration = result;
+        final ConcurrentCache<String, Configuration> cache = getCache();
+        if (cache != null) {
+            cache.put(KEY, result);
         }
-        concurrentCacheService.getCache(Configuration.class, "configurationCache").putIfAbsent(key, result);
         return result;
     }
 
+    private void scheduleRetry() {
+        if (!isRetryScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        final int failures = Math.min(failedReloadCount.incrementAndGet(), 16);
+        final long delay = Math.min(RETRY_DELAY_SECONDS << (failures - 1), MAX_RETRY_DELAY_SECONDS);
+        try {
+            getRefresher().schedule(new Runnable() {
+                @Override
+                public void run() {
+                    isRetryScheduled.set(false);
+                    reload();
+                }
+            }, delay, TimeUnit.SECONDS);
+        } catch (RejectedExecutionException e) {
+            isRetryScheduled.set(false);
+            LOGGER.error("Error scheduling configuration reload retry", e);
+        }
+    }
+
+    private ConcurrentCache<String, Configuration> getCache() {
+        return concurrentCacheService.getCache(Configuration.class, "configurationCache");
+    }
+
     public static ConfigurationCache getInstance() {
         return INSTANCE;
     }
@@ -8,8 +8,6 @@ package com.microsoft.azure.oidc.configuration.impl;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
 import org.slf4j.Logger;
@@ -19,6 +17,8 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.microsoft.azure.oidc.common.algorithm.Algorithm;
 import com.microsoft.azure.oidc.common.issuer.Issuer;
 import com.microsoft.azure.oidc.common.name.Name;
+import com.microsoft.azure.oidc.concurrent.async.AsyncService;
+import com.microsoft.azure.oidc.concurrent.async.impl.SimpleAsyncService;
 import com.microsoft.azure.oidc.configuration.Configuration;
 import com.microsoft.azure.oidc.configuration.ConfigurationFactory;
 import com.microsoft.azure.oidc.configuration.ConfigurationLoader;
@@ -39,6 +39,8 @@ public final class SimpleConfigurationLoader implements ConfigurationLoader {
     private static final ConfigurationLoader INSTANCE = new SimpleConfigurationLoader();
     private static final Logger LOGGER = LoggerFactory.getLogger(SimpleConfigurationLoader.class);
 
+    private final AsyncService asyncService = SimpleAsyncService.getInstance();
+
     private final WellKnownLoader wellKnownLoader = SimpleWellKnownLoader.getInstance();
 
     private final WellKnownParser wellKnownParser = SimpleWellKnownParser.getInstance();
@@ -53,14 +55,11 @@ public final class SimpleConfigurationLoader implements ConfigurationLoader {
 
     @Override
     public Future<Configuration> loadAsync() {
-        final ExecutorService executorService = Executors.newSingleThreadExecutor();
-        final Future<Configuration> future = executorService.submit(new Callable<Configuration>() {
+        return asyncService.submit("configuration", new Callable<Configuration>() {
             public Configuration call() throws Exception {
                 return load();
             }
         });
-        executorService.shutdown();
-        return future;
     }
 
     public Configuration load() {
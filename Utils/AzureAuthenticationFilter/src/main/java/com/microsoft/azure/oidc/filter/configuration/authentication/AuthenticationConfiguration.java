@@ -21,4 +21,6 @@ public interface AuthenticationConfiguration {
 
     Map<String, List<String>> getAuthorisationRoleMap();
 
+    RouteMatcher getRouteMatcher();
+
 }
@@ -0,0 +1,18 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.oidc.filter.configuration.authentication;
+
+import java.util.List;
+
+public interface RouteDecision {
+
+    Boolean isExcluded();
+
+    Boolean isAuthorisationRequired();
+
+    List<String> getRoles();
+
+}
@@ -0,0 +1,12 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.oidc.filter.configuration.authentication;
+
+public interface RouteMatcher {
+
+    RouteDecision match(String uri);
+
+}
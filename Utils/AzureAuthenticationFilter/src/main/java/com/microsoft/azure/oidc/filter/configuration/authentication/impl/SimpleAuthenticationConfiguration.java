@@ -11,6 +11,7 @@ import java.util.Map;
 import java.util.regex.Pattern;
 
 import com.microsoft.azure.oidc.filter.configuration.authentication.AuthenticationConfiguration;
+import com.microsoft.azure.oidc.filter.configuration.authentication.RouteMatcher;
 
 final class SimpleAuthenticationConfiguration implements AuthenticationConfiguration {
     private List<String> exclusionUriPatternList;
@@ -20,11 +21,15 @@ final class SimpleAuthenticationConfiguration implements AuthenticationConfigura
     private List<Pattern> exclusionRegexPatternList;
     private List<Pattern> authorisationRegexPatternList;
 
+    private RouteMatcher routeMatcher;
+
     public SimpleAuthenticationConfiguration(final List<String> exclusionUriPatternList,
             final List<String> authorisationUriPatternList, final Map<String, List<String>> authorisationRoleMap) {
         setExclusionUriPatternList(exclusionUriPatternList);
         setAuthorisationUriPatternList(authorisationUriPatternList);
         setAuthorisationRoleMap(authorisationRoleMap);
+        routeMatcher = new SimpleRouteMatcher(exclusionRegexPatternList, this.authorisationUriPatternList,
+                authorisationRegexPatternList, this.authorisationRoleMap);
     }
 
     private void setExclusionUriPatternList(List<String> exclusionUriPatternList) {
@@ -99,4 +104,9 @@ final class SimpleAuthenticationConfiguration implements AuthenticationConfigura
     public Map<String, List<String>> getAuthorisationRoleMap() {
         return authorisationRoleMap;
     }
+
+    @Override
+    public RouteMatcher getRouteMatcher() {
+        return routeMatcher;
+    }
 }
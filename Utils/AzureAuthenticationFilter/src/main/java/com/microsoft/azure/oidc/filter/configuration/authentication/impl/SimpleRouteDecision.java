@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.oidc.filter.configuration.authentication.impl;
+
+import java.util.List;
+
+import com.microsoft.azure.oidc.filter.configuration.authentication.RouteDecision;
+
+final class SimpleRouteDecision implements RouteDecision {
+    private final Boolean isExcluded;
+    private final Boolean isAuthorisationRequired;
+    private final List<String> roles;
+
+    public SimpleRouteDecision(final Boolean isExcluded, final Boolean isAuthorisationRequired,
+            final List<String> roles) {
+        this.isExcluded = isExcluded;
+        this.isAuthorisationRequired = isAuthorisationRequired;
+        this.roles = roles;
+    }
+
+    @Override
+    public Boolean isExcluded() {
+        return isExcluded;
+    }
+
+    @Override
+    public Boolean isAuthorisationRequired() {
+        return isAuthorisationRequired;
+    }
+
+    @Override
+    public List<String> getRoles() {
+        return roles;
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.oidc.filter.configuration.authentication.impl;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import com.microsoft.azure.oidc.exception.PreconditionException;
+import com.microsoft.azure.oidc.filter.configuration.authentication.RouteDecision;
+import com.microsoft.azure.oidc.filter.configuration.authentication.RouteMatcher;
+
+final class SimpleRouteMatcher implements RouteMatcher {
+    private static final String QUANTIFIERS = "?*+{";
+    private static final String LINE_TERMINATORS = "\n\r\u0085\u2028\u2029";
+
+    private final Route[] exclusionRoutes;
+    private final Node exclusionTrie = new Node();
+    private final Route[] authorisationRoutes;
+    private final Node authorisationTrie = new Node();
+
+    public SimpleRouteMatcher(final List<Pattern> exclusionRegexPatternList,
+            final List<String> authorisationUriPatternList, final List<Pattern> authorisationRegexPatternList,
+            final Map<String, List<String>> authorisationRoleMap) {
+        exclusionRoutes = new Route[exclusionRegexPatternList.size()];
+        for (int index = 0; index < exclusionRoutes.length; index++) {
+            exclusionRoutes[index] = new Route(exclusionRegexPatternList.get(index), null);
+            exclusionTrie.add(exclusionRoutes[index].prefix, index);
+        }
+        authorisationRoutes = new Route[authorisationRegexPatternList.size()];
+        for (int index = 0; index < authorisationRoutes.length; index++) {
+            authorisationRoutes[index] = new Route(authorisationRegexPatternList.get(index),
+                    authorisationRoleMap.get(authorisationUriPatternList.get(index)));
+            authorisationTrie.add(authorisationRoutes[index].prefix, index);
+        }
+    }
+
+    @Override
+    public RouteDecision match(final String uri) {
+        if (uri == null) {
+            throw new PreconditionException("Required parameter is null");
+        }
+        final Boolean isExcluded = findFirst(exclusionTrie, exclusionRoutes, uri) != null;
+        final Route authorisationRoute = findFirst(authorisationTrie, authorisationRoutes, uri);
+        if (authorisationRoute == null) {
+            return new SimpleRouteDecision(isExcluded, Boolean.FALSE, null);
+        }
+        return new SimpleRouteDecision(isExcluded, Boolean.TRUE, authorisationRoute.roles);
+    }
+
+    private Route findFirst(final Node trie, final Route[] routes, final String uri) {
+        final BitSet candidates = new BitSet(routes.length);
+        Node node = trie;
+        candidates.or(node.routes);
+        for (int index = 0; index < uri.length(); index++) {
+            node = node.children.get(uri.charAt(index));
+            if (node == null) {
+                break;
+            }
+            candidates.or(node.routes);
+        }
+        for (int index = candidates.nextSetBit(0); index >= 0; index = candidates.nextSetBit(index + 1)) {
+            if (routes[index].matches(uri)) {
+                return routes[index];
+            }
+        }
+        return null;
+    }
+
+    private static final class Node {
+        private final Map<Character, Node> children = new HashMap<Character, Node>();
+        private final BitSet routes = new BitSet();
+
+        private void add(final String prefix, final int index) {
+            Node node = this;
+            for (int position = 0; position < prefix.length(); position++) {
+                Node child = node.children.get(prefix.charAt(position));
+                if (child == null) {
+                    child = new Node();
+                    node.children.put(prefix.charAt(position), child);
+                }
+                node = child;
+            }
+            node.routes.set(index);
+        }
+    }
+
+    private static final class Route {
+        private final Pattern pattern;
+        private final List<String> roles;
+        private final String prefix;
+        private final Boolean isExact;
+        private final Boolean isPrefix;
+
+        private Route(final Pattern pattern, final List<String> roles) {
+            this.pattern = pattern;
+            this.roles = roles;
+            final String regex = pattern.pattern();
+            final StringBuilder builder = new StringBuilder();
+            int position = 0;
+            if (pattern.flags() == 0 && regex.indexOf('|') < 0) {
+                while (position < regex.length()) {
+                    final char current = regex.charAt(position);
+                    final int next;
+                    final char literal;
+                    if (current == '\\' && position + 1 < regex.length()
+                            && !Character.isLetterOrDigit(regex.charAt(position + 1))) {
+                        literal = regex.charAt(position + 1);
+                        next = position + 2;
+                    } else if (Character.isLetterOrDigit(current)) {
+                        literal = current;
+                        next = position + 1;
+                    } else {
+                        break;
+                    }
+                    if (next < regex.length() && QUANTIFIERS.indexOf(regex.charAt(next)) >= 0) {
+                        break;
+                    }
+                    builder.append(literal);
+                    position = next;
+                }
+            }
+            final String remainder = regex.substring(position);
+            this.prefix = builder.toString();
+            this.isExact = position > 0 && remainder.isEmpty();
+            this.isPrefix = position > 0 && (remainder.equals("(.*)") || remainder.equals(".*"));
+        }
+
+        private Boolean matches(final String uri) {
+            if (isExact) {
+                return uri.length() == prefix.length();
+            }
+            if (isPrefix) {
+                return !hasLineTerminator(uri);
+            }
+            return pattern.matcher(uri).matches();
+        }
+
+        private static Boolean hasLineTerminator(final String uri) {
+            for (int index = 0; index < uri.length(); index++) {
+                if (LINE_TERMINATORS.indexOf(uri.charAt(index)) >= 0) {
+                    return Boolean.TRUE;
+                }
+            }
+            return Boolean.FALSE;
+        }
+    }
+}
@@ -9,8 +9,6 @@ import java.io.IOException;
 import java.net.URLEncoder;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
@@ -32,23 +30,29 @@ import com.microsoft.azure.oidc.application.settings.impl.SimpleApplicationSetti
 import com.microsoft.azure.oidc.common.state.State;
 import com.microsoft.azure.oidc.common.state.StateFactory;
 import com.microsoft.azure.oidc.common.state.impl.SimpleStateFactory;
+import com.microsoft.azure.oidc.concurrent.cache.ConcurrentCache;
+import com.microsoft.azure.oidc.concurrent.cache.ConcurrentCacheService;
+import com.microsoft.azure.oidc.concurrent.cache.impl.SimpleConcurrentCacheService;
 import com.microsoft.azure.oidc.configuration.Configuration;
 import com.microsoft.azure.oidc.configuration.ConfigurationCache;
 import com.microsoft.azure.oidc.configuration.impl.SimpleConfigurationCache;
 import com.microsoft.azure.oidc.exception.GeneralException;
 import com.microsoft.azure.oidc.exception.PreconditionException;
 import com.microsoft.azure.oidc.filter.configuration.authentication.AuthenticationConfigurationService;
+import com.microsoft.azure.oidc.filter.configuration.authentication.RouteDecision;
 import com.microsoft.azure.oidc.filter.configuration.authentication.impl.SimpleAuthenticationConfigurationService;
 import com.microsoft.azure.oidc.filter.helper.AuthenticationHelper;
 import com.microsoft.azure.oidc.filter.request.impl.AuthenticationRequestWrapper;
 import com.microsoft.azure.oidc.filter.request.impl.SandboxRequestWrapper;
 import com.microsoft.azure.oidc.graph.GraphCache;
 import com.microsoft.azure.oidc.graph.impl.SimpleGraphCache;
+import com.microsoft.azure.oidc.metrics.MetricsService;
+import com.microsoft.azure.oidc.metrics.impl.SimpleMetricsService;
 import com.microsoft.azure.oidc.token.Token;
 import com.microsoft.azure.oidc.token.TokenParser;
 import com.microsoft.azure.oidc.token.TokenValidator;
-import com.microsoft.azure.oidc.token.impl.SimpeTokenParser;
 import com.microsoft.azure.oidc.token.impl.SimpleTokenValidator;
+import com.microsoft.azure.oidc.token.impl.StreamingTokenParser;
 
 public final class SimpleAuthenticationHelper implements AuthenticationHelper {
     private static final AuthenticationHelper INSTANCE = new SimpleAuthenticationHelper();
@@ -56,7 +60,7 @@ public final class SimpleAuthenticationHelper implements AuthenticationHelper {
     private static final State NO_STATE = null;
     private static final String[] ERROR_VALUES = { "access_denied", "interaction_required" };
 
-    private final TokenParser tokenParser = SimpeTokenParser.getInstance();
+    private final TokenParser tokenParser = StreamingTokenParser.getInstance();
 
     private final TokenValidator tokenValidator = SimpleTokenValidator.getInstance();
 
@@ -71,6 +75,10 @@ public final class SimpleAuthenticationHelper implements AuthenticationHelper {
     private final AuthenticationConfigurationService authenticationConfigurationService = SimpleAuthenticationConfigurationService
             .getInstance();
 
+    private final ConcurrentCacheService concurrentCacheService = SimpleConcurrentCacheService.getInstance();
+
+    private final MetricsService metricsService = SimpleMetricsService.getInstance();
+
     @Override
     public void doUnauthenticatedAction(final FilterChain chain, final HttpServletRequest httpRequest,
             final HttpServletResponse httpResponse, final Token token, final Boolean isError)
@@ -153,7 +161,12 @@ public final class SimpleAuthenticationHelper implements AuthenticationHelper {
 
     @Override
     public Token getToken(final String tokenString) {
-        return tokenParser.getToken(tokenString);
+        final long start = System.nanoTime();
+        try {
+            return tokenParser.getToken(tokenString);
+        } finally {
+            metricsService.get().recordTime("tokenParse", System.nanoTime() - start);
+        }
     }
 
     @Override
@@ -202,52 +215,53 @@ public final class SimpleAuthenticationHelper implements AuthenticationHelper {
     }
 
     private Boolean isExcluded(final HttpServletRequest httpRequest) {
-        String uriString = null;
-        final Boolean isRootContext = "".equals(httpRequest.getContextPath());
-        if (isRootContext) {
-            uriString = httpRequest.getRequestURI();
-        } else {
-            final int length = httpRequest.getRequestURI().length();
-            uriString = httpRequest.getRequestURI().substring(length);
+        return getRouteDecision(httpRequest).isExcluded();
+    }
+
+    private Boolean isAuthorised(final HttpServletRequest httpRequest, final Token token) {
+        final RouteDecision routeDecision = getRouteDecision(httpRequest);
+        if (!routeDecision.isAuthorisationRequired()) {
+            return Boolean.TRUE;
+        }
+        // A matched rule without roles fails closed
+        final List<String> roles = routeDecision.getRoles();
+        if (roles == null) {
+            return Boolean.FALSE;
         }
-        for (final Pattern pattern : authenticationConfigurationService.get().getExclusionRegexPatternList()) {
-            final Matcher matcher = pattern.matcher(uriString);
-            final Boolean isMatchFound = matcher.matches();
-            if (isMatchFound) {
+        final HttpServletRequest authRequest = getAuthenticationWrapper(httpRequest, token);
+        for (final String roleName : roles) {
+            final Boolean isUserInRole = authRequest.isUserInRole(roleName);
+            if (isUserInRole) {
                 return Boolean.TRUE;
             }
         }
         return Boolean.FALSE;
     }
 
-    private Boolean isAuthorised(final HttpServletRequest httpRequest, final Token token) {
-        String uriString = null;
-        final Boolean isRootContext = "".equals(httpRequest.getContextPath());
-        if (isRootContext) {
-            uriString = httpRequest.getRequestURI();
-        } else {
-            final int length = httpRequest.getRequestURI().length();
-            uriString = httpRequest.getRequestURI().substring(length);
+    private RouteDecision getRouteDecision(final HttpServletRequest httpRequest) {
+        final long start = System.nanoTime();
+        try {
+            return matchRoute(httpRequest);
+        } finally {
+            metricsService.get().recordTime("authorisationMatch", System.nanoTime() - start);
         }
-        int index = 0;
-        for (final String urlPattern : authenticationConfigurationService.get().getAuthorisationUriPatternList()) {
-            final Pattern pattern = authenticationConfigurationService.get().getAuthorisationRegexPatternList()
-                    .get(index++);
-            final Matcher matcher = pattern.matcher(uriString);
-            final Boolean isMatchFound = matcher.matches();
-            if (isMatchFound) {
-                final HttpServletRequest authRequest = getAuthenticationWrapper(httpRequest, token);
-                for (final String roleName : authenticationConfigurationService.get().getAuthorisationRoleMap()
-                        .get(urlPattern)) {
-                    final Boolean isUserInRole = authRequest.isUserInRole(roleName);
-                    if (isUserInRole) {
-                        return Boolean.TRUE;
-                    }
-                }
-                return Boolean.FALSE;
-            }
+    }
+
+    private RouteDecision matchRoute(final HttpServletRequest httpRequest) {
+        final String uriString = httpRequest.getRequestURI().substring(httpRequest.getContextPath().length());
+        final ConcurrentCache<String, RouteDecision> routeCache = concurrentCacheService
+                .getCache(RouteDecision.class, "routeCache");
+        if (routeCache == null) {
+            return authenticationConfigurationService.get().getRouteMatcher().match(uriString);
+        }
+        final RouteDecision entry = routeCache.get(uriString);
+        if (entry != null) {
+            return entry;
         }
-        return Boolean.TRUE;
+        final RouteDecision routeDecision = authenticationConfigurationService.get().getRouteMatcher()
+                .match(uriString);
+        routeCache.putIfAbsent(uriString, routeDecision);
+        return routeDecision;
     }
 
     private String addCookie(final HttpServletRequest httpRequest, final HttpServletResponse httpResponse,
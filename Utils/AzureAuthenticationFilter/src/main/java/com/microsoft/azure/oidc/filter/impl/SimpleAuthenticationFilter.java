@@ -16,17 +16,28 @@ import javax.servlet.ServletResponse;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
+import com.microsoft.azure.oidc.common.timestamp.TimeStamp;
+import com.microsoft.azure.oidc.concurrent.async.AsyncService;
+import com.microsoft.azure.oidc.concurrent.async.impl.SimpleAsyncService;
 import com.microsoft.azure.oidc.concurrent.cache.ConcurrentCacheService;
+import com.microsoft.azure.oidc.concurrent.cache.impl.SimpleConcurrentCacheFactory;
 import com.microsoft.azure.oidc.concurrent.cache.impl.SimpleConcurrentCacheService;
 import com.microsoft.azure.oidc.configuration.Configuration;
+import com.microsoft.azure.oidc.configuration.ConfigurationCache;
+import com.microsoft.azure.oidc.configuration.impl.SimpleConfigurationCache;
 import com.microsoft.azure.oidc.exception.GeneralException;
 import com.microsoft.azure.oidc.exception.PreconditionException;
 import com.microsoft.azure.oidc.filter.configuration.algorithm.AlgorithmConfigurationService;
 import com.microsoft.azure.oidc.filter.configuration.algorithm.impl.SimpleAlgorithmConfigurationService;
 import com.microsoft.azure.oidc.filter.configuration.authentication.AuthenticationConfigurationService;
+import com.microsoft.azure.oidc.filter.configuration.authentication.RouteDecision;
 import com.microsoft.azure.oidc.filter.configuration.authentication.impl.SimpleAuthenticationConfigurationService;
 import com.microsoft.azure.oidc.filter.helper.AuthenticationHelper;
 import com.microsoft.azure.oidc.filter.helper.impl.SimpleAuthenticationHelper;
+import com.microsoft.azure.oidc.graph.impl.GraphCacheEntry;
+import com.microsoft.azure.oidc.metrics.Gauge;
+import com.microsoft.azure.oidc.metrics.MetricsService;
+import com.microsoft.azure.oidc.metrics.impl.SimpleMetricsService;
 import com.microsoft.azure.oidc.token.Token;
 
 public final class SimpleAuthenticationFilter implements Filter {
@@ -48,9 +59,17 @@ public final class SimpleAuthenticationFilter implements Filter {
 
     private final ConcurrentCacheService concurrentCacheService = SimpleConcurrentCacheService.getInstance();
 
+    private final ConfigurationCache configurationCache = SimpleConfigurationCache.getInstance();
+
+    private final MetricsService metricsService = SimpleMetricsService.getInstance();
+
+    private final AsyncService asyncService = SimpleAsyncService.getInstance();
+
     @Override
     public void destroy() {
+        configurationCache.shutdownNow();
         concurrentCacheService.shutdownNow();
+        metricsService.shutdownNow();
     }
 
     @Override
@@ -86,14 +105,41 @@ public final class SimpleAuthenticationFilter implements Filter {
 
     @Override
     public void init(final FilterConfig filterConfig) throws ServletException {
+        final String metricsRegistryString = filterConfig.getInitParameter("metricsRegistry");
+        metricsService.initialise(metricsRegistryString == null ? SimpleMetricsService.JMX : metricsRegistryString,
+                String.format("%s%s", filterConfig.getServletContext().getContextPath(),
+                        filterConfig.getFilterName()));
+        metricsService.get().registerGauge("remoteCalls.inFlight", new Gauge() {
+            @Override
+            public long getValue() {
+                return asyncService.getInFlightCount();
+            }
+        });
         final String securityCacheSizeString = filterConfig.getInitParameter("securityCacheSize");
+        final String securityCacheTypeString = filterConfig.getInitParameter("securityCacheType");
+        final String cacheType = securityCacheTypeString == null ? SimpleConcurrentCacheFactory.STRIPED
+                : securityCacheTypeString;
         if (securityCacheSizeString == null) {
-            concurrentCacheService.createCache(Boolean.class, "roleCache", 30L, 1000L);
+            concurrentCacheService.createCache(GraphCacheEntry.class, "roleCache", cacheType, 30L, 1000L);
         } else {
-            concurrentCacheService.createCache(Boolean.class, "roleCache", 30L,
+            concurrentCacheService.createCache(GraphCacheEntry.class, "roleCache", cacheType, 30L,
                     Long.parseLong(securityCacheSizeString));
         }
-        concurrentCacheService.createCache(Configuration.class, "configurationCache", 60L, 1L);
+        final String signatureCacheSizeString = filterConfig.getInitParameter("signatureCacheSize");
+        if (signatureCacheSizeString == null) {
+            concurrentCacheService.createCache(TimeStamp.class, "signatureCache", cacheType, 30L, 1000L);
+        } else {
+            concurrentCacheService.createCache(TimeStamp.class, "signatureCache", cacheType, 30L,
+                    Long.parseLong(signatureCacheSizeString));
+        }
+        final String routeCacheSizeString = filterConfig.getInitParameter("routeCacheSize");
+        if (routeCacheSizeString != null) {
+            concurrentCacheService.createCache(RouteDecision.class, "routeCache", cacheType, 60L,
+                    Long.parseLong(routeCacheSizeString));
+        }
+        concurrentCacheService.createCache(String.class, "groupCache", cacheType, 1440L, 1000L);
+        concurrentCacheService.createCache(Configuration.class, "configurationCache", cacheType, 60L, 1L);
+        configurationCache.initialise();
         authenticationConfigurationService.initialise(filterConfig, AUTHENTICATION_CONFIGURATION);
         algorithmConfigurationService.initialise(filterConfig, ALGORITHM_CONFIGURATION);
     }
@@ -6,9 +6,12 @@
 package com.microsoft.azure.oidc.future;
 
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 public interface FutureHelper {
 
     <T> T getResult(Future<T> future);
 
+    <T> T getResult(Future<T> future, long timeout, TimeUnit unit);
+
 }
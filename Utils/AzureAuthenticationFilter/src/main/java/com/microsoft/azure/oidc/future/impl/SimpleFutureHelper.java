@@ -5,8 +5,11 @@
 
 package com.microsoft.azure.oidc.future.impl;
 
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,21 +20,29 @@ import com.microsoft.azure.oidc.future.FutureHelper;
 public class SimpleFutureHelper implements FutureHelper {
     private static final FutureHelper INSTANCE = new SimpleFutureHelper();
     private static final Logger LOGGER = LoggerFactory.getLogger(SimpleFutureHelper.class);
+    private static final long DEFAULT_TIMEOUT_SECONDS = 30L;
 
     @Override
     public <T> T getResult(Future<T> future) {
-        if (future == null) {
+        return getResult(future, DEFAULT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public <T> T getResult(Future<T> future, long timeout, TimeUnit unit) {
+        if (future == null || unit == null) {
             throw new PreconditionException("Required parameter is null");
         }
         try {
-            while (!future.isDone() && !future.isCancelled()) {
-                Thread.sleep(10);
-            }
-            if (!future.isCancelled()) {
-                return future.get();
-            }
-        } catch (InterruptedException | ExecutionException e) {
+            return future.get(timeout, unit);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOGGER.error(e.getMessage(), e);
+        } catch (ExecutionException e) {
+            LOGGER.error(e.getMessage(), e);
+        } catch (CancellationException e) {
             LOGGER.error(e.getMessage(), e);
+        } catch (TimeoutException e) {
+            LOGGER.error(String.format("Timed out after %s %s", timeout, unit), e);
         }
         return null;
     }
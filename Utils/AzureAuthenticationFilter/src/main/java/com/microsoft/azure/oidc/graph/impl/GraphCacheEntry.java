@@ -0,0 +1,24 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.oidc.graph.impl;
+
+public final class GraphCacheEntry {
+    private final Boolean isUserInRole;
+    private final long loadedAt;
+
+    public GraphCacheEntry(final Boolean isUserInRole, final long loadedAt) {
+        this.isUserInRole = isUserInRole;
+        this.loadedAt = loadedAt;
+    }
+
+    public Boolean isUserInRole() {
+        return isUserInRole;
+    }
+
+    public long getLoadedAt() {
+        return loadedAt;
+    }
+}
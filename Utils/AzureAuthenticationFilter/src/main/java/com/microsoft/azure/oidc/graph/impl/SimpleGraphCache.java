@@ -5,15 +5,23 @@
 
 package com.microsoft.azure.oidc.graph.impl;
 
+import java.util.concurrent.Callable;
+
+import com.microsoft.azure.oidc.concurrent.async.AsyncService;
+import com.microsoft.azure.oidc.concurrent.async.impl.SimpleAsyncService;
+import com.microsoft.azure.oidc.concurrent.cache.ConcurrentCache;
 import com.microsoft.azure.oidc.concurrent.cache.ConcurrentCacheService;
 import com.microsoft.azure.oidc.concurrent.cache.impl.SimpleConcurrentCacheService;
 import com.microsoft.azure.oidc.future.FutureHelper;
 import com.microsoft.azure.oidc.future.impl.SimpleFutureHelper;
 import com.microsoft.azure.oidc.graph.GraphCache;
 import com.microsoft.azure.oidc.graph.GraphService;
+import com.microsoft.azure.oidc.metrics.MetricsService;
+import com.microsoft.azure.oidc.metrics.impl.SimpleMetricsService;
 
 public class SimpleGraphCache implements GraphCache {
     private static final GraphCache INSTANCE = new SimpleGraphCache();
+    private static final long SOFT_TTL = 20 * 60 * 1000L;
 
     private final GraphService springGraphService = SimpleGraphService.getInstance();
 
@@ -21,21 +29,52 @@ public class SimpleGraphCache implements GraphCache {
 
     private final ConcurrentCacheService concurrentCacheService = SimpleConcurrentCacheService.getInstance();
 
+    private final AsyncService asyncService = SimpleAsyncService.getInstance();
+
+    private final MetricsService metricsService = SimpleMetricsService.getInstance();
+
     @Override
-    public Boolean isUserInRole(String userID, String role) {
+    public Boolean isUserInRole(final String userID, final String role) {
+        final long start = System.nanoTime();
+        try {
+            return lookup(userID, role);
+        } finally {
+            metricsService.get().recordTime("graphRoleLookup", System.nanoTime() - start);
+        }
+    }
+
+    private Boolean lookup(final String userID, final String role) {
         final String key = String.format("%s:%s", userID, role);
-        final Boolean entry = concurrentCacheService.getCache(Boolean.class, "roleCache").get(key);
+        final ConcurrentCache<String, GraphCacheEntry> roleCache = concurrentCacheService
+                .getCache(GraphCacheEntry.class, "roleCache");
+        final GraphCacheEntry entry = roleCache.get(key);
         if (entry != null) {
-            return entry;
+            if (entry.getLoadedAt() < System.currentTimeMillis() - SOFT_TTL) {
+                refreshAsync(roleCache, key, userID, role);
+            }
+            return entry.isUserInRole();
         }
         final Boolean result = futureHelper.getResult(springGraphService.isUserInRoleAsync(userID, role));
         if (result == null) {
             return result;
         }
-        concurrentCacheService.getCache(Boolean.class, "roleCache").putIfAbsent(key, result);
+        roleCache.putIfAbsent(key, new GraphCacheEntry(result, System.currentTimeMillis()));
         return result;
     }
 
+    private void refreshAsync(final ConcurrentCache<String, GraphCacheEntry> roleCache, final String key,
+            final String userID, final String role) {
+        asyncService.submit(String.format("refresh:%s", key), new Callable<Boolean>() {
+            public Boolean call() throws Exception {
+                final Boolean result = futureHelper.getResult(springGraphService.isUserInRoleAsync(userID, role));
+                if (result != null) {
+                    roleCache.put(key, new GraphCacheEntry(result, System.currentTimeMillis()));
+                }
+                return result;
+            }
+        });
+    }
+
     public static GraphCache getInstance() {
         return INSTANCE;
     }
@@ -5,18 +5,14 @@
 
 package com.microsoft.azure.oidc.graph.impl;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
 import java.net.URL;
 import java.net.URLEncoder;
 import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
-import javax.net.ssl.HttpsURLConnection;
-
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -28,55 +24,66 @@ import com.microsoft.azure.oidc.application.settings.Secret;
 import com.microsoft.azure.oidc.application.settings.Tenant;
 import com.microsoft.azure.oidc.application.settings.impl.SimpleApplicationSettingsLoader;
 import com.microsoft.azure.oidc.common.id.ID;
+import com.microsoft.azure.oidc.concurrent.async.AsyncService;
+import com.microsoft.azure.oidc.concurrent.async.impl.SimpleAsyncService;
+import com.microsoft.azure.oidc.concurrent.cache.ConcurrentCache;
+import com.microsoft.azure.oidc.concurrent.cache.ConcurrentCacheService;
+import com.microsoft.azure.oidc.concurrent.cache.impl.SimpleConcurrentCacheService;
 import com.microsoft.azure.oidc.exception.GeneralException;
 import com.microsoft.azure.oidc.graph.GraphService;
 
 public final class SimpleGraphService implements GraphService {
     private static final GraphService INSTANCE = new SimpleGraphService();
     private static final Logger LOGGER = LoggerFactory.getLogger(SimpleGraphService.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String GRAPH_RESOURCE = "https://graph.windows.net";
+    private static final long REFRESH_MARGIN = 5 * 60 * 1000L;
+
+    private final AsyncService asyncService = SimpleAsyncService.getInstance();
 
     private final ApplicationSettingsLoader applicationSettingsLoader = SimpleApplicationSettingsLoader.getInstance();
 
+    private final ConcurrentCacheService concurrentCacheService = SimpleConcurrentCacheService.getInstance();
+
+    private final Object bearerTokenLock = new Object();
+
+    private volatile BearerToken cachedBearerToken;
+
     @Override
     public Future<Boolean> isUserInRoleAsync(final String userID, final String role) {
-        final ExecutorService executorService = Executors.newSingleThreadExecutor();
-        final Future<Boolean> future = executorService.submit(new Callable<Boolean>() {
+        return asyncService.submitRemote(String.format("graph:%s:%s", userID, role), new Callable<Boolean>() {
             public Boolean call() throws Exception {
                 return isUserInRole(userID, role);
             }
         });
-        executorService.shutdown();
-        return future;
     }
 
     private Boolean isUserInRole(final String userID, final String role) {
         try {
             final ApplicationSettings applicationSettings = applicationSettingsLoader.load();
-            final String bearerToken = getBearerToken(applicationSettings.getTenant(),
-                    applicationSettings.getPrincipalId(), applicationSettings.getPrincipalSecret());
-            final String roleID = getGroupID(applicationSettings.getTenant(), role, bearerToken);
+            final String bearerToken = getBearerToken(applicationSettings);
+            final String roleID = getGroupID(applicationSettings, role, bearerToken);
             if (roleID == null) {
                 return Boolean.FALSE;
             }
-            return isUserInGroup(applicationSettings.getTenant(), userID, roleID, bearerToken);
+            return isUserInGroup(applicationSettings, userID, roleID, bearerToken);
         } catch (GeneralException e) {
             LOGGER.error("General Exception", e);
-            return Boolean.FALSE;
+            return null;
         } catch (RuntimeException e) {
             LOGGER.error(e.getMessage(), e);
-            return Boolean.FALSE;
+            return null;
         }
     }
 
-    private Boolean isUserInGroup(final Tenant tenant, final String userID, final String groupID,
-            final String bearerToken) {
+    private Boolean isUserInGroup(final ApplicationSettings applicationSettings, final String userID,
+            final String groupID, final String bearerToken) {
         try {
-            final String urlString = String.format("https://graph.windows.net/%s/isMemberOf?api-version=1.6",
-                    tenant.getName());
+            final String urlString = String.format("%s/%s/isMemberOf?api-version=1.6",
+                    applicationSettings.getGraphURL(), applicationSettings.getTenant().getName());
             final String payload = String.format("{\"groupId\":\"%s\",\"memberId\":\"%s\"}", groupID, userID);
             final URL url = new URL(urlString);
-            final HttpsURLConnection connection = (HttpsURLConnection) url.openConnection();
-            connection.setRequestProperty("Host", "graph.windows.net");
+            final HttpURLConnection connection = (HttpURLConnection) url.openConnection();
             connection.setRequestProperty("Content-Type", "application/json");
             connection.setRequestProperty("Accept", "application/json");
             connection.setRequestProperty("Authorization", "Bearer " + bearerToken);
@@ -84,86 +91,98 @@ public final class SimpleGraphService implements GraphService {
             connection.setDoOutput(true);
             connection.getOutputStream().write(payload.getBytes());
             connection.getOutputStream().flush();
-            final StringBuilder result = new StringBuilder();
-            try (final BufferedReader in = new BufferedReader(new InputStreamReader(connection.getInputStream()))) {
-                for (String line = in.readLine(); line != null; line = in.readLine()) {
-                    result.append(line);
-                }
-            }
-            final ObjectMapper mapper = new ObjectMapper();
-            final JsonNode node = mapper.readValue(result.toString().getBytes(), JsonNode.class);
+            final JsonNode node = readJson(connection);
             return node.get("value").asBoolean();
         } catch (IOException e) {
-            LOGGER.error("IO Exception", e);
-            return Boolean.FALSE;
-        } catch (RuntimeException e) {
-            LOGGER.error(e.getMessage(), e);
-            return Boolean.FALSE;
+            throw new GeneralException("IO Exception", e);
         }
     }
 
-    private String getGroupID(final Tenant tenant, final String group, final String bearerToken) {
+    private String getGroupID(final ApplicationSettings applicationSettings, final String group,
+            final String bearerToken) {
+        final ConcurrentCache<String, String> groupCache = concurrentCacheService.getCache(String.class, "groupCache");
+        final String cachedGroupID = groupCache == null ? null : groupCache.get(group);
+        if (cachedGroupID != null) {
+            return cachedGroupID;
+        }
         try {
             final String urlString = String.format(
-                    "https://graph.windows.net/%s/groups?$filter=displayName%%20eq%%20'%s'&api-version=1.6",
-                    tenant.getName(), URLEncoder.encode(group, "UTF-8"));
+                    "%s/%s/groups?$filter=displayName%%20eq%%20'%s'&api-version=1.6", applicationSettings.getGraphURL(),
+                    applicationSettings.getTenant().getName(), URLEncoder.encode(group, "UTF-8"));
             final URL url = new URL(urlString);
-            final HttpsURLConnection connection = (HttpsURLConnection) url.openConnection();
-            connection.setRequestProperty("Host", "graph.windows.net");
+            final HttpURLConnection connection = (HttpURLConnection) url.openConnection();
             connection.setRequestProperty("Accept", "application/json");
             connection.setRequestProperty("Authorization", "Bearer " + bearerToken);
-            final StringBuilder result = new StringBuilder();
-            try (final BufferedReader in = new BufferedReader(new InputStreamReader(connection.getInputStream()))) {
-                for (String line = in.readLine(); line != null; line = in.readLine()) {
-                    result.append(line);
-                }
-            }
-            final ObjectMapper mapper = new ObjectMapper();
-            final JsonNode node = mapper.readValue(result.toString().getBytes(), JsonNode.class);
+            final JsonNode node = readJson(connection);
             for (final JsonNode groupNode : node.get("value")) {
-                return groupNode.get("objectId").asText();
+                final String groupID = groupNode.get("objectId").asText();
+                if (groupCache != null) {
+                    groupCache.putIfAbsent(group, groupID);
+                }
+                return groupID;
             }
             return null;
         } catch (IOException e) {
-            LOGGER.error("IO Exception", e);
-            return null;
-        } catch (RuntimeException e) {
-            LOGGER.error(e.getMessage(), e);
-            return null;
+            throw new GeneralException("IO Exception", e);
         }
     }
 
-    private String getBearerToken(final Tenant tenant, final ID principal, final Secret secret) {
+    private String getBearerToken(final ApplicationSettings applicationSettings) {
+        final BearerToken current = cachedBearerToken;
+        if (current != null && current.isValid()) {
+            return current.value;
+        }
+        synchronized (bearerTokenLock) {
+            if (cachedBearerToken != null && cachedBearerToken.isValid()) {
+                return cachedBearerToken.value;
+            }
+            final JsonNode node = requestBearerToken(applicationSettings.getTenant(),
+                    applicationSettings.getPrincipalId(), applicationSettings.getPrincipalSecret(),
+                    applicationSettings.getLoginURL());
+            final long expiresIn = node.has("expires_in") ? node.get("expires_in").asLong(0) : 0;
+            cachedBearerToken = new BearerToken(node.get("access_token").asText(),
+                    System.currentTimeMillis() + expiresIn * 1000);
+            return cachedBearerToken.value;
+        }
+    }
+
+    private JsonNode requestBearerToken(final Tenant tenant, final ID principal, final Secret secret,
+            final String loginURL) {
         try {
             final String payload = String.format(
                     "grant_type=client_credentials&client_id=%s&client_secret=%s&resource=%s", principal.getValue(),
-                    URLEncoder.encode(secret.getValue(), "UTF-8"),
-                    URLEncoder.encode("https://graph.windows.net", "UTF-8"));
-            final URL url = new URL(
-                    String.format("https://login.microsoftonline.com/%s/oauth2/token", tenant.getName()));
-            final HttpsURLConnection connection = (HttpsURLConnection) url.openConnection();
+                    URLEncoder.encode(secret.getValue(), "UTF-8"), URLEncoder.encode(GRAPH_RESOURCE, "UTF-8"));
+            final URL url = new URL(String.format("%s/%s/oauth2/token", loginURL, tenant.getName()));
+            final HttpURLConnection connection = (HttpURLConnection) url.openConnection();
             connection.setRequestMethod("POST");
-            connection.setRequestProperty("Host", "login.microsoftonline.com");
             connection.setRequestProperty("Content-Type", "application/x-www-form-urlencoded");
             connection.setRequestProperty("Accept", "application/json");
             connection.setDoOutput(true);
             connection.getOutputStream().write(payload.getBytes());
             connection.getOutputStream().flush();
-            final StringBuilder result = new StringBuilder();
-            try (final BufferedReader in = new BufferedReader(new InputStreamReader(connection.getInputStream()))) {
-                for (String line = in.readLine(); line != null; line = in.readLine()) {
-                    result.append(line);
-                }
-            }
-            final ObjectMapper mapper = new ObjectMapper();
-            final JsonNode node = mapper.readValue(result.toString().getBytes(), JsonNode.class);
-            return node.get("access_token").asText();
+            return readJson(connection);
         } catch (IOException e) {
-            LOGGER.error("IO Exception", e);
-            return null;
-        } catch (RuntimeException e) {
-            LOGGER.error(e.getMessage(), e);
-            return null;
+            throw new GeneralException("IO Exception", e);
+        }
+    }
+
+    private JsonNode readJson(final HttpURLConnection connection) throws IOException {
+        try (final InputStream in = connection.getInputStream()) {
+            return MAPPER.readTree(in);
+        }
+    }
+
+    private static final class BearerToken {
+        private final String value;
+        private final long expiresAt;
+
+        private BearerToken(final String value, final long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isValid() {
+            return expiresAt - REFRESH_MARGIN > System.currentTimeMillis();
         }
     }
 
@@ -0,0 +1,18 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.oidc.metrics;
+
+public interface MetricsRegistry {
+
+    void recordTime(String name, long nanos);
+
+    void increment(String name);
+
+    void registerGauge(String name, Gauge gauge);
+
+    void shutdownNow();
+
+}
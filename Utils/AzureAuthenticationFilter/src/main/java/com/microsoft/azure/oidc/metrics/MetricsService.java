@@ -0,0 +1,16 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.oidc.metrics;
+
+public interface MetricsService {
+
+    void initialise(String type, String name);
+
+    MetricsRegistry get();
+
+    void shutdownNow();
+
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.oidc.metrics.impl;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.microsoft.azure.oidc.metrics.Gauge;
+import com.microsoft.azure.oidc.metrics.MetricsRegistry;
+
+public final class JmxMetricsRegistry implements MetricsRegistry, JmxMetricsRegistryMXBean {
+    private static final Logger LOGGER = LoggerFactory.getLogger(JmxMetricsRegistry.class);
+
+    private final ConcurrentMap<String, AtomicLong> counterMap = new ConcurrentHashMap<String, AtomicLong>();
+    private final ConcurrentMap<String, Gauge> gaugeMap = new ConcurrentHashMap<String, Gauge>();
+    private final ConcurrentMap<String, Histogram> histogramMap = new ConcurrentHashMap<String, Histogram>();
+    private final ObjectName objectName;
+
+    public JmxMetricsRegistry(final String name) {
+        ObjectName registeredName = null;
+        try {
+            final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            final ObjectName candidate = new ObjectName(String.format(
+                    "com.microsoft.azure.oidc:type=AuthenticationFilterMetrics,name=%s", ObjectName.quote(name)));
+            if (server.isRegistered(candidate)) {
+                server.unregisterMBean(candidate);
+            }
+            server.registerMBean(this, candidate);
+            registeredName = candidate;
+        } catch (JMException e) {
+            LOGGER.error(e.getMessage(), e);
+        }
+        this.objectName = registeredName;
+    }
+
+    @Override
+    public void recordTime(final String name, final long nanos) {
+        Histogram histogram = histogramMap.get(name);
+        if (histogram == null) {
+            final Histogram created = new Histogram();
+            histogram = histogramMap.putIfAbsent(name, created);
+            if (histogram == null) {
+                histogram = created;
+            }
+        }
+        histogram.record(nanos);
+    }
+
+    @Override
+    public void increment(final String name) {
+        AtomicLong counter = counterMap.get(name);
+        if (counter == null) {
+            final AtomicLong created = new AtomicLong();
+            counter = counterMap.putIfAbsent(name, created);
+            if (counter == null) {
+                counter = created;
+            }
+        }
+        counter.incrementAndGet();
+    }
+
+    @Override
+    public void registerGauge(final String name, final Gauge gauge) {
+        gaugeMap.put(name, gauge);
+    }
+
+    @Override
+    public void shutdownNow() {
+        if (objectName == null) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        } catch (JMException e) {
+            LOGGER.error(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Map<String, Long> getCounters() {
+        final Map<String, Long> counters = new TreeMap<String, Long>();
+        for (final Map.Entry<String, AtomicLong> entry : counterMap.entrySet()) {
+            counters.put(entry.getKey(), entry.getValue().get());
+        }
+        return counters;
+    }
+
+    @Override
+    public Map<String, Long> getGauges() {
+        final Map<String, Long> gauges = new TreeMap<String, Long>();
+        for (final Map.Entry<String, Gauge> entry : gaugeMap.entrySet()) {
+            gauges.put(entry.getKey(), entry.getValue().getValue());
+        }
+        return gauges;
+    }
+
+    @Override
+    public Map<String, Double> getTimers() {
+        final Map<String, Double> timers = new TreeMap<String, Double>();
+        for (final Map.Entry<String, Histogram> entry : histogramMap.entrySet()) {
+            final Histogram histogram = entry.getValue();
+            timers.put(entry.getKey() + ".count", (double) histogram.getCount());
+            timers.put(entry.getKey() + ".meanMicros", histogram.getMean());
+            timers.put(entry.getKey() + ".p50Micros", (double) histogram.getPercentile(0.50));
+            timers.put(entry.getKey() + ".p99Micros", (double) histogram.getPercentile(0.99));
+            timers.put(entry.getKey() + ".maxMicros", (double) histogram.getMax());
+        }
+        return timers;
+    }
+}
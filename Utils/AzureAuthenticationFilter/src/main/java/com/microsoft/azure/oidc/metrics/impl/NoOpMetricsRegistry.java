@@ -0,0 +1,28 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.oidc.metrics.impl;
+
+import com.microsoft.azure.oidc.metrics.Gauge;
+import com.microsoft.azure.oidc.metrics.MetricsRegistry;
+
+public final class NoOpMetricsRegistry implements MetricsRegistry {
+
+    @Override
+    public void recordTime(final String name, final long nanos) {
+    }
+
+    @Override
+    public void increment(final String name) {
+    }
+
+    @Override
+    public void registerGauge(final String name, final Gauge gauge) {
+    }
+
+    @Override
+    public void shutdownNow() {
+    }
+}
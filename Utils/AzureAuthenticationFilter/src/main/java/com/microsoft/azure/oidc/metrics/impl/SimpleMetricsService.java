@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.oidc.metrics.impl;
+
+import com.microsoft.azure.oidc.exception.GeneralException;
+import com.microsoft.azure.oidc.exception.PreconditionException;
+import com.microsoft.azure.oidc.metrics.MetricsRegistry;
+import com.microsoft.azure.oidc.metrics.MetricsService;
+
+public final class SimpleMetricsService implements MetricsService {
+    public static final String JMX = "jmx";
+    public static final String NONE = "none";
+
+    private static final MetricsRegistry NO_REGISTRY = new NoOpMetricsRegistry();
+    private static final MetricsService INSTANCE = new SimpleMetricsService();
+
+    private volatile MetricsRegistry metricsRegistry = NO_REGISTRY;
+
+    @Override
+    public synchronized void initialise(final String type, final String name) {
+        if (type == null || name == null) {
+            throw new PreconditionException("Required parameter is null");
+        }
+        shutdownNow();
+        if (NONE.equals(type)) {
+            return;
+        }
+        if (JMX.equals(type)) {
+            metricsRegistry = new JmxMetricsRegistry(name);
+            return;
+        }
+        try {
+            metricsRegistry = (MetricsRegistry) Class.forName(type).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            throw new GeneralException(String.format("Unable to create metrics registry: %s", type), e);
+        }
+    }
+
+    @Override
+    public MetricsRegistry get() {
+        return metricsRegistry;
+    }
+
+    @Override
+    public synchronized void shutdownNow() {
+        metricsRegistry.shutdownNow();
+        metricsRegistry = NO_REGISTRY;
+    }
+
+    public static MetricsService getInstance() {
+        return INSTANCE;
+    }
+}
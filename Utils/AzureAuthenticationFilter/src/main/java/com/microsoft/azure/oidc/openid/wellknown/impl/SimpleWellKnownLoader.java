@@ -11,8 +11,6 @@ import java.io.InputStreamReader;
 import java.net.URL;
 import java.net.URLConnection;
 import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
 import org.slf4j.Logger;
@@ -23,24 +21,25 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.microsoft.azure.oidc.application.settings.ApplicationSettings;
 import com.microsoft.azure.oidc.application.settings.ApplicationSettingsLoader;
 import com.microsoft.azure.oidc.application.settings.impl.SimpleApplicationSettingsLoader;
+import com.microsoft.azure.oidc.concurrent.async.AsyncService;
+import com.microsoft.azure.oidc.concurrent.async.impl.SimpleAsyncService;
 import com.microsoft.azure.oidc.openid.wellknown.WellKnownLoader;
 
 public final class SimpleWellKnownLoader implements WellKnownLoader {
     private static final WellKnownLoader INSTANCE = new SimpleWellKnownLoader();
     private static final Logger LOGGER = LoggerFactory.getLogger(SimpleWellKnownLoader.class);
 
+    private final AsyncService asyncService = SimpleAsyncService.getInstance();
+
     private final ApplicationSettingsLoader applicationSettingsLoader = SimpleApplicationSettingsLoader.getInstance();
 
     @Override
     public Future<JsonNode> loadAsync() {
-        final ExecutorService executorService = Executors.newSingleThreadExecutor();
-        final Future<JsonNode> future = executorService.submit(new Callable<JsonNode>() {
+        return asyncService.submitRemote("wellknown", new Callable<JsonNode>() {
             public JsonNode call() throws Exception {
                 return load();
             }
         });
-        executorService.shutdown();
-        return future;
     }
 
     public JsonNode load() {
@@ -48,7 +47,7 @@ public final class SimpleWellKnownLoader implements WellKnownLoader {
             final ApplicationSettings applicationSettings = applicationSettingsLoader.load();
             final StringBuilder builder = new StringBuilder();
             final URL url = new URL(
-                    String.format("https://login.microsoftonline.com/%s/v2.0/.well-known/openid-configuration?p=%s",
+                    String.format("%s/%s/v2.0/.well-known/openid-configuration?p=%s", applicationSettings.getLoginURL(),
                             applicationSettings.getTenant(), applicationSettings.getOIDCPolicy()));
             final URLConnection connection = url.openConnection();
             try (final BufferedReader in = new BufferedReader(new InputStreamReader(connection.getInputStream()))) {
@@ -14,24 +14,34 @@ import java.security.Signature;
 import java.security.SignatureException;
 import java.security.spec.InvalidKeySpecException;
 import java.security.spec.RSAPublicKeySpec;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.apache.commons.codec.binary.Base64;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.microsoft.azure.oidc.application.settings.ApplicationSettings;
 import com.microsoft.azure.oidc.application.settings.ApplicationSettingsLoader;
 import com.microsoft.azure.oidc.application.settings.impl.SimpleApplicationSettingsLoader;
+import com.microsoft.azure.oidc.common.name.Name;
 import com.microsoft.azure.oidc.common.timestamp.TimeStamp;
 import com.microsoft.azure.oidc.common.timestamp.TimeStampFactory;
 import com.microsoft.azure.oidc.common.timestamp.impl.SimpleTimeStampFactory;
+import com.microsoft.azure.oidc.concurrent.cache.ConcurrentCache;
+import com.microsoft.azure.oidc.concurrent.cache.ConcurrentCacheService;
+import com.microsoft.azure.oidc.concurrent.cache.impl.SimpleConcurrentCacheService;
 import com.microsoft.azure.oidc.configuration.Configuration;
 import com.microsoft.azure.oidc.configuration.ConfigurationCache;
 import com.microsoft.azure.oidc.configuration.impl.SimpleConfigurationCache;
+import com.microsoft.azure.oidc.configuration.key.Key;
 import com.microsoft.azure.oidc.exception.GeneralException;
 import com.microsoft.azure.oidc.exception.PreconditionException;
 import com.microsoft.azure.oidc.filter.configuration.algorithm.AlgorithmConfigurationService;
 import com.microsoft.azure.oidc.filter.configuration.algorithm.impl.SimpleAlgorithmConfigurationService;
+import com.microsoft.azure.oidc.metrics.MetricsService;
+import com.microsoft.azure.oidc.metrics.impl.SimpleMetricsService;
 import com.microsoft.azure.oidc.token.Token;
 import com.microsoft.azure.oidc.token.TokenValidator;
 
@@ -47,6 +57,12 @@ public class SimpleTokenValidator implements TokenValidator {
 
     private final AlgorithmConfigurationService algorithmConfigurationService = SimpleAlgorithmConfigurationService.getInstance();
 
+    private final ConcurrentCacheService concurrentCacheService = SimpleConcurrentCacheService.getInstance();
+
+    private final MetricsService metricsService = SimpleMetricsService.getInstance();
+
+    private volatile PublicKeyHolder publicKeyHolder = new PublicKeyHolder(null);
+
     @Override
     public Boolean validateSignature(final Token token) {
         if (token == null) {
@@ -55,29 +71,45 @@ public class SimpleTokenValidator implements TokenValidator {
         if (algorithmConfigurationService.get().getAlgorithmClassMap().get(token.getAlgorithm().getName()).equals("HMAC")) {
             return Boolean.FALSE;
         }
-        final Configuration configuration = configurationCache.load();
+        Configuration configuration = configurationCache.load();
         if (configuration == null) {
             throw new GeneralException("Error loading configuration");
         }
+        Key key = configuration.getKey(token.getKeyName());
+        if (key == null) {
+            configuration = configurationCache.refresh();
+            key = configuration == null ? null : configuration.getKey(token.getKeyName());
+        }
+        if (key == null) {
+            return Boolean.FALSE;
+        }
         try {
             final TimeStamp now = timeStampFactory.createTimeStamp(System.currentTimeMillis() / 1000);
-            if (configuration.getKey(token.getKeyName()).getNotBefore().compareTo(now) > 0) {
+            if (key.getNotBefore().compareTo(now) > 0) {
                 return Boolean.FALSE;
             }
-            final Base64 decoder = new Base64();
-            final BigInteger exponent = new BigInteger(1,
-                    decoder.decode(configuration.getKey(token.getKeyName()).getExponent().getValue()));
-            final BigInteger modulus = new BigInteger(1,
-                    decoder.decode(configuration.getKey(token.getKeyName()).getSecret().getValue()));
-            final RSAPublicKeySpec pubKeySpec = new RSAPublicKeySpec(modulus, exponent);
-            final KeyFactory keyFactory = KeyFactory
-                    .getInstance(algorithmConfigurationService.get().getAlgorithmClassMap().get(token.getAlgorithm().getName()));
-            final PublicKey pubKey = keyFactory.generatePublic(pubKeySpec);
+            final ConcurrentCache<String, TimeStamp> signatureCache = concurrentCacheService.getCache(TimeStamp.class,
+                    "signatureCache");
+            final String signatureKey = signatureCache == null ? null : getSignatureKey(token);
+            if (signatureCache != null) {
+                final TimeStamp expiration = signatureCache.get(signatureKey);
+                if (expiration != null && expiration.compareTo(now) > 0) {
+                    return Boolean.TRUE;
+                }
+            }
+            final long start = System.nanoTime();
+            final PublicKey pubKey = getPublicKey(configuration, token.getKeyName(), key,
+                    algorithmConfigurationService.get().getAlgorithmClassMap().get(token.getAlgorithm().getName()));
             final Signature sig = Signature
                     .getInstance(algorithmConfigurationService.get().getAlgorithmMap().get(token.getAlgorithm().getName()));
             sig.initVerify(pubKey);
             sig.update(token.getPayload().getValue().getBytes());
-            return sig.verify(decoder.decode(token.getSignature().getValue()));
+            final Boolean isVerified = sig.verify(new Base64().decode(token.getSignature().getValue()));
+            metricsService.get().recordTime("signatureVerify", System.nanoTime() - start);
+            if (isVerified && signatureCache != null) {
+                signatureCache.putIfAbsent(signatureKey, token.getExpiration());
+            }
+            return isVerified;
         } catch (NoSuchAlgorithmException | InvalidKeySpecException | SignatureException | InvalidKeyException e) {
             LOGGER.error(e.getMessage(), e);
             return Boolean.FALSE;
@@ -170,6 +202,41 @@ public class SimpleTokenValidator implements TokenValidator {
         return Boolean.TRUE;
     }
 
+    private PublicKey getPublicKey(final Configuration configuration, final Name keyName, final Key key,
+            final String keyClass) throws NoSuchAlgorithmException, InvalidKeySpecException {
+        PublicKeyHolder holder = publicKeyHolder;
+        if (holder.configuration != configuration) {
+            holder = new PublicKeyHolder(configuration);
+            publicKeyHolder = holder;
+        }
+        final String cacheKey = keyClass + ":" + keyName.getName();
+        final PublicKey cachedKey = holder.publicKeyMap.get(cacheKey);
+        if (cachedKey != null) {
+            return cachedKey;
+        }
+        final Base64 decoder = new Base64();
+        final BigInteger exponent = new BigInteger(1, decoder.decode(key.getExponent().getValue()));
+        final BigInteger modulus = new BigInteger(1, decoder.decode(key.getSecret().getValue()));
+        final RSAPublicKeySpec pubKeySpec = new RSAPublicKeySpec(modulus, exponent);
+        final PublicKey pubKey = KeyFactory.getInstance(keyClass).generatePublic(pubKeySpec);
+        holder.publicKeyMap.putIfAbsent(cacheKey, pubKey);
+        return pubKey;
+    }
+
+    private String getSignatureKey(final Token token) {
+        return String.format("%s:%s", token.getKeyName().getName(),
+                DigestUtils.sha256Hex(token.getPayload().getValue() + "." + token.getSignature().getValue()));
+    }
+
+    private static final class PublicKeyHolder {
+        private final Configuration configuration;
+        private final ConcurrentMap<String, PublicKey> publicKeyMap = new ConcurrentHashMap<String, PublicKey>();
+
+        private PublicKeyHolder(final Configuration configuration) {
+            this.configuration = configuration;
+        }
+    }
+
     public static TokenValidator getInstance() {
         return INSTANCE;
     }
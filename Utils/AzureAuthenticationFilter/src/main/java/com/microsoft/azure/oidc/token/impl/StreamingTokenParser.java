@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.oidc.token.impl;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.codec.binary.Base64;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.microsoft.azure.oidc.common.algorithm.AlgorithmFactory;
+import com.microsoft.azure.oidc.common.algorithm.impl.SimpleAlgorithmFactory;
+import com.microsoft.azure.oidc.common.id.IDFactory;
+import com.microsoft.azure.oidc.common.id.impl.SimpleIDFactory;
+import com.microsoft.azure.oidc.common.issuer.IssuerFactory;
+import com.microsoft.azure.oidc.common.issuer.impl.SimpleIssuerFactory;
+import com.microsoft.azure.oidc.common.name.NameFactory;
+import com.microsoft.azure.oidc.common.name.impl.SimpleNameFactory;
+import com.microsoft.azure.oidc.common.timestamp.TimeStampFactory;
+import com.microsoft.azure.oidc.common.timestamp.impl.SimpleTimeStampFactory;
+import com.microsoft.azure.oidc.exception.GeneralException;
+import com.microsoft.azure.oidc.exception.PreconditionException;
+import com.microsoft.azure.oidc.token.Token;
+import com.microsoft.azure.oidc.token.TokenFactory;
+import com.microsoft.azure.oidc.token.TokenParser;
+import com.microsoft.azure.oidc.token.email.Email;
+import com.microsoft.azure.oidc.token.email.EmailFactory;
+import com.microsoft.azure.oidc.token.email.impl.SimpleEmailFactory;
+import com.microsoft.azure.oidc.token.payload.PayloadFactory;
+import com.microsoft.azure.oidc.token.payload.impl.SimplePayloadFactory;
+import com.microsoft.azure.oidc.token.signature.SignatureFactory;
+import com.microsoft.azure.oidc.token.signature.impl.SimpleSignatureFactory;
+
+public final class StreamingTokenParser implements TokenParser {
+    private static final TokenParser INSTANCE = new StreamingTokenParser();
+    private static final ObjectReader READER = new ObjectMapper().reader();
+
+    private final SignatureFactory signatureFactory = SimpleSignatureFactory.getInstance();
+
+    private final TokenFactory tokenFactory = SimpleTokenFactory.getInstance();
+
+    private final TimeStampFactory timeStampFactory = SimpleTimeStampFactory.getInstance();
+
+    private final IssuerFactory issuerFactory = SimpleIssuerFactory.getInstance();
+
+    private final IDFactory iDFactory = SimpleIDFactory.getInstance();
+
+    private final NameFactory nameFactory = SimpleNameFactory.getInstance();
+
+    private final AlgorithmFactory algorithmFactory = SimpleAlgorithmFactory.getInstanc();
+
+    private final PayloadFactory payloadFactory = SimplePayloadFactory.getInstance();
+
+    private final EmailFactory emailFactory = SimpleEmailFactory.getInstance();
+
+    @Override
+    public Token getToken(String value) {
+        if (value == null) {
+            throw new PreconditionException("Required parameter is null");
+        }
+        final int headerEnd = value.indexOf('.');
+        final int bodyEnd = headerEnd < 0 ? -1 : value.indexOf('.', headerEnd + 1);
+        if (headerEnd < 0 || bodyEnd < 0 || bodyEnd == value.length() - 1 || value.indexOf('.', bodyEnd + 1) >= 0) {
+            throw new IllegalStateException("Incorrect number of parts: Expected 3");
+        }
+        final String headerPart = value.substring(0, headerEnd);
+        final String bodyPart = value.substring(headerEnd + 1, bodyEnd);
+        final String signaturePart = value.substring(bodyEnd + 1);
+
+        final Header header = parseHeader(Base64.decodeBase64(headerPart));
+        final Body body = parseBody(Base64.decodeBase64(bodyPart));
+
+        return tokenFactory.createToken(nameFactory.createKeyName(header.keyName),
+                algorithmFactory.createAlgorithm(header.algorithm), timeStampFactory.createTimeStamp(body.issuedAt),
+                timeStampFactory.createTimeStamp(body.notBefore), timeStampFactory.createTimeStamp(body.expiration),
+                iDFactory.createID(body.userID), body.emails, issuerFactory.createIssuer(body.issuer),
+                iDFactory.createID(body.audience), payloadFactory.createPayload(headerPart, bodyPart),
+                signatureFactory.createSignature(signaturePart));
+    }
+
+    private Header parseHeader(final byte[] part) {
+        final Header header = new Header();
+        try (final JsonParser parser = createParser(part)) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String fieldName = parser.getCurrentName();
+                parser.nextToken();
+                if ("kid".equals(fieldName)) {
+                    header.keyName = getText(parser);
+                } else if ("alg".equals(fieldName)) {
+                    header.algorithm = getText(parser);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return header;
+        } catch (IOException e) {
+            throw new GeneralException("IO Exception", e);
+        }
+    }
+
+    private Body parseBody(final byte[] part) {
+        final Body body = new Body();
+        try (final JsonParser parser = createParser(part)) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String fieldName = parser.getCurrentName();
+                parser.nextToken();
+                switch (fieldName) {
+                case "iat":
+                    body.issuedAt = parser.getValueAsLong(0);
+                    break;
+                case "nbf":
+                    body.notBefore = parser.getValueAsLong(0);
+                    break;
+                case "exp":
+                    body.expiration = parser.getValueAsLong(0);
+                    break;
+                case "iss":
+                    body.issuer = getText(parser);
+                    break;
+                case "aud":
+                    body.audience = getText(parser);
+                    break;
+                case "oid":
+                    body.userID = getText(parser);
+                    break;
+                case "emails":
+                    if (parser.getCurrentToken() == JsonToken.START_ARRAY) {
+                        while (parser.nextToken() != JsonToken.END_ARRAY) {
+                            body.emails.add(emailFactory.createEmail(getText(parser)));
+                        }
+                    } else {
+                        parser.skipChildren();
+                    }
+                    break;
+                default:
+                    parser.skipChildren();
+                }
+            }
+            return body;
+        } catch (IOException e) {
+            throw new GeneralException("IO Exception", e);
+        }
+    }
+
+    private JsonParser createParser(final byte[] part) throws IOException {
+        if (part == null) {
+            throw new PreconditionException("Required parameter is null");
+        }
+        final JsonParser parser = READER.getFactory().createParser(part);
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            parser.close();
+            throw new GeneralException("Token part is not a JSON object");
+        }
+        return parser;
+    }
+
+    private String getText(final JsonParser parser) throws IOException {
+        if (parser.getCurrentToken().isStructStart()) {
+            parser.skipChildren();
+            return "";
+        }
+        return parser.getValueAsString();
+    }
+
+    private static final class Header {
+        private String keyName;
+        private String algorithm;
+    }
+
+    private static final class Body {
+        private Long issuedAt = 0L;
+        private Long notBefore = 0L;
+        private Long expiration = Long.MAX_VALUE;
+        private String issuer;
+        private String audience;
+        private String userID;
+        private final List<Email> emails = new ArrayList<Email>();
+    }
+
+    public static TokenParser getInstance() {
+        return INSTANCE;
+    }
+}
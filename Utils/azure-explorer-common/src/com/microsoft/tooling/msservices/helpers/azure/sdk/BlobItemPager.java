@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.tooling.msservices.helpers.azure.sdk;
+
+import com.microsoft.azuretools.azurecommons.helpers.AzureCmdException;
+import com.microsoft.azuretools.azurecommons.helpers.NotNull;
+import com.microsoft.azuretools.azurecommons.helpers.Nullable;
+import com.microsoft.tooling.msservices.model.storage.BlobDirectory;
+import com.microsoft.tooling.msservices.model.storage.BlobItem;
+import com.microsoft.tooling.msservices.model.storage.Segment;
+
+/**
+ * The pager of a Blob directory listing, so that the explorer can show a huge directory without listing it all.
+ */
+public class BlobItemPager extends SegmentPager<BlobItem> {
+    public static final int DEFAULT_SEGMENT_SIZE = 500;
+
+    @NotNull
+    private final String connectionString;
+
+    @NotNull
+    private final BlobDirectory blobDirectory;
+
+    @Nullable
+    private final String namePrefix;
+
+    private final int segmentSize;
+
+    public BlobItemPager(@NotNull String connectionString,
+                         @NotNull BlobDirectory blobDirectory,
+                         @Nullable String namePrefix,
+                         int segmentSize) {
+        this.connectionString = connectionString;
+        this.blobDirectory = blobDirectory;
+        this.namePrefix = namePrefix;
+        this.segmentSize = segmentSize;
+    }
+
+    public BlobItemPager(@NotNull String connectionString,
+                         @NotNull BlobDirectory blobDirectory,
+                         @Nullable String namePrefix) {
+        this(connectionString, blobDirectory, namePrefix, DEFAULT_SEGMENT_SIZE);
+    }
+
+    @NotNull
+    public BlobDirectory getBlobDirectory() {
+        return blobDirectory;
+    }
+
+    @NotNull
+    @Override
+    protected Segment<BlobItem> fetch(@Nullable String continuationToken) throws AzureCmdException {
+        return StorageClientSDKManager.getManager().getBlobItemSegment(
+                connectionString, blobDirectory, namePrefix, continuationToken, segmentSize);
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.tooling.msservices.helpers.azure.sdk;
+
+import com.microsoft.azuretools.azurecommons.helpers.AzureCmdException;
+import com.microsoft.azuretools.azurecommons.helpers.NotNull;
+import com.microsoft.azuretools.azurecommons.helpers.Nullable;
+import com.microsoft.tooling.msservices.model.storage.Segment;
+
+import java.io.Closeable;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * The pager of a segmented storage listing or query, which loads the segments one by one on demand and prefetches
+ * the next segment in background, so that the explorer can show a huge listing without loading it all.
+ */
+public abstract class SegmentPager<T> implements Closeable {
+    private static final ExecutorService prefetchExecutor = Executors.newCachedThreadPool(runnable -> {
+        final Thread thread = new Thread(runnable, "SegmentPager-prefetch");
+        thread.setDaemon(true);
+
+        return thread;
+    });
+
+    @Nullable
+    private String nextToken;
+
+    private volatile boolean hasMore = true;
+
+    private volatile boolean isClosed = false;
+
+    /**
+     * Volatile to be cancelled by close() without waiting for the loading segment
+     */
+    @Nullable
+    private volatile Future<Segment<T>> prefetched;
+
+    public boolean hasMore() {
+        return hasMore && !isClosed;
+    }
+
+    /**
+     * Load the next segment, which is taken from the prefetched one if it's ready, and start prefetching
+     * the following segment. The method blocks, call it outside of the UI thread.
+     *
+     * @return the items of the next segment, empty if all items are loaded or the pager is closed
+     * @throws AzureCmdException exceptions in loading
+     */
+    @NotNull
+    public synchronized List<T> loadNextSegment() throws AzureCmdException {
+        if (!hasMore()) {
+            return Collections.emptyList();
+        }
+
+        final Segment<T> segment = takePrefetched();
+        prefetched = null;
+
+        if (isClosed) {
+            return Collections.emptyList();
+        }
+
+        nextToken = segment.getContinuationToken();
+        hasMore = segment.hasMoreItems();
+
+        if (hasMore()) {
+            final String token = nextToken;
+            prefetched = prefetchExecutor.submit(() -> fetch(token));
+        }
+
+        return segment.getItems();
+    }
+
+    @NotNull
+    private Segment<T> takePrefetched() throws AzureCmdException {
+        final Future<Segment<T>> segmentFuture = prefetched;
+
+        if (segmentFuture != null) {
+            try {
+                return segmentFuture.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AzureCmdException("Interrupted in loading the next segment", e);
+            } catch (CancellationException | ExecutionException ignored) {
+                // Load the segment again below, the error is reported if it fails again
+            }
+        }
+
+        return isClosed ? new Segment<>(Collections.emptyList(), null) : fetch(nextToken);
+    }
+
+    /**
+     * Get the segment from the storage
+     *
+     * @param continuationToken the token returned by the previous segment, null to get the first segment
+     * @return the segment with the token of the next segment
+     * @throws AzureCmdException exceptions in listing or querying
+     */
+    @NotNull
+    protected abstract Segment<T> fetch(@Nullable String continuationToken) throws AzureCmdException;
+
+    @Override
+    public void close() {
+        isClosed = true;
+
+        final Future<Segment<T>> segmentFuture = prefetched;
+        if (segmentFuture != null) {
+            segmentFuture.cancel(true);
+        }
+    }
+}
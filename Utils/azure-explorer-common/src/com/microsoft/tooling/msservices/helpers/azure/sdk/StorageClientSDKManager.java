@@ -6,7 +6,13 @@
 package com.microsoft.tooling.msservices.helpers.azure.sdk;
 
 import com.google.common.base.Strings;
+import com.google.gson.JsonParseException;
+import com.microsoft.azure.storage.AccessCondition;
 import com.microsoft.azure.storage.CloudStorageAccount;
+import com.microsoft.azure.storage.ResultContinuation;
+import com.microsoft.azure.storage.ResultContinuationType;
+import com.microsoft.azure.storage.ResultSegment;
+import com.microsoft.azure.storage.RetryExponentialRetry;
 import com.microsoft.azure.storage.StorageException;
 import com.microsoft.azure.storage.blob.*;
 import com.microsoft.azure.storage.core.Base64;
@@ -24,6 +30,7 @@ import com.microsoft.tooling.msservices.model.storage.BlobItem;
 import com.microsoft.tooling.msservices.model.storage.ClientStorageAccount;
 import com.microsoft.tooling.msservices.model.storage.Queue;
 import com.microsoft.tooling.msservices.model.storage.QueueMessage;
+import com.microsoft.tooling.msservices.model.storage.Segment;
 import com.microsoft.tooling.msservices.model.storage.Table;
 import com.microsoft.tooling.msservices.model.storage.TableEntity;
 import com.microsoft.tooling.msservices.model.storage.TableEntity.Property;
@@ -31,19 +38,74 @@ import com.microsoft.azure.management.storage.StorageAccount;
 import com.microsoft.azuretools.azurecommons.helpers.AzureCmdException;
 import com.microsoft.azuretools.azurecommons.helpers.NotNull;
 import com.microsoft.azuretools.azurecommons.helpers.Nullable;
+import com.microsoft.azuretools.utils.JsonUtils;
 import com.microsoft.azuretools.utils.StorageAccoutUtils;
+import org.apache.commons.codec.digest.DigestUtils;
 
 import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.io.Reader;
+import java.io.Writer;
 import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.security.InvalidKeyException;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
 
 public class StorageClientSDKManager {
+    private static final int BLOB_UPLOAD_PARALLELISM = 4;
+    private static final int BLOB_UPLOAD_THREADS = BLOB_UPLOAD_PARALLELISM * 2;
+    private static final int BLOB_BLOCK_MAX_TRIES = 3;
+    private static final int BLOB_BLOCK_RETRY_BACKOFF_MILLIS = 1000;
+    private static final long BLOB_MIN_BLOCK_SIZE = 1024 * 1024;
+    private static final long BLOB_MAX_BLOCK_SIZE = 8 * 1024 * 1024;
+    private static final long BLOB_MAX_BLOCKS = 50000;
+    private static final int BLOB_FIND_SEGMENT_SIZE = 100;
+    private static final int BLOB_DOWNLOAD_PARALLELISM = 4;
+    private static final int BLOB_DOWNLOAD_THREADS = BLOB_DOWNLOAD_PARALLELISM * 2;
+    private static final long BLOB_MIN_RANGE_SIZE = 1024 * 1024;
+    private static final long BLOB_MAX_RANGE_SIZE = 4 * 1024 * 1024;
+    private static final String BLOB_DOWNLOAD_PROGRESS_SUFFIX = ".download";
+    private static final int TABLE_EXPORT_SEGMENT_SIZE = 1000;
+    private static final String TABLE_EXPORT_ROWS_SUFFIX = ".rows";
+    private static final String TABLE_EXPORT_PART_SUFFIX = ".part";
+    private static final String TABLE_CONTINUATION_SEPARATOR = "\n";
+
     private static StorageClientSDKManager apiManager;
 
+    /**
+     * The blocks of all uploads share the threads, each upload keeps {@link #BLOB_UPLOAD_PARALLELISM} blocks in flight
+     */
+    private static final ExecutorService blobUploadExecutor =
+            createBlobTransferExecutor(BLOB_UPLOAD_THREADS, "StorageClientSDKManager-blob-upload");
+
+    /**
+     * The ranges of all downloads share the threads, each download keeps {@link #BLOB_DOWNLOAD_PARALLELISM} ranges
+     * in flight
+     */
+    private static final ExecutorService blobDownloadExecutor =
+            createBlobTransferExecutor(BLOB_DOWNLOAD_THREADS, "StorageClientSDKManager-blob-download");
+
     private StorageClientSDKManager() {
     }
 
@@ -223,62 +285,108 @@ public class StorageClientSDKManager {
             CloudBlobDirectory directory = container.getDirectoryReference(blobDirectory.getPath());
 
             for (ListBlobItem item : directory.listBlobs()) {
-                String uri = item.getUri() != null ? item.getUri().toString() : "";
-
-                if (item instanceof CloudBlobDirectory) {
-                    CloudBlobDirectory subDirectory = (CloudBlobDirectory) item;
-
-                    String name = extractBlobItemName(subDirectory.getPrefix(), delimiter);
-                    String path = Strings.nullToEmpty(subDirectory.getPrefix());
-
-                    biList.add(new BlobDirectory(name, uri, containerName, path));
-                } else if (item instanceof CloudBlob) {
-                    CloudBlob blob = (CloudBlob) item;
-
-                    String name = extractBlobItemName(blob.getName(), delimiter);
-                    String path = Strings.nullToEmpty(blob.getName());
-                    String type = "";
-                    String cacheControlHeader = "";
-                    String contentEncoding = "";
-                    String contentLanguage = "";
-                    String contentType = "";
-                    String contentMD5Header = "";
-                    String eTag = "";
-                    Calendar lastModified = new GregorianCalendar();
-                    long size = 0;
-
-                    BlobProperties properties = blob.getProperties();
-
-                    if (properties != null) {
-                        if (properties.getBlobType() != null) {
-                            type = properties.getBlobType().toString();
-                        }
+                BlobItem blobItem = toBlobItem(item, containerName, delimiter);
 
-                        cacheControlHeader = Strings.nullToEmpty(properties.getCacheControl());
-                        contentEncoding = Strings.nullToEmpty(properties.getContentEncoding());
-                        contentLanguage = Strings.nullToEmpty(properties.getContentLanguage());
-                        contentType = Strings.nullToEmpty(properties.getContentType());
-                        contentMD5Header = Strings.nullToEmpty(properties.getContentMD5());
-                        eTag = Strings.nullToEmpty(properties.getEtag());
+                if (blobItem != null) {
+                    biList.add(blobItem);
+                }
+            }
 
-                        if (properties.getLastModified() != null) {
-                            lastModified.setTime(properties.getLastModified());
-                        }
+            return biList;
+        } catch (Throwable t) {
+            throw new AzureCmdException("Error retrieving the Blob Item list", t);
+        }
+    }
 
-                        size = properties.getLength();
-                    }
+    /**
+     * List one segment of the Blob items in a directory, so that the caller can show the items before the whole
+     * directory is listed. Only the default Blob properties are requested, no metadata, snapshots or copy details.
+     *
+     * @param connectionString the storage account connection string
+     * @param blobDirectory the directory to list
+     * @param namePrefix the item name prefix filtered by the service, null or empty to list all items
+     * @param continuationToken the token returned by the previous segment, null to list the first segment
+     * @param maxResults the max item count of the segment
+     * @return the Blob items of the segment with the token of the next segment
+     * @throws AzureCmdException exceptions in listing
+     */
+    @NotNull
+    public Segment<BlobItem> getBlobItemSegment(@NotNull String connectionString,
+                                                @NotNull BlobDirectory blobDirectory,
+                                                @Nullable String namePrefix,
+                                                @Nullable String continuationToken,
+                                                int maxResults)
+            throws AzureCmdException {
+        try {
+            CloudBlobClient client = getCloudBlobClient(connectionString);
+            String containerName = blobDirectory.getContainerName();
+            String delimiter = client.getDirectoryDelimiter();
+
+            CloudBlobContainer container = client.getContainerReference(containerName);
+            CloudBlobDirectory directory = container.getDirectoryReference(blobDirectory.getPath());
+
+            ResultContinuation continuation = null;
+
+            if (!Strings.isNullOrEmpty(continuationToken)) {
+                continuation = new ResultContinuation();
+                continuation.setContinuationType(ResultContinuationType.BLOB);
+                continuation.setNextMarker(continuationToken);
+            }
+
+            ResultSegment<ListBlobItem> segment = directory.listBlobsSegmented(Strings.nullToEmpty(namePrefix),
+                    false, EnumSet.noneOf(BlobListingDetails.class), maxResults, continuation, null, null);
+
+            List<BlobItem> biList = new ArrayList<BlobItem>(segment.getLength());
 
-                    biList.add(new BlobFile(name, uri, containerName, path, type, cacheControlHeader, contentEncoding,
-                            contentLanguage, contentType, contentMD5Header, eTag, lastModified, size));
+            for (ListBlobItem item : segment.getResults()) {
+                BlobItem blobItem = toBlobItem(item, containerName, delimiter);
+
+                if (blobItem != null) {
+                    biList.add(blobItem);
                 }
             }
 
-            return biList;
+            ResultContinuation nextContinuation = segment.getContinuationToken();
+            String nextToken = segment.getHasMoreResults() && nextContinuation != null
+                    ? nextContinuation.getNextMarker()
+                    : null;
+
+            return new Segment<BlobItem>(biList, Strings.emptyToNull(nextToken));
         } catch (Throwable t) {
             throw new AzureCmdException("Error retrieving the Blob Item list", t);
         }
     }
 
+    /**
+     * Find a Blob item in a directory by listing only the items with the name prefix segment by segment,
+     * instead of listing the whole directory
+     *
+     * @return the first matched item, or null if there is none
+     */
+    @Nullable
+    public BlobItem findBlobItem(@NotNull String connectionString,
+                                 @NotNull BlobDirectory blobDirectory,
+                                 @NotNull String namePrefix,
+                                 @NotNull Predicate<BlobItem> matcher)
+            throws AzureCmdException {
+        String continuationToken = null;
+
+        do {
+            Segment<BlobItem> segment = getBlobItemSegment(connectionString, blobDirectory, namePrefix,
+                    continuationToken, BLOB_FIND_SEGMENT_SIZE);
+
+            for (BlobItem blobItem : segment.getItems()) {
+                if (matcher.test(blobItem)) {
+                    return blobItem;
+                }
+            }
+
+            continuationToken = segment.getContinuationToken();
+        } while (continuationToken != null);
+
+        return null;
+    }
+
     @NotNull
     public BlobDirectory createBlobDirectory(@NotNull StorageAccount storageAccount,
                                              @NotNull BlobDirectory parentBlobDirectory,
@@ -352,40 +460,171 @@ public class StorageClientSDKManager {
                                       long length)
             throws AzureCmdException {
         try {
-            CloudBlobClient client = getCloudBlobClient(connectionString);
-            String containerName = blobContainer.getName();
+            final CloudBlockBlob blob = getCloudBlockBlob(connectionString, blobContainer, filePath);
 
-            CloudBlobContainer container = client.getContainerReference(containerName);
-            final CloudBlockBlob blob = container.getBlockBlobReference(filePath);
-            long uploadedBytes = 0;
+            // The stream can only be read in sequence, the blocks read are uploaded in parallel
+            uploadBlocksInParallel(blob, length, getBlockSize(length, Math.max(1, maxBlockSize)), false,
+                    (position, size) -> readFully(content, size), processBlock);
+        } catch (Throwable t) {
+            throw new AzureCmdException("Error uploading the Blob File content", t);
+        }
+    }
 
-            ArrayList<BlockEntry> blockEntries = new ArrayList<BlockEntry>();
+    public void uploadBlobFileContent(@NotNull String connectionString,
+                                      @NotNull BlobContainer blobContainer,
+                                      @NotNull String filePath,
+                                      @NotNull File content,
+                                      CallableSingleArg<Void, Long> processBlock)
+            throws AzureCmdException {
+        try (final FileChannel channel = FileChannel.open(content.toPath(), StandardOpenOption.READ)) {
+            final CloudBlockBlob blob = getCloudBlockBlob(connectionString, blobContainer, filePath);
+            final long length = channel.size();
 
-            while (uploadedBytes < length) {
-                String blockId = Base64.encode(UUID.randomUUID().toString().getBytes());
-                BlockEntry entry = new BlockEntry(blockId, BlockSearchMode.UNCOMMITTED);
+            // File regions are read concurrently by positional reads
+            uploadBlocksInParallel(blob, length, getBlockSize(length, BLOB_MAX_BLOCK_SIZE), true,
+                    (position, size) -> readFully(channel, position, size), processBlock);
+        } catch (Throwable t) {
+            throw new AzureCmdException("Error uploading the Blob File content", t);
+        }
+    }
 
-                long blockSize = maxBlockSize;
-                if (length - uploadedBytes <= maxBlockSize) {
-                    blockSize = length - uploadedBytes;
-                }
+    @NotNull
+    private CloudBlockBlob getCloudBlockBlob(@NotNull String connectionString,
+                                             @NotNull BlobContainer blobContainer,
+                                             @NotNull String filePath) throws Exception {
+        CloudBlobClient client = getCloudBlobClient(connectionString);
+        CloudBlobContainer container = client.getContainerReference(blobContainer.getName());
 
-                if (processBlock != null) {
-                    processBlock.call(uploadedBytes);
-                }
+        return container.getBlockBlobReference(filePath);
+    }
+
+    private interface BlockReader {
+        byte[] read(long position, int size) throws IOException;
+    }
+
+    private static long getBlockSize(long length, long maxBlockSize) {
+        // Some blocks for each connection to balance the load, within the block count limit of a blob
+        final long balancedSize = length / (BLOB_UPLOAD_PARALLELISM * 4L);
+        final long blockSize = Math.min(maxBlockSize, Math.max(BLOB_MIN_BLOCK_SIZE, balancedSize));
+
+        // The max block size is only exceeded when the blob can't be held by the block count limit
+        return Math.max(blockSize, (length + BLOB_MAX_BLOCKS - 1) / BLOB_MAX_BLOCKS);
+    }
+
+    @NotNull
+    private static ExecutorService createBlobTransferExecutor(int threads, @NotNull String threadName) {
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                threads, threads, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    final Thread thread = new Thread(runnable, threadName);
+                    thread.setDaemon(true);
+
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+
+        return executor;
+    }
 
-                entry.setSize(blockSize);
+    private void uploadBlocksInParallel(@NotNull CloudBlockBlob blob,
+                                        long length,
+                                        long blockSize,
+                                        boolean isConcurrentReadable,
+                                        @NotNull BlockReader reader,
+                                        @Nullable CallableSingleArg<Void, Long> processBlock) throws Exception {
+        final Semaphore blocksInFlight = new Semaphore(BLOB_UPLOAD_PARALLELISM);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final AtomicLong uploadedBytes = new AtomicLong(0);
+        final List<BlockEntry> blockEntries = new ArrayList<>();
+        final List<Future<?>> blockUploads = new ArrayList<>();
+        final BlobRequestOptions options = new BlobRequestOptions();
+
+        // The failed blocks are retried by the SDK, the block streams are markable to be re-read
+        options.setRetryPolicyFactory(new RetryExponentialRetry(BLOB_BLOCK_RETRY_BACKOFF_MILLIS, BLOB_BLOCK_MAX_TRIES - 1));
 
+        try {
+            for (long position = 0; position < length && failure.get() == null; position += blockSize) {
+                final long blockPosition = position;
+                final int size = (int) Math.min(blockSize, length - position);
+                final BlockEntry entry = new BlockEntry(Base64.encode(UUID.randomUUID().toString().getBytes()),
+                                                        BlockSearchMode.UNCOMMITTED);
+                entry.setSize(size);
                 blockEntries.add(entry);
-                blob.uploadBlock(entry.getId(), content, blockSize);
-                uploadedBytes += blockSize;
+
+                blocksInFlight.acquire();
+
+                final byte[] sequentialBlock = isConcurrentReadable ? null : reader.read(blockPosition, size);
+
+                blockUploads.add(blobUploadExecutor.submit(() -> {
+                    try {
+                        if (failure.get() != null) {
+                            return null;
+                        }
+
+                        final byte[] block = sequentialBlock != null ? sequentialBlock : reader.read(blockPosition, size);
+                        blob.uploadBlock(entry.getId(), new ByteArrayInputStream(block), block.length, null, options, null);
+
+                        final long uploaded = uploadedBytes.addAndGet(size);
+                        if (processBlock != null) {
+                            synchronized (processBlock) {
+                                processBlock.call(uploaded);
+                            }
+                        }
+                    } catch (Throwable t) {
+                        failure.compareAndSet(null, t);
+                    } finally {
+                        blocksInFlight.release();
+                    }
+
+                    return null;
+                }));
             }
 
-            blob.commitBlockList(blockEntries);
+            for (Future<?> blockUpload : blockUploads) {
+                blockUpload.get();
+            }
+        } finally {
+            // Stop the blocks queued when the caller is interrupted
+            for (Future<?> blockUpload : blockUploads) {
+                blockUpload.cancel(true);
+            }
+        }
 
-        } catch (Throwable t) {
-            throw new AzureCmdException("Error uploading the Blob File content", t);
+        if (failure.get() != null) {
+            throw new IOException("Failed to upload block of the Blob File", failure.get());
+        }
+
+        blob.commitBlockList(blockEntries);
+    }
+
+    @NotNull
+    private static byte[] readFully(@NotNull InputStream content, int size) throws IOException {
+        final byte[] block = new byte[size];
+        int read = 0;
+
+        while (read < size) {
+            final int count = content.read(block, read, size - read);
+            if (count < 0) {
+                throw new EOFException("The content is shorter than the length given");
+            }
+
+            read += count;
+        }
+
+        return block;
+    }
+
+    @NotNull
+    private static byte[] readFully(@NotNull FileChannel channel, long position, int size) throws IOException {
+        final ByteBuffer block = ByteBuffer.allocate(size);
+
+        while (block.hasRemaining()) {
+            if (channel.read(block, position + block.position()) < 0) {
+                throw new EOFException("The file is truncated at " + (position + block.position()));
+            }
         }
+
+        return block.array();
     }
 
     public void downloadBlobFileContent(@NotNull String connectionString,
@@ -406,6 +645,238 @@ public class StorageClientSDKManager {
         }
     }
 
+    /**
+     * Download a Blob File into a local file by byte ranges in parallel. The ranges are written into the
+     * preallocated file by positional writes, and the ranges done are recorded in a sidecar progress file, so that
+     * an interrupted download is resumed if the Blob isn't changed. The ranges are validated by the transactional
+     * MD5, and the whole file is validated by the Blob's Content-MD5 if it's set.
+     *
+     * @param connectionString the storage account connection string
+     * @param blobFile the Blob File to download
+     * @param destination the local file to write
+     * @param processBlock the callback with the downloaded bytes, including the ones resumed
+     * @throws AzureCmdException exceptions in downloading
+     */
+    public void downloadBlobFileContent(@NotNull String connectionString,
+                                        @NotNull BlobFile blobFile,
+                                        @NotNull File destination,
+                                        @Nullable CallableSingleArg<Void, Long> processBlock)
+            throws AzureCmdException {
+        try {
+            CloudBlobClient client = getCloudBlobClient(connectionString);
+            CloudBlobContainer container = client.getContainerReference(blobFile.getContainerName());
+            CloudBlob blob = getCloudBlob(container, blobFile);
+
+            blob.downloadAttributes();
+
+            final BlobProperties properties = blob.getProperties();
+            final File progressFile = new File(destination.getPath() + BLOB_DOWNLOAD_PROGRESS_SUFFIX);
+            final long length = properties.getLength();
+            final long rangeSize = getRangeSize(length);
+
+            DownloadProgress progress = DownloadProgress.load(progressFile);
+            if (progress == null || !progress.isResumable(properties.getEtag(), length, rangeSize, destination)) {
+                progress = new DownloadProgress(properties.getEtag(), length, rangeSize);
+            }
+
+            try (final RandomAccessFile file = new RandomAccessFile(destination, "rw")) {
+                // Preallocate to write the ranges at any position
+                file.setLength(length);
+                progress.save(progressFile);
+
+                downloadRangesInParallel(blob, file.getChannel(), progress, progressFile, processBlock);
+            }
+
+            final String contentMD5 = properties.getContentMD5();
+            if (!Strings.isNullOrEmpty(contentMD5) && !contentMD5.equals(getFileMD5(destination))) {
+                // Neither the corrupted file nor its progress can be trusted
+                Files.deleteIfExists(progressFile.toPath());
+                Files.deleteIfExists(destination.toPath());
+
+                throw new IOException("The content MD5 of the downloaded file doesn't match the Blob File's");
+            }
+
+            Files.deleteIfExists(progressFile.toPath());
+        } catch (Throwable t) {
+            throw new AzureCmdException("Error downloading the Blob File content", t);
+        }
+    }
+
+    private static long getRangeSize(long length) {
+        // Some ranges for each connection to balance the load, and the transactional MD5 is only returned for
+        // the ranges up to 4MB
+        final long balancedSize = length / (BLOB_DOWNLOAD_PARALLELISM * 4L);
+
+        return Math.max(BLOB_MIN_RANGE_SIZE, Math.min(BLOB_MAX_RANGE_SIZE, balancedSize));
+    }
+
+    private void downloadRangesInParallel(@NotNull CloudBlob blob,
+                                          @NotNull FileChannel channel,
+                                          @NotNull DownloadProgress progress,
+                                          @NotNull File progressFile,
+                                          @Nullable CallableSingleArg<Void, Long> processBlock) throws Exception {
+        final Semaphore rangesInFlight = new Semaphore(BLOB_DOWNLOAD_PARALLELISM);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final AtomicLong downloadedBytes = new AtomicLong(progress.getDownloadedBytes());
+        final List<Future<?>> rangeDownloads = new ArrayList<>();
+        final BlobRequestOptions options = new BlobRequestOptions();
+        final AccessCondition ifUnchanged = AccessCondition.generateIfMatchCondition(progress.etag);
+
+        // The ranges failed by network errors, timeouts or server errors are retried by the SDK. The precondition
+        // failure isn't retried, since the Blob is changed after the download started and the ranges downloaded
+        // can't be resumed. Other ranges failed are left undone in the progress to resume.
+        options.setRetryPolicyFactory(new RetryExponentialRetry(BLOB_BLOCK_RETRY_BACKOFF_MILLIS, BLOB_BLOCK_MAX_TRIES - 1));
+        options.setUseTransactionalContentMD5(true);
+
+        if (processBlock != null) {
+            processBlock.call(downloadedBytes.get());
+        }
+
+        try {
+            for (long position = 0;
+                 position < progress.length && failure.get() == null;
+                 position += progress.rangeSize) {
+                if (progress.isDone(position)) {
+                    continue;
+                }
+
+                final long rangePosition = position;
+                final int size = (int) Math.min(progress.rangeSize, progress.length - position);
+
+                rangesInFlight.acquire();
+
+                rangeDownloads.add(blobDownloadExecutor.submit(() -> {
+                    try {
+                        if (failure.get() != null) {
+                            return null;
+                        }
+
+                        final byte[] range = new byte[size];
+                        downloadRange(blob, rangePosition, range, ifUnchanged, options);
+                        writeFully(channel, rangePosition, range);
+
+                        // The range is recorded only after it's on the disk
+                        synchronized (progress) {
+                            channel.force(false);
+                            progress.markDone(rangePosition);
+                            progress.save(progressFile);
+                        }
+
+                        final long downloaded = downloadedBytes.addAndGet(size);
+                        if (processBlock != null) {
+                            synchronized (processBlock) {
+                                processBlock.call(downloaded);
+                            }
+                        }
+                    } catch (Throwable t) {
+                        failure.compareAndSet(null, t);
+                    } finally {
+                        rangesInFlight.release();
+                    }
+
+                    return null;
+                }));
+            }
+
+            for (Future<?> rangeDownload : rangeDownloads) {
+                rangeDownload.get();
+            }
+        } finally {
+            // Stop the ranges queued when the caller is interrupted
+            for (Future<?> rangeDownload : rangeDownloads) {
+                rangeDownload.cancel(true);
+            }
+        }
+
+        if (failure.get() != null) {
+            throw new IOException("Failed to download range of the Blob File", failure.get());
+        }
+    }
+
+    private static void downloadRange(@NotNull CloudBlob blob,
+                                      long position,
+                                      @NotNull byte[] range,
+                                      @NotNull AccessCondition ifUnchanged,
+                                      @NotNull BlobRequestOptions options) throws StorageException, IOException {
+        int read = blob.downloadRangeToByteArray(position, (long) range.length, range, 0, ifUnchanged, options, null);
+        if (read != range.length) {
+            throw new EOFException("The Blob File is truncated at " + (position + read));
+        }
+    }
+
+    private static void writeFully(@NotNull FileChannel channel, long position, @NotNull byte[] range) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.wrap(range);
+
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+    }
+
+    @NotNull
+    private static String getFileMD5(@NotNull File file) throws IOException {
+        try (final InputStream content = new FileInputStream(file)) {
+            return java.util.Base64.getEncoder().encodeToString(DigestUtils.md5(content));
+        }
+    }
+
+    /**
+     * The sidecar progress of a ranged download, the ranges are keyed by their start positions
+     */
+    private static class DownloadProgress {
+        private String etag;
+        private long length;
+        private long rangeSize;
+        private Set<Long> doneRanges = new HashSet<>();
+
+        DownloadProgress(@Nullable String etag, long length, long rangeSize) {
+            this.etag = etag;
+            this.length = length;
+            this.rangeSize = rangeSize;
+        }
+
+        @Nullable
+        static DownloadProgress load(@NotNull File progressFile) {
+            if (!progressFile.isFile()) {
+                return null;
+            }
+
+            try {
+                return JsonUtils.fromJsonString(
+                        new String(Files.readAllBytes(progressFile.toPath()), StandardCharsets.UTF_8),
+                        DownloadProgress.class);
+            } catch (IOException | JsonParseException e) {
+                // Download again if the progress is broken
+                return null;
+            }
+        }
+
+        void save(@NotNull File progressFile) throws IOException {
+            Files.write(progressFile.toPath(), JsonUtils.toJsonString(this).getBytes(StandardCharsets.UTF_8));
+        }
+
+        boolean isResumable(@Nullable String blobEtag, long blobLength, long blobRangeSize, @NotNull File destination) {
+            return etag != null && etag.equals(blobEtag) && length == blobLength && rangeSize == blobRangeSize
+                    && doneRanges != null && destination.isFile() && destination.length() == blobLength;
+        }
+
+        boolean isDone(long position) {
+            return doneRanges.contains(position);
+        }
+
+        void markDone(long position) {
+            doneRanges.add(position);
+        }
+
+        long getDownloadedBytes() {
+            long downloaded = 0;
+            for (long position : doneRanges) {
+                downloaded += Math.min(rangeSize, length - position);
+            }
+
+            return downloaded;
+        }
+    }
+
     @NotNull
     public List<Queue> getQueues(@NotNull StorageAccount storageAccount)
             throws AzureCmdException {
@@ -654,6 +1125,265 @@ public class StorageClientSDKManager {
         }
     }
 
+    /**
+     * Query one segment of the Table Entities with the minimal metadata, so that the caller can show the entities
+     * before the whole table is queried
+     *
+     * @param connectionString the storage account connection string
+     * @param tableName the table to query
+     * @param filter the OData filter, empty to query all entities
+     * @param columns the property names to select besides the keys and timestamp, null or empty to select all
+     * @param continuationToken the token returned by the previous segment, null to query the first segment
+     * @param take the max entity count of the segment
+     * @return the entities of the segment with the token of the next segment
+     * @throws AzureCmdException exceptions in querying
+     */
+    @NotNull
+    public Segment<TableEntity> getTableEntitySegment(@NotNull String connectionString,
+                                                      @NotNull String tableName,
+                                                      @NotNull String filter,
+                                                      @Nullable List<String> columns,
+                                                      @Nullable String continuationToken,
+                                                      int take)
+            throws AzureCmdException {
+        try {
+            CloudTable cloudTable = getCloudTableClient(connectionString).getTableReference(tableName);
+
+            ResultSegment<DynamicTableEntity> segment = cloudTable.executeSegmented(
+                    createTableQuery(filter, columns, take), decodeTableContinuation(continuationToken),
+                    createMinimalMetadataOptions(), null);
+
+            List<TableEntity> teList = new ArrayList<TableEntity>(segment.getLength());
+
+            for (DynamicTableEntity dte : segment.getResults()) {
+                teList.add(getTableEntity(tableName, dte));
+            }
+
+            return new Segment<TableEntity>(teList,
+                    segment.getHasMoreResults() ? encodeTableContinuation(segment.getContinuationToken()) : null);
+        } catch (Throwable t) {
+            throw new AzureCmdException("Error retrieving the Table Entity list", t);
+        }
+    }
+
+    /**
+     * Export the Table Entities to a CSV file segment by segment, the entities aren't held in memory. Without
+     * the selected columns, the columns are the properties in the order they're found, and the rows written before
+     * a column is found are padded with empty values in a second pass. The destination is only written when the
+     * export completes.
+     *
+     * @param connectionString the storage account connection string
+     * @param tableName the table to export
+     * @param filter the OData filter, empty to export all entities
+     * @param columns the property names to export besides the keys and timestamp, null or empty to export all
+     * @param destination the CSV file to write
+     * @param processEntities the callback with the exported entity count, throw exceptions in it to cancel
+     * @return the exported entity count
+     * @throws AzureCmdException exceptions in querying or writing
+     */
+    public long exportTableEntities(@NotNull String connectionString,
+                                    @NotNull String tableName,
+                                    @NotNull String filter,
+                                    @Nullable List<String> columns,
+                                    @NotNull File destination,
+                                    @Nullable CallableSingleArg<Void, Long> processEntities)
+            throws AzureCmdException {
+        boolean isColumnSelected = columns != null && !columns.isEmpty();
+        File partFile = new File(destination.getPath() + TABLE_EXPORT_PART_SUFFIX);
+        File rowsFile = isColumnSelected ? partFile : new File(destination.getPath() + TABLE_EXPORT_ROWS_SUFFIX);
+
+        try {
+            CloudTable cloudTable = getCloudTableClient(connectionString).getTableReference(tableName);
+            TableQuery<DynamicTableEntity> tableQuery = createTableQuery(filter, columns, TABLE_EXPORT_SEGMENT_SIZE);
+            TableRequestOptions tro = createMinimalMetadataOptions();
+            LinkedHashSet<String> propertyNames = isColumnSelected
+                    ? new LinkedHashSet<String>(columns)
+                    : new LinkedHashSet<String>();
+            // The runs of rows written with the same column count, as {column count, rows}. The columns are only
+            // appended, so a row is padded by the columns found after it.
+            List<long[]> columnCountRuns = new ArrayList<long[]>();
+            ResultContinuation continuation = null;
+            long exported = 0;
+
+            try (Writer rowsWriter = Files.newBufferedWriter(rowsFile.toPath(), StandardCharsets.UTF_8)) {
+                if (isColumnSelected) {
+                    writeCsvHeader(rowsWriter, propertyNames);
+                }
+
+                do {
+                    ResultSegment<DynamicTableEntity> segment =
+                            cloudTable.executeSegmented(tableQuery, continuation, tro, null);
+
+                    for (DynamicTableEntity dte : segment.getResults()) {
+                        if (!isColumnSelected && dte.getProperties() != null) {
+                            propertyNames.addAll(dte.getProperties().keySet());
+                        }
+
+                        writeCsvRow(rowsWriter, dte, propertyNames);
+
+                        long[] lastRun = columnCountRuns.isEmpty()
+                                ? null
+                                : columnCountRuns.get(columnCountRuns.size() - 1);
+                        if (lastRun != null && lastRun[0] == propertyNames.size()) {
+                            lastRun[1]++;
+                        } else {
+                            columnCountRuns.add(new long[] { propertyNames.size(), 1 });
+                        }
+                    }
+
+                    exported += segment.getLength();
+                    continuation = segment.getHasMoreResults() ? segment.getContinuationToken() : null;
+
+                    if (processEntities != null) {
+                        processEntities.call(exported);
+                    }
+                } while (continuation != null);
+            }
+
+            if (!isColumnSelected) {
+                // The header is known only after all rows are written
+                try (Writer csvWriter = Files.newBufferedWriter(partFile.toPath(), StandardCharsets.UTF_8);
+                     Reader rowsReader = Files.newBufferedReader(rowsFile.toPath(), StandardCharsets.UTF_8)) {
+                    writeCsvHeader(csvWriter, propertyNames);
+
+                    for (long[] run : columnCountRuns) {
+                        String padding = Strings.repeat(",", propertyNames.size() - (int) run[0]);
+
+                        for (long row = 0; row < run[1]; row++) {
+                            copyCsvRow(rowsReader, csvWriter, padding);
+                        }
+                    }
+                }
+            }
+
+            Files.move(partFile.toPath(), destination.toPath(), StandardCopyOption.REPLACE_EXISTING);
+
+            return exported;
+        } catch (Throwable t) {
+            throw new AzureCmdException("Error exporting the Table Entities", t);
+        } finally {
+            // Nothing is left behind by a failed or cancelled export
+            rowsFile.delete();
+            partFile.delete();
+        }
+    }
+
+    @NotNull
+    private static TableQuery<DynamicTableEntity> createTableQuery(@NotNull String filter,
+                                                                   @Nullable List<String> columns,
+                                                                   int take) {
+        TableQuery<DynamicTableEntity> tableQuery = TableQuery.from(DynamicTableEntity.class).take(take);
+
+        if (!filter.isEmpty()) {
+            tableQuery.where(filter);
+        }
+
+        if (columns != null && !columns.isEmpty()) {
+            tableQuery.select(columns.toArray(new String[0]));
+        }
+
+        return tableQuery;
+    }
+
+    @NotNull
+    private static TableRequestOptions createMinimalMetadataOptions() {
+        // The property types which can't be inferred from JSON values are still annotated
+        TableRequestOptions tro = new TableRequestOptions();
+        tro.setTablePayloadFormat(TablePayloadFormat.Json);
+
+        return tro;
+    }
+
+    @Nullable
+    private static String encodeTableContinuation(@Nullable ResultContinuation continuation) {
+        if (continuation == null || continuation.getNextPartitionKey() == null) {
+            return null;
+        }
+
+        // Control characters aren't allowed in the keys
+        return continuation.getNextPartitionKey() + TABLE_CONTINUATION_SEPARATOR
+                + Strings.nullToEmpty(continuation.getNextRowKey());
+    }
+
+    @Nullable
+    private static ResultContinuation decodeTableContinuation(@Nullable String continuationToken) {
+        if (Strings.isNullOrEmpty(continuationToken)) {
+            return null;
+        }
+
+        String[] keys = continuationToken.split(TABLE_CONTINUATION_SEPARATOR, -1);
+        ResultContinuation continuation = new ResultContinuation();
+        continuation.setContinuationType(ResultContinuationType.TABLE);
+        continuation.setNextPartitionKey(keys[0]);
+        continuation.setNextRowKey(keys.length > 1 ? Strings.emptyToNull(keys[1]) : null);
+
+        return continuation;
+    }
+
+    private static void writeCsvHeader(@NotNull Writer writer, @NotNull Collection<String> propertyNames)
+            throws IOException {
+        writer.write("PartitionKey,RowKey,Timestamp");
+
+        for (String propertyName : propertyNames) {
+            writer.write(',');
+            writer.write(escapeCsv(propertyName));
+        }
+
+        writer.write("\r\n");
+    }
+
+    private static void writeCsvRow(@NotNull Writer writer,
+                                    @NotNull DynamicTableEntity dte,
+                                    @NotNull Collection<String> propertyNames) throws IOException {
+        writer.write(escapeCsv(Strings.nullToEmpty(dte.getPartitionKey())));
+        writer.write(',');
+        writer.write(escapeCsv(Strings.nullToEmpty(dte.getRowKey())));
+        writer.write(',');
+        writer.write(dte.getTimestamp() != null ? dte.getTimestamp().toInstant().toString() : "");
+
+        for (String propertyName : propertyNames) {
+            EntityProperty property = dte.getProperties() != null ? dte.getProperties().get(propertyName) : null;
+
+            writer.write(',');
+            writer.write(property != null ? escapeCsv(Strings.nullToEmpty(property.getValueAsString())) : "");
+        }
+
+        writer.write("\r\n");
+    }
+
+    /**
+     * Copy a CSV row with the padding appended, the row ends at the line break out of the quoted values
+     */
+    private static void copyCsvRow(@NotNull Reader reader, @NotNull Writer writer, @NotNull String padding)
+            throws IOException {
+        boolean isQuoted = false;
+        int c;
+
+        while ((c = reader.read()) >= 0) {
+            if (c == '"') {
+                isQuoted = !isQuoted;
+            } else if (c == '\r' && !isQuoted) {
+                // Skip the '\n' of the row end
+                reader.read();
+                break;
+            }
+
+            writer.write(c);
+        }
+
+        writer.write(padding);
+        writer.write("\r\n");
+    }
+
+    @NotNull
+    private static String escapeCsv(@NotNull String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
     @NotNull
     public TableEntity createTableEntity(@NotNull StorageAccount storageAccount, @NotNull String tableName,
                                          @NotNull String partitionKey, @NotNull String rowKey,
@@ -767,6 +1497,13 @@ public class StorageClientSDKManager {
         return csa.createCloudTableClient();
     }
 
+    @NotNull
+    private static CloudTableClient getCloudTableClient(@NotNull String connectionString) throws Exception {
+        CloudStorageAccount csa = getCloudStorageAccount(connectionString);
+
+        return csa.createCloudTableClient();
+    }
+
     @NotNull
     private static CloudBlob getCloudBlob(@NotNull CloudBlobContainer container,
                                           @NotNull BlobFile blobFile)
@@ -850,6 +1587,62 @@ public class StorageClientSDKManager {
         return blobFile;
     }
 
+    @Nullable
+    private static BlobItem toBlobItem(@NotNull ListBlobItem item,
+                                       @NotNull String containerName,
+                                       @Nullable String delimiter) {
+        String uri = item.getUri() != null ? item.getUri().toString() : "";
+
+        if (item instanceof CloudBlobDirectory) {
+            CloudBlobDirectory subDirectory = (CloudBlobDirectory) item;
+
+            String name = extractBlobItemName(subDirectory.getPrefix(), delimiter);
+            String path = Strings.nullToEmpty(subDirectory.getPrefix());
+
+            return new BlobDirectory(name, uri, containerName, path);
+        } else if (item instanceof CloudBlob) {
+            CloudBlob blob = (CloudBlob) item;
+
+            String name = extractBlobItemName(blob.getName(), delimiter);
+            String path = Strings.nullToEmpty(blob.getName());
+            String type = "";
+            String cacheControlHeader = "";
+            String contentEncoding = "";
+            String contentLanguage = "";
+            String contentType = "";
+            String contentMD5Header = "";
+            String eTag = "";
+            Calendar lastModified = new GregorianCalendar();
+            long size = 0;
+
+            BlobProperties properties = blob.getProperties();
+
+            if (properties != null) {
+                if (properties.getBlobType() != null) {
+                    type = properties.getBlobType().toString();
+                }
+
+                cacheControlHeader = Strings.nullToEmpty(properties.getCacheControl());
+                contentEncoding = Strings.nullToEmpty(properties.getContentEncoding());
+                contentLanguage = Strings.nullToEmpty(properties.getContentLanguage());
+                contentType = Strings.nullToEmpty(properties.getContentType());
+                contentMD5Header = Strings.nullToEmpty(properties.getContentMD5());
+                eTag = Strings.nullToEmpty(properties.getEtag());
+
+                if (properties.getLastModified() != null) {
+                    lastModified.setTime(properties.getLastModified());
+                }
+
+                size = properties.getLength();
+            }
+
+            return new BlobFile(name, uri, containerName, path, type, cacheControlHeader, contentEncoding,
+                    contentLanguage, contentType, contentMD5Header, eTag, lastModified, size);
+        }
+
+        return null;
+    }
+
     @NotNull
     private static String extractBlobItemName(@Nullable String path, @Nullable String delimiter) {
         if (path == null) {
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.tooling.msservices.helpers.azure.sdk;
+
+import com.microsoft.azuretools.azurecommons.helpers.AzureCmdException;
+import com.microsoft.azuretools.azurecommons.helpers.NotNull;
+import com.microsoft.azuretools.azurecommons.helpers.Nullable;
+import com.microsoft.tooling.msservices.model.storage.Segment;
+import com.microsoft.tooling.msservices.model.storage.TableEntity;
+
+import java.util.List;
+
+/**
+ * The pager of a Table Entity query, so that the explorer can show a huge table without querying it all.
+ */
+public class TableEntityPager extends SegmentPager<TableEntity> {
+    public static final int DEFAULT_SEGMENT_SIZE = 200;
+
+    @NotNull
+    private final String connectionString;
+
+    @NotNull
+    private final String tableName;
+
+    @NotNull
+    private final String filter;
+
+    @Nullable
+    private final List<String> columns;
+
+    private final int segmentSize;
+
+    public TableEntityPager(@NotNull String connectionString,
+                            @NotNull String tableName,
+                            @NotNull String filter,
+                            @Nullable List<String> columns,
+                            int segmentSize) {
+        this.connectionString = connectionString;
+        this.tableName = tableName;
+        this.filter = filter;
+        this.columns = columns;
+        this.segmentSize = segmentSize;
+    }
+
+    public TableEntityPager(@NotNull String connectionString,
+                            @NotNull String tableName,
+                            @NotNull String filter,
+                            @Nullable List<String> columns) {
+        this(connectionString, tableName, filter, columns, DEFAULT_SEGMENT_SIZE);
+    }
+
+    @NotNull
+    public String getTableName() {
+        return tableName;
+    }
+
+    @NotNull
+    @Override
+    protected Segment<TableEntity> fetch(@Nullable String continuationToken) throws AzureCmdException {
+        return StorageClientSDKManager.getManager().getTableEntitySegment(
+                connectionString, tableName, filter, columns, continuationToken, segmentSize);
+    }
+}
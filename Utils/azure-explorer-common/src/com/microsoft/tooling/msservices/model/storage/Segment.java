@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.tooling.msservices.model.storage;
+
+import com.microsoft.azuretools.azurecommons.helpers.NotNull;
+import com.microsoft.azuretools.azurecommons.helpers.Nullable;
+
+import java.util.List;
+
+/**
+ * One segment of a storage listing or query, with the token to get the next segment
+ */
+public class Segment<T> {
+    private List<T> items;
+    private String continuationToken;
+
+    public Segment(@NotNull List<T> items,
+                   @Nullable String continuationToken) {
+        this.items = items;
+        this.continuationToken = continuationToken;
+    }
+
+    @NotNull
+    public List<T> getItems() {
+        return items;
+    }
+
+    @Nullable
+    public String getContinuationToken() {
+        return continuationToken;
+    }
+
+    public boolean hasMoreItems() {
+        return continuationToken != null;
+    }
+}
@@ -9,6 +9,7 @@ import com.microsoft.azure.toolkit.lib.common.operation.AzureOperation;
 import com.microsoft.azuretools.ActionConstants;
 import com.microsoft.azuretools.authmanage.AuthMethodManager;
 import com.microsoft.azuretools.azurecommons.helpers.Nullable;
+import com.microsoft.azuretools.core.mvp.model.rediscache.RedisConnectionPools;
 import com.microsoft.azuretools.core.mvp.ui.base.NodeContent;
 import com.microsoft.azuretools.telemetry.AppInsightsConstants;
 import com.microsoft.azuretools.telemetry.TelemetryProperties;
@@ -129,6 +130,8 @@ public class RedisCacheNode extends Node implements TelemetryProperties {
     }
 
     private void openExplorer() {
+        // Resolve the access keys while the explorer is being opened
+        RedisConnectionPools.getInstance().preparePool(this.subscriptionId, this.resourceId);
         DefaultLoader.getUIHelper().openRedisExplorer(this);
     }
 
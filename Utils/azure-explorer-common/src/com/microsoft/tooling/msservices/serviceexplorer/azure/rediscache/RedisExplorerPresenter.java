@@ -10,6 +10,7 @@ import static redis.clients.jedis.ScanParams.SCAN_POINTER_START;
 import com.microsoft.azuretools.azurecommons.helpers.RedisKeyType;
 import com.microsoft.azuretools.core.mvp.model.rediscache.RedisConnectionPools;
 import com.microsoft.azuretools.core.mvp.model.rediscache.RedisExplorerMvpModel;
+import com.microsoft.azuretools.core.mvp.model.rediscache.RedisKeyInfo;
 import com.microsoft.azuretools.core.mvp.ui.base.MvpPresenter;
 import com.microsoft.azuretools.core.mvp.ui.rediscache.RedisScanResult;
 import com.microsoft.azuretools.core.mvp.ui.rediscache.RedisValueData;
@@ -21,12 +22,12 @@ import com.microsoft.azuretools.telemetrywrapper.TelemetryManager;
 import com.microsoft.tooling.msservices.components.DefaultLoader;
 
 import java.util.ArrayList;
-import java.util.List;
-import java.util.Map.Entry;
-import java.util.Set;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import redis.clients.jedis.ScanResult;
-import redis.clients.jedis.Tuple;
+import redis.clients.jedis.exceptions.JedisDataException;
 import rx.Observable;
 
 public class RedisExplorerPresenter<V extends RedisExplorerMvpView> extends MvpPresenter<V> {
@@ -34,7 +35,15 @@ public class RedisExplorerPresenter<V extends RedisExplorerMvpView> extends MvpP
     private String sid;
     private String id;
 
+    // The key types read with the last scanned page, so that selecting a key doesn't need another round trip
+    private final Map<String, String> scannedKeyTypes = new ConcurrentHashMap<>();
+    private volatile int scannedDb = -1;
+
+    // Increased when another value is loaded, so that the pages of the previous value stop streaming
+    private final AtomicLong valueLoadingId = new AtomicLong();
+
     private static final String DEFAULT_SCAN_PATTERN = "*";
+    private static final int MAX_STREAMED_VALUE_ROWS = 10000;
 
     private static final String CANNOT_GET_REDIS_INFO = "Cannot get Redis Cache's information.";
 
@@ -94,16 +103,22 @@ public class RedisExplorerPresenter<V extends RedisExplorerMvpView> extends MvpP
     public void onKeyList(int db, String cursor, String pattern) {
         Operation operation = TelemetryManager.createOperation(TelemetryConstants.REDIS, TelemetryConstants.REDIS_SCAN);
         operation.start();
+        valueLoadingId.incrementAndGet();
         Observable.fromCallable(() -> {
-            return RedisExplorerMvpModel.getInstance().scanKeys(sid, id, db, cursor, pattern);
+            return RedisExplorerMvpModel.getInstance().scanKeyInfos(sid, id, db, cursor, pattern);
         })
         .subscribeOn(getSchedulerProvider().io())
         .subscribe(result -> {
+            scannedKeyTypes.clear();
+            scannedDb = db;
+            for (RedisKeyInfo keyInfo : result.getResult()) {
+                scannedKeyTypes.put(keyInfo.getKey(), keyInfo.getType());
+            }
             DefaultLoader.getIdeHelper().invokeLater(() -> {
                 if (isViewDetached()) {
                     return;
                 }
-                getMvpView().showScanResult(new RedisScanResult(result));
+                getMvpView().showScanResult(new RedisScanResult(result.getResult(), result.getStringCursor()));
                 operation.complete();
             });
         }, e -> {
@@ -116,6 +131,7 @@ public class RedisExplorerPresenter<V extends RedisExplorerMvpView> extends MvpP
     public void onGetKeyAndValue(int db, String key) {
         Operation operation = TelemetryManager.createOperation(TelemetryConstants.REDIS, TelemetryConstants.REDIS_GET);
         operation.start();
+        final long loadingId = valueLoadingId.incrementAndGet();
         Observable.fromCallable(() -> {
             boolean isExist = RedisExplorerMvpModel.getInstance().checkKeyExistance(sid, id, db, key);
             if (!isExist) {
@@ -135,8 +151,9 @@ public class RedisExplorerPresenter<V extends RedisExplorerMvpView> extends MvpP
                     return;
                 }
                 getMvpView().updateKeyList();
-                getMvpView().showContent(result);
+                getMvpView().showContent(result.toValueData());
                 operation.complete();
+                streamValuePages(db, key, result, loadingId);
             });
         }, e -> {
             EventUtil.logError(operation, ErrorType.userError, new Exception(e), null, null);
@@ -158,6 +175,7 @@ public class RedisExplorerPresenter<V extends RedisExplorerMvpView> extends MvpP
      *            target key name for Redis Cache
      */
     public void onkeySelect(int db, String key) {
+        final long loadingId = valueLoadingId.incrementAndGet();
         Observable.fromCallable(() -> {
             return getValueByKey(db, key);
         })
@@ -171,7 +189,8 @@ public class RedisExplorerPresenter<V extends RedisExplorerMvpView> extends MvpP
                     getMvpView().onError(CANNOT_GET_REDIS_INFO);
                     return;
                 }
-                getMvpView().showContent(result);
+                getMvpView().showContent(result.toValueData());
+                streamValuePages(db, key, result, loadingId);
             });
         }, e -> {
             errorHandler(CANNOT_GET_REDIS_INFO, (Exception) e);
@@ -193,43 +212,63 @@ public class RedisExplorerPresenter<V extends RedisExplorerMvpView> extends MvpP
         this.id = id;
     }
 
-    private RedisValueData getValueByKey(int db, String key) throws Exception {
-        String type = RedisExplorerMvpModel.getInstance().getKeyType(sid, id, db, key).toUpperCase();
-        ArrayList<String[]> columnData = new ArrayList<String[]>();
-        switch (RedisKeyType.valueOf(type)) {
-            case STRING:
-                String stringVal = RedisExplorerMvpModel.getInstance().getStringValue(sid, id, db, key);
-                columnData.add(new String[] { stringVal });
-                return new RedisValueData(columnData, RedisKeyType.STRING);
-            case LIST:
-                List<String> listVal = RedisExplorerMvpModel.getInstance().getListValue(sid, id, db, key);
-                for (int i = 0; i < listVal.size(); i++) {
-                    columnData.add(new String[] { String.valueOf(i + 1), listVal.get(i) });
-                }
-                return new RedisValueData(columnData, RedisKeyType.LIST);
-            case SET:
-                ScanResult<String> setVal = RedisExplorerMvpModel.getInstance().getSetValue(sid, id, db, key,
-                        SCAN_POINTER_START);
-                for (String row : setVal.getResult()) {
-                    columnData.add(new String[] { row });
-                }
-                return new RedisValueData(columnData, RedisKeyType.SET);
-            case ZSET:
-                Set<Tuple> zsetVal = RedisExplorerMvpModel.getInstance().getZSetValue(sid, id, db, key);
-                for (Tuple tuple : zsetVal) {
-                    columnData.add(new String[] { String.valueOf(tuple.getScore()), tuple.getElement() });
+    private ValuePage getValueByKey(int db, String key) throws Exception {
+        String scannedType = db == scannedDb ? scannedKeyTypes.get(key) : null;
+        if (scannedType != null) {
+            try {
+                return getValuePage(db, key, scannedType, SCAN_POINTER_START);
+            } catch (JedisDataException e) {
+                // The key is changed to another type after it's scanned, read the type again
+                scannedKeyTypes.remove(key);
+            }
+        }
+        String type = RedisExplorerMvpModel.getInstance().getKeyType(sid, id, db, key);
+        return getValuePage(db, key, type, SCAN_POINTER_START);
+    }
+
+    private ValuePage getValuePage(int db, String key, String type, String cursor) throws Exception {
+        RedisKeyType keyType = RedisKeyType.valueOf(type.toUpperCase());
+        if (keyType == RedisKeyType.NONE) {
+            return null;
+        }
+        return new ValuePage(keyType,
+                RedisExplorerMvpModel.getInstance().getValuePage(sid, id, db, key, keyType, cursor));
+    }
+
+    /**
+     * Stream the following pages of the value to the view one by one after the first page is shown, until the
+     * whole value or MAX_STREAMED_VALUE_ROWS rows are loaded, or another value is loaded.
+     */
+    private void streamValuePages(int db, String key, ValuePage lastPage, long loadingId) {
+        streamValuePages(db, key, lastPage.keyType, lastPage.page.getStringCursor(),
+                lastPage.page.getResult().size(), loadingId);
+    }
+
+    private void streamValuePages(int db, String key, RedisKeyType keyType, String cursor, int loadedRows,
+            long loadingId) {
+        if (SCAN_POINTER_START.equals(cursor) || loadedRows >= MAX_STREAMED_VALUE_ROWS
+                || loadingId != valueLoadingId.get()) {
+            return;
+        }
+        Observable.fromCallable(() -> {
+            return RedisExplorerMvpModel.getInstance().getValuePage(sid, id, db, key, keyType, cursor);
+        })
+        .subscribeOn(getSchedulerProvider().io())
+        .subscribe(page -> {
+            DefaultLoader.getIdeHelper().invokeLater(() -> {
+                if (isViewDetached() || loadingId != valueLoadingId.get()) {
+                    return;
                 }
-                return new RedisValueData(columnData, RedisKeyType.ZSET);
-            case HASH:
-                ScanResult<Entry<String, String>> hashVal = RedisExplorerMvpModel.getInstance().getHashValue(sid,
-                        id, db, key, SCAN_POINTER_START);
-                for (Entry<String, String> hash : hashVal.getResult()) {
-                    columnData.add(new String[] { hash.getKey(), hash.getValue() });
+                // The set and hash scan can return an empty page before the end
+                if (!page.getResult().isEmpty()) {
+                    getMvpView().appendContent(new RedisValueData(new ArrayList<>(page.getResult()), keyType));
                 }
-                return new RedisValueData(columnData, RedisKeyType.HASH);
-            default:
-                return null;
-        }
+                streamValuePages(db, key, keyType, page.getStringCursor(), loadedRows + page.getResult().size(),
+                        loadingId);
+            });
+        }, e -> {
+            errorHandler(CANNOT_GET_REDIS_INFO, (Exception) e);
+        });
     }
 
     private void errorHandler(String msg, Exception e) {
@@ -240,4 +279,18 @@ public class RedisExplorerPresenter<V extends RedisExplorerMvpView> extends MvpP
             getMvpView().onErrorWithException(msg, e);
         });
     }
+
+    private static class ValuePage {
+        private final RedisKeyType keyType;
+        private final ScanResult<String[]> page;
+
+        ValuePage(RedisKeyType keyType, ScanResult<String[]> page) {
+            this.keyType = keyType;
+            this.page = page;
+        }
+
+        RedisValueData toValueData() {
+            return new RedisValueData(new ArrayList<>(page.getResult()), keyType);
+        }
+    }
 }
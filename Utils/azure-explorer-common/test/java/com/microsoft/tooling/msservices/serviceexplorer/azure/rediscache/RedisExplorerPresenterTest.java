@@ -5,12 +5,13 @@
 
 package com.microsoft.tooling.msservices.serviceexplorer.azure.rediscache;
 
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.Map.Entry;
+import java.util.Arrays;
+import java.util.Collections;
 
 import org.junit.After;
 import org.junit.Before;
@@ -22,8 +23,10 @@ import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 
+import com.microsoft.azuretools.azurecommons.helpers.RedisKeyType;
 import com.microsoft.azuretools.core.mvp.model.rediscache.RedisConnectionPools;
 import com.microsoft.azuretools.core.mvp.model.rediscache.RedisExplorerMvpModel;
+import com.microsoft.azuretools.core.mvp.model.rediscache.RedisKeyInfo;
 import com.microsoft.azuretools.core.mvp.ui.base.SchedulerProviderFactory;
 import com.microsoft.azuretools.core.mvp.ui.base.TestSchedulerProvider;
 import com.microsoft.azuretools.core.mvp.ui.rediscache.RedisScanResult;
@@ -32,7 +35,6 @@ import com.microsoft.tooling.msservices.components.DefaultLoader;
 import com.microsoft.tooling.msservices.helpers.IDEHelper;
 
 import redis.clients.jedis.ScanResult;
-import redis.clients.jedis.Tuple;
 
 @RunWith(PowerMockRunner.class)
 @PrepareForTest({
@@ -49,12 +51,6 @@ public class RedisExplorerPresenterTest {
     @Mock
     private RedisExplorerMvpModel redisExplorerMvpModelMock;
 
-    @Mock
-    private ScanResult<String> stringScanResultMock;
-
-    @Mock
-    private ScanResult<Entry<String, String>> entryScanResultMock;
-
     @Mock
     private RedisScanResult redisScanResultMock;
 
@@ -70,6 +66,7 @@ public class RedisExplorerPresenterTest {
     private final static String MOCK_CURSOR = "0";
     private final static String MOCK_PATTERN = "*";
     private final static String MOCK_KEY = "key";
+    private final static String MOCK_NEXT_CURSOR = "500";
 
     private final static String TYPE_STRING = "string";
     private final static String TYPE_LIST = "list";
@@ -102,7 +99,7 @@ public class RedisExplorerPresenterTest {
 
     @Test
     public void testOnDbSelect() throws Exception {
-        when(redisExplorerMvpModelMock.scanKeys(MOCK_SUBSCRIPTION, MOCK_ID, MOCK_DB, MOCK_CURSOR, MOCK_PATTERN)).thenReturn(stringScanResultMock);
+        when(redisExplorerMvpModelMock.scanKeyInfos(MOCK_SUBSCRIPTION, MOCK_ID, MOCK_DB, MOCK_CURSOR, MOCK_PATTERN)).thenReturn(keyInfoPage());
         redisExplorerPresenter.onDbSelect(MOCK_DB);
         PowerMockito.whenNew(RedisScanResult.class).withAnyArguments().thenReturn(redisScanResultMock);
 
@@ -112,7 +109,7 @@ public class RedisExplorerPresenterTest {
 
     @Test
     public void testOnKeyList() throws Exception {
-        when(redisExplorerMvpModelMock.scanKeys(MOCK_SUBSCRIPTION, MOCK_ID, MOCK_DB, MOCK_CURSOR, MOCK_PATTERN)).thenReturn(stringScanResultMock);
+        when(redisExplorerMvpModelMock.scanKeyInfos(MOCK_SUBSCRIPTION, MOCK_ID, MOCK_DB, MOCK_CURSOR, MOCK_PATTERN)).thenReturn(keyInfoPage());
         redisExplorerPresenter.onKeyList(MOCK_DB, MOCK_CURSOR, MOCK_PATTERN);
         PowerMockito.whenNew(RedisScanResult.class).withAnyArguments().thenReturn(redisScanResultMock);
 
@@ -123,7 +120,7 @@ public class RedisExplorerPresenterTest {
     @Test
     public void testOnkeySelectWithStringKey() throws Exception {
         when(redisExplorerMvpModelMock.getKeyType(MOCK_SUBSCRIPTION, MOCK_ID, MOCK_DB, MOCK_KEY)).thenReturn(TYPE_STRING);
-        when(redisExplorerMvpModelMock.getStringValue(MOCK_SUBSCRIPTION, MOCK_ID, MOCK_DB, MOCK_KEY)).thenReturn("");
+        when(redisExplorerMvpModelMock.getValuePage(MOCK_SUBSCRIPTION, MOCK_ID, MOCK_DB, MOCK_KEY, RedisKeyType.STRING, MOCK_CURSOR)).thenReturn(valuePage(MOCK_CURSOR));
 
         redisExplorerPresenter.onkeySelect(MOCK_DB, MOCK_KEY);
         testSchedulerProvider.triggerActions();
@@ -133,7 +130,7 @@ public class RedisExplorerPresenterTest {
     @Test
     public void testOnkeySelectWithListKey() throws Exception {
         when(redisExplorerMvpModelMock.getKeyType(MOCK_SUBSCRIPTION, MOCK_ID, MOCK_DB, MOCK_KEY)).thenReturn(TYPE_LIST);
-        when(redisExplorerMvpModelMock.getListValue(MOCK_SUBSCRIPTION, MOCK_ID, MOCK_DB, MOCK_KEY)).thenReturn(new ArrayList<String>());
+        when(redisExplorerMvpModelMock.getValuePage(MOCK_SUBSCRIPTION, MOCK_ID, MOCK_DB, MOCK_KEY, RedisKeyType.LIST, MOCK_CURSOR)).thenReturn(valuePage(MOCK_CURSOR));
 
         redisExplorerPresenter.onkeySelect(MOCK_DB, MOCK_KEY);
         testSchedulerProvider.triggerActions();
@@ -143,7 +140,7 @@ public class RedisExplorerPresenterTest {
     @Test
     public void testOnkeySelectWithSetKey() throws Exception {
         when(redisExplorerMvpModelMock.getKeyType(MOCK_SUBSCRIPTION, MOCK_ID, MOCK_DB, MOCK_KEY)).thenReturn(TYPE_SET);
-        when(redisExplorerMvpModelMock.getSetValue(MOCK_SUBSCRIPTION, MOCK_ID, MOCK_DB, MOCK_KEY, MOCK_CURSOR)).thenReturn(stringScanResultMock);
+        when(redisExplorerMvpModelMock.getValuePage(MOCK_SUBSCRIPTION, MOCK_ID, MOCK_DB, MOCK_KEY, RedisKeyType.SET, MOCK_CURSOR)).thenReturn(valuePage(MOCK_CURSOR));
 
         redisExplorerPresenter.onkeySelect(MOCK_DB, MOCK_KEY);
         testSchedulerProvider.triggerActions();
@@ -153,7 +150,7 @@ public class RedisExplorerPresenterTest {
     @Test
     public void testOnkeySelectWithZSetKey() throws Exception {
         when(redisExplorerMvpModelMock.getKeyType(MOCK_SUBSCRIPTION, MOCK_ID, MOCK_DB, MOCK_KEY)).thenReturn(TYPE_ZSET);
-        when(redisExplorerMvpModelMock.getZSetValue(MOCK_SUBSCRIPTION, MOCK_ID, MOCK_DB, MOCK_KEY)).thenReturn(new HashSet<Tuple>());
+        when(redisExplorerMvpModelMock.getValuePage(MOCK_SUBSCRIPTION, MOCK_ID, MOCK_DB, MOCK_KEY, RedisKeyType.ZSET, MOCK_CURSOR)).thenReturn(valuePage(MOCK_CURSOR));
 
         redisExplorerPresenter.onkeySelect(MOCK_DB, MOCK_KEY);
         testSchedulerProvider.triggerActions();
@@ -163,18 +160,43 @@ public class RedisExplorerPresenterTest {
     @Test
     public void testOnkeySelectWithHashKey() throws Exception {
         when(redisExplorerMvpModelMock.getKeyType(MOCK_SUBSCRIPTION, MOCK_ID, MOCK_DB, MOCK_KEY)).thenReturn(TYPE_HASH);
-        when(redisExplorerMvpModelMock.getHashValue(MOCK_SUBSCRIPTION, MOCK_ID, MOCK_DB, MOCK_KEY, MOCK_CURSOR)).thenReturn(entryScanResultMock);
+        when(redisExplorerMvpModelMock.getValuePage(MOCK_SUBSCRIPTION, MOCK_ID, MOCK_DB, MOCK_KEY, RedisKeyType.HASH, MOCK_CURSOR)).thenReturn(valuePage(MOCK_CURSOR));
 
         redisExplorerPresenter.onkeySelect(MOCK_DB, MOCK_KEY);
         testSchedulerProvider.triggerActions();
         verify(redisExplorerMvpViewMock).showContent(Mockito.any(RedisValueData.class));
     }
 
+    @Test
+    public void testOnkeySelectWithScannedKeyType() throws Exception {
+        when(redisExplorerMvpModelMock.scanKeyInfos(MOCK_SUBSCRIPTION, MOCK_ID, MOCK_DB, MOCK_CURSOR, MOCK_PATTERN)).thenReturn(keyInfoPage());
+        when(redisExplorerMvpModelMock.getValuePage(MOCK_SUBSCRIPTION, MOCK_ID, MOCK_DB, MOCK_KEY, RedisKeyType.LIST, MOCK_CURSOR)).thenReturn(valuePage(MOCK_CURSOR));
+
+        redisExplorerPresenter.onKeyList(MOCK_DB, MOCK_CURSOR, MOCK_PATTERN);
+        testSchedulerProvider.triggerActions();
+        redisExplorerPresenter.onkeySelect(MOCK_DB, MOCK_KEY);
+        testSchedulerProvider.triggerActions();
+        verify(redisExplorerMvpModelMock, never()).getKeyType(MOCK_SUBSCRIPTION, MOCK_ID, MOCK_DB, MOCK_KEY);
+        verify(redisExplorerMvpViewMock).showContent(Mockito.any(RedisValueData.class));
+    }
+
+    @Test
+    public void testOnkeySelectStreamsValuePages() throws Exception {
+        when(redisExplorerMvpModelMock.getKeyType(MOCK_SUBSCRIPTION, MOCK_ID, MOCK_DB, MOCK_KEY)).thenReturn(TYPE_HASH);
+        when(redisExplorerMvpModelMock.getValuePage(MOCK_SUBSCRIPTION, MOCK_ID, MOCK_DB, MOCK_KEY, RedisKeyType.HASH, MOCK_CURSOR)).thenReturn(valuePage(MOCK_NEXT_CURSOR));
+        when(redisExplorerMvpModelMock.getValuePage(MOCK_SUBSCRIPTION, MOCK_ID, MOCK_DB, MOCK_KEY, RedisKeyType.HASH, MOCK_NEXT_CURSOR)).thenReturn(valuePage(MOCK_CURSOR));
+
+        redisExplorerPresenter.onkeySelect(MOCK_DB, MOCK_KEY);
+        testSchedulerProvider.triggerActions();
+        verify(redisExplorerMvpViewMock).showContent(Mockito.any(RedisValueData.class));
+        verify(redisExplorerMvpViewMock).appendContent(Mockito.any(RedisValueData.class));
+    }
+
     @Test
     public void testOnGetKeyAndValue() throws Exception {
         when(redisExplorerMvpModelMock.checkKeyExistance(MOCK_SUBSCRIPTION, MOCK_ID, MOCK_DB, MOCK_KEY)).thenReturn(true);
         when(redisExplorerMvpModelMock.getKeyType(MOCK_SUBSCRIPTION, MOCK_ID, MOCK_DB, MOCK_KEY)).thenReturn(TYPE_STRING);
-        when(redisExplorerMvpModelMock.getStringValue(MOCK_SUBSCRIPTION, MOCK_ID, MOCK_DB, MOCK_KEY)).thenReturn("");
+        when(redisExplorerMvpModelMock.getValuePage(MOCK_SUBSCRIPTION, MOCK_ID, MOCK_DB, MOCK_KEY, RedisKeyType.STRING, MOCK_CURSOR)).thenReturn(valuePage(MOCK_CURSOR));
 
         redisExplorerPresenter.onGetKeyAndValue(MOCK_DB, MOCK_KEY);
         testSchedulerProvider.triggerActions();
@@ -200,6 +222,15 @@ public class RedisExplorerPresenterTest {
         verify(redisConnectionPoolsMock).releasePool(Mockito.eq(MOCK_ID));
     }
 
+    private static ScanResult<RedisKeyInfo> keyInfoPage() {
+        return new ScanResult<RedisKeyInfo>(MOCK_CURSOR,
+                Arrays.asList(new RedisKeyInfo(MOCK_KEY, TYPE_LIST, RedisKeyInfo.TTL_NO_EXPIRE)));
+    }
+
+    private static ScanResult<String[]> valuePage(String nextCursor) {
+        return new ScanResult<String[]>(nextCursor, new ArrayList<>(Collections.singletonList(new String[] { "" })));
+    }
+
     @After
     public void tearDown() {
         redisExplorerPresenter.onDetachView();
@@ -8,22 +8,44 @@ package com.microsoft.azuretools.core.mvp.model.rediscache;
 import com.microsoft.azure.management.redis.RedisCache;
 
 import java.io.IOException;
-import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisPool;
 import redis.clients.jedis.JedisPoolConfig;
+import redis.clients.jedis.exceptions.JedisConnectionException;
 
+/**
+ * The connection pools of the Redis Caches opened in explorers, one pool per cache. The pools are created lazily
+ * and independently, a slow cache or access key lookup only blocks the callers of the same cache.
+ */
 public class RedisConnectionPools {
 
     private static final int TIMEOUT = 500;
-    private static final int MAX_CONNECTIONS = 1;
+    private static final int MAX_POOLS = 8;
+    private static final int MAX_CONNECTIONS_PER_POOL = 8;
+    private static final int MAX_IDLE_CONNECTIONS_PER_POOL = 2;
+    private static final long MAX_BORROW_WAIT_MILLIS = 10000L;
+    private static final long EVICTION_INTERVAL_MILLIS = 30000L;
+    private static final long MIN_EVICTABLE_IDLE_MILLIS = 60000L;
     private static final String GANNOT_GET_RESID = "Cannot get Redis Cache from Azure.";
 
-    private LinkedHashMap<String, JedisPool> pools;
+    private final ConcurrentHashMap<String, PoolEntry> pools = new ConcurrentHashMap<>();
+
+    // Resolve the host and access keys through ARM outside of the callers
+    private final ExecutorService connectExecutor = Executors.newCachedThreadPool(runnable -> {
+        final Thread thread = new Thread(runnable, "RedisConnectionPools-connect");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     private RedisConnectionPools() {
-        this.pools = new LinkedHashMap<String, JedisPool>(MAX_CONNECTIONS);
     }
 
     private static final class RedisConnectionFactoryHolder {
@@ -34,6 +56,19 @@ public class RedisConnectionPools {
         return RedisConnectionFactoryHolder.INSTANCE;
     }
 
+    /**
+     * Start resolving the Redis Cache setting and creating the pool in background, so that it's ready when
+     * the explorer asks for the first connection.
+     *
+     * @param sid
+     *            subscription id of Redis Cache
+     * @param id
+     *            resource id of Redis Cache
+     */
+    public void preparePool(String sid, String id) {
+        getPoolEntry(sid, id);
+    }
+
     /**
      * Get Jedis connection.
      *
@@ -44,14 +79,16 @@ public class RedisConnectionPools {
      * @return jedis connection
      * @throws IOException Error getting the Redis Cache
      */
-    public synchronized Jedis getJedis(String sid, String id) throws Exception  {
-        if (pools.get(id) == null) {
-            if (pools.size() == MAX_CONNECTIONS) {
-                releasePool(pools.keySet().iterator().next());
-            }
-            connect(sid, id);
+    public Jedis getJedis(String sid, String id) throws Exception {
+        PoolEntry entry = getPoolEntry(sid, id);
+        try {
+            return getPool(id, entry).getResource();
+        } catch (JedisConnectionException e) {
+            // The host or access keys may be changed, recreate the pool with the fresh setting once
+            invalidatePool(id, entry);
+            PoolEntry freshEntry = getPoolEntry(sid, id);
+            return getPool(id, freshEntry).getResource();
         }
-        return pools.get(id).getResource();
     }
 
     /**
@@ -60,21 +97,83 @@ public class RedisConnectionPools {
      * @param id
      *            id of the jedisPool which needs to be destroyed
      */
-    public synchronized void releasePool(String id) {
-        if (pools.containsKey(id)) {
-            JedisPool jedisPool = pools.get(id);
-            if (jedisPool != null) {
-                jedisPool.destroy();
+    public void releasePool(String id) {
+        PoolEntry entry = pools.remove(id);
+        if (entry != null) {
+            entry.destroy();
+        }
+    }
+
+    /**
+     * Get the active, idle and waiting connection statistics of the created pools.
+     *
+     * @return the statistics keyed by the resource id of Redis Cache
+     */
+    public Map<String, RedisPoolStats> getPoolStats() {
+        Map<String, RedisPoolStats> stats = new TreeMap<>();
+        pools.forEach((id, entry) -> {
+            JedisPool pool = entry.getPoolIfReady();
+            if (pool != null && !pool.isClosed()) {
+                stats.put(id, new RedisPoolStats(pool.getNumActive(), pool.getNumIdle(), pool.getNumWaiters(),
+                        pool.getMaxBorrowWaitTimeMillis()));
+            }
+        });
+        return stats;
+    }
+
+    private PoolEntry getPoolEntry(String sid, String id) {
+        PoolEntry entry = pools.computeIfAbsent(id, key -> new PoolEntry(
+                CompletableFuture.supplyAsync(() -> connect(sid, id), connectExecutor)));
+        entry.touch();
+        evictLeastRecentlyUsedPools(entry);
+        return entry;
+    }
+
+    private JedisPool getPool(String id, PoolEntry entry) throws Exception {
+        try {
+            return entry.getPool();
+        } catch (Exception e) {
+            // Resolve the setting again for the next call instead of keeping the failure
+            pools.remove(id, entry);
+            throw e;
+        }
+    }
+
+    private void invalidatePool(String id, PoolEntry entry) {
+        if (pools.remove(id, entry)) {
+            entry.destroy();
+        }
+    }
+
+    private void evictLeastRecentlyUsedPools(PoolEntry inUse) {
+        while (pools.size() > MAX_POOLS) {
+            Map.Entry<String, PoolEntry> leastRecentlyUsed = null;
+            for (Map.Entry<String, PoolEntry> candidate : pools.entrySet()) {
+                if (candidate.getValue() == inUse) {
+                    continue;
+                }
+                if (leastRecentlyUsed == null
+                        || candidate.getValue().lastUsedMillis < leastRecentlyUsed.getValue().lastUsedMillis) {
+                    leastRecentlyUsed = candidate;
+                }
             }
-            pools.remove(id);
+            if (leastRecentlyUsed == null) {
+                return;
+            }
+            invalidatePool(leastRecentlyUsed.getKey(), leastRecentlyUsed.getValue());
         }
     }
 
-    private void connect(String sid, String id) throws Exception {
-        RedisCache redisCache = AzureRedisMvpModel.getInstance().getRedisCache(sid, id);
+    private JedisPool connect(String sid, String id) {
+        RedisCache redisCache;
+        try {
+            redisCache = AzureRedisMvpModel.getInstance().getRedisCache(sid, id);
+        } catch (Exception e) {
+            throw new IllegalStateException(GANNOT_GET_RESID, e);
+        }
 
         if (redisCache == null) {
-            throw new Exception(GANNOT_GET_RESID);
+            throw new IllegalStateException(GANNOT_GET_RESID);
         }
 
         // get redis setting
@@ -83,7 +182,59 @@ public class RedisConnectionPools {
         int port = redisCache.sslPort();
 
         // create connection pool according to redis setting
-        JedisPool pool = new JedisPool(new JedisPoolConfig(), hostName, port, TIMEOUT, password, true);
-        pools.put(id, pool);
+        return new JedisPool(createPoolConfig(), hostName, port, TIMEOUT, password, true);
+    }
+
+    private static JedisPoolConfig createPoolConfig() {
+        JedisPoolConfig config = new JedisPoolConfig();
+        config.setMaxTotal(MAX_CONNECTIONS_PER_POOL);
+        config.setMaxIdle(MAX_IDLE_CONNECTIONS_PER_POOL);
+        config.setMinIdle(0);
+        config.setMaxWaitMillis(MAX_BORROW_WAIT_MILLIS);
+        // Ping the idle connections in the evictor instead of every borrow, which costs a round trip
+        config.setTestOnBorrow(false);
+        config.setTestWhileIdle(true);
+        config.setTimeBetweenEvictionRunsMillis(EVICTION_INTERVAL_MILLIS);
+        config.setMinEvictableIdleTimeMillis(MIN_EVICTABLE_IDLE_MILLIS);
+        config.setNumTestsPerEvictionRun(-1);
+        config.setJmxEnabled(false);
+        return config;
+    }
+
+    private static final class PoolEntry {
+        private final CompletableFuture<JedisPool> pool;
+        private volatile long lastUsedMillis;
+
+        PoolEntry(CompletableFuture<JedisPool> pool) {
+            this.pool = pool;
+            this.lastUsedMillis = System.currentTimeMillis();
+        }
+
+        void touch() {
+            lastUsedMillis = System.currentTimeMillis();
+        }
+
+        JedisPool getPool() throws Exception {
+            try {
+                return pool.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw e;
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IllegalStateException && e.getCause().getCause() instanceof Exception) {
+                    throw (Exception) e.getCause().getCause();
+                }
+                throw new Exception(e.getCause().getMessage(), e.getCause());
+            }
+        }
+
+        JedisPool getPoolIfReady() {
+            return pool.isDone() && !pool.isCompletedExceptionally() ? pool.join() : null;
+        }
+
+        void destroy() {
+            // The pool being created is destroyed once it's created
+            pool.thenAccept(JedisPool::destroy);
+        }
     }
 }
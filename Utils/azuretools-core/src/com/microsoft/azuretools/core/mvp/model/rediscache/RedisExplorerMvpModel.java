@@ -5,11 +5,19 @@
 
 package com.microsoft.azuretools.core.mvp.model.rediscache;
 
+import static redis.clients.jedis.ScanParams.SCAN_POINTER_START;
+
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map.Entry;
 import java.util.Set;
 
+import com.microsoft.azuretools.azurecommons.helpers.RedisKeyType;
+
 import redis.clients.jedis.Jedis;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
 import redis.clients.jedis.ScanParams;
 import redis.clients.jedis.ScanResult;
 import redis.clients.jedis.Tuple;
@@ -22,6 +30,7 @@ public class RedisExplorerMvpModel {
     private static final int DEFAULT_KEY_COUNT = 50;
     private static final long DEFAULT_RANGE_START = 0;
     private static final int DEFAULT_VAL_COUNT = 500;
+    private static final int DEFAULT_KEY_INFO_COUNT = 500;
 
     private RedisExplorerMvpModel() {
     }
@@ -235,6 +244,156 @@ public class RedisExplorerMvpModel {
         }
     }
 
+    /**
+     * Scan one page of the keys, and read the types and TTLs of the page in one pipelined round trip, instead of
+     * one round trip per key.
+     *
+     * @param sid
+     *            subscription id of Redis Cache
+     * @param id
+     *            resource id of Redis Cache
+     * @param db
+     *            index of Redis Cache database
+     * @param cursor
+     *            cursor for Redis Scan command
+     * @param pattern
+     *            pattern for Redis Scan Param
+     * @return the keys with their types and TTLs, and the cursor of the next page
+     * @throws Exception
+     */
+    public ScanResult<RedisKeyInfo> scanKeyInfos(String sid, String id, int db, String cursor, String pattern)
+            throws Exception {
+        try (Jedis jedis = RedisConnectionPools.getInstance().getJedis(sid, id)) {
+            return scanKeyInfos(jedis, db, cursor, pattern, DEFAULT_KEY_INFO_COUNT);
+        }
+    }
+
+    /**
+     * Scan one page of the keys with the given connection, which can be to a local Redis server.
+     *
+     * @param jedis
+     *            the connection to Redis
+     * @param db
+     *            index of Redis database
+     * @param cursor
+     *            cursor for Redis Scan command
+     * @param pattern
+     *            pattern for Redis Scan Param
+     * @param count
+     *            count hint for Redis Scan Param
+     * @return the keys with their types and TTLs, and the cursor of the next page
+     * @throws Exception
+     */
+    public ScanResult<RedisKeyInfo> scanKeyInfos(Jedis jedis, int db, String cursor, String pattern, int count)
+            throws Exception {
+        jedis.select(db);
+        ScanResult<String> keys = jedis.scan(cursor, new ScanParams().match(pattern).count(count));
+
+        List<Response<String>> types = new ArrayList<>(keys.getResult().size());
+        List<Response<Long>> ttls = new ArrayList<>(keys.getResult().size());
+        try (Pipeline pipeline = jedis.pipelined()) {
+            for (String key : keys.getResult()) {
+                types.add(pipeline.type(key));
+                ttls.add(pipeline.pttl(key));
+            }
+            pipeline.sync();
+        }
+
+        List<RedisKeyInfo> keyInfos = new ArrayList<>(keys.getResult().size());
+        for (int i = 0; i < keys.getResult().size(); i++) {
+            keyInfos.add(new RedisKeyInfo(keys.getResult().get(i), types.get(i).get(), ttls.get(i).get()));
+        }
+        return new ScanResult<>(keys.getStringCursor(), keyInfos);
+    }
+
+    /**
+     * Get one page of the value of a key as table rows. The list and zset values are paged by index, and the set
+     * and hash values by Redis Scan cursor, so that a large value is read page by page.
+     *
+     * @param sid
+     *            subscription id of Redis Cache
+     * @param id
+     *            resource id of Redis Cache
+     * @param db
+     *            index of Redis Cache database
+     * @param key
+     *            name of the key
+     * @param type
+     *            type of the key
+     * @param cursor
+     *            cursor of the page, SCAN_POINTER_START for the first page
+     * @return the rows of the page, and the cursor of the next page which is SCAN_POINTER_START for the last page
+     * @throws Exception
+     */
+    public ScanResult<String[]> getValuePage(String sid, String id, int db, String key, RedisKeyType type,
+            String cursor) throws Exception {
+        try (Jedis jedis = RedisConnectionPools.getInstance().getJedis(sid, id)) {
+            return getValuePage(jedis, db, key, type, cursor, DEFAULT_VAL_COUNT);
+        }
+    }
+
+    /**
+     * Get one page of the value of a key with the given connection, which can be to a local Redis server.
+     *
+     * @param jedis
+     *            the connection to Redis
+     * @param db
+     *            index of Redis database
+     * @param key
+     *            name of the key
+     * @param type
+     *            type of the key
+     * @param cursor
+     *            cursor of the page, SCAN_POINTER_START for the first page
+     * @param count
+     *            the number of rows of the page, it's a hint for the set and hash values
+     * @return the rows of the page, and the cursor of the next page which is SCAN_POINTER_START for the last page
+     * @throws Exception
+     */
+    public ScanResult<String[]> getValuePage(Jedis jedis, int db, String key, RedisKeyType type, String cursor,
+            int count) throws Exception {
+        jedis.select(db);
+        List<String[]> rows = new ArrayList<>();
+        switch (type) {
+            case STRING:
+                rows.add(new String[] { jedis.get(key) });
+                return new ScanResult<>(SCAN_POINTER_START, rows);
+            case LIST:
+                long listStart = Long.parseLong(cursor);
+                List<String> items = jedis.lrange(key, listStart, listStart + count - 1);
+                for (int i = 0; i < items.size(); i++) {
+                    rows.add(new String[] { String.valueOf(listStart + i + 1), items.get(i) });
+                }
+                return new ScanResult<>(getNextIndexCursor(listStart, items.size(), count), rows);
+            case SET:
+                ScanResult<String> members = jedis.sscan(key, cursor, new ScanParams().count(count));
+                for (String member : members.getResult()) {
+                    rows.add(new String[] { member });
+                }
+                return new ScanResult<>(members.getStringCursor(), rows);
+            case ZSET:
+                // Paged by index instead of ZSCAN to keep the members sorted by score
+                long zsetStart = Long.parseLong(cursor);
+                Set<Tuple> tuples = jedis.zrangeWithScores(key, zsetStart, zsetStart + count - 1);
+                for (Tuple tuple : tuples) {
+                    rows.add(new String[] { String.valueOf(tuple.getScore()), tuple.getElement() });
+                }
+                return new ScanResult<>(getNextIndexCursor(zsetStart, tuples.size(), count), rows);
+            case HASH:
+                ScanResult<Entry<String, String>> fields = jedis.hscan(key, cursor, new ScanParams().count(count));
+                for (Entry<String, String> field : fields.getResult()) {
+                    rows.add(new String[] { field.getKey(), field.getValue() });
+                }
+                return new ScanResult<>(fields.getStringCursor(), rows);
+            default:
+                return new ScanResult<>(SCAN_POINTER_START, Collections.emptyList());
+        }
+    }
+
+    private static String getNextIndexCursor(long start, int size, int count) {
+        return size < count ? SCAN_POINTER_START : String.valueOf(start + size);
+    }
+
     private boolean canConnect(Jedis jedis, int index) {
         try {
             jedis.select(index);
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azuretools.core.mvp.model.rediscache;
+
+/**
+ * The key scanned from a Redis Cache, with its type and TTL read in the same pipeline as the scan page.
+ */
+public class RedisKeyInfo {
+
+    public static final long TTL_NO_EXPIRE = -1L;
+
+    private final String key;
+    private final String type;
+    private final long ttlMillis;
+
+    /**
+     * Constructor for RedisKeyInfo class.
+     *
+     * @param key
+     *            name of the key
+     * @param type
+     *            type of the key returned by Redis TYPE command
+     * @param ttlMillis
+     *            remaining time to live in milliseconds returned by Redis PTTL command, TTL_NO_EXPIRE if the key
+     *            has no expiration
+     */
+    public RedisKeyInfo(String key, String type, long ttlMillis) {
+        this.key = key;
+        this.type = type;
+        this.ttlMillis = ttlMillis;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public long getTtlMillis() {
+        return ttlMillis;
+    }
+}
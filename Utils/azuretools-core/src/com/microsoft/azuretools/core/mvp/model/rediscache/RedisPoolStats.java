@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azuretools.core.mvp.model.rediscache;
+
+/**
+ * The connection statistics of a Redis Cache connection pool.
+ */
+public class RedisPoolStats {
+
+    private final int active;
+    private final int idle;
+    private final int waiters;
+    private final long maxBorrowWaitMillis;
+
+    /**
+     * Constructor for RedisPoolStats class.
+     *
+     * @param active
+     *            the number of connections borrowed from the pool
+     * @param idle
+     *            the number of connections idle in the pool
+     * @param waiters
+     *            the number of callers waiting for a connection
+     * @param maxBorrowWaitMillis
+     *            the max time in milliseconds a caller waited for a connection
+     */
+    public RedisPoolStats(int active, int idle, int waiters, long maxBorrowWaitMillis) {
+        this.active = active;
+        this.idle = idle;
+        this.waiters = waiters;
+        this.maxBorrowWaitMillis = maxBorrowWaitMillis;
+    }
+
+    public int getActive() {
+        return active;
+    }
+
+    public int getIdle() {
+        return idle;
+    }
+
+    public int getWaiters() {
+        return waiters;
+    }
+
+    public long getMaxBorrowWaitMillis() {
+        return maxBorrowWaitMillis;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("[active: %d; idle: %d; waiters: %d; max borrow wait: %dms]",
+                active, idle, waiters, maxBorrowWaitMillis);
+    }
+}
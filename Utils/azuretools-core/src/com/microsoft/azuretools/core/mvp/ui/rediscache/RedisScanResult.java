@@ -5,21 +5,44 @@
 
 package com.microsoft.azuretools.core.mvp.ui.rediscache;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
+import com.microsoft.azuretools.core.mvp.model.rediscache.RedisKeyInfo;
+
 import redis.clients.jedis.ScanResult;
 
 public class RedisScanResult {
 
     private List<String> keys;
+    private List<RedisKeyInfo> keyInfos;
     private String nextCursor;
 
 
     public RedisScanResult(ScanResult<String> result) {
         this.keys = result.getResult();
+        this.keyInfos = Collections.emptyList();
         this.nextCursor = result.getStringCursor();
     }
 
+    /**
+     * Constructor for the scan result with the key types and TTLs.
+     *
+     * @param keyInfos
+     *            the scanned keys with their types and TTLs
+     * @param nextCursor
+     *            the cursor of the next page
+     */
+    public RedisScanResult(List<RedisKeyInfo> keyInfos, String nextCursor) {
+        this.keys = new ArrayList<>(keyInfos.size());
+        for (RedisKeyInfo keyInfo : keyInfos) {
+            this.keys.add(keyInfo.getKey());
+        }
+        this.keyInfos = keyInfos;
+        this.nextCursor = nextCursor;
+    }
+
     public String getNextCursor() {
         return nextCursor;
     }
@@ -27,4 +50,8 @@ public class RedisScanResult {
     public List<String> getKeys() {
         return keys;
     }
+
+    public List<RedisKeyInfo> getKeyInfos() {
+        return keyInfos;
+    }
 }
@@ -5,11 +5,15 @@
 
 package com.microsoft.azuretools.core.mvp.model.rediscache;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.Map;
+
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -24,6 +28,7 @@ import com.microsoft.azure.management.redis.RedisCache;
 
 import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.exceptions.JedisConnectionException;
 
 @RunWith(PowerMockRunner.class)
 @PrepareForTest({
@@ -90,4 +95,28 @@ public class RedisConnectionPoolsTest {
         RedisConnectionPools.getInstance().releasePool(MOCK_REDIS_ID);
         verify(jedisPoolMock, times(0)).destroy();
     }
+
+    @Test
+    public void testRecreateBrokenPool() throws Exception {
+        when(jedisPoolMock.getResource()).thenThrow(new JedisConnectionException(MOCK_RETURN_STRING))
+                .thenReturn(jedisMock);
+        assertEquals(jedisMock, RedisConnectionPools.getInstance().getJedis(MOCK_SUBSCRIPTION, MOCK_REDIS_ID));
+        verify(jedisPoolMock, times(2)).getResource();
+        verify(jedisPoolMock, times(1)).destroy();
+        RedisConnectionPools.getInstance().releasePool(MOCK_REDIS_ID);
+    }
+
+    @Test
+    public void testGetPoolStats() throws Exception {
+        when(jedisPoolMock.getNumActive()).thenReturn(1);
+        when(jedisPoolMock.getNumIdle()).thenReturn(2);
+        RedisConnectionPools.getInstance().getJedis(MOCK_SUBSCRIPTION, MOCK_REDIS_ID);
+        Map<String, RedisPoolStats> stats = RedisConnectionPools.getInstance().getPoolStats();
+        assertEquals(1, stats.size());
+        assertEquals(1, stats.get(MOCK_REDIS_ID).getActive());
+        assertEquals(2, stats.get(MOCK_REDIS_ID).getIdle());
+
+        RedisConnectionPools.getInstance().releasePool(MOCK_REDIS_ID);
+        assertTrue(RedisConnectionPools.getInstance().getPoolStats().isEmpty());
+    }
 }
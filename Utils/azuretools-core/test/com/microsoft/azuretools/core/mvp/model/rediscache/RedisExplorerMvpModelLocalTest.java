@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azuretools.core.mvp.model.rediscache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static redis.clients.jedis.ScanParams.SCAN_POINTER_START;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.microsoft.azuretools.azurecommons.helpers.RedisKeyType;
+
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.ScanResult;
+import redis.clients.jedis.exceptions.JedisConnectionException;
+
+/**
+ * Run the batched explorer reads against a local Redis server, which is given by the system properties
+ * redis.test.host and redis.test.port. The tests are skipped if the server can't be connected.
+ */
+public class RedisExplorerMvpModelLocalTest {
+
+    private static final String KEY_PREFIX = "azure-toolkit-test:";
+    private static final int TEST_DB = 1;
+    private static final int PAGE_COUNT = 10;
+    private static final int VALUE_SIZE = 25;
+
+    private Jedis jedis;
+
+    @Before
+    public void setUp() {
+        jedis = new Jedis(System.getProperty("redis.test.host", "localhost"),
+                Integer.getInteger("redis.test.port", 6379));
+        try {
+            jedis.select(TEST_DB);
+        } catch (JedisConnectionException e) {
+            Assume.assumeNoException(e);
+        }
+        deleteTestKeys();
+
+        jedis.set(KEY_PREFIX + "string", "value");
+        jedis.pexpire(KEY_PREFIX + "string", 60000L);
+        for (int i = 0; i < VALUE_SIZE; i++) {
+            jedis.rpush(KEY_PREFIX + "list", "item" + i);
+            jedis.sadd(KEY_PREFIX + "set", "member" + i);
+            jedis.zadd(KEY_PREFIX + "zset", i, "member" + i);
+            jedis.hset(KEY_PREFIX + "hash", "field" + i, "value" + i);
+        }
+    }
+
+    @After
+    public void tearDown() {
+        if (jedis != null && jedis.isConnected()) {
+            deleteTestKeys();
+            jedis.close();
+        }
+    }
+
+    @Test
+    public void testScanKeyInfos() throws Exception {
+        List<RedisKeyInfo> keyInfos = new ArrayList<>();
+        String cursor = SCAN_POINTER_START;
+        do {
+            ScanResult<RedisKeyInfo> page = RedisExplorerMvpModel.getInstance().scanKeyInfos(jedis, TEST_DB, cursor,
+                    KEY_PREFIX + "*", PAGE_COUNT);
+            keyInfos.addAll(page.getResult());
+            cursor = page.getStringCursor();
+        } while (!SCAN_POINTER_START.equals(cursor));
+
+        assertEquals(5, keyInfos.size());
+        for (RedisKeyInfo keyInfo : keyInfos) {
+            assertEquals(keyInfo.getKey().substring(KEY_PREFIX.length()), keyInfo.getType());
+            if (keyInfo.getType().equals("string")) {
+                assertTrue(keyInfo.getTtlMillis() > 0);
+            } else {
+                assertEquals(RedisKeyInfo.TTL_NO_EXPIRE, keyInfo.getTtlMillis());
+            }
+        }
+    }
+
+    @Test
+    public void testGetValuePages() throws Exception {
+        assertEquals(1, readAllRows(RedisKeyType.STRING, "string").size());
+        for (RedisKeyType type : new RedisKeyType[] { RedisKeyType.LIST, RedisKeyType.SET, RedisKeyType.ZSET,
+                RedisKeyType.HASH }) {
+            List<String[]> rows = readAllRows(type, type.name().toLowerCase());
+            Set<String> members = new HashSet<>();
+            for (String[] row : rows) {
+                members.add(row[row.length - 1]);
+            }
+            assertEquals(VALUE_SIZE, members.size());
+        }
+        assertEquals("1", readAllRows(RedisKeyType.LIST, "list").get(0)[0]);
+    }
+
+    private List<String[]> readAllRows(RedisKeyType type, String keySuffix) throws Exception {
+        List<String[]> rows = new ArrayList<>();
+        String cursor = SCAN_POINTER_START;
+        do {
+            ScanResult<String[]> page = RedisExplorerMvpModel.getInstance().getValuePage(jedis, TEST_DB,
+                    KEY_PREFIX + keySuffix, type, cursor, PAGE_COUNT);
+            rows.addAll(page.getResult());
+            cursor = page.getStringCursor();
+        } while (!SCAN_POINTER_START.equals(cursor));
+        return rows;
+    }
+
+    private void deleteTestKeys() {
+        Set<String> keys = jedis.keys(KEY_PREFIX + "*");
+        if (!keys.isEmpty()) {
+            jedis.del(keys.toArray(new String[0]));
+        }
+    }
+}
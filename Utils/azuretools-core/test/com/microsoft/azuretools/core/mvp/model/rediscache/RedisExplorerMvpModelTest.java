@@ -5,11 +5,16 @@
 
 package com.microsoft.azuretools.core.mvp.model.rediscache;
 
+import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.Arrays;
+import java.util.Collections;
+
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -20,8 +25,13 @@ import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 
+import com.microsoft.azuretools.azurecommons.helpers.RedisKeyType;
+
 import redis.clients.jedis.Jedis;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
 import redis.clients.jedis.ScanParams;
+import redis.clients.jedis.ScanResult;
 
 @RunWith(PowerMockRunner.class)
 @PrepareForTest({
@@ -35,6 +45,15 @@ public class RedisExplorerMvpModelTest {
     @Mock
     private Jedis jedisMock;
 
+    @Mock
+    private Pipeline pipelineMock;
+
+    @Mock
+    private Response<String> typeResponseMock;
+
+    @Mock
+    private Response<Long> ttlResponseMock;
+
     private static final String MOCK_SUBSCRIPTION = "00000000-0000-0000-0000-000000000000";
     private static final String MOCK_REDIS_ID = "test-id";
     private static final int MOCK_DB = 0;
@@ -117,6 +136,47 @@ public class RedisExplorerMvpModelTest {
         verify(jedisMock, times(1)).hscan(Mockito.eq(MOCK_KEY), Mockito.eq(MOCK_CURSOR), Mockito.any(ScanParams.class));
     }
 
+    @Test
+    public void testScanKeyInfos() throws Exception {
+        when(jedisMock.scan(Mockito.eq(MOCK_CURSOR), Mockito.any(ScanParams.class)))
+                .thenReturn(new ScanResult<String>(MOCK_CURSOR, Arrays.asList(MOCK_KEY)));
+        when(jedisMock.pipelined()).thenReturn(pipelineMock);
+        when(pipelineMock.type(MOCK_KEY)).thenReturn(typeResponseMock);
+        when(pipelineMock.pttl(MOCK_KEY)).thenReturn(ttlResponseMock);
+        when(typeResponseMock.get()).thenReturn("hash");
+        when(ttlResponseMock.get()).thenReturn(RedisKeyInfo.TTL_NO_EXPIRE);
+
+        ScanResult<RedisKeyInfo> result = RedisExplorerMvpModel.getInstance().scanKeyInfos(MOCK_SUBSCRIPTION,
+                MOCK_REDIS_ID, MOCK_DB, MOCK_CURSOR, MOCK_PATTERN);
+        verify(jedisMock, times(1)).select(Mockito.eq(MOCK_DB));
+        verify(jedisMock, never()).type(anyString());
+        verify(pipelineMock, times(1)).sync();
+        assertEquals(1, result.getResult().size());
+        assertEquals("hash", result.getResult().get(0).getType());
+    }
+
+    @Test
+    public void testGetListValuePage() throws Exception {
+        when(jedisMock.lrange(MOCK_KEY, 0L, MOCK_LEN - 1)).thenReturn(Collections.nCopies((int) MOCK_LEN, "item"));
+
+        ScanResult<String[]> page = RedisExplorerMvpModel.getInstance().getValuePage(jedisMock, MOCK_DB, MOCK_KEY,
+                RedisKeyType.LIST, MOCK_CURSOR, (int) MOCK_LEN);
+        verify(jedisMock, times(1)).select(Mockito.eq(MOCK_DB));
+        assertEquals(String.valueOf(MOCK_LEN), page.getStringCursor());
+        assertEquals("1", page.getResult().get(0)[0]);
+    }
+
+    @Test
+    public void testGetSetValuePage() throws Exception {
+        when(jedisMock.sscan(Mockito.eq(MOCK_KEY), Mockito.eq(MOCK_CURSOR), Mockito.any(ScanParams.class)))
+                .thenReturn(new ScanResult<String>(MOCK_CURSOR, Arrays.asList("member")));
+
+        ScanResult<String[]> page = RedisExplorerMvpModel.getInstance().getValuePage(MOCK_SUBSCRIPTION,
+                MOCK_REDIS_ID, MOCK_DB, MOCK_KEY, RedisKeyType.SET, MOCK_CURSOR);
+        assertEquals(MOCK_CURSOR, page.getStringCursor());
+        assertEquals("member", page.getResult().get(0)[0]);
+    }
+
     @Test
     public void testCheckKeyExistance() throws Exception {
         RedisExplorerMvpModel.getInstance().checkKeyExistance(MOCK_SUBSCRIPTION, MOCK_REDIS_ID, MOCK_DB, MOCK_KEY);
@@ -35,12 +35,18 @@ import org.mockito.ArgumentMatchers
 import org.mockito.Mockito.*
 import rx.Observable
 import java.io.ByteArrayInputStream
+import java.io.ByteArrayOutputStream
 import java.net.URI
+import java.util.Base64
+import java.util.Random
+import java.util.zip.InflaterInputStream
 
 class ClusterFileBase64BufferedOutputStreamScenario {
     var clusterFileBase64OutputStream: ClusterFileBase64BufferedOutputStream? = null
     var sessionMock: Session? = null
     var runCodesArg: ArgumentCaptor<String>? = null
+    var clusterFilePipelinedOutputStream: ClusterFilePipelinedOutputStream? = null
+    var uploadedBytes: ByteArray = ByteArray(0)
 
     @Before
     fun setUp() {
@@ -74,4 +80,47 @@ class ClusterFileBase64BufferedOutputStreamScenario {
 
         verify(sessionMock!!, times(codeLinesExpect.size)).runCodes(ArgumentMatchers.anyString())
     }
-}
\ No newline at end of file
+
+    @And("^create a Spark cluster file pipelined output stream '(.+)'$")
+    fun createClusterFilePipelinedOutputStream(dest: String) {
+        clusterFilePipelinedOutputStream = ClusterFilePipelinedOutputStream(sessionMock, URI.create(dest))
+    }
+
+    @Then("^uploading (\\d+) bytes of random and (\\d+) bytes of zeros with the pipelined output stream$")
+    fun uploadBytesWithPipelinedOutputStream(randomSize: Int, zerosSize: Int) {
+        val randomBytes = ByteArray(randomSize)
+        Random(0).nextBytes(randomBytes)
+        uploadedBytes = randomBytes + ByteArray(zerosSize)
+
+        clusterFilePipelinedOutputStream.use {   // autoclose resource
+            IOUtils.copy(ByteArrayInputStream(uploadedBytes), it)
+        }
+    }
+
+    @Then("^check the pages send to Livy session should be decoded as the uploaded bytes$")
+    fun checkPipelinedPages() {
+        val pageRegex = """writePage\((\d+), (true|false), Seq\((.*)\)\)""".toRegex()
+        val pages = runCodesArg!!.allValues
+                .mapNotNull { pageRegex.matchEntire(it) }
+                .map { match ->
+                    val (seq, deflated, literals) = match.destructured
+                    val pageBytes = Base64.getDecoder().decode(literals.split(", ").joinToString("") { it.trim('"') })
+
+                    seq.toInt() to if (deflated.toBoolean()) inflate(pageBytes) else pageBytes
+                }
+
+        // The page size is adaptive, only the sequence numbers are checked
+        val pageCount = pages.size
+        assertThat(pages.map { it.first }).containsExactlyInAnyOrderElementsOf((0 until pageCount).toList())
+        assertThat(pages.sortedBy { it.first }.map { it.second }.reduce { acc, bytes -> acc + bytes })
+                .isEqualTo(uploadedBytes)
+        assertThat(runCodesArg!!.allValues.last()).isEqualTo("closeUpload($pageCount)")
+    }
+
+    private fun inflate(compressed: ByteArray): ByteArray {
+        val out = ByteArrayOutputStream()
+        IOUtils.copy(InflaterInputStream(ByteArrayInputStream(compressed)), out)
+
+        return out.toByteArray()
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.hdinsight.spark.common;
+
+import com.microsoft.azure.hdinsight.spark.common.log.SparkLogLine;
+import cucumber.api.java.Before;
+import cucumber.api.java.en.Given;
+import cucumber.api.java.en.Then;
+import cucumber.api.java.en.When;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.FileUtils;
+import rx.Observable;
+import rx.Observer;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ContentAddressedDeployScenario {
+    private ContentAddressableDeployable delegateMock;
+    private ArtifactContentIndex index;
+    private Observer<SparkLogLine> logSubjectMock;
+    private File artifact;
+    private String contentAddress;
+    private String deployedPath;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        delegateMock = mock(ContentAddressableDeployable.class);
+        logSubjectMock = mock(Observer.class);
+        index = new ArtifactContentIndex(false);
+
+        when(delegateMock.getStorageKey()).thenReturn("adl://store/SparkSubmission");
+    }
+
+    @Given("^create the artifact '(.+)' with content '(.+)' to deploy by content address$")
+    public void createArtifact(String name, String content) throws Throwable {
+        artifact = new File(Files.createTempDirectory("cas").toFile(), name);
+        artifact.deleteOnExit();
+        FileUtils.writeStringToFile(artifact, content, StandardCharsets.UTF_8);
+
+        contentAddress = String.format("%s/%s/%s",
+                ContentAddressedDeploy.CAS_FOLDER, DigestUtils.sha256Hex(content), name);
+    }
+
+    @Given("^the content addressed storage holds the artifact at '(.+)'$")
+    public void mockProbeFound(String uploadedPath) {
+        when(delegateMock.probe(anyString(), anyLong())).thenReturn(Observable.just(uploadedPath));
+    }
+
+    @Given("^the content addressed storage doesn't hold the artifact$")
+    public void mockProbeNotFound() {
+        when(delegateMock.probe(anyString(), anyLong())).thenReturn(Observable.empty());
+    }
+
+    @Given("^probing the content addressed storage fails with '(.+)'$")
+    public void mockProbeFailure(String message) {
+        when(delegateMock.probe(anyString(), anyLong())).thenReturn(Observable.error(new IOException(message)));
+    }
+
+    @Given("^the artifact uploaded by content address will be at '(.+)'$")
+    public void mockDeployTo(String uploadedPath) {
+        when(delegateMock.deployTo(any(File.class), anyString(), any())).thenReturn(Observable.just(uploadedPath));
+    }
+
+    @When("^deploy the artifact by content address$")
+    public void deploy() {
+        deployedPath = new ContentAddressedDeploy(delegateMock, index)
+                .deploy(artifact, logSubjectMock)
+                .toBlocking()
+                .single();
+    }
+
+    @Given("^the artifact is indexed as deployed at '(.+)'$")
+    public void indexDeployed(String uploadedPath) throws Throwable {
+        index.putDeployed("adl://store/SparkSubmission", index.getContentHash(artifact), uploadedPath);
+    }
+
+    @Then("^the content addressed deploy result should be '(.+)'$")
+    public void checkDeployedPath(String expected) {
+        assertEquals(expected, deployedPath);
+    }
+
+    @Then("^the artifact should be probed at its content address$")
+    public void checkProbed() {
+        verify(delegateMock).probe(contentAddress, artifact.length());
+    }
+
+    @Then("^the artifact should not be probed by content address$")
+    public void checkNotProbed() {
+        verify(delegateMock, never()).probe(anyString(), anyLong());
+    }
+
+    @Then("^the artifact should be indexed as deployed at '(.+)'$")
+    public void checkIndexed(String expected) throws Throwable {
+        final ArtifactContentIndex.DeployedArtifact deployed =
+                index.getDeployed("adl://store/SparkSubmission", index.getContentHash(artifact));
+
+        assertNotNull(deployed);
+        assertEquals(expected, deployed.getUploadedPath());
+    }
+
+    @Then("^the artifact should be uploaded to its content address$")
+    public void checkUploaded() {
+        verify(delegateMock).deployTo(eq(artifact), eq(contentAddress), any());
+    }
+
+    @Then("^the artifact should not be uploaded by content address$")
+    public void checkNotUploaded() {
+        verify(delegateMock, never()).deployTo(any(File.class), anyString(), any());
+    }
+}
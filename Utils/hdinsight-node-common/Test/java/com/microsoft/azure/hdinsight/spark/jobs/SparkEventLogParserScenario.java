@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.hdinsight.spark.jobs;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microsoft.azure.hdinsight.sdk.rest.spark.event.JobStartEventLog;
+import cucumber.api.java.en.Given;
+import cucumber.api.java.en.Then;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SparkEventLogParserScenario {
+    private static final String JOB_START_LINE = "{\"Event\":\"SparkListenerJobStart\",\"Job ID\":%d,"
+            + "\"Submission Time\":1514966240000,\"Stage Infos\":[{\"Stage ID\":%d,\"Stage Attempt ID\":0,"
+            + "\"Stage Name\":\"count at Main.scala:10\",\"Number of Tasks\":2,\"RDD Info\":[],\"Parent IDs\":[],"
+            + "\"Details\":\"\",\"Accumulables\":[]}],\"Stage IDs\":[%d],\"Properties\":{}}\n";
+
+    private static final String TASK_END_LINE = "{\"Event\":\"SparkListenerTaskEnd\",\"Stage ID\":0,"
+            + "\"Stage Attempt ID\":0,\"Task Type\":\"ResultTask\",\"Task End Reason\":{\"Reason\":\"Success\"},"
+            + "\"Task Info\":{\"Task ID\":0,\"Index\":0,\"Attempt\":0,\"Launch Time\":1514966240000,"
+            + "\"Executor ID\":\"1\",\"Host\":\"wn0\",\"Locality\":\"PROCESS_LOCAL\",\"Speculative\":false}}\n";
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private List<JobStartEventLog> jobStartEvents;
+
+    @Given("^parse Spark event log lines:$")
+    public void parseEventLogLines(List<String> lines) throws Throwable {
+        final String eventLog = String.join("\n", lines);
+
+        jobStartEvents = SparkEventLogParser.parseJobStartEvents(
+                new ByteArrayInputStream(eventLog.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Given("^parse a synthetic Spark event log of (\\d+)MB with a job start event every (\\d+) task end events$")
+    public void parseSyntheticEventLog(int sizeMB, int tasksPerJob) throws Throwable {
+        try (final InputStream eventLog = new SyntheticEventLogInputStream((long) sizeMB * 1024 * 1024, tasksPerJob)) {
+            jobStartEvents = SparkEventLogParser.parseJobStartEvents(eventLog);
+        }
+    }
+
+    @Then("^the parsed job start event IDs should be:$")
+    public void checkJobIds(List<Integer> jobIds) throws Throwable {
+        assertThat(jobStartEvents.stream().map(JobStartEventLog::getJobId).collect(Collectors.toList()))
+                .containsExactlyElementsOf(jobIds);
+    }
+
+    @Then("^the parsed job start events should be (\\d+) in sequence$")
+    public void checkJobCount(int count) throws Throwable {
+        assertThat(jobStartEvents).hasSize(count);
+
+        for (int i = 0; i < count; i++) {
+            assertThat(jobStartEvents.get(i).getJobId()).isEqualTo(i);
+            assertThat(jobStartEvents.get(i).getStageIds()).containsExactly(i);
+        }
+    }
+
+    @Then("^the parsed job start events should be the same after cached$")
+    public void checkCachedEvents() throws Throwable {
+        final File cacheFile = File.createTempFile("jobStartEvents", ".json");
+        cacheFile.deleteOnExit();
+
+        SparkEventLogParser.writeCachedJobStartEvents(cacheFile, jobStartEvents);
+        final List<JobStartEventLog> cached = SparkEventLogParser.readCachedJobStartEvents(cacheFile);
+
+        assertThat(cached).hasSameSizeAs(jobStartEvents);
+
+        for (int i = 0; i < cached.size(); i++) {
+            final JobStartEventLog actual = cached.get(i);
+            final JobStartEventLog expected = jobStartEvents.get(i);
+
+            assertThat(actual).isEqualToComparingOnlyGivenFields(
+                    expected, "jobId", "event", "submissionTime", "properties");
+            assertThat(actual.getStageIds()).containsExactly(expected.getStageIds());
+            // Stage infos have no equals(), compare them in the JSON form
+            assertThat(mapper.writeValueAsString(actual.getStageInfos()))
+                    .isEqualTo(mapper.writeValueAsString(expected.getStageInfos()));
+        }
+    }
+
+    /**
+     * Generate the event log lines on the fly, to parse a large log without holding it in memory
+     */
+    private static class SyntheticEventLogInputStream extends InputStream {
+        private final long size;
+        private final int tasksPerJob;
+        private final byte[] taskEndLine = TASK_END_LINE.getBytes(StandardCharsets.UTF_8);
+
+        private long position = 0;
+        private int lineCount = 0;
+        private int jobCount = 0;
+        private byte[] line = new byte[0];
+        private int linePos = 0;
+
+        SyntheticEventLogInputStream(long size, int tasksPerJob) {
+            this.size = size;
+            this.tasksPerJob = tasksPerJob;
+        }
+
+        private boolean nextLine() {
+            if (position >= size) {
+                return false;
+            }
+
+            if (lineCount++ % (tasksPerJob + 1) == 0) {
+                line = String.format(JOB_START_LINE, jobCount, jobCount, jobCount).getBytes(StandardCharsets.UTF_8);
+                jobCount++;
+            } else {
+                line = taskEndLine;
+            }
+
+            linePos = 0;
+            return true;
+        }
+
+        @Override
+        public int read() {
+            final byte[] oneByte = new byte[1];
+
+            return read(oneByte, 0, 1) < 0 ? -1 : oneByte[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] bytes, int off, int len) {
+            if (linePos >= line.length && !nextLine()) {
+                return -1;
+            }
+
+            final int count = Math.min(len, line.length - linePos);
+            System.arraycopy(line, linePos, bytes, off, count);
+            linePos += count;
+            position += count;
+
+            return count;
+        }
+    }
+}
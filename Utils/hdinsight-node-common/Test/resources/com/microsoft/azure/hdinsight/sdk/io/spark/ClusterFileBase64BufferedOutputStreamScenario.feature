@@ -52,3 +52,9 @@ Feature: ClusterFileBase64KBBufferedOutputStream tests
       writePage("AAAAAAAACQAAAAAAAAAAAAAAAAAABQAATUVUQS1JTkYvUEsFBgAAAAAEAAQA+gAAACcFAAAAAA==")###__CMD_END__###
       out.close()###__CMD_END__###
       """
+
+  Scenario: Upload binary pages with pipelined output stream and mocked Livy session
+    Given create a mocked Livy session for ClusterFileBase64KBBufferedOutputStream
+    And create a Spark cluster file pipelined output stream '/tmp/test.jar'
+    Then uploading 300000 bytes of random and 500000 bytes of zeros with the pipelined output stream
+    Then check the pages send to Livy session should be decoded as the uploaded bytes
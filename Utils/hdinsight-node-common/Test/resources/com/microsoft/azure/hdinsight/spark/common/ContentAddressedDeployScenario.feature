@@ -0,0 +1,36 @@
+Feature: Content Addressed Deploy unit test
+
+  Scenario: Content Addressed Deploy reuses the artifact already uploaded
+    Given create the artifact 'app.jar' with content 'spark job v1' to deploy by content address
+    And the content addressed storage holds the artifact at 'adl://store/SparkSubmission/cas/app.jar'
+    When deploy the artifact by content address
+    Then the content addressed deploy result should be 'adl://store/SparkSubmission/cas/app.jar'
+    And the artifact should be probed at its content address
+    And the artifact should not be uploaded by content address
+    And the artifact should be indexed as deployed at 'adl://store/SparkSubmission/cas/app.jar'
+
+  Scenario: Content Addressed Deploy reuses the indexed artifact without probing
+    Given create the artifact 'app.jar' with content 'spark job v4' to deploy by content address
+    And the artifact is indexed as deployed at 'adl://store/SparkSubmission/cas/indexed/app.jar'
+    When deploy the artifact by content address
+    Then the content addressed deploy result should be 'adl://store/SparkSubmission/cas/indexed/app.jar'
+    And the artifact should not be probed by content address
+    And the artifact should not be uploaded by content address
+
+  Scenario: Content Addressed Deploy uploads the artifact not found
+    Given create the artifact 'app.jar' with content 'spark job v2' to deploy by content address
+    And the content addressed storage doesn't hold the artifact
+    And the artifact uploaded by content address will be at 'adl://store/SparkSubmission/cas/uploaded/app.jar'
+    When deploy the artifact by content address
+    Then the content addressed deploy result should be 'adl://store/SparkSubmission/cas/uploaded/app.jar'
+    And the artifact should be probed at its content address
+    And the artifact should be uploaded to its content address
+    And the artifact should be indexed as deployed at 'adl://store/SparkSubmission/cas/uploaded/app.jar'
+
+  Scenario: Content Addressed Deploy uploads the artifact when probing fails
+    Given create the artifact 'app.jar' with content 'spark job v3' to deploy by content address
+    And probing the content addressed storage fails with 'Forbidden'
+    And the artifact uploaded by content address will be at 'adl://store/SparkSubmission/cas/uploaded/app.jar'
+    When deploy the artifact by content address
+    Then the content addressed deploy result should be 'adl://store/SparkSubmission/cas/uploaded/app.jar'
+    And the artifact should be uploaded to its content address
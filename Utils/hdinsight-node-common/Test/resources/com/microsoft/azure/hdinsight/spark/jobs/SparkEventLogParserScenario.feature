@@ -0,0 +1,29 @@
+Feature: SparkEventLogParser Testing
+
+  Scenario: parse job start events only from Spark event log lines
+    Given parse Spark event log lines:
+      | {"Event":"SparkListenerLogStart","Spark Version":"2.2.0"}                                                                        |
+      | {"Event":"SparkListenerJobStart","Job ID":0,"Submission Time":1514966240000,"Stage Infos":[],"Stage IDs":[0],"Properties":{}}    |
+      | {"Event":"SparkListenerTaskEnd","Stage ID":0,"Task Info":{"Task ID":0}}                                                          |
+      | {"Event":"SparkListenerEnvironmentUpdate","Spark Properties":{"spark.extraListeners":"SparkListenerJobStart"}}                   |
+      | {"Event":"SparkListenerJobStart","Job ID":1,"Submission Time":1514966250000,"Stage Infos":[                                      |
+      | {"Event":"SparkListenerJobStart","Job ID":2,"Submission Time":1514966260000,"Stage Infos":[],"Stage IDs":[1,2],"Properties":{}}  |
+    Then the parsed job start event IDs should be:
+      | 0 |
+      | 2 |
+
+  Scenario: parse job start events from a synthetic Spark event log
+    Given parse a synthetic Spark event log of 2MB with a job start event every 100 task end events
+    Then the parsed job start events should be 73 in sequence
+    And the parsed job start events should be the same after cached
+
+  # Excluded from the unit tests, run it with -Dcucumber.options="--tags @benchmark"
+  @benchmark
+  Scenario: parse job start events from a 64MB synthetic Spark event log
+    Given parse a synthetic Spark event log of 64MB with a job start event every 1000 task end events
+    Then the parsed job start events should be 236 in sequence
+
+  @benchmark
+  Scenario: parse job start events from a 500MB synthetic Spark event log
+    Given parse a synthetic Spark event log of 500MB with a job start event every 1000 task end events
+    Then the parsed job start events should be 1838 in sequence
@@ -27,6 +27,7 @@ import com.microsoft.tooling.msservices.components.DefaultLoader;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import rx.Observable;
+import rx.schedulers.Schedulers;
 
 import java.util.*;
 import java.util.function.Predicate;
@@ -38,6 +39,7 @@ import static java.util.Collections.emptyList;
 public class ClusterManagerEx implements ILogger {
 
     private static final String OSTYPE = "linux";
+    private static final int CONFIGURATION_PREFETCH_CONCURRENCY = 8;
 
     private static ClusterManagerEx instance = null;
 
@@ -54,6 +56,7 @@ public class ClusterManagerEx implements ILogger {
     private boolean isListAdditionalClusterSuccess = false;
     private boolean isListEmulatorClusterSuccess = false;
     private boolean isSelectedSubscriptionExist = false;
+    private boolean isClusterInventoryServed = false;
 
     private ClusterManagerEx() {
     }
@@ -67,6 +70,7 @@ public class ClusterManagerEx implements ILogger {
                     AuthMethodManager.getInstance().addSignOutEventListener(() -> {
                         // Clean cached clusters
                         instance.setCachedClusters(instance.additionalClusterDetails);
+                        ClusterInventory.getInstance().clear();
                     });
                 }
             }
@@ -110,7 +114,7 @@ public class ClusterManagerEx implements ILogger {
         final ImmutableList<IClusterDetail> cachedClusterDetails =
                 Optional.of(ClusterMetaDataService.getInstance().getCachedClusterDetails())
                         .filter(clusters -> !clusters.isEmpty())
-                        .orElseGet(this::getClusterDetails);
+                        .orElseGet(() -> serveClusterInventory().orElseGet(this::getClusterDetails));
 
         if (isIgnoreErrorCluster) {
             List<IClusterDetail> result = new ArrayList<>();
@@ -156,7 +160,71 @@ public class ClusterManagerEx implements ILogger {
     }
 
     public synchronized ImmutableList<IClusterDetail> getCachedClusters() {
-        return ClusterMetaDataService.getInstance().getCachedClusterDetails();
+        final ImmutableList<IClusterDetail> cachedClusters = ClusterMetaDataService.getInstance().getCachedClusterDetails();
+
+        return cachedClusters.isEmpty() ? serveClusterInventory().orElse(cachedClusters) : cachedClusters;
+    }
+
+    /**
+     * Serve the clusters persisted in the last session once, when nothing is cached yet after IDE start. The
+     * clusters are then reconciled with the ones listed from subscriptions in background.
+     *
+     * @return the clusters served, or empty if the inventory is already served or there is nothing persisted
+     */
+    synchronized Optional<ImmutableList<IClusterDetail>> serveClusterInventory() {
+        if (isClusterInventoryServed || isListClusterSuccess() || getAzureManager() == null) {
+            return Optional.empty();
+        }
+
+        isClusterInventoryServed = true;
+
+        final List<ClusterDetail> persistedClusters = ClusterInventory.getInstance().load();
+        if (persistedClusters.isEmpty()) {
+            return Optional.empty();
+        }
+
+        log().info("Serve " + persistedClusters.size() + " HDInsight clusters from the inventory.");
+        final ImmutableList<IClusterDetail> clusters =
+                mergeAndCacheClusters(loadLinkedClusters(), loadEmulatorClustersIgnoreErrors(), persistedClusters);
+
+        Observable.fromCallable(this::getClusterDetails)
+                .subscribeOn(Schedulers.io())
+                .subscribe(
+                        reconciled -> log().info("Reconciled HDInsight clusters with the inventory."),
+                        err -> log().warn("Failed to reconcile HDInsight clusters. " + ExceptionUtils.getStackTrace(err)));
+
+        return Optional.of(clusters);
+    }
+
+    /**
+     * Load the configurations of the running clusters in background, with limited concurrency, then persist
+     * the resolved storage config into the inventory
+     */
+    void prefetchClusterConfigurations(@NotNull List<IClusterDetail> clusters) {
+        Observable.from(clusters)
+                .filter(cluster -> cluster instanceof ClusterDetail
+                        && !((ClusterDetail) cluster).isConfigInfoAvailable()
+                        && !isHdiReaderCluster(cluster)
+                        && StringUtils.equalsIgnoreCase(cluster.getState(), "Running"))
+                .flatMap(cluster -> Observable.fromCallable(() -> {
+                                    ((ClusterDetail) cluster).getConfigurationInfo();
+
+                                    return cluster;
+                                })
+                                .subscribeOn(Schedulers.io())
+                                .doOnError(err -> log().warn("Failed to load configuration of cluster "
+                                        + cluster.getName() + ": " + err.getMessage()))
+                                .onErrorResumeNext(Observable.empty()),
+                        CONFIGURATION_PREFETCH_CONCURRENCY)
+                .toList()
+                .subscribe(
+                        loaded -> {
+                            if (!loaded.isEmpty()) {
+                                ClusterInventory.getInstance().save(
+                                        ClusterMetaDataService.getInstance().getCachedClusterDetails());
+                            }
+                        },
+                        err -> log().warn("Failed to prefetch HDInsight cluster configurations. " + err.getMessage()));
     }
 
     public Predicate<IClusterDetail> getHDInsightClusterFilterPredicate() {
@@ -207,7 +275,10 @@ public class ClusterManagerEx implements ILogger {
         }
 
         return Observable.fromCallable(() -> manager.getSubscriptionManager().getSelectedSubscriptionDetails())
-                .doOnError(err -> log().warn("Failed to list HDInsight Clusters: {}", err.getMessage()))
+                .doOnError(err -> {
+                    log().warn("Failed to list HDInsight Clusters: {}", err.getMessage());
+                    isListClusterSuccess = false;
+                })
                 .flatMap(this::getSubscriptionHDInsightClustersOfType)
                 .onErrorResumeNext(Observable.just(new ArrayList<>()))
                 .toBlocking()
@@ -223,37 +294,59 @@ public class ClusterManagerEx implements ILogger {
      * @return all kinds of cluster details
      */
     public ImmutableList<IClusterDetail> getClusterDetails() {
-        List<IClusterDetail> linkedClusters;
-        if (!isListAdditionalClusterSuccess()) {
-            try {
-                linkedClusters = loadAdditionalClusters();
-            } catch (JsonSyntaxException ignored) {
-                linkedClusters = emptyList();
-            }
-        } else {
-            linkedClusters = getAdditionalClusterDetails();
-        }
+        List<IClusterDetail> linkedClusters = !isListAdditionalClusterSuccess()
+                                              ? loadLinkedClusters()
+                                              : getAdditionalClusterDetails();
 
-        List<IClusterDetail> emulatorClusters;
-        if (!isListEmulatorClusterSuccess()) {
-            try {
-                emulatorClusters = loadEmulatorClusters();
-            } catch (JsonSyntaxException ignored) {
-                emulatorClusters = emptyList();
-            }
-        } else {
-            emulatorClusters = getEmulatorClusterDetails();
-        }
+        List<IClusterDetail> emulatorClusters = !isListEmulatorClusterSuccess()
+                                                ? loadEmulatorClustersIgnoreErrors()
+                                                : getEmulatorClusterDetails();
 
         // Get clusters from Subscription, an empty list for non-logged in user.
         List<ClusterDetail> clusterDetailsFromSubscription = getSubscriptionHDInsightClusters(getAzureManager());
+        boolean isSubscriptionClustersListed = isListClusterSuccess();
+
+        // Keep the unchanged clusters served before, with their loaded configuration
+        clusterDetailsFromSubscription = ClusterInventory.reconcile(
+                ClusterMetaDataService.getInstance().getCachedClusterDetails(), clusterDetailsFromSubscription);
+
+        final ImmutableList<IClusterDetail> clusters =
+                mergeAndCacheClusters(linkedClusters, emulatorClusters, clusterDetailsFromSubscription);
+        isListClusterSuccess = true;
+
+        if (isSubscriptionClustersListed) {
+            ClusterInventory.getInstance().save(clusters);
+            prefetchClusterConfigurations(clusters);
+        }
+
+        return clusters;
+    }
+
+    private List<IClusterDetail> loadLinkedClusters() {
+        try {
+            return loadAdditionalClusters();
+        } catch (JsonSyntaxException ignored) {
+            return emptyList();
+        }
+    }
+
+    private List<IClusterDetail> loadEmulatorClustersIgnoreErrors() {
+        try {
+            return loadEmulatorClusters();
+        } catch (JsonSyntaxException ignored) {
+            return emptyList();
+        }
+    }
 
+    private ImmutableList<IClusterDetail> mergeAndCacheClusters(@NotNull List<IClusterDetail> linkedClusters,
+                                                                @NotNull List<IClusterDetail> emulatorClusters,
+                                                                @NotNull List<ClusterDetail> subscriptionClusters) {
         // Sort the merged clusters before set it to cache, sorting algorithm is based on cluster name
         ImmutableSortedSet<IClusterDetail> mergedClusters =
                 new ImmutableSortedSet.Builder<IClusterDetail>(ComparableCluster::compareTo)
                         .addAll(linkedClusters)
                         .addAll(emulatorClusters)
-                        .addAll(clusterDetailsFromSubscription)
+                        .addAll(subscriptionClusters)
                         .build();
 
         synchronized (this) {
@@ -264,9 +357,8 @@ public class ClusterManagerEx implements ILogger {
             isListEmulatorClusterSuccess = true;
 
             setCachedClusters(mergedClusters.asList());
-            isListClusterSuccess = true;
 
-            return getCachedClusters();
+            return ClusterMetaDataService.getInstance().getCachedClusterDetails();
         }
     }
 
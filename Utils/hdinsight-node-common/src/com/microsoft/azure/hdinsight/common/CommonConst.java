@@ -58,6 +58,8 @@ public class CommonConst {
     public static final String ARCADIA_WORKSPACE_NODE_ICON_PATH = "Workspace_13x.png";
     public static final String ARCADIA_OPEN_UI_NAME = "OpenArcadiaUI";
     public static final String DISABLE_SSL_CERTIFICATE_VALIDATION = "false";
+    public static final String HTTP_CONNECTION_POOL_MAX_PER_ROUTE = "HttpConnectionPoolMaxPerRoute";
+    public static final String HTTP_CONNECTION_POOL_MAX_TOTAL = "HttpConnectionPoolMaxTotal";
 
     public static final String CosmosServerlessToolWindowIconName= "SparkSubmissionToolWindow";
 
@@ -57,6 +57,8 @@ public class ClusterDetail implements IClusterDetail, LivyCluster, YarnCluster,
     private boolean isConfigInfoAvailable = false;
     @Nullable
     private Map<String, String> coresiteMap = null;
+    @Nullable
+    private volatile String resolvedDefaultStorageRootPath = null;
 
     public ClusterDetail(SubscriptionDetail paramSubscription,
                          ClusterRawInfo paramClusterRawInfo,
@@ -82,6 +84,14 @@ public class ClusterDetail implements IClusterDetail, LivyCluster, YarnCluster,
         return this.clusterRawInfo.getName();
     }
 
+    public ClusterRawInfo getClusterRawInfo() {
+        return clusterRawInfo;
+    }
+
+    public IClusterOperation getClusterOperation() {
+        return clusterOperation;
+    }
+
     @Override
     public String getTitle() {
         StringBuilder titleStringBuilder = new StringBuilder(getName());
@@ -314,9 +324,40 @@ public class ClusterDetail implements IClusterDetail, LivyCluster, YarnCluster,
         }
     }
 
+    /**
+     * Get the default storage root path resolved before, which has no secrets and can be persisted
+     *
+     * @return the root path, or null if it's not resolved yet
+     */
+    @Nullable
+    public String getResolvedDefaultStorageRootPath() {
+        return resolvedDefaultStorageRootPath;
+    }
+
+    /**
+     * Set the default storage root path resolved in the last session, to save the core-site request
+     */
+    public void setResolvedDefaultStorageRootPath(@Nullable String resolvedDefaultStorageRootPath) {
+        this.resolvedDefaultStorageRootPath = resolvedDefaultStorageRootPath;
+    }
+
     @Nullable
     @Override
     public String getDefaultStorageRootPath() {
+        if (resolvedDefaultStorageRootPath != null) {
+            return resolvedDefaultStorageRootPath;
+        }
+
+        final String defaultStorageRootPath = resolveDefaultStorageRootPath();
+        if (defaultStorageRootPath != null) {
+            resolvedDefaultStorageRootPath = defaultStorageRootPath;
+        }
+
+        return defaultStorageRootPath;
+    }
+
+    @Nullable
+    private String resolveDefaultStorageRootPath() {
         log().info("Cluster ID: " + clusterRawInfo.getId());
         Map<String, String> requestedCoresiteMap = null;
 
@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.hdinsight.sdk.cluster;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+import com.microsoft.azure.hdinsight.common.logger.ILogger;
+import com.microsoft.azure.hdinsight.sdk.cluster.HDInsightNewAPI.ClusterOperationNewAPIImpl;
+import com.microsoft.azure.hdinsight.sdk.cluster.HDInsightNewAPI.HDInsightUserRoleType;
+import com.microsoft.azuretools.authmanage.CommonSettings;
+import com.microsoft.azuretools.authmanage.FileStorage;
+import com.microsoft.azuretools.authmanage.models.SubscriptionDetail;
+import com.microsoft.azuretools.azurecommons.helpers.NotNull;
+import com.microsoft.azuretools.azurecommons.helpers.Nullable;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The disk-persisted inventory of HDInsight clusters in subscriptions, which is served at IDE start before
+ * the clusters are listed again. Only the cluster raw info, the probed operation kind and the resolved default
+ * storage root path are persisted, no gateway credentials or storage keys.
+ */
+public class ClusterInventory implements ILogger {
+    private static final String INVENTORY_FILE_NAME = "HDInsightClusterInventory.json";
+
+    private static final ClusterInventory instance = new ClusterInventory();
+
+    private final Gson gson = new Gson();
+
+    public static ClusterInventory getInstance() {
+        return instance;
+    }
+
+    private ClusterInventory() {
+    }
+
+    /**
+     * Load the persisted clusters, no network request is sent
+     *
+     * @return the clusters persisted in the last session, or an empty list if there is none
+     */
+    @NotNull
+    public synchronized List<ClusterDetail> load() {
+        final List<ClusterDetail> clusters = new ArrayList<>();
+
+        try {
+            final String json = new String(getStorage().read(), StandardCharsets.UTF_8);
+            if (StringUtils.isBlank(json)) {
+                return clusters;
+            }
+
+            final List<InventoryEntry> entries = gson.fromJson(json, new TypeToken<List<InventoryEntry>>() { }.getType());
+            for (InventoryEntry entry : entries) {
+                if (entry.subscription != null && entry.rawInfo != null && entry.rawInfo.getName() != null) {
+                    clusters.add(entry.toClusterDetail());
+                }
+            }
+        } catch (IOException | JsonParseException ex) {
+            log().warn("Failed to load the HDInsight cluster inventory: " + ex.toString());
+        }
+
+        return clusters;
+    }
+
+    /**
+     * Persist the clusters in subscriptions, the linked and emulator clusters are skipped since they have
+     * their own settings
+     *
+     * @param clusters all kinds of clusters
+     */
+    public synchronized void save(@NotNull List<? extends IClusterDetail> clusters) {
+        final List<InventoryEntry> entries = new ArrayList<>();
+        for (IClusterDetail cluster : clusters) {
+            if (cluster instanceof ClusterDetail) {
+                entries.add(InventoryEntry.of((ClusterDetail) cluster));
+            }
+        }
+
+        try {
+            getStorage().write(gson.toJson(entries).getBytes(StandardCharsets.UTF_8));
+        } catch (IOException ex) {
+            log().warn("Failed to save the HDInsight cluster inventory: " + ex.toString());
+        }
+    }
+
+    public synchronized void clear() {
+        try {
+            getStorage().cleanFile();
+        } catch (IOException ex) {
+            log().warn("Failed to clear the HDInsight cluster inventory: " + ex.toString());
+        }
+    }
+
+    /**
+     * Reconcile the fresh listed clusters with the previous ones. The previous cluster instance is kept if the
+     * cluster isn't changed, to keep its loaded configuration, otherwise the fresh one is used. The clusters
+     * not listed any more are dropped.
+     *
+     * @param previous the clusters served before, which can be the ones loaded from the inventory
+     * @param fresh the clusters listed from subscriptions
+     * @return the reconciled clusters in the fresh list order
+     */
+    @NotNull
+    public static List<ClusterDetail> reconcile(@NotNull List<? extends IClusterDetail> previous,
+                                                @NotNull List<ClusterDetail> fresh) {
+        final Map<String, ClusterDetail> previousById = new HashMap<>();
+        for (IClusterDetail cluster : previous) {
+            final String id = cluster instanceof ClusterDetail ? getClusterId((ClusterDetail) cluster) : null;
+            if (id != null) {
+                previousById.put(id, (ClusterDetail) cluster);
+            }
+        }
+
+        final List<ClusterDetail> reconciled = new ArrayList<>(fresh.size());
+        for (ClusterDetail freshCluster : fresh) {
+            final String id = getClusterId(freshCluster);
+            final ClusterDetail previousCluster = id == null ? null : previousById.get(id);
+
+            if (previousCluster != null && isUnchanged(previousCluster, freshCluster)) {
+                reconciled.add(previousCluster);
+            } else {
+                reconciled.add(freshCluster);
+            }
+        }
+
+        return reconciled;
+    }
+
+    @Nullable
+    private static String getClusterId(@NotNull ClusterDetail cluster) {
+        final ClusterRawInfo rawInfo = cluster.getClusterRawInfo();
+
+        return rawInfo == null || rawInfo.getId() == null ? null : rawInfo.getId().toLowerCase();
+    }
+
+    private static boolean isUnchanged(@NotNull ClusterDetail previous, @NotNull ClusterDetail fresh) {
+        return previous.getClass() == fresh.getClass()
+                && previous.getClusterOperation().getClass() == fresh.getClusterOperation().getClass()
+                && previous.isRoleTypeReader() == fresh.isRoleTypeReader()
+                && Objects.equals(previous.getClusterRawInfo().getEtag(), fresh.getClusterRawInfo().getEtag())
+                && StringUtils.equals(previous.getState(), fresh.getState())
+                && Objects.equals(previous.getSubscription().getSubscriptionId(),
+                                  fresh.getSubscription().getSubscriptionId());
+    }
+
+    @NotNull
+    private FileStorage getStorage() throws IOException {
+        return new FileStorage(INVENTORY_FILE_NAME, CommonSettings.getSettingsBaseDir());
+    }
+
+    private static class InventoryEntry {
+        private SubscriptionDetail subscription;
+        private ClusterRawInfo rawInfo;
+        private boolean isNewApi;
+        private boolean isMfa;
+        @Nullable
+        private HDInsightUserRoleType roleType;
+        @Nullable
+        private String defaultStorageRootPath;
+
+        @NotNull
+        static InventoryEntry of(@NotNull ClusterDetail cluster) {
+            final InventoryEntry entry = new InventoryEntry();
+            entry.subscription = cluster.getSubscription();
+            entry.rawInfo = cluster.getClusterRawInfo();
+            entry.isNewApi = cluster.getClusterOperation() instanceof ClusterOperationNewAPIImpl;
+            entry.isMfa = cluster instanceof MfaClusterDetail;
+
+            if (entry.isNewApi) {
+                entry.roleType = cluster.isRoleTypeReader() ? HDInsightUserRoleType.READER : HDInsightUserRoleType.OWNER;
+            }
+
+            entry.defaultStorageRootPath = cluster.getResolvedDefaultStorageRootPath();
+
+            return entry;
+        }
+
+        @NotNull
+        ClusterDetail toClusterDetail() {
+            final ClusterDetail cluster;
+
+            if (isNewApi) {
+                final ClusterOperationNewAPIImpl operation = new ClusterOperationNewAPIImpl(subscription);
+                operation.setRoleType(roleType == null ? HDInsightUserRoleType.OWNER : roleType);
+
+                cluster = isMfa
+                          ? new MfaClusterDetail(subscription, rawInfo, operation)
+                          : new ClusterDetail(subscription, rawInfo, operation);
+            } else {
+                cluster = new ClusterDetail(subscription, rawInfo, new ClusterOperationImpl());
+            }
+
+            cluster.setResolvedDefaultStorageRootPath(defaultStorageRootPath);
+
+            return cluster;
+        }
+    }
+}
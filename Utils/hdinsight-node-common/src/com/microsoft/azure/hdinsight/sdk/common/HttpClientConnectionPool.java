@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.hdinsight.sdk.common;
+
+import com.microsoft.azure.hdinsight.common.CommonConst;
+import com.microsoft.azure.hdinsight.common.logger.ILogger;
+import com.microsoft.azuretools.azurecommons.helpers.NotNull;
+import com.microsoft.azuretools.azurecommons.helpers.Nullable;
+import com.microsoft.azuretools.service.ServiceManager;
+import com.microsoft.tooling.msservices.components.DefaultLoader;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.DefaultHostnameVerifier;
+import org.apache.http.conn.ssl.NoopHostnameVerifier;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.client.IdleConnectionEvictor;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.ssl.SSLContextBuilder;
+import org.apache.http.ssl.TrustStrategy;
+
+import javax.net.ssl.SSLContext;
+import java.security.KeyManagementException;
+import java.security.KeyStoreException;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The process-wide HTTP connection pools shared by all HttpObservable instances, so that the connections and
+ * TLS sessions to the same Livy, Yarn and ARM hosts are reused
+ */
+public class HttpClientConnectionPool implements ILogger {
+    /**
+     * The max time to wait for a pooled connection, so that a leaked connection fails the requests to its host
+     * rather than blocking them forever
+     */
+    public static final int CONNECTION_REQUEST_TIMEOUT_MILLIS = 60 * 1000;
+
+    private static final int DEFAULT_MAX_PER_ROUTE = 10;
+    private static final int DEFAULT_MAX_TOTAL = 100;
+    private static final long CONNECTION_TIME_TO_LIVE_SECONDS = 300;
+    private static final long KEEP_ALIVE_MAX_SECONDS = 60;
+    private static final long IDLE_TIMEOUT_SECONDS = 60;
+    private static final long EVICTION_INTERVAL_SECONDS = 10;
+    private static final int VALIDATE_AFTER_INACTIVITY_MILLIS = 2000;
+
+    private static final HttpClientConnectionPool instance = new HttpClientConnectionPool();
+
+    /**
+     * Use the server's keep-alive timeout if it's shorter, otherwise the max one instead of keeping forever
+     */
+    private static final ConnectionKeepAliveStrategy keepAliveStrategy = (response, context) -> {
+        final long keepAliveMillis = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+        final long maxMillis = TimeUnit.SECONDS.toMillis(KEEP_ALIVE_MAX_SECONDS);
+
+        return keepAliveMillis > 0 ? Math.min(keepAliveMillis, maxMillis) : maxMillis;
+    };
+
+    /**
+     * The pools keyed by the SSL socket factory kind, since the connections created can't be shared among kinds
+     */
+    private final Map<String, PoolingHttpClientConnectionManager> connectionManagers = new ConcurrentHashMap<>();
+
+    public static HttpClientConnectionPool getInstance() {
+        return instance;
+    }
+
+    private HttpClientConnectionPool() {
+    }
+
+    /**
+     * Create an HTTP client builder with the shared connection pool
+     *
+     * @param isIdeTrustStrategyUsed true to trust the certificates accepted by IDE, false to use the system default
+     * @return the client builder, the client built doesn't shut the shared pool down when it's closed
+     */
+    @NotNull
+    public HttpClientBuilder newHttpClientBuilder(boolean isIdeTrustStrategyUsed) {
+        return HttpClients.custom()
+                .useSystemProperties()
+                .setConnectionManager(getConnectionManager(isIdeTrustStrategyUsed))
+                .setConnectionManagerShared(true)
+                .setKeepAliveStrategy(keepAliveStrategy);
+    }
+
+    @NotNull
+    private PoolingHttpClientConnectionManager getConnectionManager(boolean isIdeTrustStrategyUsed) {
+        final boolean isIdeTrustStrategyProvided = isIdeTrustStrategyUsed
+                && ServiceManager.getServiceProvider(TrustStrategy.class) != null;
+        final String kind = !isIdeTrustStrategyProvided
+                            ? "system"
+                            : (HttpObservable.isSSLCertificateValidationDisabled() ? "ide-noHostnameVerify" : "ide");
+
+        return connectionManagers.computeIfAbsent(kind, k -> {
+            final SSLConnectionSocketFactory ideSocketFactory = isIdeTrustStrategyProvided
+                                                                ? createIdeSSLSocketFactory()
+                                                                : null;
+
+            return createConnectionManager(ideSocketFactory != null
+                                           ? ideSocketFactory
+                                           : SSLConnectionSocketFactory.getSystemSocketFactory());
+        });
+    }
+
+    @NotNull
+    private PoolingHttpClientConnectionManager createConnectionManager(@NotNull SSLConnectionSocketFactory sslSocketFactory) {
+        final Registry<ConnectionSocketFactory> socketFactoryRegistry = RegistryBuilder.<ConnectionSocketFactory>create()
+                .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                .register("https", sslSocketFactory)
+                .build();
+
+        final PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager(
+                socketFactoryRegistry, null, null, null, CONNECTION_TIME_TO_LIVE_SECONDS, TimeUnit.SECONDS);
+
+        connectionManager.setDefaultMaxPerRoute(getIntSetting(CommonConst.HTTP_CONNECTION_POOL_MAX_PER_ROUTE,
+                                                              DEFAULT_MAX_PER_ROUTE));
+        connectionManager.setMaxTotal(getIntSetting(CommonConst.HTTP_CONNECTION_POOL_MAX_TOTAL, DEFAULT_MAX_TOTAL));
+        connectionManager.setValidateAfterInactivity(VALIDATE_AFTER_INACTIVITY_MILLIS);
+
+        // Reap the expired and idle connections in a daemon thread
+        new IdleConnectionEvictor(connectionManager,
+                                  EVICTION_INTERVAL_SECONDS, TimeUnit.SECONDS,
+                                  IDLE_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .start();
+
+        return connectionManager;
+    }
+
+    /**
+     * The SSL socket factory is created once per pool, which keeps the SSL context and its TLS session cache
+     */
+    @Nullable
+    private SSLConnectionSocketFactory createIdeSSLSocketFactory() {
+        final TrustStrategy ts = ServiceManager.getServiceProvider(TrustStrategy.class);
+
+        if (ts == null) {
+            return null;
+        }
+
+        try {
+            final SSLContext sslContext = new SSLContextBuilder()
+                    .loadTrustMaterial(ts)
+                    .build();
+
+            return new SSLConnectionSocketFactory(sslContext,
+                    HttpObservable.isSSLCertificateValidationDisabled()
+                            ? NoopHostnameVerifier.INSTANCE
+                            : new DefaultHostnameVerifier());
+        } catch (NoSuchAlgorithmException | KeyManagementException | KeyStoreException e) {
+            log().error("Prepare SSL Context for HTTPS failure. " + ExceptionUtils.getStackTrace(e));
+        }
+
+        return null;
+    }
+
+    private static int getIntSetting(@NotNull String name, int defaultValue) {
+        try {
+            if (DefaultLoader.getIdeHelper().isApplicationPropertySet(name)) {
+                return Integer.parseInt(DefaultLoader.getIdeHelper().getApplicationProperty(name));
+            }
+        } catch (Exception ignored) {
+            // To fix exception in unit test, or the invalid setting
+        }
+
+        return defaultValue;
+    }
+
+    /*
+     * Diagnostics
+     */
+
+    /**
+     * Get the leased, available and pending connection statistics of all pools
+     *
+     * @return the statistics keyed by the pool kind
+     */
+    @NotNull
+    public Map<String, PoolStats> getTotalStats() {
+        final Map<String, PoolStats> stats = new TreeMap<>();
+        connectionManagers.forEach((kind, manager) -> stats.put(kind, manager.getTotalStats()));
+
+        return stats;
+    }
+
+    /**
+     * Get the leased, available and pending connection statistics of every host in all pools
+     *
+     * @return the statistics keyed by the pool kind and route
+     */
+    @NotNull
+    public Map<String, PoolStats> getRouteStats() {
+        final Map<String, PoolStats> stats = new TreeMap<>();
+        connectionManagers.forEach((kind, manager) -> {
+            for (HttpRoute route : manager.getRoutes()) {
+                stats.put(kind + " " + route.toString(), manager.getStats(route));
+            }
+        });
+
+        return stats;
+    }
+
+    @Override
+    public String toString() {
+        return "HttpClientConnectionPool" + getTotalStats();
+    }
+}
@@ -5,6 +5,11 @@
 
 package com.microsoft.azure.hdinsight.sdk.common;
 
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.microsoft.azure.hdinsight.common.CommonConst;
 import com.microsoft.azure.hdinsight.common.StreamUtil;
 import com.microsoft.azure.hdinsight.common.logger.ILogger;
@@ -12,11 +17,9 @@ import com.microsoft.azure.hdinsight.sdk.common.errorresponse.*;
 import com.microsoft.azure.hdinsight.sdk.rest.ObjectConvertUtils;
 import com.microsoft.azuretools.azurecommons.helpers.NotNull;
 import com.microsoft.azuretools.azurecommons.helpers.Nullable;
-import com.microsoft.azuretools.service.ServiceManager;
 import com.microsoft.tooling.msservices.components.DefaultLoader;
 import org.apache.commons.codec.binary.Base64;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.apache.http.*;
 import org.apache.http.client.CookieStore;
 import org.apache.http.client.config.AuthSchemes;
@@ -24,35 +27,36 @@ import org.apache.http.client.config.CookieSpecs;
 import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.*;
 import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.client.utils.HttpClientUtils;
 import org.apache.http.client.utils.URIBuilder;
-import org.apache.http.conn.ssl.DefaultHostnameVerifier;
-import org.apache.http.conn.ssl.NoopHostnameVerifier;
-import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
 import org.apache.http.impl.client.BasicCookieStore;
 import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClients;
 import org.apache.http.message.BasicHeader;
 import org.apache.http.message.HeaderGroup;
 import org.apache.http.protocol.BasicHttpContext;
 import org.apache.http.protocol.HttpContext;
-import org.apache.http.ssl.SSLContextBuilder;
-import org.apache.http.ssl.TrustStrategy;
 import org.apache.http.util.EntityUtils;
 import rx.Observable;
 import rx.exceptions.Exceptions;
+import rx.functions.Func1;
+import rx.observables.SyncOnSubscribe;
 
-import javax.net.ssl.SSLContext;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.UnknownServiceException;
 import java.nio.charset.StandardCharsets;
-import java.security.KeyManagementException;
-import java.security.KeyStoreException;
-import java.security.NoSuchAlgorithmException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static rx.exceptions.Exceptions.propagate;
 
 public class HttpObservable implements ILogger {
+    /**
+     * The Jackson readers are immutable and thread-safe, they are shared for decoding responses by type
+     */
+    private static final ObjectMapper streamingObjectMapper = new ObjectMapper();
+    private static final Map<Class<?>, ObjectReader> streamingObjectReaders = new ConcurrentHashMap<>();
+
     @NotNull
     private RequestConfig defaultRequestConfig;
 
@@ -104,15 +108,14 @@ public class HttpObservable implements ILogger {
         // Create global request configuration
         this.defaultRequestConfig = RequestConfig.custom()
                 .setCookieSpec(CookieSpecs.DEFAULT)
+                .setConnectionRequestTimeout(HttpClientConnectionPool.CONNECTION_REQUEST_TIMEOUT_MILLIS)
                 .setTargetPreferredAuthSchemes(Arrays.asList(AuthSchemes.KERBEROS, AuthSchemes.DIGEST, AuthSchemes.BASIC))
                 .setProxyPreferredAuthSchemes(Collections.singletonList(AuthSchemes.BASIC))
                 .build();
 
-        this.httpClient = HttpClients.custom()
-                .useSystemProperties()
+        this.httpClient = HttpClientConnectionPool.getInstance().newHttpClientBuilder(true)
                 .setDefaultCookieStore(getCookieStore())
                 .setDefaultRequestConfig(getDefaultRequestConfig())
-                .setSSLSocketFactory(createSSLSocketFactory())
                 .build();
     }
 
@@ -132,11 +135,9 @@ public class HttpObservable implements ILogger {
                     HttpHeaders.AUTHORIZATION, String.format("%s %s", "Basic", new String(encodedAuth))));
         }
 
-        this.httpClient = HttpClients.custom()
-                .useSystemProperties()
+        this.httpClient = HttpClientConnectionPool.getInstance().newHttpClientBuilder(true)
                 .setDefaultCookieStore(getCookieStore())
                 .setDefaultRequestConfig(getDefaultRequestConfig())
-                .setSSLSocketFactory(createSSLSocketFactory())
                 .build();
     }
 
@@ -243,27 +244,6 @@ public class HttpObservable implements ILogger {
         }
     }
 
-    private SSLConnectionSocketFactory createSSLSocketFactory() {
-        TrustStrategy ts = ServiceManager.getServiceProvider(TrustStrategy.class);
-        SSLConnectionSocketFactory sslSocketFactory = null;
-
-        if (ts != null) {
-            try {
-                SSLContext sslContext = new SSLContextBuilder()
-                        .loadTrustMaterial(ts)
-                        .build();
-
-                sslSocketFactory = new SSLConnectionSocketFactory(sslContext,
-                        HttpObservable.isSSLCertificateValidationDisabled()
-                                ? NoopHostnameVerifier.INSTANCE
-                                : new DefaultHostnameVerifier());
-            } catch (NoSuchAlgorithmException | KeyManagementException | KeyStoreException e) {
-                log().error("Prepare SSL Context for HTTPS failure. " + ExceptionUtils.getStackTrace(e));
-            }
-        }
-        return sslSocketFactory;
-    }
-
     @NotNull
     public static HttpErrorStatus classifyHttpError(@NotNull CloseableHttpResponse httpResponse) throws IOException {
         StatusLine status = httpResponse.getStatusLine();
@@ -381,6 +361,190 @@ public class HttpObservable implements ILogger {
         });
     }
 
+    /*
+     * Streaming response decoding, without buffering the whole body as String
+     */
+
+    @NotNull
+    private static ObjectReader getStreamingObjectReader(@NotNull Class<?> clazz) {
+        return streamingObjectReaders.computeIfAbsent(clazz, streamingObjectMapper::readerFor);
+    }
+
+    /**
+     * Helper to decode the good Http response (2xx) content by the decoder, the response is closed after decoded.
+     * If the response is bad, propagate a HttpResponseException
+     */
+    private static <T> Observable<T> usingOkResponse(
+            @NotNull final CloseableHttpResponse closeableHttpResponse,
+            @NotNull final Func1<CloseableHttpResponse, Observable<T>> contentDecoder) {
+        return Observable.using(
+                // Resource factory
+                () -> closeableHttpResponse,
+                // Observable factory
+                streamResp -> {
+                    if (streamResp.getStatusLine().getStatusCode() >= 300) {
+                        try {
+                            return Observable.error(classifyHttpError(streamResp));
+                        } catch (IOException e) {
+                            return Observable.error(e);
+                        }
+                    }
+
+                    return contentDecoder.call(streamResp);
+                },
+                // Resource dispose
+                streamResp -> HttpClientUtils.closeQuietly(streamResp));
+    }
+
+    /**
+     * Move the parser to the start of the array to iterate
+     *
+     * @param parser the JSON parser at the beginning of the document
+     * @param arrayField the field name of the array in the root object, or null for the root array
+     * @return true if the array is found, false if the content or the field is absent
+     * @throws IOException for the parsing exceptions or unexpected JSON structure
+     */
+    private static boolean moveToArrayStart(@NotNull JsonParser parser, @Nullable String arrayField) throws IOException {
+        JsonToken token = parser.nextToken();
+
+        if (token == null) {
+            return false;
+        }
+
+        if (arrayField != null) {
+            if (token != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Expect a JSON object with the array field " + arrayField);
+            }
+
+            do {
+                token = parser.nextToken();
+                if (token != JsonToken.FIELD_NAME) {
+                    // The array field is absent
+                    return false;
+                }
+
+                final String fieldName = parser.getCurrentName();
+                token = parser.nextToken();
+
+                if (arrayField.equals(fieldName)) {
+                    break;
+                }
+
+                parser.skipChildren();
+            } while (true);
+
+            if (token == JsonToken.VALUE_NULL) {
+                return false;
+            }
+        }
+
+        if (token != JsonToken.START_ARRAY) {
+            throw new JsonParseException(parser, "Expect a JSON array");
+        }
+
+        return true;
+    }
+
+    public <T> Observable<T> requestWithObject(@NotNull final HttpRequestBase httpRequest,
+                                               @Nullable final HttpEntity entity,
+                                               final List<NameValuePair> parameters,
+                                               final List<Header> addOrReplaceHeaders,
+                                               @NotNull final Class<T> clazz) {
+        return request(httpRequest, entity, parameters, addOrReplaceHeaders)
+                .flatMap(response -> usingOkResponse(response, resp -> Observable.fromCallable(() -> {
+                    try (InputStream content = resp.getEntity().getContent()) {
+                        return getStreamingObjectReader(clazz).<T>readValue(content);
+                    }
+                })));
+    }
+
+    /**
+     * Request and emit the elements of the JSON array response one by one, while the response body is being read
+     *
+     * @param arrayField the field name of the array in the root object, or null for the root array
+     * @param clazz the element type
+     */
+    public <T> Observable<T> requestWithElements(@NotNull final HttpRequestBase httpRequest,
+                                                 @Nullable final HttpEntity entity,
+                                                 final List<NameValuePair> parameters,
+                                                 final List<Header> addOrReplaceHeaders,
+                                                 @Nullable final String arrayField,
+                                                 @NotNull final Class<T> clazz) {
+        final ObjectReader reader = getStreamingObjectReader(clazz);
+
+        return request(httpRequest, entity, parameters, addOrReplaceHeaders)
+                .flatMap(response -> usingOkResponse(response, resp -> Observable.create(
+                        SyncOnSubscribe.<JsonParser, T>createStateful(
+                                () -> {
+                                    try {
+                                        final JsonParser parser = reader.getFactory()
+                                                                        .createParser(resp.getEntity().getContent());
+
+                                        if (!moveToArrayStart(parser, arrayField)) {
+                                            parser.close();
+                                        }
+
+                                        return parser;
+                                    } catch (IOException e) {
+                                        throw propagate(e);
+                                    }
+                                },
+                                (parser, observer) -> {
+                                    try {
+                                        final JsonToken token = parser.isClosed() ? null : parser.nextToken();
+
+                                        if (token == null || token == JsonToken.END_ARRAY) {
+                                            observer.onCompleted();
+                                        } else {
+                                            observer.onNext(reader.<T>readValue(parser));
+                                        }
+                                    } catch (IOException e) {
+                                        observer.onError(e);
+                                    }
+
+                                    return parser;
+                                },
+                                parser -> {
+                                    try {
+                                        parser.close();
+                                    } catch (IOException ignore) {
+                                        // The response will be closed after all
+                                    }
+                                }))));
+    }
+
+    public <T> Observable<T> getWithStreaming(@NotNull final String uri,
+                                              final List<NameValuePair> parameters,
+                                              final List<Header> addOrReplaceHeaders,
+                                              @NotNull final Class<T> clazz) {
+        return requestWithObject(new HttpGet(uri), null, parameters, addOrReplaceHeaders, clazz);
+    }
+
+    public <T> Observable<T> postWithStreaming(@NotNull final String uri,
+                                               @Nullable final HttpEntity entity,
+                                               final List<NameValuePair> parameters,
+                                               final List<Header> addOrReplaceHeaders,
+                                               @NotNull final Class<T> clazz) {
+        return requestWithObject(new HttpPost(uri), entity, parameters, addOrReplaceHeaders, clazz);
+    }
+
+    public <T> Observable<T> getElements(@NotNull final String uri,
+                                         final List<NameValuePair> parameters,
+                                         final List<Header> addOrReplaceHeaders,
+                                         @Nullable final String arrayField,
+                                         @NotNull final Class<T> clazz) {
+        return requestWithElements(new HttpGet(uri), null, parameters, addOrReplaceHeaders, arrayField, clazz);
+    }
+
+    public <T> Observable<T> postElements(@NotNull final String uri,
+                                          @Nullable final HttpEntity entity,
+                                          final List<NameValuePair> parameters,
+                                          final List<Header> addOrReplaceHeaders,
+                                          @Nullable final String arrayField,
+                                          @NotNull final Class<T> clazz) {
+        return requestWithElements(new HttpPost(uri), entity, parameters, addOrReplaceHeaders, arrayField, clazz);
+    }
+
     /*
      * RESTful API operations with response conversion for specified type
      */
@@ -446,11 +610,16 @@ public class HttpObservable implements ILogger {
                                                                       int validStatueCode) {
         return request(httpRequest, entity, parameters, addOrReplaceHeaders)
                 .doOnNext(resp -> {
-                    int statusCode = resp.getStatusLine().getStatusCode();
-                    if (statusCode != validStatueCode) {
-                        Exceptions.propagate(new UnknownServiceException(
-                                String.format("Exceute request with unexpected code %s and resp %s", statusCode, resp)
-                        ));
+                    try {
+                        int statusCode = resp.getStatusLine().getStatusCode();
+                        if (statusCode != validStatueCode) {
+                            Exceptions.propagate(new UnknownServiceException(
+                                    String.format("Exceute request with unexpected code %s and resp %s", statusCode, resp)
+                            ));
+                        }
+                    } finally {
+                        // Only the status is checked, release the pooled connection
+                        HttpClientUtils.closeQuietly(resp);
                     }
                 });
     }
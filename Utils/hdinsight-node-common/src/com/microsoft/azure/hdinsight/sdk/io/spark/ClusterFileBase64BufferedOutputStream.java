@@ -77,6 +77,36 @@ public class ClusterFileBase64BufferedOutputStream extends OutputStream {
         }
     }
 
+    @Override
+    public void write(@NotNull byte[] bytes, int off, int len) throws IOException {
+        if (off < 0 || len < 0 || len > bytes.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        final int end = off + len;
+        int i = off;
+
+        while (i < end) {
+            if (!buf.hasRemaining()) {
+                flush();
+            }
+
+            // Copy the run of BASE64 bytes fitting in the page at once, and skip the others, such as line breaks
+            final int runEnd = Math.min(end, i + buf.remaining());
+            int runLength = 0;
+            while (i + runLength < runEnd && Base64.isBase64(bytes[i + runLength])) {
+                runLength++;
+            }
+
+            buf.put(bytes, i, runLength);
+            i += runLength;
+
+            while (i < end && !Base64.isBase64(bytes[i])) {
+                i++;
+            }
+        }
+    }
+
     @Override
     public void flush() throws IOException {
         if (buf.position() > 0) {
@@ -0,0 +1,275 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.hdinsight.sdk.io.spark;
+
+import com.microsoft.azure.hdinsight.sdk.common.livy.interactive.Session;
+import com.microsoft.azuretools.azurecommons.helpers.NotNull;
+import rx.schedulers.Schedulers;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * The binary output stream to a cluster file through Livy session statements. Pages are deflated and BASE64
+ * encoded, several statements are kept in flight, and the cluster side writes pages in sequence order.
+ */
+public class ClusterFilePipelinedOutputStream extends OutputStream {
+    private static final int MIN_PAGE_SIZE = 256 * 1024;
+    private static final int MAX_PAGE_SIZE = 2 * 1024 * 1024;
+    private static final int DEFAULT_PARALLELISM = 4;
+    private static final int PAGE_MAX_RETRIES = 2;
+
+    /**
+     * The page size is doubled when a statement finishes within the time, and halved when it takes twice of it
+     */
+    private static final long TARGET_STATEMENT_MILLIS = TimeUnit.SECONDS.toMillis(3);
+
+    /**
+     * Scala string literals are compiled into class file constants, which are limited to 64KB
+     */
+    private static final int MAX_LITERAL_LENGTH = 48 * 1024;
+
+    @NotNull
+    private final Session session;
+
+    private final int parallelism;
+
+    @NotNull
+    private final Semaphore inFlight;
+
+    @NotNull
+    private final AtomicInteger pageSize = new AtomicInteger(MIN_PAGE_SIZE);
+
+    @NotNull
+    private final AtomicReference<Throwable> pageError = new AtomicReference<>();
+
+    @NotNull
+    private byte[] buf = new byte[MIN_PAGE_SIZE];
+
+    private int bufPos = 0;
+
+    private int pageCount = 0;
+
+    private boolean isClosed = false;
+
+    private final String preloadedCodes = String.join("\n",
+            "import java.io._",
+            "import java.util.Base64",
+            "import java.util.zip.InflaterInputStream",
+            "",
+            "val uploadOutput = \"%s\"",
+            "val uploadFs = org.apache.hadoop.fs.FileSystem.get(sc.hadoopConfiguration)",
+            "val uploadOut = new BufferedOutputStream(uploadFs.create(new org.apache.hadoop.fs.Path(uploadOutput), true))",
+            "val uploadPendingPages = scala.collection.mutable.Map[Int, Array[Byte]]()",
+            "var uploadNextPage = 0",
+            "",
+            "def inflatePage(compressed: Array[Byte]): Array[Byte] = {",
+            "    val in = new InflaterInputStream(new ByteArrayInputStream(compressed))",
+            "    val pageOut = new ByteArrayOutputStream()",
+            "    val chunk = new Array[Byte](65536)",
+            "    var read = in.read(chunk)",
+            "    while (read >= 0) {",
+            "        pageOut.write(chunk, 0, read)",
+            "        read = in.read(chunk)",
+            "    }",
+            "    pageOut.toByteArray",
+            "}",
+            "",
+            "def writePage(seq: Int, deflated: Boolean, encodedParts: Seq[String]) = uploadOut.synchronized {",
+            "    if (seq >= uploadNextPage) {",
+            "        val pageBytes = Base64.getDecoder.decode(encodedParts.mkString)",
+            "        uploadPendingPages(seq) = if (deflated) inflatePage(pageBytes) else pageBytes",
+            "",
+            "        while (uploadPendingPages.contains(uploadNextPage)) {",
+            "            uploadOut.write(uploadPendingPages.remove(uploadNextPage).get)",
+            "            uploadNextPage += 1",
+            "        }",
+            "    }",
+            "}",
+            "",
+            "def closeUpload(pageCount: Int) = uploadOut.synchronized {",
+            "    if (uploadNextPage != pageCount) {",
+            "        throw new IOException(s\"Only $uploadNextPage of $pageCount pages are written to $uploadOutput\")",
+            "    }",
+            "",
+            "    uploadOut.close()",
+            "}");
+
+    public ClusterFilePipelinedOutputStream(@NotNull Session session, @NotNull URI destination, final int parallelism) {
+        this.session = session;
+        this.parallelism = parallelism;
+        this.inFlight = new Semaphore(parallelism);
+
+        // Pre-load
+        session.runCodes(String.format(preloadedCodes, destination.toString()))
+                .toBlocking()
+                .singleOrDefault(null);
+    }
+
+    public ClusterFilePipelinedOutputStream(@NotNull Session session, @NotNull URI destination) {
+        this(session, destination, DEFAULT_PARALLELISM);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[] { (byte) b }, 0, 1);
+    }
+
+    @Override
+    public void write(@NotNull byte[] bytes, int off, int len) throws IOException {
+        if (off < 0 || len < 0 || len > bytes.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        checkOpen();
+
+        while (len > 0) {
+            final int count = Math.min(len, buf.length - bufPos);
+            System.arraycopy(bytes, off, buf, bufPos, count);
+            bufPos += count;
+            off += count;
+            len -= count;
+
+            if (bufPos == buf.length) {
+                sendPage();
+            }
+        }
+    }
+
+    /**
+     * Send the buffered bytes as a page without waiting, use close() to wait for all pages written
+     */
+    @Override
+    public void flush() throws IOException {
+        checkOpen();
+
+        if (bufPos > 0) {
+            sendPage();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (isClosed) {
+            return;
+        }
+
+        try {
+            flush();
+
+            // Wait for all pages in flight
+            inFlight.acquire(parallelism);
+            inFlight.release(parallelism);
+            throwIfPageFailed();
+
+            session.runCodes(String.format("closeUpload(%d)", pageCount))
+                    .toBlocking()
+                    .singleOrDefault(null);
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted in waiting for pages uploaded");
+        } finally {
+            isClosed = true;
+            session.close();
+        }
+    }
+
+    private void checkOpen() throws IOException {
+        if (isClosed) {
+            throw new IOException("The stream is closed");
+        }
+
+        throwIfPageFailed();
+    }
+
+    private void throwIfPageFailed() throws IOException {
+        final Throwable err = pageError.get();
+
+        if (err != null) {
+            throw err instanceof IOException ? (IOException) err : new IOException("Failed to upload page", err);
+        }
+    }
+
+    private void sendPage() throws IOException {
+        final String codes = buildPageCodes(pageCount++, buf, bufPos);
+
+        try {
+            inFlight.acquire();
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted in waiting for pages uploaded");
+        }
+
+        final long startTime = System.currentTimeMillis();
+
+        session.runCodes(codes)
+                .retry(PAGE_MAX_RETRIES)
+                .subscribeOn(Schedulers.io())
+                .subscribe(
+                        any -> {},
+                        err -> {
+                            pageError.compareAndSet(null, err);
+                            inFlight.release();
+                        },
+                        () -> {
+                            adaptPageSize(System.currentTimeMillis() - startTime);
+                            inFlight.release();
+                        });
+
+        // The buffer is captured by the page codes, so it's safe to reuse or resize here
+        final int nextPageSize = pageSize.get();
+        if (buf.length != nextPageSize) {
+            buf = new byte[nextPageSize];
+        }
+
+        bufPos = 0;
+    }
+
+    private void adaptPageSize(long statementMillis) {
+        if (statementMillis < TARGET_STATEMENT_MILLIS) {
+            pageSize.updateAndGet(size -> Math.min(MAX_PAGE_SIZE, size * 2));
+        } else if (statementMillis > TARGET_STATEMENT_MILLIS * 2) {
+            pageSize.updateAndGet(size -> Math.max(MIN_PAGE_SIZE, size / 2));
+        }
+    }
+
+    @NotNull
+    static String buildPageCodes(int seq, @NotNull byte[] page, int length) throws IOException {
+        final ByteArrayOutputStream deflatedOut = new ByteArrayOutputStream(length);
+        final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+
+        try (final DeflaterOutputStream out = new DeflaterOutputStream(deflatedOut, deflater)) {
+            out.write(page, 0, length);
+        } finally {
+            deflater.end();
+        }
+
+        // Compressed entries in jar files may not shrink any more, send them as is
+        final boolean isDeflated = deflatedOut.size() < length;
+        final String encoded = Base64.getEncoder().encodeToString(
+                isDeflated ? deflatedOut.toByteArray() : Arrays.copyOf(page, length));
+
+        final List<String> literals = new ArrayList<>();
+        for (int start = 0; start < encoded.length(); start += MAX_LITERAL_LENGTH) {
+            literals.add("\"" + encoded.substring(start, Math.min(encoded.length(), start + MAX_LITERAL_LENGTH)) + "\"");
+        }
+
+        return String.format("writePage(%d, %s, Seq(%s))", seq, isDeflated, String.join(", ", literals));
+    }
+}
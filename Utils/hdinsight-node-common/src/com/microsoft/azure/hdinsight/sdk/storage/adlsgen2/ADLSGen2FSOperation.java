@@ -7,32 +7,40 @@ package com.microsoft.azure.hdinsight.sdk.storage.adlsgen2;
 
 import com.google.common.collect.ImmutableList;
 import com.microsoft.azure.hdinsight.sdk.common.HttpObservable;
+import com.microsoft.azure.hdinsight.sdk.common.errorresponse.HttpErrorStatus;
 import com.microsoft.azure.hdinsight.sdk.rest.azure.storageaccounts.RemoteFile;
-import com.microsoft.azure.hdinsight.sdk.rest.azure.storageaccounts.api.GetRemoteFilesResponse;
 import com.microsoft.azuretools.azurecommons.helpers.NotNull;
 import com.microsoft.azuretools.azurecommons.helpers.Nullable;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.Header;
 import org.apache.http.NameValuePair;
+import org.apache.http.client.methods.HttpHead;
 import org.apache.http.client.methods.HttpPatch;
 import org.apache.http.client.methods.HttpPut;
-import org.apache.http.entity.BufferedHttpEntity;
-import org.apache.http.entity.ContentType;
-import org.apache.http.entity.InputStreamEntity;
+import org.apache.http.client.utils.HttpClientUtils;
 import org.apache.http.message.BasicHeader;
 import rx.Observable;
+import rx.exceptions.Exceptions;
+import rx.functions.Action1;
+import rx.schedulers.Schedulers;
 
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.net.UnknownServiceException;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class ADLSGen2FSOperation {
     public static final String DEFAULT_UMASK = "0000";
     public static final String PERMISSIONS_HEADER = "x-ms-permissions";
     public static final String UMASK_HEADER = "x-ms-umask";
+    public static final int DEFAULT_CHUNK_SIZE = 8 * 1024 * 1024;
+    public static final int DEFAULT_PARALLELISM = 4;
+    private static final int CHUNK_MAX_RETRIES = 3;
 
     private HttpObservable http;
 
@@ -42,9 +50,6 @@ public class ADLSGen2FSOperation {
     @NotNull
     private List<NameValuePair> createFileReqParams;
 
-    @NotNull
-    private List<NameValuePair> appendReqParams;
-
     @NotNull
     private ADLSGen2ParamsBuilder listReqBuilder;
 
@@ -61,11 +66,6 @@ public class ADLSGen2FSOperation {
                 .setResource("file")
                 .build();
 
-        this.appendReqParams = new ADLSGen2ParamsBuilder()
-                .setAction("append")
-                .setPosition(0)
-                .build();
-
         this.flushReqParamsBuilder = new ADLSGen2ParamsBuilder()
                 .setAction("flush");
     }
@@ -111,42 +111,156 @@ public class ADLSGen2FSOperation {
     }
 
     public Observable<Boolean> uploadData(String destFilePath, File src) {
-        return appendData(destFilePath, src)
+        return uploadData(destFilePath, src, null);
+    }
+
+    /**
+     * Upload the file in chunks appended in parallel, and commit them with a single flush
+     *
+     * @param destFilePath the destination file path, which should be created already
+     * @param src the source file to upload
+     * @param onProgress the callback of total bytes uploaded, called sequentially
+     * @return true if the upload is done
+     */
+    public Observable<Boolean> uploadData(String destFilePath, File src, @Nullable Action1<Long> onProgress) {
+        return appendDataInChunks(destFilePath, src, DEFAULT_CHUNK_SIZE, DEFAULT_PARALLELISM, onProgress)
                 .flatMap(len -> flushData(destFilePath, len));
     }
 
+    /**
+     * Get the length of the file by its properties
+     *
+     * @param filePath the file path
+     * @return the file length in bytes, or empty if the file doesn't exist
+     */
+    public Observable<Long> getFileLength(String filePath) {
+        return http.request(new HttpHead(filePath), null, Collections.emptyList(), Collections.emptyList())
+                .flatMap(resp -> {
+                    try {
+                        final int statusCode = resp.getStatusLine().getStatusCode();
+                        if (statusCode == 404) {
+                            return Observable.empty();
+                        }
+
+                        if (statusCode != 200) {
+                            return Observable.error(new UnknownServiceException(String.format(
+                                    "Failed to get properties of %s with unexpected code %s", filePath, statusCode)));
+                        }
+
+                        final Header contentLength = resp.getFirstHeader("Content-Length");
+
+                        return Observable.just(contentLength == null ? -1L : Long.parseLong(contentLength.getValue()));
+                    } finally {
+                        HttpClientUtils.closeQuietly(resp);
+                    }
+                });
+    }
+
     public Observable<RemoteFile> list(String rootPath, String relativePath) {
         this.listReqBuilder = new ADLSGen2ParamsBuilder()
                 .enableRecursive(false)
                 .setResource("filesystem");
 
-        return http.get(
+        return http.getElements(
                 StringUtils.stripEnd(rootPath, "/"),
                 listReqBuilder.setDirectory(relativePath).build(),
                 null,
-                GetRemoteFilesResponse.class)
-                .flatMap(pathList -> Observable.from(pathList.getRemoteFiles()));
+                "paths",
+                RemoteFile.class);
+    }
+
+    private Observable<Long> appendDataInChunks(String filePath,
+                                                File src,
+                                                int chunkSize,
+                                                int parallelism,
+                                                @Nullable Action1<Long> onProgress) {
+        if (!src.isFile()) {
+            return Observable.error(new IllegalArgumentException("Can not find the aritifact"));
+        }
+
+        return Observable.using(
+                () -> {
+                    try {
+                        return FileChannel.open(src.toPath(), StandardOpenOption.READ);
+                    } catch (IOException e) {
+                        throw new RuntimeException(new IllegalArgumentException("Can not read the aritfact"));
+                    }
+                },
+                channel -> {
+                    final long len = src.length();
+                    final int chunks = (int) ((len + chunkSize - 1) / chunkSize);
+                    final AtomicLong uploaded = new AtomicLong(0);
+
+                    http.setContentType("application/octet-stream");
+
+                    return Observable.range(0, chunks)
+                            .flatMap(chunk -> {
+                                final long position = (long) chunk * chunkSize;
+
+                                return appendChunk(filePath, channel, position, Math.min(chunkSize, len - position))
+                                        .subscribeOn(Schedulers.io());
+                            }, parallelism)
+                            .doOnNext(chunkLen -> {
+                                if (onProgress != null) {
+                                    onProgress.call(uploaded.addAndGet(chunkLen));
+                                }
+                            })
+                            .lastOrDefault(0L)
+                            .map(ignore -> len);
+                },
+                channel -> {
+                    try {
+                        channel.close();
+                    } catch (IOException ignored) {
+                    }
+                });
+    }
+
+    private Observable<Long> appendChunk(String filePath, FileChannel channel, long position, long length) {
+        final List<NameValuePair> appendReqParams = new ADLSGen2ParamsBuilder()
+                .setAction("append")
+                .setPosition(position)
+                .build();
+
+        // A new request per try, the slice is re-read from the file
+        return Observable.defer(() -> http.request(new HttpPatch(filePath),
+                                                   new FileChannelSliceEntity(channel, position, length),
+                                                   appendReqParams,
+                                                   Collections.emptyList()))
+                .flatMap(resp -> {
+                    try {
+                        if (resp.getStatusLine().getStatusCode() != 202) {
+                            return Observable.<Long>error(HttpObservable.classifyHttpError(resp));
+                        }
+
+                        return Observable.just(length);
+                    } catch (IOException e) {
+                        return Observable.error(e);
+                    } finally {
+                        HttpClientUtils.closeQuietly(resp);
+                    }
+                })
+                .retryWhen(errs -> errs.zipWith(Observable.range(1, CHUNK_MAX_RETRIES + 1), (err, retry) -> {
+                    if (retry > CHUNK_MAX_RETRIES || !isRetriable(err)) {
+                        throw Exceptions.propagate(err);
+                    }
+
+                    return retry;
+                }).flatMap(retry -> Observable.timer(retry, TimeUnit.SECONDS)));
     }
 
-    private Observable<Long> appendData(String filePath, File src) {
-        try {
-            InputStreamEntity reqEntity = new InputStreamEntity(
-                    new FileInputStream(src),
-                    -1,
-                    ContentType.APPLICATION_OCTET_STREAM);
-            BufferedHttpEntity entity = new BufferedHttpEntity(reqEntity);
-            long len = entity.getContentLength();
-
-            HttpPatch req = new HttpPatch(filePath);
-            http.setContentType("application/octet-stream");
-
-            return http.executeReqAndCheckStatus(req, entity, this.appendReqParams, Collections.emptyList(), 202)
-                    .map(ignore -> len);
-        } catch (FileNotFoundException e) {
-            throw new RuntimeException(new IllegalArgumentException("Can not find the aritifact"));
-        } catch (IOException e) {
-            throw new RuntimeException(new IllegalArgumentException("Can not read the aritfact"));
+    /**
+     * Only the IO errors and the throttled or server side failures are worth retrying, the other HTTP errors,
+     * such as the authorization or conflict ones, fail the same way again
+     */
+    private static boolean isRetriable(Throwable err) {
+        if (err instanceof HttpErrorStatus) {
+            final int statusCode = ((HttpErrorStatus) err).getStatusCode();
+
+            return statusCode >= 500 || statusCode == 429;
         }
+
+        return err instanceof IOException;
     }
 
     private Observable<Boolean> flushData(String filePath, long flushLen) {
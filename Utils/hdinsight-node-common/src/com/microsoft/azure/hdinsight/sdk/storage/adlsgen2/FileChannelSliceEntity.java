@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.hdinsight.sdk.storage.adlsgen2;
+
+import com.microsoft.azuretools.azurecommons.helpers.NotNull;
+import org.apache.http.entity.AbstractHttpEntity;
+import org.apache.http.entity.ContentType;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * A repeatable entity streaming a slice of file with positional reads, which is safe to share the channel
+ * among parallel requests
+ */
+public class FileChannelSliceEntity extends AbstractHttpEntity {
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    @NotNull
+    private final FileChannel channel;
+    private final long position;
+    private final long length;
+
+    public FileChannelSliceEntity(@NotNull FileChannel channel, long position, long length) {
+        this.channel = channel;
+        this.position = position;
+        this.length = length;
+
+        setContentType(ContentType.APPLICATION_OCTET_STREAM.toString());
+    }
+
+    @Override
+    public boolean isRepeatable() {
+        return true;
+    }
+
+    @Override
+    public long getContentLength() {
+        return length;
+    }
+
+    @Override
+    public InputStream getContent() throws IOException {
+        final ByteArrayOutputStream content = new ByteArrayOutputStream((int) length);
+        writeTo(content);
+
+        return new ByteArrayInputStream(content.toByteArray());
+    }
+
+    @Override
+    public void writeTo(@NotNull OutputStream outStream) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(COPY_BUFFER_SIZE, Math.max(1, length)));
+        long written = 0;
+
+        while (written < length) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), length - written));
+
+            final int read = channel.read(buffer, position + written);
+            if (read < 0) {
+                throw new EOFException("The file is truncated at " + (position + written));
+            }
+
+            outStream.write(buffer.array(), 0, read);
+            written += read;
+        }
+
+        outStream.flush();
+    }
+
+    @Override
+    public boolean isStreaming() {
+        return false;
+    }
+}
@@ -21,8 +21,14 @@ import rx.exceptions.Exceptions;
 
 import java.io.File;
 import java.net.URI;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.microsoft.azure.hdinsight.common.MessageInfoType.Info;
+import static com.microsoft.azure.hdinsight.spark.common.log.SparkLogLine.TOOL;
+
+public class ADLSGen2Deploy implements ContentAddressableDeployable, ILogger {
+    private static final int PROGRESS_REPORT_PERCENT_STEP = 10;
 
-public class ADLSGen2Deploy implements Deployable, ILogger {
     @NotNull
     public HttpObservable http;
 
@@ -34,27 +40,42 @@ public class ADLSGen2Deploy implements Deployable, ILogger {
         this.http = http;
     }
 
-    private URI getUploadDir() {
-        return URI.create(destinationRootPath)
-                  .resolve(JobUtils.getFormatPathByDate() + "/");
+    @Override
+    public Observable<String> deploy(File src, Observer<SparkLogLine> logSubject) {
+        return deployTo(src, JobUtils.getFormatPathByDate() + "/" + src.getName(), logSubject);
     }
 
+    @NotNull
     @Override
-    public Observable<String> deploy(File src, Observer<SparkLogLine> logSubject) {
+    public String getStorageKey() {
+        return destinationRootPath;
+    }
+
+    @Override
+    public Observable<String> probe(@NotNull String relativePath, long length) {
+        final String filePath = URI.create(destinationRootPath).resolve(relativePath).toString();
+
+        return new ADLSGen2FSOperation(this.http)
+                .getFileLength(filePath)
+                .filter(remoteLength -> remoteLength == length)
+                .map(ignored -> AbfsUri.parse(filePath).getUri().toString());
+    }
+
+    @Override
+    public Observable<String> deployTo(@NotNull File src,
+                                       @NotNull String relativePath,
+                                       @NotNull Observer<SparkLogLine> logSubject) {
         // four steps to upload via adls gen2 rest api
         // 1.put request to create new dir
         // 2.put request to create new file(artifact) which is empty
         // 3.patch request to append data to file
         // 4.patch request to flush data to file
 
-        final URI destURI = getUploadDir();
-
-        //remove request / end otherwise invalid url response
-        final String destStr = destURI.toString();
-        final String dirPath = destStr.endsWith("/") ? destStr.substring(0, destStr.length() - 1) : destStr;
-        final String filePath = String.format("%s/%s", dirPath, src.getName());
+        final String filePath = URI.create(destinationRootPath).resolve(relativePath).toString();
+        final String dirPath = filePath.substring(0, filePath.lastIndexOf('/'));
 
         final ADLSGen2FSOperation op = new ADLSGen2FSOperation(this.http);
+        final AtomicInteger lastReportedPercent = new AtomicInteger(0);
         return op.createDir(dirPath, "0755")
                  .onErrorReturn(err -> {
                      if (err.getMessage() != null && (err.getMessage().contains(String.valueOf(HttpStatus.SC_FORBIDDEN))
@@ -75,11 +96,27 @@ public class ADLSGen2Deploy implements Deployable, ILogger {
                  })
                  .doOnNext(ignore -> log().info(String.format("Create filesystem %s successfully.", dirPath)))
                  .flatMap(ignore -> op.createFile(filePath, "0755"))
-                 .flatMap(ignore -> op.uploadData(filePath, src))
+                 .flatMap(ignore -> op.uploadData(filePath, src, uploaded -> reportProgress(
+                         logSubject, src, uploaded, lastReportedPercent)))
                  .doOnNext(ignore -> log().info(String.format("Append data to file %s successfully.", filePath)))
                  .map(ignored -> AbfsUri.parse(filePath).getUri().toString());
     }
 
+    private void reportProgress(@NotNull Observer<SparkLogLine> logSubject,
+                                @NotNull File src,
+                                long uploaded,
+                                @NotNull AtomicInteger lastReportedPercent) {
+        final long total = src.length();
+        final int percent = total == 0 ? 100 : (int) (uploaded * 100 / total);
+
+        // Report every 10 percent to avoid flooding the console with large artifacts
+        if (percent / PROGRESS_REPORT_PERCENT_STEP > lastReportedPercent.get() / PROGRESS_REPORT_PERCENT_STEP) {
+            lastReportedPercent.set(percent);
+            logSubject.onNext(new SparkLogLine(TOOL, Info, String.format(
+                    "Uploaded %d%% (%d of %d bytes) of %s.", percent, uploaded, total, src.getName())));
+        }
+    }
+
     public static String getForbiddenErrorHints(String fileSystemRootPath) {
         final String signInUserEmail = AuthMethodManager.getInstance().getAuthMethodDetails().getAccountEmail();
         return " Please verify if\n"
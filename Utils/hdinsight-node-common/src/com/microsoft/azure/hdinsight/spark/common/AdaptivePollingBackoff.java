@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.hdinsight.spark.common;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Paging and delay policy for polling Livy: the page grows while full pages keep coming back,
+ * and the delay grows exponentially with jitter while nothing new is returned.
+ */
+public class AdaptivePollingBackoff {
+    private final int minPageSize;
+    private final int maxPageSize;
+    private final long minDelayMillis;
+    private final long maxDelayMillis;
+
+    private int pageSize;
+    private long idleDelayMillis;
+
+    public AdaptivePollingBackoff(int minPageSize, int maxPageSize, long minDelayMillis, long maxDelayMillis) {
+        this.minPageSize = minPageSize;
+        this.maxPageSize = Math.max(minPageSize, maxPageSize);
+        this.minDelayMillis = minDelayMillis;
+        this.maxDelayMillis = Math.max(minDelayMillis, maxDelayMillis);
+        this.pageSize = minPageSize;
+        this.idleDelayMillis = 0;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * Record a fetched page and get the delay before the next fetch
+     *
+     * @param itemsGot the count of items got by the last fetch
+     * @return the delay in milliseconds before the next fetch
+     */
+    public long onPage(int itemsGot) {
+        if (itemsGot <= 0) {
+            pageSize = minPageSize;
+
+            return onIdle();
+        }
+
+        idleDelayMillis = 0;
+
+        if (itemsGot >= pageSize) {
+            // The log is flowing, fetch the next page in larger size immediately
+            pageSize = Math.min(maxPageSize, pageSize * 2);
+
+            return 0;
+        }
+
+        return minDelayMillis;
+    }
+
+    /**
+     * Record a poll without any progress and get the delay before the next poll
+     *
+     * @return the delay in milliseconds with jitter, in [delay / 2, delay]
+     */
+    public long onIdle() {
+        idleDelayMillis = idleDelayMillis == 0 ? minDelayMillis : Math.min(maxDelayMillis, idleDelayMillis * 2);
+
+        final long half = idleDelayMillis / 2;
+
+        return half + ThreadLocalRandom.current().nextLong(idleDelayMillis - half + 1);
+    }
+
+    /**
+     * Reset the delay after a progress is made, such as a state changed
+     */
+    public void reset() {
+        idleDelayMillis = 0;
+    }
+}
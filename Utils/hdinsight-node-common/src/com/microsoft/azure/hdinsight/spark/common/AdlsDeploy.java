@@ -5,6 +5,7 @@
 
 package com.microsoft.azure.hdinsight.spark.common;
 
+import com.microsoft.azure.datalake.store.ADLStoreClient;
 import com.microsoft.azure.hdinsight.spark.common.log.SparkLogLine;
 import com.microsoft.azure.hdinsight.spark.jobs.JobUtils;
 import com.microsoft.azuretools.azurecommons.helpers.NotNull;
@@ -12,9 +13,11 @@ import rx.Observable;
 import rx.Observer;
 
 import java.io.File;
+import java.net.URI;
+import java.util.Objects;
 
 // for cluster with adls gen1 account to deploy using ADLS storage account type
-public class AdlsDeploy implements Deployable {
+public class AdlsDeploy implements ContentAddressableDeployable {
     @NotNull
     private final String adlsRootPath;
     @NotNull
@@ -31,4 +34,38 @@ public class AdlsDeploy implements Deployable {
     public Observable<String> deploy(File src, Observer<SparkLogLine> logSubject) {
         return JobUtils.deployArtifactToADLS(src.getAbsolutePath(), adlsRootPath, accessToken);
     }
+
+    @NotNull
+    @Override
+    public String getStorageKey() {
+        return adlsRootPath;
+    }
+
+    @NotNull
+    private URI getRemote(@NotNull String relativePath) {
+        return URI.create(adlsRootPath)
+                  .resolve("SparkSubmission/")
+                  .resolve(relativePath);
+    }
+
+    @Override
+    public Observable<String> probe(@NotNull String relativePath, long length) {
+        return Observable.fromCallable(() -> {
+                    final URI remote = getRemote(relativePath);
+                    final ADLStoreClient storeClient = ADLStoreClient.createClient(remote.getHost(), accessToken);
+
+                    return storeClient.checkExists(remote.getPath())
+                           && storeClient.getDirectoryEntry(remote.getPath()).length == length
+                           ? remote.toString()
+                           : null;
+                })
+                .filter(Objects::nonNull);
+    }
+
+    @Override
+    public Observable<String> deployTo(@NotNull File src,
+                                       @NotNull String relativePath,
+                                       @NotNull Observer<SparkLogLine> logSubject) {
+        return JobUtils.deployArtifactToADLS(src, getRemote(relativePath), accessToken);
+    }
 }
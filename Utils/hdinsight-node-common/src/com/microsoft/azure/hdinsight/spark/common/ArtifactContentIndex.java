@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.hdinsight.spark.common;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microsoft.azure.hdinsight.common.logger.ILogger;
+import com.microsoft.azuretools.authmanage.CommonSettings;
+import com.microsoft.azuretools.authmanage.FileStorage;
+import com.microsoft.azuretools.azurecommons.helpers.NotNull;
+import com.microsoft.azuretools.azurecommons.helpers.Nullable;
+import org.apache.commons.codec.digest.DigestUtils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The local index of artifact content hashes, and the storage locations which already hold them
+ */
+public class ArtifactContentIndex implements ILogger {
+    private static final String INDEX_FILE_NAME = "SparkArtifactIndex.json";
+
+    private static final ArtifactContentIndex instance = new ArtifactContentIndex(true);
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    /**
+     * The SHA-256 hashes of local artifacts, keyed by the canonical path
+     */
+    private final Map<String, LocalHash> localHashes = new ConcurrentHashMap<>();
+
+    /**
+     * The upload paths of deployed artifacts, keyed by the storage key and hash
+     */
+    @Nullable
+    private Map<String, DeployedArtifact> deployedArtifacts;
+
+    /**
+     * Whether the deployed artifacts are loaded from and saved to the settings folder
+     */
+    private final boolean isPersisted;
+
+    public static ArtifactContentIndex getInstance() {
+        return instance;
+    }
+
+    ArtifactContentIndex(boolean isPersisted) {
+        this.isPersisted = isPersisted;
+    }
+
+    /**
+     * Get the SHA-256 hash of the artifact, which is only re-computed when the path, modified time or size changes
+     *
+     * @param artifact the local artifact
+     * @return the hex string of the hash
+     * @throws IOException exceptions in reading the artifact
+     */
+    @NotNull
+    public String getContentHash(@NotNull File artifact) throws IOException {
+        final String path = artifact.getCanonicalPath();
+        final long modified = artifact.lastModified();
+        final long length = artifact.length();
+
+        final LocalHash cached = localHashes.get(path);
+        if (cached != null && cached.modified == modified && cached.length == length) {
+            return cached.hash;
+        }
+
+        try (final InputStream in = new FileInputStream(artifact)) {
+            final String hash = DigestUtils.sha256Hex(in);
+            localHashes.put(path, new LocalHash(modified, length, hash));
+
+            return hash;
+        }
+    }
+
+    @Nullable
+    public synchronized DeployedArtifact getDeployed(@NotNull String storageKey, @NotNull String hash) {
+        return getDeployedArtifacts().get(getIndexKey(storageKey, hash));
+    }
+
+    public synchronized void putDeployed(@NotNull String storageKey, @NotNull String hash, @NotNull String uploadedPath) {
+        getDeployedArtifacts().put(getIndexKey(storageKey, hash),
+                                   new DeployedArtifact(uploadedPath, System.currentTimeMillis()));
+        save();
+    }
+
+    public synchronized void removeDeployed(@NotNull String storageKey, @NotNull String hash) {
+        if (getDeployedArtifacts().remove(getIndexKey(storageKey, hash)) != null) {
+            save();
+        }
+    }
+
+    @NotNull
+    private static String getIndexKey(@NotNull String storageKey, @NotNull String hash) {
+        return storageKey + "#" + hash;
+    }
+
+    @NotNull
+    private Map<String, DeployedArtifact> getDeployedArtifacts() {
+        if (deployedArtifacts == null) {
+            deployedArtifacts = new ConcurrentHashMap<>();
+
+            if (!isPersisted) {
+                return deployedArtifacts;
+            }
+
+            try {
+                final String json = new String(getStorage().read(), StandardCharsets.UTF_8);
+                if (!json.isEmpty()) {
+                    deployedArtifacts.putAll(mapper.readValue(json, new TypeReference<Map<String, DeployedArtifact>>() {}));
+                }
+            } catch (final IOException ex) {
+                log().warn("Failed to load the Spark artifact index: " + ex.toString());
+            }
+        }
+
+        return deployedArtifacts;
+    }
+
+    private void save() {
+        if (!isPersisted) {
+            return;
+        }
+
+        try {
+            getStorage().write(mapper.writeValueAsBytes(getDeployedArtifacts()));
+        } catch (final IOException ex) {
+            log().warn("Failed to save the Spark artifact index: " + ex.toString());
+        }
+    }
+
+    @NotNull
+    private FileStorage getStorage() throws IOException {
+        return new FileStorage(INDEX_FILE_NAME, CommonSettings.getSettingsBaseDir());
+    }
+
+    private static class LocalHash {
+        private final long modified;
+        private final long length;
+        @NotNull
+        private final String hash;
+
+        LocalHash(long modified, long length, @NotNull String hash) {
+            this.modified = modified;
+            this.length = length;
+            this.hash = hash;
+        }
+    }
+
+    public static class DeployedArtifact {
+        private String uploadedPath;
+        private long verifiedTime;
+
+        public DeployedArtifact() {
+        }
+
+        DeployedArtifact(String uploadedPath, long verifiedTime) {
+            this.uploadedPath = uploadedPath;
+            this.verifiedTime = verifiedTime;
+        }
+
+        public String getUploadedPath() {
+            return uploadedPath;
+        }
+
+        public void setUploadedPath(String uploadedPath) {
+            this.uploadedPath = uploadedPath;
+        }
+
+        public long getVerifiedTime() {
+            return verifiedTime;
+        }
+
+        public void setVerifiedTime(long verifiedTime) {
+            this.verifiedTime = verifiedTime;
+        }
+    }
+}
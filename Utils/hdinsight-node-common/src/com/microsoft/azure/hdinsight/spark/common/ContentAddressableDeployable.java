@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.hdinsight.spark.common;
+
+import com.microsoft.azure.hdinsight.spark.common.log.SparkLogLine;
+import com.microsoft.azuretools.azurecommons.helpers.NotNull;
+import rx.Observable;
+import rx.Observer;
+
+import java.io.File;
+
+/**
+ * The deployable which can place artifacts at given paths, to be reused across submissions
+ */
+public interface ContentAddressableDeployable extends Deployable {
+    /**
+     * Get the key of the storage location deployed into, such as the destination root path
+     *
+     * @return the storage key to index the artifacts deployed
+     */
+    @NotNull
+    String getStorageKey();
+
+    /**
+     * Find the artifact deployed at the path relative to the destination root
+     *
+     * @param relativePath the path relative to the destination root
+     * @param length       the expected artifact length in bytes
+     * @return Observable: the upload path if the artifact exists with the length, or empty
+     * Observable Error: IOException;
+     */
+    Observable<String> probe(@NotNull String relativePath, long length);
+
+    /**
+     * Deploy the job artifact to the path relative to the destination root
+     *
+     * @param src          the artifact to deploy
+     * @param relativePath the path relative to the destination root
+     * @param logSubject   the subject to help print logs during deploying
+     * @return Observable: upload path
+     * Observable Error: IOException;
+     */
+    Observable<String> deployTo(@NotNull File src, @NotNull String relativePath, @NotNull Observer<SparkLogLine> logSubject);
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.hdinsight.spark.common;
+
+import com.microsoft.azure.hdinsight.common.logger.ILogger;
+import com.microsoft.azure.hdinsight.spark.common.ArtifactContentIndex.DeployedArtifact;
+import com.microsoft.azure.hdinsight.spark.common.log.SparkLogLine;
+import com.microsoft.azuretools.azurecommons.helpers.NotNull;
+import rx.Observable;
+import rx.Observer;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import static com.microsoft.azure.hdinsight.common.MessageInfoType.Info;
+import static com.microsoft.azure.hdinsight.common.MessageInfoType.Warning;
+import static com.microsoft.azure.hdinsight.spark.common.log.SparkLogLine.TOOL;
+
+/**
+ * Deploy the artifact to {@code cas/<sha256>/<name>} under the destination root, and skip the upload
+ * when the same content is already there
+ */
+public class ContentAddressedDeploy implements Deployable, ILogger {
+    public static final String CAS_FOLDER = "cas";
+
+    /**
+     * The artifacts indexed as deployed in the period are reused without probing the storage again
+     */
+    private static final long VERIFIED_TRUST_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    @NotNull
+    private final ContentAddressableDeployable delegate;
+
+    @NotNull
+    private final ArtifactContentIndex index;
+
+    public ContentAddressedDeploy(@NotNull ContentAddressableDeployable delegate) {
+        this(delegate, ArtifactContentIndex.getInstance());
+    }
+
+    public ContentAddressedDeploy(@NotNull ContentAddressableDeployable delegate, @NotNull ArtifactContentIndex index) {
+        this.delegate = delegate;
+        this.index = index;
+    }
+
+    @Override
+    public Observable<String> deploy(File src, Observer<SparkLogLine> logSubject) {
+        return Observable.fromCallable(() -> index.getContentHash(src))
+                .flatMap(hash -> {
+                    final String storageKey = delegate.getStorageKey();
+                    final String relativePath = String.format("%s/%s/%s", CAS_FOLDER, hash, src.getName());
+                    final DeployedArtifact deployed = index.getDeployed(storageKey, hash);
+
+                    if (deployed != null
+                            && System.currentTimeMillis() - deployed.getVerifiedTime() < VERIFIED_TRUST_MILLIS) {
+                        logSubject.onNext(new SparkLogLine(TOOL, Info, String.format(
+                                "Artifact %s is unchanged, reuse the uploaded %s.", src.getName(), deployed.getUploadedPath())));
+
+                        return Observable.just(deployed.getUploadedPath());
+                    }
+
+                    // Ask the storage for the unindexed or stale artifacts, since they can be removed at any time
+                    return delegate.probe(relativePath, src.length())
+                            .doOnNext(uploadedPath -> logSubject.onNext(new SparkLogLine(TOOL, Info, String.format(
+                                    "Artifact %s already exists in %s, skip uploading.", src.getName(), uploadedPath))))
+                            .onErrorResumeNext(err -> {
+                                // The probing is only an optimization, upload the artifact if it fails
+                                log().warn("Failed to probe the uploaded artifact " + relativePath, err);
+                                logSubject.onNext(new SparkLogLine(TOOL, Warning, String.format(
+                                        "Can't check if artifact %s was uploaded, upload it: %s",
+                                        src.getName(), err.getMessage())));
+
+                                return Observable.empty();
+                            })
+                            .switchIfEmpty(Observable.defer(() -> {
+                                index.removeDeployed(storageKey, hash);
+
+                                return delegate.deployTo(src, relativePath, logSubject);
+                            }))
+                            .doOnNext(uploadedPath -> index.putDeployed(storageKey, hash, uploadedPath));
+                });
+    }
+
+    @NotNull
+    public ContentAddressableDeployable getDelegate() {
+        return delegate;
+    }
+}
@@ -28,7 +28,10 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import rx.Observable;
 import rx.Observer;
+import rx.Scheduler;
 import rx.Subscriber;
+import rx.functions.Action0;
+import rx.schedulers.Schedulers;
 import rx.subjects.PublishSubject;
 
 import java.io.File;
@@ -37,6 +40,7 @@ import java.net.URI;
 import java.net.UnknownServiceException;
 import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.*;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -62,6 +66,24 @@ public class SparkBatchJob implements ISparkBatchJob, ILogger {
     private int nextLivyLogOffset = 0;
     private final Object livyLogOffsetLock = new Object();
 
+    /**
+     * The shared scheduler for all Livy log and state pollers, delays between polls don't hold any thread
+     */
+    private static final Scheduler livyPollingScheduler = Schedulers.from(Executors.newFixedThreadPool(4, runnable -> {
+        final Thread thread = new Thread(runnable, "livy-polling");
+        thread.setDaemon(true);
+        return thread;
+    }));
+
+    /**
+     * The latest Livy batch status got, shared by log and state pollers. Accessing with {@link #batchStatusLock}
+     */
+    @Nullable
+    private SparkSubmitResponse lastBatchStatus;
+    private long lastBatchStatusMillis = 0;
+    private final Object batchStatusLock = new Object();
+    private static final long BATCH_STATUS_FRESH_MILLIS = 1000;
+
     @Nullable
     private String getCurrentLogUrl() {
         return currentLogUrl;
@@ -803,56 +825,108 @@ public class SparkBatchJob implements ISparkBatchJob, ILogger {
                 "yarn diagnostics:"));
 
         return Observable.create(ob -> {
-            try {
-                final int maxLinesPerGet = 128;
-                int linesGot;
-                boolean isFetching = true;
-
-                while (isFetching) {
-                    final int start = nextLivyLogOffset;
-                    final boolean isAppIdAllocated = !this.getSparkJobApplicationIdObservable().isEmpty().toBlocking()
-                            .lastOrDefault(true);
-                    final String logUrl = String.format("%s/%d/log?from=%d&size=%d",
-                                                        this.getConnectUri().toString(), batchId, start, maxLinesPerGet);
-
-                    final HttpResponse httpResponse = this.getSubmission().getHttpResponseViaGet(logUrl);
-
-                    final SparkJobLog sparkJobLog = ObjectConvertUtils.convertJsonToObject(httpResponse.getMessage(),
-                                                                                           SparkJobLog.class)
-                                                                      .orElseThrow(() -> new UnknownServiceException(
-                                    "Bad spark log response: " + httpResponse.getMessage()));
-
-                    synchronized (livyLogOffsetLock) {
-                        if (start != nextLivyLogOffset) {
-                            // The offset is moved by another fetching thread, re-do it with new offset
-                            continue;
-                        }
+            final Scheduler.Worker worker = livyPollingScheduler.createWorker();
+            ob.add(worker);
 
-                        // To subscriber
-                        sparkJobLog.getLog().stream()
-                                .filter(line -> !ignoredEmptyLines.contains(line.trim().toLowerCase()))
-                                .forEach(line -> ob.onNext(new SparkLogLine(LIVY, Log, line)));
+            final AdaptivePollingBackoff backoff = new AdaptivePollingBackoff(
+                    128, 2048, 500, TimeUnit.SECONDS.toMillis(this.getDelaySeconds()));
 
-                        linesGot = sparkJobLog.getLog().size();
-                        nextLivyLogOffset += linesGot;
+            worker.schedule(new Action0() {
+                @Override
+                public void call() {
+                    if (ob.isUnsubscribed()) {
+                        return;
                     }
 
-                    // Retry interval
-                    if (linesGot == 0) {
-                        isFetching = "starting".equals(this.getState()) && !isAppIdAllocated;
+                    try {
+                        final int start = nextLivyLogOffset;
+                        final String logUrl = String.format("%s/%d/log?from=%d&size=%d",
+                                getConnectUri().toString(), batchId, start, backoff.getPageSize());
+
+                        final HttpResponse httpResponse = getSubmission().getHttpResponseViaGet(logUrl);
+
+                        final SparkJobLog sparkJobLog = ObjectConvertUtils.convertJsonToObject(httpResponse.getMessage(),
+                                                                                               SparkJobLog.class)
+                                                                          .orElseThrow(() -> new UnknownServiceException(
+                                        "Bad spark log response: " + httpResponse.getMessage()));
+
+                        final int linesGot;
+
+                        synchronized (livyLogOffsetLock) {
+                            if (start != nextLivyLogOffset) {
+                                // The offset is moved by another fetching thread, re-do it with new offset
+                                worker.schedule(this);
+                                return;
+                            }
 
-                        sleep(TimeUnit.SECONDS.toMillis(this.getDelaySeconds()));
+                            // To subscriber
+                            sparkJobLog.getLog().stream()
+                                    .filter(line -> !ignoredEmptyLines.contains(line.trim().toLowerCase()))
+                                    .forEach(line -> ob.onNext(new SparkLogLine(LIVY, Log, line)));
+
+                            linesGot = sparkJobLog.getLog().size();
+                            nextLivyLogOffset += linesGot;
+                        }
+
+                        if (linesGot == 0) {
+                            // Only check the state and application ID, in one status call, while the log is idle
+                            final SparkSubmitResponse status = getBatchStatus();
+                            final boolean isFetching = status != null &&
+                                    "starting".equals(status.getState()) && status.getAppId() == null;
+
+                            if (!isFetching) {
+                                ob.onCompleted();
+                                return;
+                            }
+                        }
+
+                        worker.schedule(this, backoff.onPage(linesGot), TimeUnit.MILLISECONDS);
+                    } catch (final IOException ex) {
+                        ob.onNext(new SparkLogLine(TOOL, Error, ex.getMessage()));
+                        ob.onCompleted();
+                    } catch (final Throwable ex) {
+                        // The scheduler swallows the exceptions thrown in the action, send it to the subscriber
+                        ob.onError(ex);
                     }
                 }
-            } catch (final IOException ex) {
-                ob.onNext(new SparkLogLine(TOOL, Error, ex.getMessage()));
-            } catch (final InterruptedException ignored) {
-            } finally {
-                ob.onCompleted();
-            }
+            });
         });
     }
 
+    /**
+     * Get the Livy batch status, the result got within {@link #BATCH_STATUS_FRESH_MILLIS} is reused
+     *
+     * @return the Livy batch status, or null for a non-successful response
+     * @throws IOException exceptions in transaction
+     */
+    @Nullable
+    private SparkSubmitResponse getBatchStatus() throws IOException {
+        synchronized (batchStatusLock) {
+            if (lastBatchStatus != null && System.currentTimeMillis() - lastBatchStatusMillis < BATCH_STATUS_FRESH_MILLIS) {
+                return lastBatchStatus;
+            }
+        }
+
+        final HttpResponse httpResponse = this.getSubmission().getBatchSparkJobStatus(
+                this.getConnectUri().toString(), batchId);
+
+        if (httpResponse.getCode() < 200 || httpResponse.getCode() >= 300) {
+            return null;
+        }
+
+        final SparkSubmitResponse jobResp = ObjectConvertUtils.convertJsonToObject(
+                httpResponse.getMessage(), SparkSubmitResponse.class)
+                                                              .orElseThrow(() -> new UnknownServiceException(
+                        "Bad spark job response: " + httpResponse.getMessage()));
+
+        synchronized (batchStatusLock) {
+            lastBatchStatus = jobResp;
+            lastBatchStatusMillis = System.currentTimeMillis();
+        }
+
+        return jobResp;
+    }
+
     public boolean isActive() throws IOException {
         if (getConnectUri() == null) {
             throw new SparkJobNotConfiguredException("Can't get Spark job connection URI, " +
@@ -896,41 +970,55 @@ public class SparkBatchJob implements ISparkBatchJob, ILogger {
         }
 
         return Observable.create((Subscriber<? super SimpleImmutableEntry<String, String>> ob) -> {
-            try {
-                boolean isJobActive;
-                SparkBatchJobState state = SparkBatchJobState.NOT_STARTED;
-                String diagnostics = "";
-
-                do {
-                    final HttpResponse httpResponse = this.getSubmission().getBatchSparkJobStatus(
-                            this.getConnectUri().toString(), batchId);
-
-                    if (httpResponse.getCode() >= 200 && httpResponse.getCode() < 300) {
-                        final SparkSubmitResponse jobResp = ObjectConvertUtils.convertJsonToObject(
-                                httpResponse.getMessage(), SparkSubmitResponse.class)
-                                                                              .orElseThrow(() -> new UnknownServiceException(
-                                        "Bad spark job response: " + httpResponse.getMessage()));
-
-                        state = SparkBatchJobState.valueOf(jobResp.getState().toUpperCase());
-                        diagnostics = String.join("\n", jobResp.getLog());
-
-                        isJobActive = !isDone(state.toString());
-                    } else {
-                        isJobActive = false;
+            final Scheduler.Worker worker = livyPollingScheduler.createWorker();
+            ob.add(worker);
+
+            final AdaptivePollingBackoff backoff = new AdaptivePollingBackoff(
+                    1, 1, 1000, TimeUnit.SECONDS.toMillis(Math.max(1, this.getDelaySeconds())));
+
+            worker.schedule(new Action0() {
+                private SparkBatchJobState state = SparkBatchJobState.NOT_STARTED;
+                private String diagnostics = "";
+
+                @Override
+                public void call() {
+                    if (ob.isUnsubscribed()) {
+                        return;
                     }
 
+                    try {
+                        final SparkSubmitResponse jobResp = getBatchStatus();
+                        final boolean isJobActive;
 
-                    // Retry interval
-                    sleep(1000);
-                } while (isJobActive);
+                        if (jobResp != null) {
+                            final SparkBatchJobState newState = SparkBatchJobState.valueOf(jobResp.getState().toUpperCase());
 
-                ob.onNext(new SimpleImmutableEntry<>(state.toString(), diagnostics));
-                ob.onCompleted();
-            } catch (final IOException ex) {
-                ob.onError(ex);
-            } catch (final InterruptedException ignored) {
-                ob.onCompleted();
-            }
+                            if (newState != state) {
+                                // Poll quickly again around state transitions
+                                backoff.reset();
+                            }
+
+                            state = newState;
+                            diagnostics = String.join("\n", jobResp.getLog());
+
+                            isJobActive = !isDone(state.toString());
+                        } else {
+                            isJobActive = false;
+                        }
+
+                        if (isJobActive) {
+                            worker.schedule(this, backoff.onIdle(), TimeUnit.MILLISECONDS);
+                            return;
+                        }
+
+                        ob.onNext(new SimpleImmutableEntry<>(state.toString(), diagnostics));
+                        ob.onCompleted();
+                    } catch (final Throwable ex) {
+                        // Includes the unknown job state and the missing connection URI, which are not IOException
+                        ob.onError(ex);
+                    }
+                }
+            });
         });
     }
 
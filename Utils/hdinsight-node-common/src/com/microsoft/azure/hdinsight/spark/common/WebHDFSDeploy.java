@@ -5,6 +5,8 @@
 
 package com.microsoft.azure.hdinsight.spark.common;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.microsoft.azure.hdinsight.common.logger.ILogger;
 import com.microsoft.azure.hdinsight.sdk.cluster.IClusterDetail;
 import com.microsoft.azure.hdinsight.sdk.common.HttpObservable;
@@ -16,7 +18,9 @@ import com.microsoft.azuretools.azurecommons.helpers.Nullable;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.NameValuePair;
 import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPut;
+import org.apache.http.client.utils.HttpClientUtils;
 import org.apache.http.client.utils.URIBuilder;
 import org.apache.http.client.utils.URLEncodedUtils;
 import org.apache.http.entity.BufferedHttpEntity;
@@ -34,7 +38,7 @@ import java.net.URISyntaxException;
 import java.net.UnknownServiceException;
 import java.util.List;
 
-public class WebHDFSDeploy implements Deployable, ILogger {
+public class WebHDFSDeploy implements ContentAddressableDeployable, ILogger {
     @NotNull
     IClusterDetail cluster;
 
@@ -47,6 +51,9 @@ public class WebHDFSDeploy implements Deployable, ILogger {
     @NotNull
     private final List<NameValuePair> uploadReqParams;
 
+    @NotNull
+    private final List<NameValuePair> fileStatusReqParams;
+
     @NotNull
     public String destinationRootPath;
 
@@ -62,35 +69,86 @@ public class WebHDFSDeploy implements Deployable, ILogger {
                 .setPermission("777")
                 .build();
 
+        this.fileStatusReqParams = new WebHdfsParamsBuilder("GETFILESTATUS").build();
+
         this.http = http;
         http.setDefaultRequestConfig(RequestConfig.custom().setExpectContinueEnabled(true).build());
     }
 
-    private URI getUploadDir() {
-        return URI.create(destinationRootPath)
-                .resolve(JobUtils.getFormatPathByDate());
-    }
-
     @Override
     public Observable<String> deploy(File src,
                                      Observer<SparkLogLine> logSubject) {
+        return deployTo(src, JobUtils.getFormatPathByDate() + "/" + src.getName(), logSubject);
+    }
+
+    @NotNull
+    @Override
+    public String getStorageKey() {
+        return destinationRootPath;
+    }
+
+    @Override
+    public Observable<String> probe(@NotNull String relativePath, long length) {
+        final URI file = URI.create(destinationRootPath).resolve(relativePath);
+
+        return http.request(new HttpGet(file.toString()), null, this.fileStatusReqParams, null)
+                .flatMap(resp -> {
+                    try {
+                        final int statusCode = resp.getStatusLine().getStatusCode();
+                        if (statusCode == 404) {
+                            return Observable.empty();
+                        }
+
+                        if (statusCode != 200) {
+                            return Observable.error(new UnknownServiceException(
+                                    "Can not get artifact status using webHDFS storage type, status code " + statusCode));
+                        }
+
+                        final JsonNode fileStatus = new ObjectMapper().readTree(resp.getEntity().getContent())
+                                                                      .path("FileStatus");
+
+                        return fileStatus.path("length").asLong(-1) == length
+                               ? Observable.just(getArtifactUploadedPath(file.toString()))
+                               : Observable.empty();
+                    } catch (final IOException | URISyntaxException ex) {
+                        return Observable.error(ex);
+                    } finally {
+                        HttpClientUtils.closeQuietly(resp);
+                    }
+                });
+    }
+
+    @Override
+    public Observable<String> deployTo(@NotNull File src,
+                                       @NotNull String relativePath,
+                                       @NotNull Observer<SparkLogLine> logSubject) {
         //three steps to upload via webhdfs
         // 1.put request to create new dir
         // 2.put request to get 307 redirect uri from response
         // 3.put redirect request with file content as setEntity
-        final URI dest = getUploadDir();
-        final HttpPut req = new HttpPut(dest.toString());
+        final URI file = URI.create(destinationRootPath).resolve(relativePath);
+        final HttpPut req = new HttpPut(StringUtils.stripEnd(file.resolve(".").toString(), "/"));
         return http.request(req, null, this.createDirReqParams, null)
                 .doOnNext(
                         resp -> {
-                            if (resp.getStatusLine().getStatusCode() != 200) {
-                                Exceptions.propagate(new UnknownServiceException("Can not create directory to save artifact using webHDFS storage type"));
+                            try {
+                                if (resp.getStatusLine().getStatusCode() != 200) {
+                                    Exceptions.propagate(new UnknownServiceException("Can not create directory to save artifact using webHDFS storage type"));
+                                }
+                            } finally {
+                                HttpClientUtils.closeQuietly(resp);
                             }
                         }
                 )
-                .map(ignored -> new HttpPut(dest.resolve(src.getName()).toString()))
+                .map(ignored -> new HttpPut(file.toString()))
                 .flatMap(put -> http.request(put, null, this.uploadReqParams, null))
-                .map(resp -> resp.getFirstHeader("Location").getValue())
+                .map(resp -> {
+                    try {
+                        return resp.getFirstHeader("Location").getValue();
+                    } finally {
+                        HttpClientUtils.closeQuietly(resp);
+                    }
+                })
                 .doOnNext(redirectedUri -> {
                     if (StringUtils.isBlank(redirectedUri)) {
                         Exceptions.propagate(new UnknownServiceException("Can not get valid redirect uri using webHDFS storage type"));
@@ -110,11 +168,13 @@ public class WebHDFSDeploy implements Deployable, ILogger {
                         throw new RuntimeException(new IllegalArgumentException("Can not get local artifact when uploading" + ex.toString()));
                     }
                 })
-                .map(ignored -> {
+                .map(resp -> {
                     try {
-                        return getArtifactUploadedPath(dest.resolve(src.getName()).toString());
+                        return getArtifactUploadedPath(file.toString());
                     } catch (final URISyntaxException ex) {
                         throw new RuntimeException(new IllegalArgumentException("Can not get valid artifact upload path" + ex.toString()));
+                    } finally {
+                        HttpClientUtils.closeQuietly(resp);
                     }
                 });
     }
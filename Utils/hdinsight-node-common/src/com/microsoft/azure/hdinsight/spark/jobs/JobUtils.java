@@ -28,7 +28,7 @@ import com.microsoft.azure.hdinsight.sdk.common.AuthenticationException;
 import com.microsoft.azure.hdinsight.sdk.common.HDIException;
 import com.microsoft.azure.hdinsight.sdk.common.HttpObservable;
 import com.microsoft.azure.hdinsight.sdk.common.livy.interactive.SparkSession;
-import com.microsoft.azure.hdinsight.sdk.io.spark.ClusterFileBase64BufferedOutputStream;
+import com.microsoft.azure.hdinsight.sdk.io.spark.ClusterFilePipelinedOutputStream;
 import com.microsoft.azure.hdinsight.sdk.rest.yarn.rm.App;
 import com.microsoft.azure.hdinsight.sdk.rest.yarn.rm.ApplicationMasterLogs;
 import com.microsoft.azure.hdinsight.sdk.storage.HDStorageAccount;
@@ -50,7 +50,6 @@ import com.microsoft.tooling.msservices.helpers.azure.sdk.StorageClientSDKManage
 import com.microsoft.tooling.msservices.model.storage.BlobContainer;
 import com.microsoft.tooling.msservices.model.storage.ClientStorageAccount;
 import com.sun.net.httpserver.HttpExchange;
-import org.apache.commons.codec.binary.Base64OutputStream;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.*;
@@ -491,36 +490,30 @@ public class JobUtils {
                                                @Nullable Observer<SparkLogLine> newLogSubject,
                                                @Nullable CallableSingleArg<Void, Long> uploadInProcessCallback) throws Exception {
         if(storageAccount.getAccountType() == StorageAccountType.BLOB) {
-            try (final FileInputStream fileInputStream = new FileInputStream(file)) {
-                try (final BufferedInputStream bufferedInputStream = new BufferedInputStream(fileInputStream)) {
-                    final HDStorageAccount blobStorageAccount = (HDStorageAccount) storageAccount;
-                    final BlobContainer container = getSparkClusterContainer(blobStorageAccount, containerName);
-                    if (container == null) {
-                        throw new IllegalArgumentException("Can't get the valid container.");
-                    }
+            final HDStorageAccount blobStorageAccount = (HDStorageAccount) storageAccount;
+            final BlobContainer container = getSparkClusterContainer(blobStorageAccount, containerName);
+            if (container == null) {
+                throw new IllegalArgumentException("Can't get the valid container.");
+            }
 
-                    final String path = String.format("SparkSubmission/%s/%s", uploadFolderPath, file.getName());
-                    final String uploadedPath = String.format("wasbs://%s@%s/%s", containerName, blobStorageAccount.getFullStorageBlobName(), path);
+            final String path = String.format("SparkSubmission/%s/%s", uploadFolderPath, file.getName());
+            final String uploadedPath = String.format("wasbs://%s@%s/%s", containerName, blobStorageAccount.getFullStorageBlobName(), path);
 
-                    ctrlInfo(legacyLogSubject, newLogSubject,
-                             String.format("Begin uploading file %s to Azure Blob Storage Account %s ...",
-                                           file.getPath(), uploadedPath));
+            ctrlInfo(legacyLogSubject, newLogSubject,
+                     String.format("Begin uploading file %s to Azure Blob Storage Account %s ...",
+                                   file.getPath(), uploadedPath));
 
-                    StorageClientSDKManager.getManager().uploadBlobFileContent(
-                            blobStorageAccount.getConnectionString(),
-                            container,
-                            path,
-                            bufferedInputStream,
-                            uploadInProcessCallback,
-                            1024 * 1024,
-                            file.length());
+            StorageClientSDKManager.getManager().uploadBlobFileContent(
+                    blobStorageAccount.getConnectionString(),
+                    container,
+                    path,
+                    file,
+                    uploadInProcessCallback);
 
-                    ctrlInfo(legacyLogSubject, newLogSubject,
-                             String.format("Submit file to azure blob '%s' successfully.", uploadedPath));
+            ctrlInfo(legacyLogSubject, newLogSubject,
+                     String.format("Submit file to azure blob '%s' successfully.", uploadedPath));
 
-                    return uploadedPath;
-                }
-            }
+            return uploadedPath;
         } else if(storageAccount.getAccountType() == StorageAccountType.ADLS) {
             final String uploadPath = String.format("adl://%s.azuredatalakestore.net%s%s", storageAccount.getName(), storageAccount.getDefaultContainerOrRootPath(), "SparkSubmission");
             ctrlInfo(legacyLogSubject, newLogSubject,
@@ -657,20 +650,12 @@ public class JobUtils {
                                                         err -> ctrlError(legacyLogSubject, newLogSubject, err),
                                                         () -> {});
 
-                                 ClusterFileBase64BufferedOutputStream clusterFileBase64Out =
-                                         new ClusterFileBase64BufferedOutputStream(sparkSession, destUri);
-                                 Base64OutputStream base64Enc = new Base64OutputStream(clusterFileBase64Out, true);
-                                 InputStream inFile;
-
-                                 try {
-                                     inFile = new BufferedInputStream(new FileInputStream(srcJarFile));
-
+                                 try (final InputStream inFile = new FileInputStream(srcJarFile);
+                                      final OutputStream clusterFileOut =
+                                              new ClusterFilePipelinedOutputStream(sparkSession, destUri)) {
                                      ctrlInfo(legacyLogSubject, newLogSubject, String.format("Uploading %s...",
                                                                                              srcJarFile));
-                                     IOUtils.copy(inFile, base64Enc);
-
-                                     inFile.close();
-                                     base64Enc.close();
+                                     IOUtils.copyLarge(inFile, clusterFileOut, new byte[256 * 1024]);
                                  } catch (FileNotFoundException fnfEx) {
                                      throw propagate(new HDIException(String.format("Source file %s not found.",
                                                                                     srcJarFile), fnfEx));
@@ -725,7 +710,7 @@ public class JobUtils {
     public static Observable<String> deployArtifactToADLS(@NotNull String artifactLocalPath,
                                                  @NotNull String adlRootPath,
                                                  @NotNull String accessToken) {
-        return Observable.fromCallable(() -> {
+        return Observable.defer(() -> {
             final File localFile = new File(artifactLocalPath);
 
             final URI remote = URI.create(adlRootPath)
@@ -733,6 +718,16 @@ public class JobUtils {
                                   .resolve(getFormatPathByDate() + "/")
                                   .resolve(localFile.getName());
 
+            return deployArtifactToADLS(localFile, remote, accessToken);
+        });
+    }
+
+    // Have to catch IOException in subscribe
+    @NotNull
+    public static Observable<String> deployArtifactToADLS(@NotNull File localFile,
+                                                          @NotNull URI remote,
+                                                          @NotNull String accessToken) {
+        return Observable.fromCallable(() -> {
             final ADLStoreClient storeClient = ADLStoreClient.createClient(remote.getHost(), accessToken);
 
             try (final OutputStream adlsOutputStream = storeClient.createFile(remote.getPath(), IfExists.OVERWRITE, "755", true)) {
@@ -7,9 +7,13 @@ package com.microsoft.azure.hdinsight.spark.jobs;
 
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
+import com.google.common.cache.Cache;
 import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 import com.microsoft.azure.hdinsight.common.JobViewManager;
 import com.microsoft.azure.hdinsight.sdk.cluster.IClusterDetail;
+import com.microsoft.azure.hdinsight.sdk.rest.AttemptWithAppId;
 import com.microsoft.azure.hdinsight.sdk.rest.spark.Application;
 import com.microsoft.azure.hdinsight.sdk.rest.spark.event.JobStartEventLog;
 import com.microsoft.azure.hdinsight.sdk.rest.spark.executor.Executor;
@@ -19,99 +23,196 @@ import com.microsoft.azure.hdinsight.sdk.rest.spark.task.Task;
 import com.microsoft.azure.hdinsight.sdk.rest.yarn.rm.App;
 import com.microsoft.azure.hdinsight.sdk.rest.yarn.rm.ApplicationMasterLogs;
 import com.microsoft.azuretools.azurecommons.helpers.NotNull;
+import rx.Observable;
+import rx.schedulers.Schedulers;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 public class JobViewCacheManager {
-    private static final LoadingCache<ApplicationKey, List<Job>> sparkJobLocalCache = CacheBuilder.newBuilder()
-            .maximumSize(100)
-            .initialCapacity(20)
-            .build(new CacheLoader<ApplicationKey, List<Job>>() {
+    /**
+     * The period to refresh the caches of running applications, completed applications are cached permanently
+     */
+    private static final long LIVE_APP_REFRESH_SECONDS = 15;
+
+    /**
+     * The period to refresh the job start events of running applications, which downloads the whole event logs
+     */
+    private static final long LIVE_APP_EVENT_LOG_REFRESH_SECONDS = 300;
+
+    /**
+     * The max count of stage task requests in flight for one application
+     */
+    private static final int STAGE_TASKS_LOADING_CONCURRENCY = 8;
+
+    private static final List<String> DONE_STAGE_STATUSES = Arrays.asList("COMPLETE", "FAILED", "SKIPPED");
+
+    /**
+     * The shared executor to refresh the cached values, the callers keep getting the old values while refreshing
+     */
+    private static final ExecutorService cacheRefreshExecutor = Executors.newFixedThreadPool(4, runnable -> {
+        final Thread thread = new Thread(runnable, "job-view-cache-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final LoadingCache<ApplicationKey, List<Job>> sparkJobLocalCache = newAppCacheBuilder(LIVE_APP_REFRESH_SECONDS)
+            .build(refreshInBackground(new LiveAppCacheLoader<List<Job>>() {
                 @Override
                 public List<Job> load(ApplicationKey key) throws Exception {
                     return SparkRestUtil.getLastAttemptJobsFromApp(key);
                 }
-            });
+            }));
 
-    private static final LoadingCache<ApplicationKey, List<Stage>> sparkStageLocalCache = CacheBuilder.newBuilder()
-            .maximumSize(100)
-            .initialCapacity(20)
-            .build(new CacheLoader<ApplicationKey, List<Stage>>() {
+    private static final LoadingCache<ApplicationKey, List<Stage>> sparkStageLocalCache = newAppCacheBuilder(LIVE_APP_REFRESH_SECONDS)
+            .build(refreshInBackground(new LiveAppCacheLoader<List<Stage>>() {
                 @Override
                 public List<Stage> load(ApplicationKey key) throws Exception {
                     return SparkRestUtil.getAllStageFromApp(key);
                 }
-            });
+            }));
 
-    private static final LoadingCache<ApplicationKey, List<Executor>> sparkExecutorLocalCache = CacheBuilder.newBuilder()
-            .maximumSize(100)
-            .initialCapacity(20)
-            .build(new CacheLoader<ApplicationKey, List<Executor>>() {
+    private static final LoadingCache<ApplicationKey, List<Executor>> sparkExecutorLocalCache = newAppCacheBuilder(LIVE_APP_REFRESH_SECONDS)
+            .build(refreshInBackground(new LiveAppCacheLoader<List<Executor>>() {
                 @Override
                 public List<Executor> load(ApplicationKey key) throws Exception {
                     return SparkRestUtil.getAllExecutorFromApp(key);
                 }
-            });
+            }));
 
     private static final LoadingCache<String, List<Application>> sparkApplicationsLocalCache = CacheBuilder.newBuilder()
             .maximumSize(100)
             .initialCapacity(20)
-            .build(new CacheLoader<String, List<Application>>() {
+            .refreshAfterWrite(LIVE_APP_REFRESH_SECONDS, TimeUnit.SECONDS)
+            .build(refreshInBackground(new CacheLoader<String, List<Application>>() {
                 @Override
                 public List<Application> load(String key) throws Exception {
                     return SparkRestUtil.getSparkApplications(JobViewManager.getCluster(key));
                 }
-            });
+            }));
 
-    private static final LoadingCache<ApplicationKey, List<Task>> sparkTasksSummaryLocalCache = CacheBuilder.newBuilder()
-            .maximumSize(100)
-            .initialCapacity(20)
-            .build(new CacheLoader<ApplicationKey, List<Task>>() {
+    private static final LoadingCache<ApplicationKey, List<Task>> sparkTasksSummaryLocalCache = newAppCacheBuilder(LIVE_APP_REFRESH_SECONDS)
+            .build(refreshInBackground(new LiveAppCacheLoader<List<Task>>() {
                 @Override
                 public List<Task> load(ApplicationKey key) throws Exception {
-                    List<Task> allTasks = new ArrayList<>();
-                    List<Stage> stages = sparkStageLocalCache.get(key);
-                    for (Stage stage: stages) {
-                        int stageId = stage.getStageId();
-                        int attemptedId = stage.getAttemptId();
-                        List<Task> tasks = SparkRestUtil.getSparkTasks(key, stageId, attemptedId);
-                        allTasks.addAll(tasks);
-                    }
-                    return allTasks;
+                    return loadTasksSummary(key);
                 }
-            });
+            }));
 
-    private static final LoadingCache<ApplicationKey, ApplicationMasterLogs> yarnAppLogLocalCache = CacheBuilder.newBuilder()
+    /**
+     * The tasks of done stages, keyed by "{stageId}.{attemptId}", which are never fetched again
+     */
+    private static final Cache<ApplicationKey, Map<String, List<Task>>> sparkDoneStageTasksLocalCache = CacheBuilder.newBuilder()
             .maximumSize(100)
             .initialCapacity(20)
-            .build(new CacheLoader<ApplicationKey, ApplicationMasterLogs>() {
+            .build();
+
+    private static final LoadingCache<ApplicationKey, ApplicationMasterLogs> yarnAppLogLocalCache = newAppCacheBuilder(LIVE_APP_REFRESH_SECONDS)
+            .build(refreshInBackground(new LiveAppCacheLoader<ApplicationMasterLogs>() {
                 @Override
                 public ApplicationMasterLogs load(ApplicationKey key) throws Exception {
                     return JobUtils.getYarnLogs(key);
                 }
-            });
+            }));
 
-    private static final LoadingCache<ApplicationKey, App> yarnApplicationLocalCache = CacheBuilder.newBuilder()
-            .maximumSize(100)
-            .initialCapacity(20)
-            .build(new CacheLoader<ApplicationKey, App>() {
+    private static final LoadingCache<ApplicationKey, App> yarnApplicationLocalCache = newAppCacheBuilder(LIVE_APP_REFRESH_SECONDS)
+            .build(refreshInBackground(new LiveAppCacheLoader<App>() {
                 @Override
                 public App load(ApplicationKey key) throws Exception {
                     return YarnRestUtil.getApp(key);
                 }
-            });
+            }));
 
-    private static final LoadingCache<ApplicationKey, List<JobStartEventLog>> sparkJobStartEventLogCache = CacheBuilder.newBuilder()
-            .maximumSize(100)
-            .initialCapacity(20)
-            .build(new CacheLoader<ApplicationKey, List<JobStartEventLog>>() {
+    private static final LoadingCache<ApplicationKey, List<JobStartEventLog>> sparkJobStartEventLogCache = newAppCacheBuilder(LIVE_APP_EVENT_LOG_REFRESH_SECONDS)
+            .build(refreshInBackground(new LiveAppCacheLoader<List<JobStartEventLog>>() {
                 @Override
                 public List<JobStartEventLog> load(ApplicationKey key) throws Exception {
                     return SparkRestUtil.getSparkEventLogs(key);
                 }
-            });
+            }));
+
+    private static CacheBuilder<Object, Object> newAppCacheBuilder(long refreshSeconds) {
+        return CacheBuilder.newBuilder()
+                .maximumSize(100)
+                .initialCapacity(20)
+                .refreshAfterWrite(refreshSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Reload the expired values with the shared executor, instead of the caller thread which gets the value
+     */
+    private static <K, V> CacheLoader<K, V> refreshInBackground(@NotNull CacheLoader<K, V> loader) {
+        return CacheLoader.asyncReloading(loader, cacheRefreshExecutor);
+    }
+
+    /**
+     * The loader keeps the values of completed applications at refreshing, and reloads the running ones
+     */
+    private abstract static class LiveAppCacheLoader<V> extends CacheLoader<ApplicationKey, V> {
+        @Override
+        public ListenableFuture<V> reload(ApplicationKey key, V oldValue) throws Exception {
+            return isCompleted(key) ? Futures.immediateFuture(oldValue) : super.reload(key, oldValue);
+        }
+    }
+
+    private static boolean isCompleted(@NotNull ApplicationKey key) {
+        try {
+            final Application application = getSingleSparkApplication(key);
+            final AttemptWithAppId lastAttempt = application == null
+                    ? null
+                    : application.getLastAttemptWithAppId(key.getClusterDetails().getName());
+
+            return lastAttempt != null && Boolean.parseBoolean(lastAttempt.getCompleted());
+        } catch (ExecutionException ignored) {
+            return false;
+        }
+    }
+
+    private static List<Task> loadTasksSummary(@NotNull ApplicationKey key) throws Exception {
+        final Map<String, List<Task>> doneStageTasks = sparkDoneStageTasksLocalCache.get(key, ConcurrentHashMap::new);
+        final List<Stage> stages = sparkStageLocalCache.get(key);
+
+        // Fan out the stage task requests, and only fetch the stages not done when fetched last time
+        try {
+            return Observable.from(stages)
+                    .concatMapEager(stage -> {
+                        final String stageKey = stage.getStageId() + "." + stage.getAttemptId();
+                        final List<Task> fetched = doneStageTasks.get(stageKey);
+
+                        if (fetched != null) {
+                            return Observable.just(fetched);
+                        }
+
+                        final boolean isStageDone = DONE_STAGE_STATUSES.contains(stage.getStatus());
+
+                        return Observable.fromCallable(() -> SparkRestUtil.getSparkTasks(key, stage.getStageId(), stage.getAttemptId()))
+                                .doOnNext(tasks -> {
+                                    if (isStageDone) {
+                                        doneStageTasks.put(stageKey, tasks);
+                                    }
+                                })
+                                .subscribeOn(Schedulers.io());
+                    }, STAGE_TASKS_LOADING_CONCURRENCY, STAGE_TASKS_LOADING_CONCURRENCY)
+                    .concatMapIterable(tasks -> tasks)
+                    .toList()
+                    .toBlocking()
+                    .toFuture()
+                    .get();
+        } catch (ExecutionException ex) {
+            // Unwrap the original exception of stage task requests
+            if (ex.getCause() instanceof Exception) {
+                throw (Exception) ex.getCause();
+            }
+
+            throw ex;
+        }
+    }
 
     public static List<JobStartEventLog> getJobStartEventLogs(@NotNull ApplicationKey key) throws ExecutionException {
         return sparkJobStartEventLogCache.get(key);
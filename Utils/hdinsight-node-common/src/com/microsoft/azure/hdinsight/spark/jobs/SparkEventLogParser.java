@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.hdinsight.spark.jobs;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microsoft.azure.hdinsight.sdk.rest.spark.event.JobStartEventLog;
+import com.microsoft.azuretools.azurecommons.helpers.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The streaming parser of Spark event logs, which reads the log line by line in bytes and only parses the lines
+ * of interesting events
+ */
+public final class SparkEventLogParser {
+    public static final String JOB_START_EVENT = "SparkListenerJobStart";
+
+    private static final byte[] JOB_START_EVENT_BYTES = JOB_START_EVENT.getBytes(StandardCharsets.UTF_8);
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Some event models have getters not matching their JSON property names, ignore those extra properties
+     * when reading back the cache
+     */
+    private static final ObjectMapper cacheMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private SparkEventLogParser() {
+    }
+
+    /**
+     * Parse the job start events from a Spark event log stream, the stream isn't closed
+     *
+     * @param eventLogStream the Spark event log stream, one JSON event per line
+     * @return the job start events in the log order, the lines failed to parse are skipped
+     * @throws IOException exceptions in reading the stream
+     */
+    @NotNull
+    public static List<JobStartEventLog> parseJobStartEvents(@NotNull InputStream eventLogStream) throws IOException {
+        final List<JobStartEventLog> events = new ArrayList<>();
+        final byte[] readBuffer = new byte[READ_BUFFER_SIZE];
+        byte[] line = new byte[READ_BUFFER_SIZE];
+        int lineLength = 0;
+        int read;
+
+        while ((read = eventLogStream.read(readBuffer)) >= 0) {
+            int lineStart = 0;
+
+            for (int i = 0; i < read; i++) {
+                if (readBuffer[i] != '\n') {
+                    continue;
+                }
+
+                final int segmentLength = i - lineStart;
+                if (lineLength + segmentLength > line.length) {
+                    line = Arrays.copyOf(line, Math.max(line.length * 2, lineLength + segmentLength));
+                }
+
+                System.arraycopy(readBuffer, lineStart, line, lineLength, segmentLength);
+                lineLength += segmentLength;
+
+                parseJobStartLine(line, lineLength, events);
+
+                lineLength = 0;
+                lineStart = i + 1;
+            }
+
+            // Keep the tail for the next read
+            final int tailLength = read - lineStart;
+            if (lineLength + tailLength > line.length) {
+                line = Arrays.copyOf(line, Math.max(line.length * 2, lineLength + tailLength));
+            }
+
+            System.arraycopy(readBuffer, lineStart, line, lineLength, tailLength);
+            lineLength += tailLength;
+        }
+
+        parseJobStartLine(line, lineLength, events);
+
+        return events;
+    }
+
+    private static void parseJobStartLine(@NotNull byte[] line, int length, @NotNull List<JobStartEventLog> events) {
+        // The cheap byte scan skips most of lines, such as task events, without JSON parsing
+        if (length == 0 || indexOf(line, length, JOB_START_EVENT_BYTES) < 0) {
+            return;
+        }
+
+        try {
+            final JobStartEventLog event = objectMapper.readValue(line, 0, length, JobStartEventLog.class);
+
+            if (event != null && JOB_START_EVENT.equalsIgnoreCase(event.getEvent())) {
+                events.add(event);
+            }
+        } catch (final IOException ignored) {
+            // Skip the broken or other event lines which mention the job start event
+        }
+    }
+
+    private static int indexOf(@NotNull byte[] bytes, int length, @NotNull byte[] target) {
+        final byte first = target[0];
+        final int max = length - target.length;
+
+        for (int i = 0; i <= max; i++) {
+            if (bytes[i] != first) {
+                continue;
+            }
+
+            int j = 1;
+            while (j < target.length && bytes[i + j] == target[j]) {
+                j++;
+            }
+
+            if (j == target.length) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    @NotNull
+    public static List<JobStartEventLog> readCachedJobStartEvents(@NotNull File cacheFile) throws IOException {
+        return cacheMapper.readValue(cacheFile, new TypeReference<List<JobStartEventLog>>() {});
+    }
+
+    public static void writeCachedJobStartEvents(@NotNull File cacheFile,
+                                                 @NotNull List<JobStartEventLog> events) throws IOException {
+        cacheMapper.writeValue(cacheFile, events);
+    }
+}
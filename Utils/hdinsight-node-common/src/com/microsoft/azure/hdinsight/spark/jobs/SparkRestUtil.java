@@ -19,20 +19,17 @@ import com.microsoft.azure.hdinsight.sdk.rest.spark.stage.Stage;
 import com.microsoft.azure.hdinsight.sdk.rest.spark.task.Task;
 import com.microsoft.azuretools.azurecommons.helpers.NotNull;
 import org.apache.commons.io.FileUtils;
-import org.apache.commons.io.IOUtils;
 import org.apache.http.HttpEntity;
-import org.json.JSONObject;
 
 
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.charset.Charset;
 import java.util.*;
 import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
 import java.util.zip.ZipEntry;
-import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
 
 public class SparkRestUtil {
     public static final String SPARK_REST_API_ENDPOINT = "%s/sparkhistory/api/v1/applications/%s";
@@ -85,39 +82,78 @@ public class SparkRestUtil {
 
     public static List<JobStartEventLog> getSparkEventLogs(@NotNull ApplicationKey key) throws HDIException, IOException {
         String url = String.format("%s/logs", key.getAppId());
-        String eventLogsPath = String.format("%s/SparkEventLogs/%s/eventLogs.zip", HDInsightLoader.getHDInsightHelper().getPluginRootPath(), key.getAppId());
-        File file = new File(eventLogsPath);
+        File eventLogsFolder = new File(String.format("%s/SparkEventLogs/%s", HDInsightLoader.getHDInsightHelper().getPluginRootPath(), key.getAppId()));
+
+        // The event log of a completed attempt never changes, so the parsed events are cached by the attempt
+        Optional<File> cacheFile = getCompletedLastAttempt(key)
+                .map(attempt -> new File(eventLogsFolder, String.format("jobStartEvents_%s.json", attempt.getAttemptId())));
+        if (cacheFile.isPresent() && cacheFile.get().isFile()) {
+            try {
+                return SparkEventLogParser.readCachedJobStartEvents(cacheFile.get());
+            } catch (IOException ignored) {
+                FileUtils.deleteQuietly(cacheFile.get());
+            }
+        }
+
+        // Parse the zip while downloading, rather than saving the whole eventLogs.zip first
         HttpEntity entity = getSparkRestEntity(key.getClusterDetails(), url);
-        InputStream inputStream = entity.getContent();
-        FileUtils.copyInputStreamToFile(inputStream, file);
-        IOUtils.closeQuietly(inputStream);
+        final List<JobStartEventLog> jobStartEvents;
+        try (InputStream inputStream = entity.getContent()) {
+            jobStartEvents = parseLastAttemptJobStartEvents(new ZipInputStream(inputStream), key.getAppId());
+        }
 
-        ZipFile zipFile = new ZipFile(file);
-        List<? extends ZipEntry> entities =  Collections.list(zipFile.entries());
-        // every application has an attempt in event log
-        // and the entity name should be in formation "{appId}_{attemptId}"
-        String entityName = String.format("%s_%s", key.getAppId(), entities.size());
-        ZipEntry lastEntity = zipFile.getEntry(entityName);
-        if (lastEntity == null) {
-            throw new HDIException(String.format("No Spark event log entity found for app: %s", key.getAppId()));
+        if (cacheFile.isPresent()) {
+            FileUtils.forceMkdir(eventLogsFolder);
+            SparkEventLogParser.writeCachedJobStartEvents(cacheFile.get(), jobStartEvents);
         }
-        InputStream zipFileInputStream = zipFile.getInputStream(lastEntity);
-        String entityContent = IOUtils.toString(zipFileInputStream, Charset.forName("utf-8"));
-
-        String[] lines = entityContent.split("\n");
-        List<JobStartEventLog> jobStartEvents = Arrays.stream(lines)
-                .filter(line -> {
-                    JSONObject jsonObject = new JSONObject(line);
-                    String eventName = jsonObject.getString("Event");
-                    return eventName.equalsIgnoreCase("SparkListenerJobStart");
-                    })
-                .map(oneLine -> ObjectConvertUtils.convertToObjectQuietly(oneLine, JobStartEventLog.class))
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
 
         return jobStartEvents;
     }
 
+    @NotNull
+    private static List<JobStartEventLog> parseLastAttemptJobStartEvents(@NotNull ZipInputStream eventLogsZip,
+                                                                         @NotNull String appId) throws HDIException, IOException {
+        // every application has an attempt in event log
+        // and the entity name should be in formation "{appId}_{attemptId}", the last attempt has the largest ID
+        final String entityPrefix = appId + "_";
+        List<JobStartEventLog> lastAttemptEvents = null;
+        int lastAttemptId = -1;
+
+        ZipEntry entity;
+        while ((entity = eventLogsZip.getNextEntry()) != null) {
+            if (!entity.getName().startsWith(entityPrefix)) {
+                continue;
+            }
+
+            final int attemptId;
+            try {
+                attemptId = Integer.parseInt(entity.getName().substring(entityPrefix.length()));
+            } catch (NumberFormatException ignored) {
+                continue;
+            }
+
+            if (attemptId > lastAttemptId) {
+                lastAttemptEvents = SparkEventLogParser.parseJobStartEvents(eventLogsZip);
+                lastAttemptId = attemptId;
+            }
+        }
+
+        if (lastAttemptEvents == null) {
+            throw new HDIException(String.format("No Spark event log entity found for app: %s", appId));
+        }
+
+        return lastAttemptEvents;
+    }
+
+    private static Optional<AttemptWithAppId> getCompletedLastAttempt(@NotNull ApplicationKey key) {
+        try {
+            return Optional.of(getLastAttemptFromLocalCache(key))
+                    .filter(attempt -> Boolean.parseBoolean(attempt.getCompleted()));
+        } catch (ExecutionException | HDIException ignored) {
+            return Optional.empty();
+        }
+    }
+
     private static AttemptWithAppId getLastAttemptFromLocalCache(@NotNull ApplicationKey key) throws ExecutionException, HDIException {
         List<Application> sparkApplications = JobViewCacheManager.getSparkApplications(key.getClusterDetails());
         Optional<Application> selectedApplication = sparkApplications.stream().filter(application -> application.getId().equalsIgnoreCase(key.getAppId())
@@ -187,6 +187,11 @@ public class SparkBatchJobRemoteProcess extends Process implements ILogger {
             this.eventSubject.onCompleted();
 
             this.getJobSubscription().ifPresent(Subscription::unsubscribe);
+
+            // Stop the log prefetching after the log tail is fetched, the streams are the attached ones, which
+            // subclasses such as the executor debug process may replace
+            ((SparkJobLogInputStream) getInputStream()).close();
+            ((SparkJobLogInputStream) getErrorStream()).close();
         }
     }
 
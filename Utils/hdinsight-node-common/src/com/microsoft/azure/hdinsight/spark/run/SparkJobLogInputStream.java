@@ -5,28 +5,68 @@
 
 package com.microsoft.azure.hdinsight.spark.run;
 
+import com.microsoft.azure.hdinsight.common.logger.ILogger;
+import com.microsoft.azure.hdinsight.spark.common.AdaptivePollingBackoff;
 import com.microsoft.azure.hdinsight.spark.common.ISparkBatchJob;
 import com.microsoft.azuretools.azurecommons.helpers.NotNull;
 import com.microsoft.azuretools.azurecommons.helpers.Nullable;
+import rx.Scheduler;
+import rx.schedulers.Schedulers;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+public class SparkJobLogInputStream extends InputStream implements ILogger {
+    /**
+     * The shared scheduler for all log prefetchers, delays between fetches don't hold any thread
+     */
+    private static final Scheduler logPrefetchScheduler = Schedulers.from(Executors.newFixedThreadPool(4, runnable -> {
+        final Thread thread = new Thread(runnable, "spark-log-prefetch");
+        thread.setDaemon(true);
+        return thread;
+    }));
+
+    /**
+     * The count of fetched log slices to keep ahead of the reader
+     */
+    private static final int PREFETCH_SLICES = 2;
+
+    /**
+     * The longest time for available() to wait for a slice in flight
+     */
+    private static final long AVAILABLE_WAIT_MILLIS = 200;
 
-import static java.lang.Thread.sleep;
-
-public class SparkJobLogInputStream extends InputStream {
     @NotNull
     private String logType;
     @Nullable
     private ISparkBatchJob sparkBatchJob;
 
+    /**
+     * The byte offset of the next log slice to fetch, only accessed by the prefetcher
+     */
     private long offset = 0;
     @NotNull
     private byte[] buffer = new byte[0];
     private int bufferPos;
 
+    @NotNull
+    private final BlockingQueue<byte[]> slices = new LinkedBlockingQueue<>();
+    @NotNull
+    private final AdaptivePollingBackoff backoff = new AdaptivePollingBackoff(1, 1, 200, TimeUnit.SECONDS.toMillis(10));
+    @Nullable
+    private Scheduler.Worker prefetcher;
+    private final Object prefetchLock = new Object();
+    private volatile boolean isClosing = false;
+    private volatile boolean isEnded = false;
+
     public SparkJobLogInputStream(@NotNull String logType) {
         this.logType = logType;
     }
@@ -45,40 +85,157 @@ public class SparkJobLogInputStream extends InputStream {
 
     void setSparkBatchJob(@Nullable ISparkBatchJob sparkBatchJob) {
         this.sparkBatchJob = sparkBatchJob;
+
+        startPrefetch();
     }
 
     public Optional<ISparkBatchJob> getAttachedJob() {
         return Optional.ofNullable(sparkBatchJob);
     }
 
+    private void startPrefetch() {
+        synchronized (prefetchLock) {
+            if (prefetcher != null || isClosing) {
+                return;
+            }
+
+            prefetcher = logPrefetchScheduler.createWorker();
+            prefetcher.schedule(this::prefetch);
+        }
+    }
+
+    private void prefetch() {
+        final Scheduler.Worker worker;
+
+        synchronized (prefetchLock) {
+            worker = prefetcher;
+        }
+
+        if (worker == null || worker.isUnsubscribed()) {
+            return;
+        }
+
+        final boolean isLastFetch = isClosing;
+        long delayMillis = AVAILABLE_WAIT_MILLIS;
+
+        // Keep the next slices in flight only while the reader is draining the current one
+        if (isLastFetch || slices.size() < PREFETCH_SLICES) {
+            Optional<SimpleImmutableEntry<String, Long>> slice;
+
+            try {
+                slice = fetchLog(offset, -1);
+            } catch (final RuntimeException ex) {
+                log().warn("Got exception when fetching Spark job " + getLogType() + " log: " + ex.toString());
+                slice = Optional.empty();
+            }
+
+            final byte[] bytes = slice.map(sliceOffsetPair -> sliceOffsetPair.getKey().getBytes(StandardCharsets.UTF_8))
+                                      .orElse(new byte[0]);
+
+            if (bytes.length > 0) {
+                // Yarn log offsets are in bytes, not in characters
+                offset = slice.get().getValue() + bytes.length;
+                slices.add(bytes);
+                backoff.reset();
+                delayMillis = 0;
+            } else {
+                delayMillis = backoff.onIdle();
+            }
+        }
+
+        if (isLastFetch) {
+            isEnded = true;
+            worker.unsubscribe();
+
+            return;
+        }
+
+        worker.schedule(this::prefetch, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Make sure the buffer has unread bytes, waiting for a prefetched slice for a while
+     *
+     * @return the count of unread bytes in buffer, or -1 if the stream is ended
+     */
+    private int fillBuffer() throws IOException {
+        if (bufferPos < buffer.length) {
+            return buffer.length - bufferPos;
+        }
+
+        try {
+            final byte[] slice = slices.poll(AVAILABLE_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+
+            if (slice != null) {
+                buffer = slice;
+                bufferPos = 0;
+
+                return buffer.length;
+            }
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted in waiting for Spark job " + getLogType() + " log");
+        }
+
+        return isEnded && slices.isEmpty() ? -1 : 0;
+    }
+
     @Override
     public int read() throws IOException {
-        if (bufferPos >= buffer.length) {
-            throw new IOException("Beyond the buffer end, needs a new log fetch");
+        final byte[] oneByte = new byte[1];
+
+        return read(oneByte, 0, 1) < 0 ? -1 : oneByte[0] & 0xFF;
+    }
+
+    @Override
+    public int read(@NotNull byte[] bytes, int off, int len) throws IOException {
+        if (off < 0 || len < 0 || len > bytes.length - off) {
+            throw new IndexOutOfBoundsException();
         }
 
-        return buffer[bufferPos++];
+        if (len == 0) {
+            return 0;
+        }
+
+        int remaining;
+
+        while ((remaining = fillBuffer()) == 0) {
+            // Block until the next slice is prefetched
+        }
+
+        if (remaining < 0) {
+            return -1;
+        }
+
+        final int count = Math.min(len, remaining);
+        System.arraycopy(buffer, bufferPos, bytes, off, count);
+        bufferPos += count;
+
+        return count;
     }
 
     @Override
     public int available() throws IOException {
-        if (bufferPos >= buffer.length) {
-            return fetchLog(offset, -1)
-                    .map(sliceOffsetPair -> {
-                        buffer = sliceOffsetPair.getKey().getBytes();
-                        bufferPos = 0;
-                        offset = sliceOffsetPair.getValue() + sliceOffsetPair.getKey().length();
-
-                        return buffer.length;
-                    }).orElseGet(() -> {
-                        try {
-                            sleep(3000);
-                        } catch (InterruptedException ignore) { }
-
-                        return 0;
-                    });
-        } else {
-            return buffer.length - bufferPos;
+        return Math.max(0, fillBuffer());
+    }
+
+    /**
+     * Stop prefetching after one last fetch for the log tail, the slices fetched can still be read
+     */
+    @Override
+    public void close() {
+        synchronized (prefetchLock) {
+            if (isClosing) {
+                return;
+            }
+
+            isClosing = true;
+
+            if (prefetcher == null) {
+                isEnded = true;
+            } else {
+                prefetcher.schedule(this::prefetch);
+            }
         }
     }
 